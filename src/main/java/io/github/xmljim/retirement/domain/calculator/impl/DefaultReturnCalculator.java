@@ -3,6 +3,8 @@ package io.github.xmljim.retirement.domain.calculator.impl;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.xmljim.retirement.domain.calculator.ReturnCalculator;
 import io.github.xmljim.retirement.domain.model.Scenario;
@@ -17,6 +19,11 @@ import io.github.xmljim.retirement.domain.value.AssetAllocation;
  *   <li>Monthly compounding for account growth</li>
  *   <li>Precise BigDecimal arithmetic</li>
  * </ul>
+ *
+ * <p>Blended returns for a scenario's default asset-class returns are kept in
+ * a small keyed cache, since a simulation asks for the same few
+ * allocation/scenario combinations many times. The cache is bounded and
+ * simply cleared when it fills up.
  */
 public class DefaultReturnCalculator implements ReturnCalculator {
 
@@ -25,6 +32,9 @@ public class DefaultReturnCalculator implements ReturnCalculator {
     private static final MathContext MATH_CONTEXT = new MathContext(SCALE, ROUNDING_MODE);
     private static final BigDecimal HUNDRED = new BigDecimal("100");
     private static final BigDecimal TWELVE = new BigDecimal("12");
+    private static final int MAX_CACHED_BLENDS = 256;
+
+    private final Map<BlendKey, BigDecimal> scenarioBlendCache = new ConcurrentHashMap<>();
 
     /**
      * Creates a new DefaultReturnCalculator.
@@ -42,11 +52,23 @@ public class DefaultReturnCalculator implements ReturnCalculator {
             throw new IllegalArgumentException("Scenario cannot be null");
         }
 
-        return calculateBlendedReturn(
+        BlendKey key = BlendKey.of(
             allocation,
             scenario.getDefaultStockReturn(),
             scenario.getDefaultBondReturn(),
             scenario.getDefaultCashReturn());
+
+        BigDecimal cached = scenarioBlendCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BigDecimal blended = calculateBlendedReturn(allocation, key.stockReturn(), key.bondReturn(), key.cashReturn());
+        if (scenarioBlendCache.size() >= MAX_CACHED_BLENDS) {
+            scenarioBlendCache.clear();
+        }
+        scenarioBlendCache.put(key, blended);
+        return blended;
     }
 
     @Override
@@ -118,4 +140,21 @@ public class DefaultReturnCalculator implements ReturnCalculator {
     private BigDecimal pow(BigDecimal base, int exponent) {
         return MathUtils.pow(base, exponent, SCALE, ROUNDING_MODE);
     }
+
+    /**
+     * Cache key for a blended return: the allocation plus the asset-class
+     * returns, normalized so that numerically equal rates share an entry.
+     */
+    private record BlendKey(AssetAllocation allocation, BigDecimal stockReturn,
+                            BigDecimal bondReturn, BigDecimal cashReturn) {
+
+        static BlendKey of(AssetAllocation allocation, BigDecimal stockReturn,
+                           BigDecimal bondReturn, BigDecimal cashReturn) {
+            return new BlendKey(allocation, normalize(stockReturn), normalize(bondReturn), normalize(cashReturn));
+        }
+
+        private static BigDecimal normalize(BigDecimal rate) {
+            return rate != null ? rate.stripTrailingZeros() : BigDecimal.ZERO;
+        }
+    }
 }
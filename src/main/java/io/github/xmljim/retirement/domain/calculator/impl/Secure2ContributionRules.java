@@ -1,6 +1,9 @@
 package io.github.xmljim.retirement.domain.calculator.impl;
 
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntToDoubleFunction;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -34,6 +37,14 @@ import io.github.xmljim.retirement.domain.value.MatchingPolicy;
  *   <li>Catch-up contribution: MUST go to ROTH</li>
  *   <li>If no ROTH account exists: Capped at base limit (no catch-up)</li>
  * </ul>
+ *
+ * <p>Limit lookups are served from a memo table that is filled lazily, one
+ * contribution year at a time, with the base, catch-up and total limits for
+ * every age. The account type does not change the SECURE 2.0 employee limit,
+ * so the table is keyed by year and age only. The table is safe to share
+ * across threads and is replaced atomically whenever the
+ * {@link IrsContributionLimits} revision changes. Lookups along a simulated
+ * inflation path use the table for every year the path does not affect.
  */
 @Service
 public class Secure2ContributionRules implements IrsContributionRules {
@@ -44,7 +55,13 @@ public class Secure2ContributionRules implements IrsContributionRules {
     private static final int SUPER_CATCH_UP_MAX_AGE = 63;
     private static final int SUPER_CATCH_UP_EFFECTIVE_YEAR = 2025;
 
+    // Memo table bounds; lookups outside them are computed directly
+    private static final int TABLE_FIRST_YEAR = 2000;
+    private static final int TABLE_YEAR_COUNT = 150;
+    private static final int TABLE_MAX_AGE = 120;
+
     private final IrsContributionLimits limits;
+    private final AtomicReference<LimitTable> limitTable = new AtomicReference<>();
 
     /**
      * Creates a new SECURE 2.0 contribution rules calculator.
@@ -69,29 +86,42 @@ public class Secure2ContributionRules implements IrsContributionRules {
     public BigDecimal calculateAnnualContributionLimit(
             int contributionYear, int age, AccountType accountType) {
 
-        YearLimits yearLimits = limits.getLimitsForYear(contributionYear);
-        BigDecimal baseLimit = yearLimits.baseLimit();
-        BigDecimal catchUpLimit = calculateCatchUpLimit(contributionYear, age, accountType);
+        return yearRow(contributionYear).annualLimit(age);
+    }
 
-        return baseLimit.add(catchUpLimit);
+    /**
+     * Returns the annual contribution limit for a year of a run on a
+     * simulated inflation path.
+     *
+     * <p>Configured years and years before the run do not depend on the path,
+     * so they are served from the memo table. Projected years within the run
+     * are computed from
+     * {@link IrsContributionLimits#getLimitsForYear(int, int, IntToDoubleFunction)}
+     * and not stored, since they differ from path to path.
+     *
+     * @param contributionYear the tax year
+     * @param age the person's age
+     * @param accountType the account type
+     * @param startYear the calendar year the run starts in
+     * @param priceLevel the path's price level at the start of each run year,
+     *        relative to the start of the run, by zero-based run year
+     * @return the annual limit, including any catch-up
+     */
+    public BigDecimal calculateAnnualContributionLimit(
+            int contributionYear, int age, AccountType accountType, int startYear, IntToDoubleFunction priceLevel) {
+
+        if (contributionYear <= startYear || !limits.isProjectedYear(contributionYear)) {
+            return yearRow(contributionYear).annualLimit(age);
+        }
+        YearLimits yearLimits = limits.getLimitsForYear(contributionYear, startYear, priceLevel);
+        return yearLimits.baseLimit().add(catchUpFor(contributionYear, age, yearLimits));
     }
 
     @Override
     public BigDecimal calculateCatchUpLimit(
             int contributionYear, int age, AccountType accountType) {
 
-        if (!isCatchUpEligible(age)) {
-            return BigDecimal.ZERO;
-        }
-
-        YearLimits yearLimits = limits.getLimitsForYear(contributionYear);
-
-        // Super catch-up for ages 60-63, only starting 2025
-        if (isSuperCatchUpEligible(contributionYear, age)) {
-            return yearLimits.superCatchUpLimit();
-        }
-
-        return yearLimits.catchUpLimit();
+        return yearRow(contributionYear).catchUpLimit(age);
     }
 
     @Override
@@ -100,8 +130,7 @@ public class Secure2ContributionRules implements IrsContributionRules {
             return false;
         }
 
-        YearLimits yearLimits = limits.getLimitsForYear(contributionYear);
-        return priorYearIncome.compareTo(yearLimits.rothCatchUpIncomeThreshold()) > 0;
+        return yearRow(contributionYear).requiresRothCatchUp(priorYearIncome);
     }
 
     @Override
@@ -160,26 +189,77 @@ public class Secure2ContributionRules implements IrsContributionRules {
     public BigDecimal calculateMaxContributionWithoutRoth(
             int year, int age, BigDecimal priorYearIncome, boolean hasRothEquivalent) {
 
-        YearLimits yearLimits = limits.getLimitsForYear(year);
-        BigDecimal baseLimit = yearLimits.baseLimit();
+        YearRow row = yearRow(year);
 
         // If not catch-up eligible, always just base limit
         if (!isCatchUpEligible(age)) {
-            return baseLimit;
+            return row.baseLimit;
         }
 
-        // If has ROTH equivalent, full contribution allowed
-        if (hasRothEquivalent) {
-            return calculateAnnualContributionLimit(year, age, null);
+        // High earners without ROTH: capped at base limit (no catch-up)
+        if (!hasRothEquivalent && priorYearIncome != null && row.requiresRothCatchUp(priorYearIncome)) {
+            return row.baseLimit;
         }
 
-        // High earners without ROTH: capped at base limit (no catch-up)
-        if (requiresRothCatchUp(year, priorYearIncome)) {
-            return baseLimit;
+        // With a ROTH equivalent, or a normal earner: full limit including catch-up
+        return row.annualLimit(age);
+    }
+
+    /**
+     * Returns the memoized limits for a contribution year.
+     *
+     * <p>The current table is discarded and replaced atomically when the
+     * configured limits have been changed since it was built.
+     *
+     * @param year the contribution year
+     * @return the limits row for that year
+     */
+    private YearRow yearRow(int year) {
+        long revision = limits.getRevision();
+        LimitTable table = limitTable.get();
+        if (table == null || table.revision != revision) {
+            LimitTable rebuilt = new LimitTable(revision);
+            table = limitTable.compareAndSet(table, rebuilt) ? rebuilt : limitTable.get();
+        }
+
+        int index = year - TABLE_FIRST_YEAR;
+        if (index < 0 || index >= TABLE_YEAR_COUNT) {
+            return createYearRow(year);
+        }
+
+        YearRow row = table.rows.get(index);
+        if (row == null) {
+            // Rows are deterministic for a revision, so a racing duplicate is harmless
+            row = createYearRow(year);
+            table.rows.compareAndSet(index, null, row);
         }
+        return row;
+    }
 
-        // Normal earners without ROTH: full limit including catch-up
-        return calculateAnnualContributionLimit(year, age, null);
+    private YearRow createYearRow(int year) {
+        YearLimits yearLimits = limits.getLimitsForYear(year);
+        BigDecimal[] catchUpByAge = new BigDecimal[TABLE_MAX_AGE + 1];
+        BigDecimal[] annualByAge = new BigDecimal[TABLE_MAX_AGE + 1];
+
+        for (int age = 0; age <= TABLE_MAX_AGE; age++) {
+            catchUpByAge[age] = catchUpFor(year, age, yearLimits);
+            annualByAge[age] = yearLimits.baseLimit().add(catchUpByAge[age]);
+        }
+
+        return new YearRow(year, yearLimits, catchUpByAge, annualByAge);
+    }
+
+    private BigDecimal catchUpFor(int year, int age, YearLimits yearLimits) {
+        if (!isCatchUpEligible(age)) {
+            return BigDecimal.ZERO;
+        }
+
+        // Super catch-up for ages 60-63, only starting 2025
+        if (isSuperCatchUpEligible(year, age)) {
+            return yearLimits.superCatchUpLimit();
+        }
+
+        return yearLimits.catchUpLimit();
     }
 
     /**
@@ -219,4 +299,53 @@ public class Secure2ContributionRules implements IrsContributionRules {
             default -> accountType;
         };
     }
+
+    /**
+     * Lazily filled memo table for one revision of the configured limits.
+     */
+    private static final class LimitTable {
+        private final long revision;
+        private final AtomicReferenceArray<YearRow> rows = new AtomicReferenceArray<>(TABLE_YEAR_COUNT);
+
+        LimitTable(long revision) {
+            this.revision = revision;
+        }
+    }
+
+    /**
+     * Precomputed limits for every age in one contribution year.
+     */
+    private final class YearRow {
+        private final int year;
+        private final YearLimits yearLimits;
+        private final BigDecimal baseLimit;
+        private final BigDecimal[] catchUpByAge;
+        private final BigDecimal[] annualByAge;
+
+        YearRow(int year, YearLimits yearLimits, BigDecimal[] catchUpByAge, BigDecimal[] annualByAge) {
+            this.year = year;
+            this.yearLimits = yearLimits;
+            this.baseLimit = yearLimits.baseLimit();
+            this.catchUpByAge = catchUpByAge;
+            this.annualByAge = annualByAge;
+        }
+
+        BigDecimal catchUpLimit(int age) {
+            if (age < 0 || age > TABLE_MAX_AGE) {
+                return catchUpFor(year, age, yearLimits);
+            }
+            return catchUpByAge[age];
+        }
+
+        BigDecimal annualLimit(int age) {
+            if (age < 0 || age > TABLE_MAX_AGE) {
+                return baseLimit.add(catchUpFor(year, age, yearLimits));
+            }
+            return annualByAge[age];
+        }
+
+        boolean requiresRothCatchUp(BigDecimal priorYearIncome) {
+            return priorYearIncome.compareTo(yearLimits.rothCatchUpIncomeThreshold()) > 0;
+        }
+    }
 }
@@ -1,23 +1,35 @@
 package io.github.xmljim.retirement.domain.config;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntToDoubleFunction;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
 
 /**
  * IRS contribution limits loaded from external YAML configuration.
  *
  * <p>This class provides access to IRS retirement contribution limits
  * including base limits, catch-up contributions, and ROTH allocation thresholds.
- * Limits are organized by year and can be extrapolated for future years.
+ * Limits are organized by year and can be extrapolated for future years,
+ * either at the default annual increase rate or along a simulated inflation
+ * path, given as the path's price level for each year of a run.
  *
  * <p>Configuration is loaded from {@code application.yml} under the
  * {@code irs.contribution} prefix.
@@ -41,7 +53,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
     value = "EI_EXPOSE_REP",
     justification = "Spring @ConfigurationProperties requires mutable access for binding"
 )
-public class IrsContributionLimits {
+public class IrsContributionLimits implements ContentHashable {
 
     private static final int SCALE = 2;
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
@@ -55,6 +67,8 @@ public class IrsContributionLimits {
     private BigDecimal defaultAnnualIncreaseRate = new BigDecimal("0.02");
     private Map<Integer, IraLimits> iraLimits = new HashMap<>();
     private Map<Integer, HsaLimits> hsaLimits = new HashMap<>();
+    private final AtomicLong revision = new AtomicLong();
+    private final AtomicReference<RevisionHash> revisionHash = new AtomicReference<>();
 
     /**
      * Contribution limits for a specific year.
@@ -153,6 +167,45 @@ public class IrsContributionLimits {
      * @return the limits for that year
      */
     public YearLimits getLimitsForYear(int year) {
+        return projectLimits(year, 0, null);
+    }
+
+    /**
+     * Returns the limits for a specific year of a run on a simulated
+     * inflation path.
+     *
+     * <p>Configured years and years before the run are unaffected by the
+     * path. Later years extrapolate from the most recent configured year:
+     * if it precedes the run, the default annual increase rate carries its
+     * limits to the start of the run, and the path's price levels carry
+     * them from there. For a path of a simulation's return path block, pass
+     * {@code y -> block.inflationFactor(path, 12 * y)}.
+     *
+     * @param year the contribution year
+     * @param startYear the calendar year the run starts in
+     * @param priceLevel the path's price level at the start of each run year,
+     *        relative to the start of the run, by zero-based run year
+     * @return the limits for that year
+     * @throws MissingRequiredFieldException if priceLevel is null
+     * @throws ValidationException if a price level read is not finite and positive
+     */
+    public YearLimits getLimitsForYear(int year, int startYear, IntToDoubleFunction priceLevel) {
+        return projectLimits(year, startYear, MissingRequiredFieldException.requireNonNull(priceLevel, "priceLevel"));
+    }
+
+    /**
+     * Returns whether the limits for a year are extrapolated rather than
+     * configured, that is, whether the year is later than every configured
+     * year.
+     *
+     * @param year the contribution year
+     * @return true if the year's limits are projected
+     */
+    public boolean isProjectedYear(int year) {
+        return !limits.isEmpty() && year > Collections.max(limits.keySet());
+    }
+
+    private YearLimits projectLimits(int year, int startYear, IntToDoubleFunction priceLevel) {
         if (limits.containsKey(year)) {
             return limits.get(year);
         }
@@ -175,9 +228,7 @@ public class IrsContributionLimits {
         }
 
         // Extrapolate forward using IRS-style rounding
-        int yearsAhead = year - latestYear;
-        BigDecimal multiplier = BigDecimal.ONE.add(defaultAnnualIncreaseRate)
-            .pow(yearsAhead);
+        BigDecimal multiplier = growth(latestYear, year, startYear, priceLevel);
 
         return new YearLimits(
             roundToIncrement(latestLimits.baseLimit().multiply(multiplier), LIMIT_INCREMENT),
@@ -195,6 +246,28 @@ public class IrsContributionLimits {
      * @return the IRA limits for that year
      */
     public IraLimits getIraLimitsForYear(int year) {
+        return projectIraLimits(year, 0, null);
+    }
+
+    /**
+     * Returns the IRA limits for a specific year of a run on a simulated
+     * inflation path, extrapolated as in
+     * {@link #getLimitsForYear(int, int, IntToDoubleFunction)}.
+     *
+     * @param year the contribution year
+     * @param startYear the calendar year the run starts in
+     * @param priceLevel the path's price level at the start of each run year,
+     *        relative to the start of the run, by zero-based run year
+     * @return the IRA limits for that year
+     * @throws MissingRequiredFieldException if priceLevel is null
+     * @throws ValidationException if a price level read is not finite and positive
+     */
+    public IraLimits getIraLimitsForYear(int year, int startYear, IntToDoubleFunction priceLevel) {
+        return projectIraLimits(year, startYear,
+            MissingRequiredFieldException.requireNonNull(priceLevel, "priceLevel"));
+    }
+
+    private IraLimits projectIraLimits(int year, int startYear, IntToDoubleFunction priceLevel) {
         if (iraLimits.containsKey(year)) {
             return iraLimits.get(year);
         }
@@ -215,9 +288,7 @@ public class IrsContributionLimits {
         }
 
         // Extrapolate forward using IRS-style rounding
-        int yearsAhead = year - latestYear;
-        BigDecimal multiplier = BigDecimal.ONE.add(defaultAnnualIncreaseRate)
-            .pow(yearsAhead);
+        BigDecimal multiplier = growth(latestYear, year, startYear, priceLevel);
 
         return new IraLimits(
             roundToIncrement(latestLimits.baseLimit().multiply(multiplier), LIMIT_INCREMENT),
@@ -235,6 +306,28 @@ public class IrsContributionLimits {
      * @return the HSA limits for that year
      */
     public HsaLimits getHsaLimitsForYear(int year) {
+        return projectHsaLimits(year, 0, null);
+    }
+
+    /**
+     * Returns the HSA limits for a specific year of a run on a simulated
+     * inflation path, extrapolated as in
+     * {@link #getLimitsForYear(int, int, IntToDoubleFunction)}.
+     *
+     * @param year the contribution year
+     * @param startYear the calendar year the run starts in
+     * @param priceLevel the path's price level at the start of each run year,
+     *        relative to the start of the run, by zero-based run year
+     * @return the HSA limits for that year
+     * @throws MissingRequiredFieldException if priceLevel is null
+     * @throws ValidationException if a price level read is not finite and positive
+     */
+    public HsaLimits getHsaLimitsForYear(int year, int startYear, IntToDoubleFunction priceLevel) {
+        return projectHsaLimits(year, startYear,
+            MissingRequiredFieldException.requireNonNull(priceLevel, "priceLevel"));
+    }
+
+    private HsaLimits projectHsaLimits(int year, int startYear, IntToDoubleFunction priceLevel) {
         if (hsaLimits.containsKey(year)) {
             return hsaLimits.get(year);
         }
@@ -255,9 +348,7 @@ public class IrsContributionLimits {
         }
 
         // Extrapolate forward using IRS-style rounding ($50 increments for HSA)
-        int yearsAhead = year - latestYear;
-        BigDecimal multiplier = BigDecimal.ONE.add(defaultAnnualIncreaseRate)
-            .pow(yearsAhead);
+        BigDecimal multiplier = growth(latestYear, year, startYear, priceLevel);
 
         // HSA catch-up has been flat at $1,000 for years - don't extrapolate it
         return new HsaLimits(
@@ -267,6 +358,31 @@ public class IrsContributionLimits {
         );
     }
 
+    /**
+     * Returns the growth of a limit from the most recent configured year to a
+     * later year: at the default rate, or along a price path from the start
+     * of the run.
+     */
+    private BigDecimal growth(int latestYear, int year, int startYear, IntToDoubleFunction priceLevel) {
+        BigDecimal annual = BigDecimal.ONE.add(defaultAnnualIncreaseRate);
+        if (priceLevel == null || year <= startYear) {
+            return annual.pow(year - latestYear);
+        }
+        BigDecimal level = readPriceLevel(priceLevel, year - startYear);
+        if (latestYear < startYear) {
+            return annual.pow(startYear - latestYear).multiply(level);
+        }
+        return level.divide(readPriceLevel(priceLevel, latestYear - startYear), MathContext.DECIMAL64);
+    }
+
+    private static BigDecimal readPriceLevel(IntToDoubleFunction priceLevel, int runYear) {
+        double level = priceLevel.applyAsDouble(runYear);
+        if (!(level > 0) || Double.isInfinite(level)) {
+            throw new ValidationException("Price level must be finite and positive: " + level, "priceLevel");
+        }
+        return BigDecimal.valueOf(level);
+    }
+
     /**
      * Returns the configured limits map.
      *
@@ -283,6 +399,7 @@ public class IrsContributionLimits {
      */
     public void setLimits(Map<Integer, YearLimits> limits) {
         this.limits = limits;
+        revision.incrementAndGet();
     }
 
     /**
@@ -301,6 +418,7 @@ public class IrsContributionLimits {
      */
     public void setDefaultAnnualIncreaseRate(BigDecimal rate) {
         this.defaultAnnualIncreaseRate = rate;
+        revision.incrementAndGet();
     }
 
     /**
@@ -319,6 +437,7 @@ public class IrsContributionLimits {
      */
     public void setIraLimits(Map<Integer, IraLimits> iraLimits) {
         this.iraLimits = iraLimits;
+        revision.incrementAndGet();
     }
 
     /**
@@ -337,6 +456,78 @@ public class IrsContributionLimits {
      */
     public void setHsaLimits(Map<Integer, HsaLimits> hsaLimits) {
         this.hsaLimits = hsaLimits;
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Returns the configuration revision.
+     *
+     * <p>The revision changes every time limits are replaced through one of the
+     * setters, which lets consumers that precompute derived tables (such as
+     * {@link io.github.xmljim.retirement.domain.calculator.impl.Secure2ContributionRules})
+     * detect reconfiguration cheaply. Edits made in place through the maps
+     * returned by the getters are not tracked; call {@link #markReconfigured()}
+     * after such edits.
+     *
+     * @return the current revision
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * Signals that limits were changed in place and derived tables must be rebuilt.
+     */
+    public void markReconfigured() {
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Returns a hash of all configured limits and the default increase rate.
+     *
+     * <p>The hash covers the configured tables, in year order, rather than the
+     * revision number, so two instances loaded from the same configuration
+     * hash the same. It is cached until the {@link #getRevision() revision}
+     * changes.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        long current = revision.get();
+        RevisionHash cached = revisionHash.get();
+        if (cached != null && cached.revision() == current) {
+            return cached.hash();
+        }
+
+        ContentHasher hasher = ContentHasher.create()
+            .putTag("IrsContributionLimits")
+            .putDecimal(defaultAnnualIncreaseRate);
+        hasher.putInt(limits.size());
+        new TreeMap<>(limits).forEach((year, yearLimits) -> hasher
+            .putInt(year)
+            .putDecimal(yearLimits.baseLimit())
+            .putDecimal(yearLimits.catchUpLimit())
+            .putDecimal(yearLimits.superCatchUpLimit())
+            .putDecimal(yearLimits.rothCatchUpIncomeThreshold()));
+        hasher.putInt(iraLimits.size());
+        new TreeMap<>(iraLimits).forEach((year, ira) -> hasher
+            .putInt(year)
+            .putDecimal(ira.baseLimit())
+            .putDecimal(ira.catchUpLimit()));
+        hasher.putInt(hsaLimits.size());
+        new TreeMap<>(hsaLimits).forEach((year, hsa) -> hasher
+            .putInt(year)
+            .putDecimal(hsa.individualLimit())
+            .putDecimal(hsa.familyLimit())
+            .putDecimal(hsa.catchUpLimit()));
+
+        ContentHash hash = hasher.hash();
+        revisionHash.set(new RevisionHash(current, hash));
+        return hash;
+    }
+
+    private record RevisionHash(long revision, ContentHash hash) {
     }
 
     /**
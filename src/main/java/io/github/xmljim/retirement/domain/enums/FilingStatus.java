@@ -0,0 +1,49 @@
+package io.github.xmljim.retirement.domain.enums;
+
+/**
+ * Federal income tax filing status.
+ *
+ * <p>Determines which bracket thresholds and standard deduction apply.
+ */
+public enum FilingStatus {
+    /**
+     * Unmarried taxpayer without dependents.
+     */
+    SINGLE("Single", "Unmarried filer"),
+
+    /**
+     * Married couple filing one joint return.
+     */
+    MARRIED_FILING_JOINTLY("Married Filing Jointly", "Married couple on a joint return"),
+
+    /**
+     * Unmarried taxpayer maintaining a home for a qualifying person.
+     */
+    HEAD_OF_HOUSEHOLD("Head of Household", "Unmarried filer with a qualifying dependent");
+
+    private final String displayName;
+    private final String description;
+
+    FilingStatus(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    /**
+     * Returns the human-readable display name.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns a brief description of the filing status.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.xmljim.retirement.domain.enums;
+
+/**
+ * Defines the numeric precision a simulation run computes with.
+ *
+ * <p>Results computed at different precisions can differ in the last cents,
+ * so the precision mode is part of the identity of a cached result.
+ */
+public enum PrecisionMode {
+    /**
+     * Uses {@link java.math.BigDecimal} arithmetic throughout.
+     * Exact to the cent; suited to single deterministic projections.
+     */
+    DECIMAL("Decimal", "Exact decimal arithmetic"),
+
+    /**
+     * Uses primitive {@code double} arithmetic in the monthly loop.
+     * Much faster; suited to runs with many paths.
+     */
+    DOUBLE("Double", "Fast floating-point arithmetic");
+
+    private final String displayName;
+    private final String description;
+
+    PrecisionMode(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    /**
+     * Returns the human-readable display name.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns a brief description of the precision mode.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
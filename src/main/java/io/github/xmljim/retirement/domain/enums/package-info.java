@@ -10,6 +10,7 @@
  *   <li>{@code TransactionType} - Transaction categories (contribution, withdrawal, etc.)</li>
  *   <li>{@code ContributionType} - Contribution sources (personal, employer)</li>
  *   <li>{@code DistributionStrategyType} - Withdrawal strategy types</li>
+ *   <li>{@code FilingStatus} - Federal income tax filing statuses</li>
  * </ul>
  */
 package io.github.xmljim.retirement.domain.enums;
@@ -11,6 +11,9 @@ import io.github.xmljim.retirement.domain.exception.InvalidRateException;
 import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
 import io.github.xmljim.retirement.domain.exception.ValidationException;
 import io.github.xmljim.retirement.domain.value.AssetAllocation;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
 
 /**
  * Represents an individual investment account within a portfolio.
@@ -32,7 +35,7 @@ import io.github.xmljim.retirement.domain.value.AssetAllocation;
  *     .build();
  * }</pre>
  */
-public final class InvestmentAccount {
+public final class InvestmentAccount implements ContentHashable {
 
     /**
      * Default expected annual return for stocks (7%).
@@ -51,6 +54,8 @@ public final class InvestmentAccount {
 
     private static final BigDecimal MIN_RETURN = new BigDecimal("-0.50");
     private static final BigDecimal MAX_RETURN = new BigDecimal("0.50");
+    private static final BigDecimal MONTHS_PER_YEAR = new BigDecimal("12");
+    private static final int MONTHLY_RATE_SCALE = 10;
 
     private final String id;
     private final String name;
@@ -60,6 +65,12 @@ public final class InvestmentAccount {
     private final BigDecimal preRetirementReturnRate;
     private final BigDecimal postRetirementReturnRate;
     private final boolean useAllocationBasedReturn;
+    private final BigDecimal allocationBasedReturn;
+    private final BigDecimal effectivePreRetirementReturn;
+    private final BigDecimal effectivePostRetirementReturn;
+    private final BigDecimal monthlyPreRetirementReturn;
+    private final BigDecimal monthlyPostRetirementReturn;
+    private ContentHash cachedContentHash;
 
     private InvestmentAccount(Builder builder) {
         this.id = builder.id != null ? builder.id : UUID.randomUUID().toString();
@@ -70,6 +81,24 @@ public final class InvestmentAccount {
         this.preRetirementReturnRate = builder.preRetirementReturnRate;
         this.postRetirementReturnRate = builder.postRetirementReturnRate;
         this.useAllocationBasedReturn = builder.useAllocationBasedReturn;
+
+        // The account is immutable, so resolve the effective rates once
+        this.allocationBasedReturn = allocation.calculateBlendedReturn(
+            DEFAULT_STOCK_RETURN, DEFAULT_BOND_RETURN, DEFAULT_CASH_RETURN);
+        this.effectivePreRetirementReturn = useAllocationBasedReturn
+            ? allocationBasedReturn
+            : preRetirementReturnRate;
+        if (postRetirementReturnRate != null) {
+            this.effectivePostRetirementReturn = postRetirementReturnRate;
+        } else {
+            this.effectivePostRetirementReturn = effectivePreRetirementReturn;
+        }
+        this.monthlyPreRetirementReturn = toMonthlyRate(effectivePreRetirementReturn);
+        this.monthlyPostRetirementReturn = toMonthlyRate(effectivePostRetirementReturn);
+    }
+
+    private static BigDecimal toMonthlyRate(BigDecimal annualRate) {
+        return annualRate.divide(MONTHS_PER_YEAR, MONTHLY_RATE_SCALE, RoundingMode.HALF_UP);
     }
 
     /**
@@ -126,10 +155,7 @@ public final class InvestmentAccount {
      * @return the pre-retirement return rate as a decimal (e.g., 0.07 for 7%)
      */
     public BigDecimal getPreRetirementReturnRate() {
-        if (useAllocationBasedReturn) {
-            return calculateAllocationBasedReturn();
-        }
-        return preRetirementReturnRate;
+        return effectivePreRetirementReturn;
     }
 
     /**
@@ -141,13 +167,28 @@ public final class InvestmentAccount {
      * @return the post-retirement return rate as a decimal
      */
     public BigDecimal getPostRetirementReturnRate() {
-        if (postRetirementReturnRate != null) {
-            return postRetirementReturnRate;
-        }
-        if (useAllocationBasedReturn) {
-            return calculateAllocationBasedReturn();
-        }
-        return preRetirementReturnRate;
+        return effectivePostRetirementReturn;
+    }
+
+    /**
+     * Returns the monthly equivalent of the pre-retirement return rate.
+     *
+     * <p>The monthly rate is the annual rate divided by 12, matching
+     * {@link io.github.xmljim.retirement.domain.calculator.ReturnCalculator#toMonthlyRate(BigDecimal)}.
+     *
+     * @return the monthly pre-retirement return rate as a decimal
+     */
+    public BigDecimal getMonthlyPreRetirementReturnRate() {
+        return monthlyPreRetirementReturn;
+    }
+
+    /**
+     * Returns the monthly equivalent of the post-retirement return rate.
+     *
+     * @return the monthly post-retirement return rate as a decimal
+     */
+    public BigDecimal getMonthlyPostRetirementReturnRate() {
+        return monthlyPostRetirementReturn;
     }
 
     /**
@@ -202,14 +243,13 @@ public final class InvestmentAccount {
     /**
      * Calculates the blended return rate based on asset allocation.
      *
+     * <p>The rate is computed from the default asset-class returns when the
+     * account is built; this method returns that cached value.
+     *
      * @return the weighted average return rate
      */
     public BigDecimal calculateAllocationBasedReturn() {
-        return allocation.calculateBlendedReturn(
-                DEFAULT_STOCK_RETURN,
-                DEFAULT_BOND_RETURN,
-                DEFAULT_CASH_RETURN
-        );
+        return allocationBasedReturn;
     }
 
     /**
@@ -246,6 +286,32 @@ public final class InvestmentAccount {
         return builder;
     }
 
+    /**
+     * Returns a hash of this account's simulation-relevant content.
+     *
+     * <p>Covers the account type, balance, allocation, and the effective
+     * pre- and post-retirement return rates. The ID and name are not part of
+     * the hash.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("InvestmentAccount")
+                .putEnum(accountType)
+                .putDecimal(balance)
+                .put(allocation)
+                .putDecimal(effectivePreRetirementReturn)
+                .putDecimal(effectivePostRetirementReturn)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
@@ -9,6 +9,9 @@ import java.util.UUID;
 import io.github.xmljim.retirement.domain.annotation.Generated;
 import io.github.xmljim.retirement.domain.exception.InvalidDateRangeException;
 import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
 
 /**
  * Represents an individual in the retirement simulation.
@@ -27,7 +30,7 @@ import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldExceptio
  *     .build();
  * }</pre>
  */
-public final class PersonProfile {
+public final class PersonProfile implements ContentHashable {
 
     private final String id;
     private final String name;
@@ -36,6 +39,7 @@ public final class PersonProfile {
     private final int lifeExpectancy;
     private final LocalDate socialSecurityStartDate;
     private final PersonProfile spouse;
+    private ContentHash cachedContentHash;
 
     private PersonProfile(Builder builder) {
         // Validation is performed in Builder.build() before this constructor is called,
@@ -193,6 +197,39 @@ public final class PersonProfile {
             .spouse(this.spouse);
     }
 
+    /**
+     * Returns a hash of this person's simulation-relevant details.
+     *
+     * <p>Covers the birth, retirement, and Social Security dates and life
+     * expectancy, plus the same details of a linked spouse (but not the
+     * spouse's own link back, which would be circular). The ID and name are
+     * not part of the hash.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("PersonProfile")
+                .putHash(hashPersonalDetails(this))
+                .putHash(spouse != null ? hashPersonalDetails(spouse) : null)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
+    private static ContentHash hashPersonalDetails(PersonProfile person) {
+        return ContentHasher.create()
+            .putDate(person.dateOfBirth)
+            .putDate(person.retirementDate)
+            .putInt(person.lifeExpectancy)
+            .putDate(person.socialSecurityStartDate)
+            .hash();
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
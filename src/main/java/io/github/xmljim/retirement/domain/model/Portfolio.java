@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +20,9 @@ import io.github.xmljim.retirement.domain.enums.AccountType;
 import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
 import io.github.xmljim.retirement.domain.exception.ValidationException;
 import io.github.xmljim.retirement.domain.value.AssetAllocation;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
 
 /**
  * Represents a portfolio containing multiple investment accounts.
@@ -27,6 +32,11 @@ import io.github.xmljim.retirement.domain.value.AssetAllocation;
  * calculating total balances, balances by account type or tax treatment,
  * and overall asset allocation across all accounts.
  *
+ * <p>Because a Portfolio is immutable, these aggregates are computed once when
+ * the portfolio is built: balances are summed into {@link EnumMap}s keyed by
+ * account type and tax treatment, the balance-weighted allocation and return
+ * rates are resolved, and accounts are indexed by ID.
+ *
  * <p>Use the {@link Builder} to create instances:
  * <pre>{@code
  * Portfolio portfolio = Portfolio.builder()
@@ -36,18 +46,46 @@ import io.github.xmljim.retirement.domain.value.AssetAllocation;
  *     .build();
  * }</pre>
  */
-public final class Portfolio {
+public final class Portfolio implements ContentHashable {
 
     private static final int SCALE = 6;
 
     private final String id;
     private final PersonProfile owner;
     private final List<InvestmentAccount> accounts;
+    private final Map<String, InvestmentAccount> accountsById;
+    private final BigDecimal totalBalance;
+    private final Map<AccountType, BigDecimal> balancesByType;
+    private final Map<AccountType.TaxTreatment, BigDecimal> balancesByTaxTreatment;
+    private final AssetAllocation overallAllocation;
+    private final BigDecimal blendedPreRetirementReturnRate;
+    private final BigDecimal blendedPostRetirementReturnRate;
+    private ContentHash cachedContentHash;
 
     private Portfolio(Builder builder) {
         this.id = builder.id != null ? builder.id : UUID.randomUUID().toString();
         this.owner = builder.owner;
         this.accounts = Collections.unmodifiableList(new ArrayList<>(builder.accounts));
+
+        Map<String, InvestmentAccount> byId = new HashMap<>();
+        Map<AccountType, BigDecimal> byType = new EnumMap<>(AccountType.class);
+        Map<AccountType.TaxTreatment, BigDecimal> byTaxTreatment = new EnumMap<>(AccountType.TaxTreatment.class);
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (InvestmentAccount account : accounts) {
+            byId.put(account.getId(), account);
+            byType.merge(account.getAccountType(), account.getBalance(), BigDecimal::add);
+            byTaxTreatment.merge(account.getTaxTreatment(), account.getBalance(), BigDecimal::add);
+            total = total.add(account.getBalance());
+        }
+
+        this.accountsById = Collections.unmodifiableMap(byId);
+        this.balancesByType = Collections.unmodifiableMap(byType);
+        this.balancesByTaxTreatment = Collections.unmodifiableMap(byTaxTreatment);
+        this.totalBalance = total;
+        this.overallAllocation = calculateOverallAllocation();
+        this.blendedPreRetirementReturnRate = calculateBlendedReturnRate(true);
+        this.blendedPostRetirementReturnRate = calculateBlendedReturnRate(false);
     }
 
     /**
@@ -102,9 +140,7 @@ public final class Portfolio {
      * @return an Optional containing the account, or empty if not found
      */
     public Optional<InvestmentAccount> findAccountById(String accountId) {
-        return accounts.stream()
-            .filter(a -> a.getId().equals(accountId))
-            .findFirst();
+        return Optional.ofNullable(accountsById.get(accountId));
     }
 
     /**
@@ -139,9 +175,7 @@ public final class Portfolio {
      * @return the total portfolio balance
      */
     public BigDecimal getTotalBalance() {
-        return accounts.stream()
-            .map(InvestmentAccount::getBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalBalance;
     }
 
     /**
@@ -151,27 +185,20 @@ public final class Portfolio {
      * @return the total balance for that account type
      */
     public BigDecimal getBalanceByType(AccountType accountType) {
-        return accounts.stream()
-            .filter(a -> a.getAccountType() == accountType)
-            .map(InvestmentAccount::getBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return accountType == null
+            ? BigDecimal.ZERO
+            : balancesByType.getOrDefault(accountType, BigDecimal.ZERO);
     }
 
     /**
      * Calculates the total balance grouped by account type.
      *
-     * @return a map of account type to total balance
+     * <p>Only account types present in the portfolio appear as keys.
+     *
+     * @return an unmodifiable map of account type to total balance
      */
     public Map<AccountType, BigDecimal> getBalancesByType() {
-        return accounts.stream()
-            .collect(Collectors.groupingBy(
-                InvestmentAccount::getAccountType,
-                Collectors.reducing(
-                    BigDecimal.ZERO,
-                    InvestmentAccount::getBalance,
-                    BigDecimal::add
-                )
-            ));
+        return balancesByType;
     }
 
     /**
@@ -181,27 +208,20 @@ public final class Portfolio {
      * @return the total balance for that tax treatment
      */
     public BigDecimal getBalanceByTaxTreatment(AccountType.TaxTreatment taxTreatment) {
-        return accounts.stream()
-            .filter(a -> a.getTaxTreatment() == taxTreatment)
-            .map(InvestmentAccount::getBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return taxTreatment == null
+            ? BigDecimal.ZERO
+            : balancesByTaxTreatment.getOrDefault(taxTreatment, BigDecimal.ZERO);
     }
 
     /**
      * Calculates the total balance grouped by tax treatment.
      *
-     * @return a map of tax treatment to total balance
+     * <p>Only tax treatments present in the portfolio appear as keys.
+     *
+     * @return an unmodifiable map of tax treatment to total balance
      */
     public Map<AccountType.TaxTreatment, BigDecimal> getBalancesByTaxTreatment() {
-        return accounts.stream()
-            .collect(Collectors.groupingBy(
-                InvestmentAccount::getTaxTreatment,
-                Collectors.reducing(
-                    BigDecimal.ZERO,
-                    InvestmentAccount::getBalance,
-                    BigDecimal::add
-                )
-            ));
+        return balancesByTaxTreatment;
     }
 
     // ==================== Allocation Methods ====================
@@ -215,8 +235,10 @@ public final class Portfolio {
      * @return the weighted average asset allocation, or a zero allocation if empty
      */
     public AssetAllocation getOverallAllocation() {
-        BigDecimal totalBalance = getTotalBalance();
+        return overallAllocation;
+    }
 
+    private AssetAllocation calculateOverallAllocation() {
         if (totalBalance.compareTo(BigDecimal.ZERO) == 0) {
             return AssetAllocation.of(0, 0, 100);
         }
@@ -261,7 +283,7 @@ public final class Portfolio {
      * @return the weighted average pre-retirement return rate
      */
     public BigDecimal getBlendedPreRetirementReturnRate() {
-        return calculateBlendedReturnRate(true);
+        return blendedPreRetirementReturnRate;
     }
 
     /**
@@ -270,12 +292,10 @@ public final class Portfolio {
      * @return the weighted average post-retirement return rate
      */
     public BigDecimal getBlendedPostRetirementReturnRate() {
-        return calculateBlendedReturnRate(false);
+        return blendedPostRetirementReturnRate;
     }
 
     private BigDecimal calculateBlendedReturnRate(boolean preRetirement) {
-        BigDecimal totalBalance = getTotalBalance();
-
         if (totalBalance.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
@@ -347,6 +367,27 @@ public final class Portfolio {
             .addAccounts(this.accounts);
     }
 
+    /**
+     * Returns a hash of the owner and accounts, in account order.
+     *
+     * <p>The portfolio ID is not part of the hash.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("Portfolio")
+                .put(owner)
+                .putAll(accounts)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
@@ -373,7 +414,7 @@ public final class Portfolio {
                 "id='" + id + '\'' +
                 ", owner=" + owner.getName() +
                 ", accounts=" + accounts.size() +
-                ", totalBalance=" + getTotalBalance() +
+                ", totalBalance=" + totalBalance +
                 '}';
     }
 
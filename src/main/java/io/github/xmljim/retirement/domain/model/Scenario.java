@@ -13,6 +13,9 @@ import io.github.xmljim.retirement.domain.enums.EndCondition;
 import io.github.xmljim.retirement.domain.enums.SimulationMode;
 import io.github.xmljim.retirement.domain.exception.InvalidDateRangeException;
 import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
 import io.github.xmljim.retirement.domain.value.InflationAssumptions;
 
 /**
@@ -22,7 +25,7 @@ import io.github.xmljim.retirement.domain.value.InflationAssumptions;
  * including the person profile(s), time horizon, simulation mode, and various
  * assumption overrides.
  */
-public final class Scenario {
+public final class Scenario implements ContentHashable {
 
     public static final BigDecimal DEFAULT_STOCK_RETURN = new BigDecimal("0.07");
     public static final BigDecimal DEFAULT_BOND_RETURN = new BigDecimal("0.04");
@@ -40,6 +43,7 @@ public final class Scenario {
     private final BigDecimal defaultStockReturn;
     private final BigDecimal defaultBondReturn;
     private final BigDecimal defaultCashReturn;
+    private ContentHash cachedContentHash;
 
     private Scenario(Builder builder) {
         this.id = builder.id != null ? builder.id : UUID.randomUUID().toString();
@@ -162,6 +166,39 @@ public final class Scenario {
             .defaultCashReturn(this.defaultCashReturn);
     }
 
+    /**
+     * Returns a hash of the scenario's simulation-relevant content.
+     *
+     * <p>Covers the persons, dates, modes, inflation assumptions, and default
+     * returns. The ID and name are not part of the hash. Portfolios, incomes,
+     * and contribution limits live outside the scenario; combine their hashes
+     * with this one (see {@link ContentHasher#put(ContentHashable)}) to key a
+     * complete simulation request.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("Scenario")
+                .put(primaryPerson)
+                .put(secondaryPerson)
+                .putDate(startDate)
+                .putEnum(endCondition)
+                .putEnum(simulationMode)
+                .putEnum(distributionStrategy)
+                .put(inflationAssumptions)
+                .putDecimal(defaultStockReturn)
+                .putDecimal(defaultBondReturn)
+                .putDecimal(defaultCashReturn)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
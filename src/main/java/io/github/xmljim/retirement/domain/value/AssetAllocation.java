@@ -3,6 +3,7 @@ package io.github.xmljim.retirement.domain.value;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.github.xmljim.retirement.domain.annotation.Generated;
 import io.github.xmljim.retirement.domain.exception.InvalidAllocationException;
@@ -28,7 +29,7 @@ import io.github.xmljim.retirement.domain.exception.InvalidAllocationException;
  *     .build();
  * }</pre>
  */
-public final class AssetAllocation {
+public final class AssetAllocation implements ContentHashable {
 
     private static final BigDecimal HUNDRED = new BigDecimal("100");
     private static final int SCALE = 4;
@@ -36,6 +37,8 @@ public final class AssetAllocation {
     private final BigDecimal stocksPercentage;
     private final BigDecimal bondsPercentage;
     private final BigDecimal cashPercentage;
+    private final AtomicReference<BlendedReturn> lastBlendedReturn = new AtomicReference<>();
+    private ContentHash cachedContentHash;
 
     private AssetAllocation(BigDecimal stocks, BigDecimal bonds, BigDecimal cash) {
         this.stocksPercentage = stocks.setScale(SCALE, RoundingMode.HALF_UP);
@@ -139,6 +142,9 @@ public final class AssetAllocation {
     /**
      * Calculates a blended return rate based on this allocation.
      *
+     * <p>The most recent result is remembered, so repeated calls with the
+     * same asset-class returns (the common case) skip the arithmetic.
+     *
      * @param stockReturn expected annual return for stocks (as decimal, e.g., 0.07 for 7%)
      * @param bondReturn expected annual return for bonds (as decimal)
      * @param cashReturn expected annual return for cash (as decimal)
@@ -146,6 +152,11 @@ public final class AssetAllocation {
      */
     public BigDecimal calculateBlendedReturn(BigDecimal stockReturn, BigDecimal bondReturn,
                                              BigDecimal cashReturn) {
+        BlendedReturn cached = lastBlendedReturn.get();
+        if (cached != null && cached.matches(stockReturn, bondReturn, cashReturn)) {
+            return cached.result();
+        }
+
         BigDecimal stockContribution = stocksPercentage
             .multiply(stockReturn)
             .divide(HUNDRED, SCALE, RoundingMode.HALF_UP);
@@ -156,7 +167,29 @@ public final class AssetAllocation {
             .multiply(cashReturn)
             .divide(HUNDRED, SCALE, RoundingMode.HALF_UP);
 
-        return stockContribution.add(bondContribution).add(cashContribution);
+        BigDecimal result = stockContribution.add(bondContribution).add(cashContribution);
+        lastBlendedReturn.set(new BlendedReturn(stockReturn, bondReturn, cashReturn, result));
+        return result;
+    }
+
+    /**
+     * Returns a hash of the three allocation percentages.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("AssetAllocation")
+                .putDecimal(stocksPercentage)
+                .putDecimal(bondsPercentage)
+                .putDecimal(cashPercentage)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
     }
 
     @Generated
@@ -193,6 +226,19 @@ public final class AssetAllocation {
                 cashPercentage.stripTrailingZeros().toPlainString());
     }
 
+    /**
+     * The inputs and result of the last blended return calculation.
+     */
+    private record BlendedReturn(BigDecimal stockReturn, BigDecimal bondReturn,
+                                 BigDecimal cashReturn, BigDecimal result) {
+
+        boolean matches(BigDecimal stock, BigDecimal bond, BigDecimal cash) {
+            return stockReturn.compareTo(stock) == 0
+                && bondReturn.compareTo(bond) == 0
+                && cashReturn.compareTo(cash) == 0;
+        }
+    }
+
     /**
      * Builder for creating AssetAllocation instances.
      */
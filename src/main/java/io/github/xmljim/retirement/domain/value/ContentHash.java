@@ -0,0 +1,49 @@
+package io.github.xmljim.retirement.domain.value;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+/**
+ * A stable fingerprint of the simulation-relevant content of a domain object.
+ *
+ * <p>Domain objects compare by ID, so two requests with identical inputs look
+ * different and an edited object with the same ID looks unchanged. A content
+ * hash identifies the inputs themselves: equal hashes mean equal content,
+ * regardless of IDs, display names, or {@link java.math.BigDecimal} scale.
+ * Result caches and request de-duplication key on it.
+ *
+ * <p>The value is the leading 128 bits of a SHA-256 digest over a canonical
+ * encoding produced by {@link ContentHasher}.
+ *
+ * @param high the most significant 64 bits
+ * @param low the least significant 64 bits
+ * @see ContentHashable
+ */
+public record ContentHash(long high, long low) {
+
+    /**
+     * Creates a content hash from the leading 16 bytes of a digest.
+     *
+     * @param digest the digest bytes; at least 16 bytes
+     * @return the content hash
+     */
+    static ContentHash fromDigest(byte[] digest) {
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new ContentHash(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Returns the hash as 32 lowercase hexadecimal characters.
+     *
+     * @return the hexadecimal form
+     */
+    public String toHex() {
+        HexFormat hex = HexFormat.of();
+        return hex.toHexDigits(high) + hex.toHexDigits(low);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
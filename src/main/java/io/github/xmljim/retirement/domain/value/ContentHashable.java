@@ -0,0 +1,24 @@
+package io.github.xmljim.retirement.domain.value;
+
+/**
+ * A domain object that can fingerprint its simulation-relevant content.
+ *
+ * <p>Implementations hash every field that can change a simulation outcome
+ * and leave out identity and labels (IDs, display names). Immutable
+ * implementations compute the hash once and cache it; composite objects hash
+ * the cached hashes of their parts, so fingerprinting a whole scenario tree
+ * only does new work for the parts that changed.
+ *
+ * @see ContentHash
+ * @see ContentHasher
+ */
+@SuppressWarnings("PMD.ImplicitFunctionalInterface")
+public interface ContentHashable {
+
+    /**
+     * Returns the content hash of this object.
+     *
+     * @return the content hash
+     */
+    ContentHash contentHash();
+}
@@ -0,0 +1,233 @@
+package io.github.xmljim.retirement.domain.value;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Builds a {@link ContentHash} from a canonical encoding of field values.
+ *
+ * <p>The encoding is unambiguous and independent of representation details:
+ * <ul>
+ *   <li>every value is preceded by a presence marker, so {@code null} never
+ *       collides with a real value</li>
+ *   <li>strings and collections are length-prefixed</li>
+ *   <li>decimals are normalized, so {@code 0.07} and {@code 0.0700} hash
+ *       the same</li>
+ *   <li>dates hash as epoch days and enums by name</li>
+ *   <li>nested {@link ContentHashable} values contribute their own
+ *       (usually cached) hash</li>
+ * </ul>
+ *
+ * <p>Each object should start with {@link #putTag(String)} naming its type, so
+ * that objects of different types with similar fields do not collide.
+ *
+ * <pre>{@code
+ * ContentHash hash = ContentHasher.create()
+ *     .putTag("AssetAllocation")
+ *     .putDecimal(stocks)
+ *     .putDecimal(bonds)
+ *     .putDecimal(cash)
+ *     .hash();
+ * }</pre>
+ *
+ * <p>Instances are single-use and not thread-safe.
+ */
+public final class ContentHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+
+    private final MessageDigest digest;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    private ContentHasher(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    /**
+     * Creates a new hasher.
+     *
+     * @return a new ContentHasher
+     */
+    public static ContentHasher create() {
+        try {
+            return new ContentHasher(MessageDigest.getInstance(ALGORITHM));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Adds a type tag.
+     *
+     * @param tag the tag, typically the simple class name
+     * @return this hasher
+     */
+    public ContentHasher putTag(String tag) {
+        return putString(tag);
+    }
+
+    /**
+     * Adds a string value.
+     *
+     * @param value the value, may be null
+     * @return this hasher
+     */
+    public ContentHasher putString(String value) {
+        if (absent(value)) {
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeLong(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * Adds an int value.
+     *
+     * @param value the value
+     * @return this hasher
+     */
+    public ContentHasher putInt(int value) {
+        return putLong(value);
+    }
+
+    /**
+     * Adds a long value.
+     *
+     * @param value the value
+     * @return this hasher
+     */
+    public ContentHasher putLong(long value) {
+        digest.update(PRESENT);
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * Adds a boolean value.
+     *
+     * @param value the value
+     * @return this hasher
+     */
+    public ContentHasher putBoolean(boolean value) {
+        digest.update(PRESENT);
+        digest.update(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Adds a decimal value, normalized so that scale does not matter.
+     *
+     * @param value the value, may be null
+     * @return this hasher
+     */
+    public ContentHasher putDecimal(BigDecimal value) {
+        if (absent(value)) {
+            return this;
+        }
+        String canonical = value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+        byte[] bytes = canonical.getBytes(StandardCharsets.US_ASCII);
+        writeLong(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * Adds a date value.
+     *
+     * @param value the value, may be null
+     * @return this hasher
+     */
+    public ContentHasher putDate(LocalDate value) {
+        if (absent(value)) {
+            return this;
+        }
+        writeLong(value.toEpochDay());
+        return this;
+    }
+
+    /**
+     * Adds an enum constant by name.
+     *
+     * @param value the value, may be null
+     * @return this hasher
+     */
+    public ContentHasher putEnum(Enum<?> value) {
+        return putString(value != null ? value.name() : null);
+    }
+
+    /**
+     * Adds a previously computed content hash.
+     *
+     * @param value the hash, may be null
+     * @return this hasher
+     */
+    public ContentHasher putHash(ContentHash value) {
+        if (absent(value)) {
+            return this;
+        }
+        writeLong(value.high());
+        writeLong(value.low());
+        return this;
+    }
+
+    /**
+     * Adds the content hash of a nested object.
+     *
+     * @param value the object, may be null
+     * @return this hasher
+     */
+    public ContentHasher put(ContentHashable value) {
+        return putHash(value != null ? value.contentHash() : null);
+    }
+
+    /**
+     * Adds the content hashes of a collection of objects, in iteration order.
+     *
+     * @param values the objects, may be null
+     * @return this hasher
+     */
+    public ContentHasher putAll(Collection<? extends ContentHashable> values) {
+        if (absent(values)) {
+            return this;
+        }
+        writeLong(values.size());
+        for (ContentHashable value : values) {
+            put(value);
+        }
+        return this;
+    }
+
+    /**
+     * Completes the hash. The hasher must not be used afterwards.
+     *
+     * @return the content hash
+     */
+    public ContentHash hash() {
+        return ContentHash.fromDigest(digest.digest());
+    }
+
+    private boolean absent(Object value) {
+        if (value == null) {
+            digest.update(ABSENT);
+            return true;
+        }
+        digest.update(PRESENT);
+        return false;
+    }
+
+    private void writeLong(long value) {
+        scratch.clear();
+        scratch.putLong(value);
+        digest.update(scratch.array());
+    }
+}
@@ -28,7 +28,7 @@ import io.github.xmljim.retirement.domain.exception.ValidationException;
  *
  * <p>This is an immutable value object. Use the {@link Builder} to create instances.
  */
-public final class ContributionConfig {
+public final class ContributionConfig implements ContentHashable {
 
     private final ContributionType contributionType;
     private final BigDecimal contributionRate;
@@ -36,6 +36,7 @@ public final class ContributionConfig {
     private final Month incrementMonth;
     private final AccountType targetAccountType;
     private final MatchingPolicy matchingPolicy;
+    private ContentHash cachedContentHash;
 
     private ContributionConfig(Builder builder) {
         this.contributionType = builder.contributionType;
@@ -145,6 +146,45 @@ public final class ContributionConfig {
         return new Builder();
     }
 
+    /**
+     * Creates a builder initialized with values from this configuration.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .contributionType(this.contributionType)
+            .contributionRate(this.contributionRate)
+            .incrementRate(this.incrementRate)
+            .incrementMonth(this.incrementMonth)
+            .targetAccountType(this.targetAccountType)
+            .matchingPolicy(this.matchingPolicy);
+    }
+
+    /**
+     * Returns a hash of the contribution settings, including the matching
+     * policy's own content hash.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("ContributionConfig")
+                .putEnum(contributionType)
+                .putDecimal(contributionRate)
+                .putDecimal(incrementRate)
+                .putEnum(incrementMonth)
+                .putEnum(targetAccountType)
+                .put(matchingPolicy)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
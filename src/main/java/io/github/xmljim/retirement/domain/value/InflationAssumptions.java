@@ -27,7 +27,7 @@ import io.github.xmljim.retirement.domain.exception.InvalidRateException;
  *     .build();
  * }</pre>
  */
-public final class InflationAssumptions {
+public final class InflationAssumptions implements ContentHashable {
 
     /**
      * Default general inflation rate (3.0%).
@@ -51,6 +51,7 @@ public final class InflationAssumptions {
     private final BigDecimal generalInflation;
     private final BigDecimal healthcareInflation;
     private final BigDecimal housingInflation;
+    private ContentHash cachedContentHash;
 
     private InflationAssumptions(BigDecimal general, BigDecimal healthcare, BigDecimal housing) {
         this.generalInflation = general.setScale(SCALE, RoundingMode.HALF_UP);
@@ -160,6 +161,26 @@ public final class InflationAssumptions {
             .build();
     }
 
+    /**
+     * Returns a hash of the general, healthcare, and housing inflation rates.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("InflationAssumptions")
+                .putDecimal(generalInflation)
+                .putDecimal(healthcareInflation)
+                .putDecimal(housingInflation)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
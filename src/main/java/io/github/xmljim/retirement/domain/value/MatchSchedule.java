@@ -0,0 +1,210 @@
+package io.github.xmljim.retirement.domain.value;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+
+/**
+ * A compiled, piecewise-linear employer match schedule.
+ *
+ * <p>Every {@link MatchingPolicy} describes a match curve that is linear between
+ * contribution thresholds and flat beyond the last one. This class precomputes
+ * that curve as a table of breakpoints, the cumulative match at each breakpoint,
+ * and the marginal match rate of each segment. Evaluating the match for an
+ * employee rate is then a binary search followed by one multiply-add:
+ * <pre>
+ * match(rate) = cumulativeMatch[i] + (rate - breakpoint[i]) * slope[i]
+ *   where i is the last breakpoint &lt;= rate
+ * </pre>
+ *
+ * <p>Example: 100% on the first 3%, 50% on the next 2%
+ * <pre>
+ * breakpoint:      0.00   0.03   0.05
+ * cumulativeMatch: 0.00   0.03   0.04
+ * slope:           1.00   0.50   0.00
+ * </pre>
+ *
+ * <p>The decimal table produces results identical to the policy's
+ * {@link MatchingPolicy#calculateEmployerMatch(BigDecimal)}; the primitive
+ * table serves simulation code that works in {@code double}.
+ *
+ * <p>Instances are immutable and safe to share across threads. Obtain one
+ * through {@link MatchingPolicy#compile()}.
+ */
+public final class MatchSchedule {
+
+    private static final int SCALE = 6;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    private static final MatchSchedule NONE = new MatchSchedule(
+        new BigDecimal[] {BigDecimal.ZERO},
+        new BigDecimal[] {BigDecimal.ZERO});
+
+    private final BigDecimal[] breakpoints;
+    private final BigDecimal[] cumulativeMatch;
+    private final BigDecimal[] slopes;
+    private final double[] breakpointValues;
+    private final double[] cumulativeMatchValues;
+    private final double[] slopeValues;
+
+    private MatchSchedule(BigDecimal[] breakpoints, BigDecimal[] slopes) {
+        int size = breakpoints.length;
+        this.breakpoints = breakpoints;
+        this.slopes = slopes;
+        this.cumulativeMatch = new BigDecimal[size];
+        this.breakpointValues = new double[size];
+        this.cumulativeMatchValues = new double[size];
+        this.slopeValues = new double[size];
+
+        BigDecimal cumulative = BigDecimal.ZERO;
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                BigDecimal segmentWidth = breakpoints[i].subtract(breakpoints[i - 1]);
+                cumulative = cumulative.add(segmentWidth.multiply(slopes[i - 1]));
+            }
+            cumulativeMatch[i] = cumulative;
+            breakpointValues[i] = breakpoints[i].doubleValue();
+            cumulativeMatchValues[i] = cumulative.doubleValue();
+            slopeValues[i] = slopes[i].doubleValue();
+        }
+    }
+
+    /**
+     * Returns the schedule for a policy that never matches.
+     *
+     * @return an all-zero schedule
+     */
+    static MatchSchedule none() {
+        return NONE;
+    }
+
+    /**
+     * Compiles a simple "rate up to a cap" policy.
+     *
+     * @param matchRate the match rate applied below the cap
+     * @param maxMatchPercent the maximum employee contribution that is matched
+     * @return the compiled schedule
+     */
+    static MatchSchedule simple(BigDecimal matchRate, BigDecimal maxMatchPercent) {
+        return new MatchSchedule(
+            new BigDecimal[] {BigDecimal.ZERO, maxMatchPercent},
+            new BigDecimal[] {matchRate, BigDecimal.ZERO});
+    }
+
+    /**
+     * Compiles a tiered policy.
+     *
+     * @param sortedTiers the tiers, ordered by ascending threshold
+     * @return the compiled schedule
+     */
+    static MatchSchedule tiered(List<MatchTier> sortedTiers) {
+        int size = sortedTiers.size() + 1;
+        BigDecimal[] breakpoints = new BigDecimal[size];
+        BigDecimal[] slopes = new BigDecimal[size];
+
+        breakpoints[0] = BigDecimal.ZERO;
+        for (int i = 0; i < sortedTiers.size(); i++) {
+            MatchTier tier = sortedTiers.get(i);
+            slopes[i] = tier.matchRate();
+            breakpoints[i + 1] = tier.contributionThreshold();
+        }
+        // Contributions beyond the last threshold are not matched
+        slopes[size - 1] = BigDecimal.ZERO;
+
+        return new MatchSchedule(breakpoints, slopes);
+    }
+
+    /**
+     * Calculates the employer match for an employee contribution rate.
+     *
+     * @param employeeContributionRate the employee's contribution as a decimal
+     * @return the employer match as a decimal, scaled to 6 places; zero for
+     *         null, zero, or negative rates
+     */
+    public BigDecimal calculateEmployerMatch(BigDecimal employeeContributionRate) {
+        if (employeeContributionRate == null
+                || employeeContributionRate.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        int segment = findSegment(employeeContributionRate);
+        return employeeContributionRate.subtract(breakpoints[segment])
+            .multiply(slopes[segment])
+            .add(cumulativeMatch[segment])
+            .setScale(SCALE, ROUNDING_MODE);
+    }
+
+    /**
+     * Calculates the employer match for an employee contribution rate using
+     * primitive arithmetic.
+     *
+     * @param employeeContributionRate the employee's contribution as a decimal
+     * @return the employer match as a decimal; zero for zero or negative rates
+     */
+    public double calculateEmployerMatch(double employeeContributionRate) {
+        if (employeeContributionRate <= 0) {
+            return 0;
+        }
+
+        int segment = findSegment(employeeContributionRate);
+        return cumulativeMatchValues[segment]
+            + (employeeContributionRate - breakpointValues[segment]) * slopeValues[segment];
+    }
+
+    /**
+     * Returns the highest employer match this schedule can produce.
+     *
+     * @return the match at and beyond the last breakpoint
+     */
+    public BigDecimal getMaximumMatch() {
+        return cumulativeMatch[cumulativeMatch.length - 1].setScale(SCALE, ROUNDING_MODE);
+    }
+
+    /**
+     * Returns the number of linear segments in this schedule.
+     *
+     * @return the segment count
+     */
+    public int getSegmentCount() {
+        return breakpoints.length;
+    }
+
+    private int findSegment(BigDecimal rate) {
+        int low = 0;
+        int high = breakpoints.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (breakpoints[mid].compareTo(rate) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int findSegment(double rate) {
+        int low = 0;
+        int high = breakpointValues.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (breakpointValues[mid] <= rate) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "MatchSchedule{" +
+            "segments=" + breakpoints.length +
+            ", maximumMatch=" + getMaximumMatch() +
+            '}';
+    }
+}
@@ -30,7 +30,7 @@ import java.util.Objects;
 public record MatchTier(
     BigDecimal contributionThreshold,
     BigDecimal matchRate
-) {
+) implements ContentHashable {
     /**
      * Creates a new MatchTier with validation.
      *
@@ -60,4 +60,18 @@ public record MatchTier(
     public static MatchTier of(double threshold, double rate) {
         return new MatchTier(BigDecimal.valueOf(threshold), BigDecimal.valueOf(rate));
     }
+
+    /**
+     * Returns a hash of the threshold and match rate.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("MatchTier")
+            .putDecimal(contributionThreshold)
+            .putDecimal(matchRate)
+            .hash();
+    }
 }
@@ -29,8 +29,11 @@ import java.util.List;
  * // No employer match
  * MatchingPolicy none = MatchingPolicy.none();
  * </pre>
+ *
+ * <p>Policies are {@link ContentHashable}: two policies with the same match
+ * curve and Roth setting have the same content hash.
  */
-public interface MatchingPolicy {
+public interface MatchingPolicy extends ContentHashable {
 
     /**
      * Calculates the employer match for a given employee contribution rate.
@@ -58,6 +61,19 @@ public interface MatchingPolicy {
      */
     String getDescription();
 
+    /**
+     * Returns this policy compiled into a piecewise-linear match schedule.
+     *
+     * <p>The schedule evaluates the same match curve as
+     * {@link #calculateEmployerMatch(BigDecimal)} with a binary search and a
+     * single multiply-add, and also offers a primitive {@code double} variant
+     * for simulation loops. Policies compile once and return the same instance
+     * on every call.
+     *
+     * @return the compiled match schedule
+     */
+    MatchSchedule compile();
+
     /**
      * Creates a simple matching policy with a fixed match rate up to a cap.
      *
@@ -15,6 +15,10 @@ public final class NoMatchingPolicy implements MatchingPolicy {
      */
     static final NoMatchingPolicy INSTANCE = new NoMatchingPolicy();
 
+    private static final ContentHash CONTENT_HASH = ContentHasher.create()
+        .putTag("NoMatchingPolicy")
+        .hash();
+
     private NoMatchingPolicy() {
         // Private constructor for singleton
     }
@@ -24,6 +28,11 @@ public final class NoMatchingPolicy implements MatchingPolicy {
         return BigDecimal.ZERO;
     }
 
+    @Override
+    public MatchSchedule compile() {
+        return MatchSchedule.none();
+    }
+
     @Override
     public boolean allowsRothMatch() {
         return false;
@@ -34,6 +43,11 @@ public final class NoMatchingPolicy implements MatchingPolicy {
         return "No employer match";
     }
 
+    @Override
+    public ContentHash contentHash() {
+        return CONTENT_HASH;
+    }
+
     @Override
     public String toString() {
         return "NoMatchingPolicy{}";
@@ -16,12 +16,13 @@ import io.github.xmljim.retirement.domain.exception.ValidationException;
  *
  * <p>This is an immutable value object. Use the {@link Builder} to create instances.
  */
-public final class RetirementIncome {
+public final class RetirementIncome implements ContentHashable {
 
     private final String name;
     private final BigDecimal monthlyAmount;
     private final BigDecimal adjustmentRate;
     private final LocalDate startDate;
+    private ContentHash cachedContentHash;
 
     private RetirementIncome(Builder builder) {
         this.name = builder.name;
@@ -93,6 +94,28 @@ public final class RetirementIncome {
         return new Builder();
     }
 
+    /**
+     * Returns a hash of the income amount, adjustment rate, and start date.
+     *
+     * <p>The display name is not part of the hash.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("RetirementIncome")
+                .putDecimal(monthlyAmount)
+                .putDecimal(adjustmentRate)
+                .putDate(startDate)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
@@ -1,7 +1,6 @@
 package io.github.xmljim.retirement.domain.value;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Objects;
 
 /**
@@ -20,12 +19,11 @@ import java.util.Objects;
  */
 public final class SimpleMatchingPolicy implements MatchingPolicy {
 
-    private static final int SCALE = 6;
-    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
-
     private final BigDecimal matchRate;
     private final BigDecimal maxMatchPercent;
     private final boolean allowsRothMatch;
+    private final MatchSchedule schedule;
+    private ContentHash cachedContentHash;
 
     /**
      * Creates a simple matching policy.
@@ -50,20 +48,17 @@ public final class SimpleMatchingPolicy implements MatchingPolicy {
         this.matchRate = matchRate;
         this.maxMatchPercent = maxMatchPercent;
         this.allowsRothMatch = allowsRothMatch;
+        this.schedule = MatchSchedule.simple(matchRate, maxMatchPercent);
     }
 
     @Override
     public BigDecimal calculateEmployerMatch(BigDecimal employeeContributionRate) {
-        if (employeeContributionRate == null
-                || employeeContributionRate.compareTo(BigDecimal.ZERO) <= 0) {
-            return BigDecimal.ZERO;
-        }
-
-        // Cap the employee contribution at the maximum matchable amount
-        BigDecimal matchableContribution = employeeContributionRate.min(maxMatchPercent);
+        return schedule.calculateEmployerMatch(employeeContributionRate);
+    }
 
-        // Apply the match rate
-        return matchableContribution.multiply(matchRate).setScale(SCALE, ROUNDING_MODE);
+    @Override
+    public MatchSchedule compile() {
+        return schedule;
     }
 
     @Override
@@ -96,6 +91,21 @@ public final class SimpleMatchingPolicy implements MatchingPolicy {
         return maxMatchPercent;
     }
 
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("SimpleMatchingPolicy")
+                .putDecimal(matchRate)
+                .putDecimal(maxMatchPercent)
+                .putBoolean(allowsRothMatch)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Override
     public String toString() {
         return "SimpleMatchingPolicy{" +
@@ -16,11 +16,12 @@ import io.github.xmljim.retirement.domain.exception.ValidationException;
  *
  * <p>This is an immutable value object. Use the {@link Builder} to create instances.
  */
-public final class SocialSecurityIncome {
+public final class SocialSecurityIncome implements ContentHashable {
 
     private final BigDecimal monthlyBenefit;
     private final BigDecimal colaRate;
     private final LocalDate startDate;
+    private ContentHash cachedContentHash;
 
     private SocialSecurityIncome(Builder builder) {
         this.monthlyBenefit = builder.monthlyBenefit;
@@ -66,6 +67,26 @@ public final class SocialSecurityIncome {
         return new Builder();
     }
 
+    /**
+     * Returns a hash of the benefit amount, COLA rate, and start date.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("SocialSecurityIncome")
+                .putDecimal(monthlyBenefit)
+                .putDecimal(colaRate)
+                .putDate(startDate)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
@@ -1,7 +1,6 @@
 package io.github.xmljim.retirement.domain.value;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -29,11 +28,10 @@ import java.util.stream.Collectors;
  */
 public final class TieredMatchingPolicy implements MatchingPolicy {
 
-    private static final int SCALE = 6;
-    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
-
     private final List<MatchTier> tiers;
     private final boolean allowsRothMatch;
+    private final MatchSchedule schedule;
+    private ContentHash cachedContentHash;
 
     /**
      * Creates a tiered matching policy.
@@ -54,38 +52,17 @@ public final class TieredMatchingPolicy implements MatchingPolicy {
             .collect(Collectors.toCollection(ArrayList::new));
 
         this.allowsRothMatch = allowsRothMatch;
+        this.schedule = MatchSchedule.tiered(this.tiers);
     }
 
     @Override
     public BigDecimal calculateEmployerMatch(BigDecimal employeeContributionRate) {
-        if (employeeContributionRate == null
-                || employeeContributionRate.compareTo(BigDecimal.ZERO) <= 0) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal totalMatch = BigDecimal.ZERO;
-        BigDecimal previousThreshold = BigDecimal.ZERO;
-        BigDecimal remainingContribution = employeeContributionRate;
-
-        for (MatchTier tier : tiers) {
-            if (remainingContribution.compareTo(BigDecimal.ZERO) <= 0) {
-                break;
-            }
-
-            // Calculate the contribution amount in this tier
-            BigDecimal tierWidth = tier.contributionThreshold().subtract(previousThreshold);
-            BigDecimal contributionInTier = remainingContribution.min(tierWidth);
-
-            // Apply the tier's match rate
-            BigDecimal tierMatch = contributionInTier.multiply(tier.matchRate());
-            totalMatch = totalMatch.add(tierMatch);
-
-            // Move to next tier
-            remainingContribution = remainingContribution.subtract(contributionInTier);
-            previousThreshold = tier.contributionThreshold();
-        }
+        return schedule.calculateEmployerMatch(employeeContributionRate);
+    }
 
-        return totalMatch.setScale(SCALE, ROUNDING_MODE);
+    @Override
+    public MatchSchedule compile() {
+        return schedule;
     }
 
     @Override
@@ -126,6 +103,20 @@ public final class TieredMatchingPolicy implements MatchingPolicy {
         return List.copyOf(tiers);
     }
 
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("TieredMatchingPolicy")
+                .putAll(tiers)
+                .putBoolean(allowsRothMatch)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Override
     public String toString() {
         return "TieredMatchingPolicy{" +
@@ -16,10 +16,11 @@ import io.github.xmljim.retirement.domain.exception.ValidationException;
  *
  * <p>This is an immutable value object. Use the {@link Builder} to create instances.
  */
-public final class WithdrawalStrategy {
+public final class WithdrawalStrategy implements ContentHashable {
 
     private final WithdrawalType withdrawalType;
     private final BigDecimal withdrawalRate;
+    private ContentHash cachedContentHash;
 
     private WithdrawalStrategy(Builder builder) {
         this.withdrawalType = builder.withdrawalType;
@@ -82,6 +83,25 @@ public final class WithdrawalStrategy {
         return new Builder();
     }
 
+    /**
+     * Returns a hash of the withdrawal type and rate.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("WithdrawalStrategy")
+                .putEnum(withdrawalType)
+                .putDecimal(withdrawalRate)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
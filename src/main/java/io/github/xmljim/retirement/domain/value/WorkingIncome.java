@@ -18,11 +18,12 @@ import io.github.xmljim.retirement.domain.exception.ValidationException;
  * contribution rules. Employees who earned more than $145,000 in the prior
  * year must make catch-up contributions to a ROTH account.
  */
-public final class WorkingIncome {
+public final class WorkingIncome implements ContentHashable {
 
     private final BigDecimal annualSalary;
     private final BigDecimal colaRate;
     private final BigDecimal priorYearIncome;
+    private ContentHash cachedContentHash;
 
     private WorkingIncome(Builder builder) {
         this.annualSalary = builder.annualSalary;
@@ -95,6 +96,26 @@ public final class WorkingIncome {
         return new Builder();
     }
 
+    /**
+     * Returns a hash of the salary, COLA rate, and prior-year income.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("WorkingIncome")
+                .putDecimal(annualSalary)
+                .putDecimal(colaRate)
+                .putDecimal(priorYearIncome)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,307 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.math.BigDecimal;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+
+/**
+ * Mutable, simulation-only mirror of an {@link InvestmentAccount}.
+ *
+ * <p>{@link InvestmentAccount} is immutable, so every balance change through
+ * {@link InvestmentAccount#withBalance(BigDecimal)} rebuilds and revalidates the
+ * account. The monthly simulation loop changes balances far too often for that,
+ * so it works on an AccountState instead: balances, year-to-date contributions,
+ * and cost basis are primitive {@code double}s updated in place, and the
+ * monthly growth factors are resolved once from the account's return rates.
+ *
+ * <p>Each state carries the account's {@link SimulationHandles handle} so
+ * run-time code can index arrays rather than compare account IDs.
+ *
+ * <p>The originating account is kept so the state can be turned back into an
+ * immutable domain object with {@link #toAccount()} when a snapshot or report
+ * is needed.
+ *
+ * <p>Instances are not thread-safe; each simulation path owns its own state.
+ */
+public final class AccountState {
+
+    private final InvestmentAccount source;
+    private final int handle;
+    private final AccountType accountType;
+    private final double preRetirementGrowthFactor;
+    private final double postRetirementGrowthFactor;
+
+    private double balance;
+    private double contributionsYtd;
+    private double costBasis;
+
+    private AccountState(InvestmentAccount source, int handle) {
+        this.source = source;
+        this.handle = handle;
+        this.accountType = source.getAccountType();
+        this.preRetirementGrowthFactor = 1.0 + source.getMonthlyPreRetirementReturnRate().doubleValue();
+        this.postRetirementGrowthFactor = 1.0 + source.getMonthlyPostRetirementReturnRate().doubleValue();
+        this.balance = source.getBalance().doubleValue();
+        this.costBasis = balance;
+    }
+
+    /**
+     * Creates a state initialized from an account.
+     *
+     * <p>The cost basis starts at the current balance, since the domain model
+     * does not track unrealized gains. The state gets handle 0, which suits a
+     * standalone account; use {@link #from(InvestmentAccount, int)} within a run.
+     *
+     * @param account the account to mirror
+     * @return a new AccountState
+     * @throws MissingRequiredFieldException if account is null
+     */
+    public static AccountState from(InvestmentAccount account) {
+        return from(account, 0);
+    }
+
+    /**
+     * Creates a state initialized from an account, with a run-time handle.
+     *
+     * @param account the account to mirror
+     * @param handle the account's handle in the run
+     * @return a new AccountState
+     * @throws MissingRequiredFieldException if account is null
+     * @throws ValidationException if handle is negative
+     */
+    public static AccountState from(InvestmentAccount account, int handle) {
+        MissingRequiredFieldException.requireNonNull(account, "account");
+        if (handle < 0) {
+            throw new ValidationException("Handle cannot be negative: " + handle, "handle");
+        }
+        return new AccountState(account, handle);
+    }
+
+    /**
+     * Returns the account's handle in the run.
+     *
+     * @return the account handle
+     */
+    public int getHandle() {
+        return handle;
+    }
+
+    /**
+     * Returns the ID of the mirrored account.
+     *
+     * @return the account ID
+     */
+    public String getAccountId() {
+        return source.getId();
+    }
+
+    /**
+     * Returns the account this state was created from.
+     *
+     * @return the source account
+     */
+    public InvestmentAccount getSourceAccount() {
+        return source;
+    }
+
+    /**
+     * Returns the account type.
+     *
+     * @return the account type
+     */
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    /**
+     * Returns the tax treatment of the account.
+     *
+     * @return the tax treatment
+     */
+    public AccountType.TaxTreatment getTaxTreatment() {
+        return accountType.getTaxTreatment();
+    }
+
+    /**
+     * Returns the current balance.
+     *
+     * @return the balance
+     */
+    public double getBalance() {
+        return balance;
+    }
+
+    /**
+     * Returns the contributions made since the last year-to-date reset.
+     *
+     * @return the year-to-date contributions
+     */
+    public double getContributionsYtd() {
+        return contributionsYtd;
+    }
+
+    /**
+     * Returns the cost basis of the account.
+     *
+     * @return the cost basis
+     */
+    public double getCostBasis() {
+        return costBasis;
+    }
+
+    /**
+     * Returns the unrealized gain: balance less cost basis.
+     *
+     * @return the unrealized gain, which may be negative
+     */
+    public double getUnrealizedGain() {
+        return balance - costBasis;
+    }
+
+    /**
+     * Returns the monthly growth factor ({@code 1 + monthly return}).
+     *
+     * @param retired whether to use the post-retirement rate
+     * @return the monthly growth factor
+     */
+    public double getGrowthFactor(boolean retired) {
+        return retired ? postRetirementGrowthFactor : preRetirementGrowthFactor;
+    }
+
+    /**
+     * Deposits a contribution, adding to the balance, the year-to-date
+     * contributions, and the cost basis.
+     *
+     * @param amount the amount to contribute
+     * @throws ValidationException if amount is negative
+     */
+    public void contribute(double amount) {
+        requireNonNegative(amount);
+        balance += amount;
+        contributionsYtd += amount;
+        costBasis += amount;
+    }
+
+    /**
+     * Withdraws up to the given amount.
+     *
+     * <p>The withdrawal is capped at the current balance. Cost basis is reduced
+     * in proportion to the share of the balance withdrawn.
+     *
+     * @param amount the amount requested
+     * @return the amount actually withdrawn
+     * @throws ValidationException if amount is negative
+     */
+    public double withdraw(double amount) {
+        requireNonNegative(amount);
+        double withdrawn = Math.min(amount, balance);
+        if (withdrawn <= 0) {
+            return 0;
+        }
+        costBasis -= costBasis * (withdrawn / balance);
+        balance -= withdrawn;
+        return withdrawn;
+    }
+
+    /**
+     * Receives a transfer from another account, adding to the balance and
+     * the cost basis but not to the year-to-date contributions.
+     *
+     * @param amount the amount transferred in
+     * @param basis the share of the source account's cost basis that moves with it
+     */
+    void receive(double amount, double basis) {
+        balance += amount;
+        costBasis += basis;
+    }
+
+    /**
+     * Applies one month of growth at the account's expected return rate.
+     *
+     * @param retired whether to use the post-retirement rate
+     */
+    public void applyMonthlyReturn(boolean retired) {
+        balance *= getGrowthFactor(retired);
+    }
+
+    /**
+     * Applies one month of growth at the account's expected return rate plus
+     * a sampled deviation from it.
+     *
+     * @param retired whether to use the post-retirement rate
+     * @param deviation the deviation from the expected monthly return, as a decimal
+     */
+    public void applyMonthlyReturn(boolean retired, double deviation) {
+        balance *= getGrowthFactor(retired) + deviation;
+    }
+
+    /**
+     * Applies one month of growth at an explicit rate, such as a sampled
+     * market return.
+     *
+     * @param monthlyReturn the monthly return as a decimal
+     */
+    public void applyReturn(double monthlyReturn) {
+        balance *= 1.0 + monthlyReturn;
+    }
+
+    /**
+     * Resets year-to-date tracking at the start of a new year.
+     */
+    public void resetYearToDate() {
+        contributionsYtd = 0;
+    }
+
+    /**
+     * Restores the account to the state it had when created, so one state
+     * object can be reused for every path of a run.
+     */
+    public void reset() {
+        restore(source.getBalance().doubleValue(), source.getBalance().doubleValue());
+    }
+
+    /**
+     * Restores a previously captured balance and cost basis, clearing the
+     * year-to-date contributions.
+     *
+     * @param restoredBalance the balance
+     * @param restoredCostBasis the cost basis
+     */
+    void restore(double restoredBalance, double restoredCostBasis) {
+        this.balance = restoredBalance;
+        this.costBasis = restoredCostBasis;
+        this.contributionsYtd = 0;
+    }
+
+    /**
+     * Materializes this state into an immutable account.
+     *
+     * @return the source account with the current balance
+     */
+    public InvestmentAccount toAccount() {
+        return source.withBalance(BigDecimal.valueOf(Math.max(balance, 0)));
+    }
+
+    private static void requireNonNegative(double amount) {
+        if (amount < 0 || Double.isNaN(amount)) {
+            throw new ValidationException("Amount cannot be negative: " + amount, "amount");
+        }
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "AccountState{" +
+                "accountId='" + source.getId() + '\'' +
+                ", handle=" + handle +
+                ", accountType=" + accountType +
+                ", balance=" + balance +
+                ", contributionsYtd=" + contributionsYtd +
+                ", costBasis=" + costBasis +
+                '}';
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The dated events of a run, merged into one month-ordered list.
+ *
+ * <p>Life events (retirements, Social Security starts, and projected end
+ * dates of every household member, plus the household retirement) and
+ * one-time expenses are resolved to month offsets once per run and stored in
+ * parallel primitive arrays sorted by month and then by kind. The monthly
+ * loop keeps a cursor into the calendar and only compares the next event's
+ * month with the current one, so the per-month cost does not grow with the
+ * number of events. Events in the same month are applied in kind order, so
+ * the household retirement sees every member retirement of that month.
+ *
+ * <p>Each event carries a subject, such as a person index, and an amount,
+ * such as the inflated cost of a one-time expense. Instances are immutable
+ * and shared by every path of a run.
+ */
+final class EventCalendar {
+
+    /** A member stops working and their accounts switch to post-retirement returns. */
+    static final int RETIREMENT = 0;
+
+    /** A member's Social Security benefit starts. */
+    static final int BENEFIT_START = 1;
+
+    /** A member reaches their projected end date. */
+    static final int DEATH = 2;
+
+    /** The last member has retired; the household withdrawal starts. */
+    static final int HOUSEHOLD_RETIREMENT = 3;
+
+    /** A one-time expense is paid from the portfolio. */
+    static final int ONE_TIME_EXPENSE = 4;
+
+    /** Subject recorded for events that are not tied to one person. */
+    static final int HOUSEHOLD = -1;
+
+    private static final EventCalendar EMPTY = new EventCalendar(new ArrayList<>());
+
+    private final int[] months;
+    private final int[] kinds;
+    private final int[] subjects;
+    private final double[] amounts;
+
+    private EventCalendar(List<Event> events) {
+        events.sort(Comparator.<Event>comparingInt(e -> e.month).thenComparingInt(e -> e.kind));
+        this.months = new int[events.size()];
+        this.kinds = new int[events.size()];
+        this.subjects = new int[events.size()];
+        this.amounts = new double[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            months[i] = event.month;
+            kinds[i] = event.kind;
+            subjects[i] = event.subject;
+            amounts[i] = event.amount;
+        }
+    }
+
+    static EventCalendar empty() {
+        return EMPTY;
+    }
+
+    private record Event(int month, int kind, int subject, double amount) {
+    }
+
+    /**
+     * Collects events before sorting them into a calendar.
+     */
+    static final class Builder {
+        private final int monthCount;
+        private final List<Event> events = new ArrayList<>();
+
+        Builder(int monthCount) {
+            this.monthCount = monthCount;
+        }
+
+        /**
+         * Adds an event; events at or after the end of the run are dropped.
+         */
+        Builder add(int month, int kind, int subject) {
+            return add(month, kind, subject, 0.0);
+        }
+
+        /**
+         * Adds an event with an amount; events at or after the end of the run
+         * are dropped.
+         */
+        Builder add(int month, int kind, int subject, double amount) {
+            if (month < monthCount) {
+                events.add(new Event(month, kind, subject, amount));
+            }
+            return this;
+        }
+
+        EventCalendar build() {
+            return events.isEmpty() ? EMPTY : new EventCalendar(events);
+        }
+    }
+
+    int size() {
+        return months.length;
+    }
+
+    int month(int index) {
+        return months[index];
+    }
+
+    int kind(int index) {
+        return kinds[index];
+    }
+
+    int subject(int index) {
+        return subjects[index];
+    }
+
+    double amount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Returns the cursor position of the first event in or after a month,
+     * for resuming a path mid-run.
+     */
+    int indexFrom(int month) {
+        int lo = 0;
+        int hi = months.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (months[mid] < month) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
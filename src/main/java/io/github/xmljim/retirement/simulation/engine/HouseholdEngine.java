@@ -0,0 +1,326 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+/**
+ * Runs a {@link HouseholdRequest}, advancing every member's portfolio in one
+ * monthly loop.
+ *
+ * <p>All accounts of all members live in one array indexed by account handle,
+ * and all per-person values (salary, benefit, retirement status) in arrays
+ * indexed by person handle, so a month is one pass over each. Each month of
+ * each path:
+ * <ol>
+ *   <li>the household's {@link EventCalendar calendar} events for the
+ *       month are applied: member retirements, Social Security starts,
+ *       projected end dates, and the household retirement</li>
+ *   <li>each working member's contributions are deposited into that member's
+ *       accounts</li>
+ *   <li>required minimum distributions are taken from each member's
+ *       pre-tax accounts on that member's schedule</li>
+ *   <li>once the household has retired, the monthly spending need is met
+ *       first from the Social Security benefits being paid and the required
+ *       distributions, and then from the pooled accounts in handle order; the
+ *       first month it cannot be covered is the path's depletion month.
+ *       Unspent benefits and required distributions, including everything
+ *       received before the household retires, are reinvested in the
+ *       household's first taxable account</li>
+ *   <li>every account grows at its owner's pre- or post-retirement rate plus
+ *       the path's market shock</li>
+ *   <li>at the end of each year the household balance is recorded, and
+ *       salaries, benefits, and the withdrawal grow at their rates</li>
+ * </ol>
+ *
+ * <p>When the block carries inflation factors, Social Security COLAs and the
+ * withdrawal follow the path's realized inflation over each year instead of
+ * their constant rates; salaries keep their own growth rates.
+ *
+ * <p>The household retires when its last member does; until then, the
+ * working member's salary covers spending, so a member who starts Social
+ * Security early adds the whole benefit to the household's savings.
+ * When a member reaches their projected end date their benefit stops, and a
+ * surviving member's benefit steps up to the deceased's if it was larger.
+ * Accounts stay in the household.
+ *
+ * <p>The engine holds no state between runs and is safe for concurrent use.
+ */
+public final class HouseholdEngine {
+
+    /**
+     * Runs a request, generating its market shocks from the run configuration.
+     *
+     * @param request the request
+     * @return the household run result
+     * @throws MissingRequiredFieldException if request is null
+     * @throws ValidationException if a contribution targets an account type
+     *         its member does not hold
+     */
+    public SimulationRun run(HouseholdRequest request) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        HouseholdPlan plan = HouseholdPlan.compile(request);
+        return execute(request, plan, ReturnPathBlock.forRun(request.getRunConfiguration(), plan.monthCount));
+    }
+
+    /**
+     * Runs a request against pre-generated market shocks.
+     *
+     * @param request the request
+     * @param block the market shocks
+     * @return the household run result
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if the block has too few paths or months,
+     *         or if a contribution targets an account type its member does
+     *         not hold
+     */
+    public SimulationRun run(HouseholdRequest request, ReturnPathBlock block) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        HouseholdPlan plan = HouseholdPlan.compile(request);
+        if (block.getPathCount() < request.getRunConfiguration().pathCount()
+            || block.getMonthCount() < plan.monthCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+        return execute(request, plan, block);
+    }
+
+    private static SimulationRun execute(HouseholdRequest request, HouseholdPlan plan, ReturnPathBlock block) {
+        int paths = request.getRunConfiguration().pathCount();
+        HouseholdState state = new HouseholdState(request, plan);
+        double[][] yearEndBalances = new double[paths][];
+        int[] depletionMonths = new int[paths];
+        for (int path = 0; path < paths; path++) {
+            depletionMonths[path] = state.simulate(block, path);
+            yearEndBalances[path] = state.yearEnds.clone();
+        }
+        return new SimulationRun(plan.monthCount, yearEndBalances, depletionMonths, false);
+    }
+
+    /**
+     * Mutable state of one household path, reused for every path of a run.
+     */
+    private static final class HouseholdState {
+        private final HouseholdPlan plan;
+        private final PortfolioState[] portfolios;
+        private final AccountState[] accounts;
+        private final boolean[] retired;
+        private final boolean[] deceased;
+        private final boolean[] collecting;
+        private final double[] salary;
+        private final double[] benefit;
+        private final double[] survivorBenefit;
+        private final double[] yearEnds;
+        private final double[] rmdBalances;
+        private final double[] rmdMonthly;
+        private double withdrawal;
+        private boolean householdRetired;
+
+        HouseholdState(HouseholdRequest request, HouseholdPlan plan) {
+            this.plan = plan;
+            SimulationHandles handles = request.getHandles();
+            this.portfolios = new PortfolioState[request.getMembers().size()];
+            this.accounts = new AccountState[handles.getAccountCount()];
+            for (int m = 0; m < portfolios.length; m++) {
+                portfolios[m] = PortfolioState.from(request.getMembers().get(m).getPortfolio(), handles);
+                for (AccountState account : portfolios[m].getAccounts()) {
+                    accounts[account.getHandle()] = account;
+                }
+            }
+            this.retired = new boolean[plan.personCount];
+            this.deceased = new boolean[plan.personCount];
+            this.collecting = new boolean[plan.personCount];
+            this.salary = new double[plan.personCount];
+            this.benefit = new double[plan.personCount];
+            this.survivorBenefit = new double[plan.personCount];
+            this.yearEnds = new double[plan.yearCount];
+            this.rmdBalances = new double[plan.rmdAccounts.length];
+            this.rmdMonthly = new double[plan.rmdAccounts.length];
+        }
+
+        int simulate(ReturnPathBlock block, int path) {
+            reset();
+            EventCalendar calendar = plan.calendar;
+            int cursor = 0;
+            int shockOffset = block.pathOffset(path);
+            int inflationOffset = block.hasInflation() ? block.inflationOffset(path) : -1;
+            int year = 0;
+            int depletionMonth = SimulationRun.NOT_DEPLETED;
+
+            for (int month = 0; month < plan.monthCount; month++) {
+                while (cursor < calendar.size() && calendar.month(cursor) == month) {
+                    apply(calendar.kind(cursor), calendar.subject(cursor));
+                    cursor++;
+                }
+
+                contribute();
+                double unspent = totalBenefits() + takeRequiredDistributions();
+                if (householdRetired) {
+                    double fromIncome = Math.min(unspent, withdrawal);
+                    unspent -= fromIncome;
+                    double need = withdrawal - fromIncome;
+                    if (need > 0 && withdrawInOrder(need) < need && depletionMonth == SimulationRun.NOT_DEPLETED) {
+                        depletionMonth = month;
+                    }
+                }
+                if (unspent > 0 && plan.reinvestmentAccount >= 0) {
+                    accounts[plan.reinvestmentAccount].receive(unspent, unspent);
+                }
+
+                double deviation = plan.monthlyVolatility * block.shockAt(shockOffset + month);
+                for (int h = 0; h < accounts.length; h++) {
+                    accounts[h].applyMonthlyReturn(retired[plan.accountOwners[h]], deviation);
+                }
+
+                if (plan.isYearEnd(month)) {
+                    yearEnds[year++] = totalBalance();
+                    closeYear(inflationOffset >= 0
+                        ? realizedInflation(block, inflationOffset, year - 1)
+                        : Double.NaN);
+                    scheduleRmds(year);
+                }
+            }
+            return depletionMonth;
+        }
+
+        private void reset() {
+            for (PortfolioState portfolio : portfolios) {
+                portfolio.reset();
+            }
+            System.arraycopy(plan.initialMonthlySalary, 0, salary, 0, salary.length);
+            Arrays.fill(retired, false);
+            Arrays.fill(deceased, false);
+            Arrays.fill(collecting, false);
+            Arrays.fill(benefit, 0.0);
+            Arrays.fill(survivorBenefit, 0.0);
+            withdrawal = 0.0;
+            householdRetired = false;
+            scheduleRmds(0);
+        }
+
+        private void apply(int kind, int person) {
+            switch (kind) {
+                case EventCalendar.RETIREMENT -> {
+                    retired[person] = true;
+                }
+                case EventCalendar.BENEFIT_START -> {
+                    if (!deceased[person]) {
+                        collecting[person] = true;
+                        benefit[person] = Math.max(plan.initialMonthlyBenefit[person], survivorBenefit[person]);
+                    }
+                }
+                case EventCalendar.DEATH -> die(person);
+                case EventCalendar.HOUSEHOLD_RETIREMENT -> {
+                    householdRetired = true;
+                    withdrawal = plan.initialMonthlyWithdrawal(totalBalance());
+                }
+                default -> throw new IllegalStateException("Unknown household event: " + kind);
+            }
+        }
+
+        private void die(int person) {
+            retired[person] = true;
+            deceased[person] = true;
+            double inherited = collecting[person] ? benefit[person] : 0.0;
+            collecting[person] = false;
+            benefit[person] = 0.0;
+            for (int p = 0; p < plan.personCount; p++) {
+                if (!deceased[p]) {
+                    survivorBenefit[p] = Math.max(survivorBenefit[p], inherited);
+                    if (collecting[p]) {
+                        benefit[p] = Math.max(benefit[p], inherited);
+                    }
+                }
+            }
+        }
+
+        private void contribute() {
+            for (int i = 0; i < plan.contributionTargets.length; i++) {
+                int person = plan.contributionPersons[i];
+                if (!retired[person]) {
+                    accounts[plan.contributionTargets[i]].contribute(salary[person] * plan.contributionRates[i]);
+                }
+            }
+        }
+
+        /**
+         * Snapshots each RMD account's balance and spreads the year's
+         * required distribution from it across the year's months.
+         */
+        private void scheduleRmds(int year) {
+            for (int i = 0; i < rmdMonthly.length; i++) {
+                rmdBalances[i] = accounts[plan.rmdAccounts[i]].getBalance();
+                double fraction = year < plan.yearCount ? plan.rmdFractions[i][year] : 0.0;
+                rmdMonthly[i] = rmdBalances[i] * fraction / RunPlan.MONTHS_PER_YEAR;
+            }
+        }
+
+        private double takeRequiredDistributions() {
+            double taken = 0.0;
+            for (int i = 0; i < rmdMonthly.length; i++) {
+                if (rmdMonthly[i] > 0) {
+                    taken += accounts[plan.rmdAccounts[i]].withdraw(rmdMonthly[i]);
+                }
+            }
+            return taken;
+        }
+
+        private double withdrawInOrder(double amount) {
+            double remaining = amount;
+            for (int h = 0; h < accounts.length && remaining > 0; h++) {
+                remaining -= accounts[h].withdraw(remaining);
+            }
+            return amount - remaining;
+        }
+
+        private double totalBenefits() {
+            double total = 0.0;
+            for (int p = 0; p < plan.personCount; p++) {
+                if (collecting[p]) {
+                    total += benefit[p];
+                }
+            }
+            return total;
+        }
+
+        private double totalBalance() {
+            double total = 0.0;
+            for (AccountState account : accounts) {
+                total += account.getBalance();
+            }
+            return total;
+        }
+
+        private double realizedInflation(ReturnPathBlock block, int inflationOffset, int y) {
+            int from = y * RunPlan.MONTHS_PER_YEAR;
+            int to = Math.min(from + RunPlan.MONTHS_PER_YEAR, plan.monthCount);
+            return block.inflationFactorAt(inflationOffset + to) / block.inflationFactorAt(inflationOffset + from);
+        }
+
+        /**
+         * Grows salaries, benefits, and the withdrawal for the next year.
+         *
+         * @param inflationGrowth the path's realized inflation growth factor
+         *        for the year, or NaN to use the configured rates
+         */
+        private void closeYear(double inflationGrowth) {
+            boolean realized = !Double.isNaN(inflationGrowth);
+            for (PortfolioState portfolio : portfolios) {
+                portfolio.resetYearToDate();
+            }
+            for (int p = 0; p < plan.personCount; p++) {
+                if (!retired[p]) {
+                    salary[p] *= 1.0 + plan.annualSalaryGrowth[p];
+                }
+                if (collecting[p]) {
+                    benefit[p] *= realized ? inflationGrowth : 1.0 + plan.annualBenefitGrowth[p];
+                }
+            }
+            if (householdRetired) {
+                withdrawal *= realized ? inflationGrowth : 1.0 + plan.annualWithdrawalGrowth;
+            }
+        }
+    }
+}
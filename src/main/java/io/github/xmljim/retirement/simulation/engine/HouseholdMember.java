@@ -0,0 +1,228 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.SocialSecurityIncome;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+
+/**
+ * One person's finances within a {@link HouseholdRequest}.
+ *
+ * <p>A member is identified by the owner of its portfolio, who must be one of
+ * the scenario's persons. The member's working income and contributions apply
+ * until that person retires; the Social Security benefit is paid from its
+ * start date until the person's projected end date.
+ *
+ * <p>This is an immutable value object. Use the {@link Builder} to create instances.
+ */
+public final class HouseholdMember implements ContentHashable {
+
+    private final Portfolio portfolio;
+    private final WorkingIncome workingIncome;
+    private final List<ContributionConfig> contributions;
+    private final SocialSecurityIncome socialSecurity;
+
+    private ContentHash cachedContentHash;
+
+    private HouseholdMember(Builder builder) {
+        this.portfolio = builder.portfolio;
+        this.workingIncome = builder.workingIncome;
+        this.contributions = Collections.unmodifiableList(new ArrayList<>(builder.contributions));
+        this.socialSecurity = builder.socialSecurity;
+    }
+
+    /**
+     * Returns the person this member represents, the portfolio owner.
+     *
+     * @return the person
+     */
+    public PersonProfile getPerson() {
+        return portfolio.getOwner();
+    }
+
+    /**
+     * Returns the member's portfolio.
+     *
+     * @return the portfolio
+     */
+    public Portfolio getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * Returns the member's working income.
+     *
+     * @return the working income, or null if the member has none
+     */
+    public WorkingIncome getWorkingIncome() {
+        return workingIncome;
+    }
+
+    /**
+     * Returns the contributions made from the member's salary into the
+     * member's accounts.
+     *
+     * @return an unmodifiable list of contribution configurations
+     */
+    public List<ContributionConfig> getContributions() {
+        return contributions;
+    }
+
+    /**
+     * Returns the member's Social Security benefit.
+     *
+     * @return the benefit, or null if the member has none
+     */
+    public SocialSecurityIncome getSocialSecurity() {
+        return socialSecurity;
+    }
+
+    /**
+     * Returns a hash of the portfolio, working income, contributions, and
+     * Social Security benefit.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            hash = ContentHasher.create()
+                .putTag("HouseholdMember")
+                .put(portfolio)
+                .put(workingIncome)
+                .putAll(contributions)
+                .put(socialSecurity)
+                .hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Creates a new builder for HouseholdMember.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this member.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .portfolio(portfolio)
+            .workingIncome(workingIncome)
+            .contributions(contributions)
+            .socialSecurity(socialSecurity);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "HouseholdMember{"
+            + "person=" + getPerson().getName()
+            + ", accounts=" + portfolio.getAccountCount()
+            + ", contributions=" + contributions.size()
+            + ", socialSecurity=" + (socialSecurity != null)
+            + '}';
+    }
+
+    /**
+     * Builder for creating HouseholdMember instances.
+     */
+    public static class Builder {
+        private Portfolio portfolio;
+        private WorkingIncome workingIncome;
+        private final List<ContributionConfig> contributions = new ArrayList<>();
+        private SocialSecurityIncome socialSecurity;
+
+        /**
+         * Sets the member's portfolio. Required; its owner identifies the member.
+         *
+         * @param portfolio the portfolio
+         * @return this builder
+         */
+        public Builder portfolio(Portfolio portfolio) {
+            this.portfolio = portfolio;
+            return this;
+        }
+
+        /**
+         * Sets the member's working income.
+         *
+         * @param workingIncome the working income, or null for none
+         * @return this builder
+         */
+        public Builder workingIncome(WorkingIncome workingIncome) {
+            this.workingIncome = workingIncome;
+            return this;
+        }
+
+        /**
+         * Adds a contribution configuration.
+         *
+         * @param contribution the contribution configuration
+         * @return this builder
+         */
+        public Builder addContribution(ContributionConfig contribution) {
+            this.contributions.add(MissingRequiredFieldException.requireNonNull(contribution, "contribution"));
+            return this;
+        }
+
+        /**
+         * Replaces the contribution configurations.
+         *
+         * @param contributions the contribution configurations
+         * @return this builder
+         */
+        public Builder contributions(List<ContributionConfig> contributions) {
+            this.contributions.clear();
+            if (contributions != null) {
+                contributions.forEach(this::addContribution);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the member's Social Security benefit.
+         *
+         * @param socialSecurity the benefit, or null for none
+         * @return this builder
+         */
+        public Builder socialSecurity(SocialSecurityIncome socialSecurity) {
+            this.socialSecurity = socialSecurity;
+            return this;
+        }
+
+        /**
+         * Builds the member.
+         *
+         * @return a new HouseholdMember
+         * @throws MissingRequiredFieldException if the portfolio is missing
+         * @throws ValidationException if the portfolio is empty
+         */
+        public HouseholdMember build() {
+            MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+            if (portfolio.getAccountCount() == 0) {
+                throw new ValidationException("Portfolio must contain at least one account", "portfolio");
+            }
+            return new HouseholdMember(this);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.WithdrawalType;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.SocialSecurityIncome;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+import io.github.xmljim.retirement.simulation.rules.RmdRules;
+
+/**
+ * A {@link HouseholdRequest} resolved into the primitive values the household
+ * loop reads.
+ *
+ * <p>Per-person values are indexed by person handle and per-account values by
+ * account handle, as assigned by the request's {@link SimulationHandles}.
+ * Dates become month offsets and are merged into an {@link EventCalendar}.
+ */
+final class HouseholdPlan {
+
+    final int monthCount;
+    final int yearCount;
+    final int personCount;
+    final double[] initialMonthlySalary;
+    final double[] annualSalaryGrowth;
+    final double[] initialMonthlyBenefit;
+    final double[] annualBenefitGrowth;
+    final int[] accountOwners;
+    final int[] contributionTargets;
+    final int[] contributionPersons;
+    final double[] contributionRates;
+    final boolean percentageWithdrawal;
+    final double withdrawalRate;
+    final double annualWithdrawalGrowth;
+    final double monthlyVolatility;
+    final EventCalendar calendar;
+    final int[] rmdAccounts;
+    final double[][] rmdFractions;
+    final int reinvestmentAccount;
+
+    private HouseholdPlan(HouseholdRequest request) {
+        SimulationHandles handles = request.getHandles();
+        LocalDate start = request.getScenario().getStartDate().withDayOfMonth(1);
+        this.monthCount = (int) Math.max(1,
+            ChronoUnit.MONTHS.between(start, request.getScenario().getProjectedEndDate().withDayOfMonth(1)));
+        this.yearCount = (monthCount + RunPlan.MONTHS_PER_YEAR - 1) / RunPlan.MONTHS_PER_YEAR;
+        this.personCount = handles.getPersonCount();
+        this.initialMonthlySalary = new double[personCount];
+        this.annualSalaryGrowth = new double[personCount];
+        this.initialMonthlyBenefit = new double[personCount];
+        this.annualBenefitGrowth = new double[personCount];
+        this.accountOwners = new int[handles.getAccountCount()];
+        for (int h = 0; h < accountOwners.length; h++) {
+            accountOwners[h] = handles.getOwner(h);
+        }
+
+        EventCalendar.Builder events = new EventCalendar.Builder(monthCount);
+        List<int[]> contributions = new ArrayList<>();
+        List<Double> rates = new ArrayList<>();
+        List<Integer> rmdHandles = new ArrayList<>();
+        List<double[]> rmdSchedules = new ArrayList<>();
+        int lastRetirement = 0;
+        for (HouseholdMember member : request.getMembers()) {
+            PersonProfile person = member.getPerson();
+            int p = handles.getPersonHandle(person.getId());
+            int endMonth = RunPlan.monthOffset(start, person.getProjectedEndDate(), monthCount);
+            int retirementMonth =
+                Math.min(endMonth, RunPlan.monthOffset(start, person.getRetirementDate(), monthCount));
+            lastRetirement = Math.max(lastRetirement, retirementMonth);
+            events.add(retirementMonth, EventCalendar.RETIREMENT, p);
+            events.add(endMonth, EventCalendar.DEATH, p);
+
+            WorkingIncome income = member.getWorkingIncome();
+            if (income != null) {
+                initialMonthlySalary[p] = income.getMonthlySalary().doubleValue();
+                annualSalaryGrowth[p] = income.getColaRate().doubleValue();
+            }
+            SocialSecurityIncome benefit = member.getSocialSecurity();
+            if (benefit != null) {
+                initialMonthlyBenefit[p] = benefit.getMonthlyBenefit().doubleValue();
+                annualBenefitGrowth[p] = benefit.getColaRate().doubleValue();
+                events.add(RunPlan.monthOffset(start, benefit.getStartDate(), monthCount),
+                    EventCalendar.BENEFIT_START, p);
+            }
+            for (ContributionConfig config : member.getContributions()) {
+                contributions.add(new int[] {targetHandle(member, config, handles), p});
+                rates.add(config.getContributionRate().doubleValue());
+            }
+            double[] fractions = null;
+            for (InvestmentAccount account : member.getPortfolio().getAccounts()) {
+                if (account.isSubjectToRmd() && account.getTaxTreatment() == AccountType.TaxTreatment.PRE_TAX) {
+                    if (fractions == null) {
+                        fractions = RmdRules.compileFractions(person.getDateOfBirth(), start, yearCount);
+                    }
+                    rmdHandles.add(handles.getAccountHandle(account.getId()));
+                    rmdSchedules.add(fractions);
+                }
+            }
+        }
+        events.add(lastRetirement, EventCalendar.HOUSEHOLD_RETIREMENT, EventCalendar.HOUSEHOLD);
+        this.calendar = events.build();
+
+        this.contributionTargets = new int[contributions.size()];
+        this.contributionPersons = new int[contributions.size()];
+        this.contributionRates = new double[contributions.size()];
+        for (int i = 0; i < contributions.size(); i++) {
+            contributionTargets[i] = contributions.get(i)[0];
+            contributionPersons[i] = contributions.get(i)[1];
+            contributionRates[i] = rates.get(i);
+        }
+
+        this.rmdAccounts = new int[rmdHandles.size()];
+        this.rmdFractions = new double[rmdHandles.size()][];
+        for (int i = 0; i < rmdAccounts.length; i++) {
+            rmdAccounts[i] = rmdHandles.get(i);
+            rmdFractions[i] = rmdSchedules.get(i);
+        }
+        this.reinvestmentAccount = firstTaxableHandle(request, handles);
+
+        this.percentageWithdrawal =
+            request.getWithdrawalStrategy().getWithdrawalType() == WithdrawalType.PERCENTAGE;
+        this.withdrawalRate = request.getWithdrawalStrategy().getWithdrawalRate().doubleValue();
+        this.annualWithdrawalGrowth =
+            request.getScenario().getInflationAssumptions().getGeneralInflation().doubleValue();
+        this.monthlyVolatility = request.getMonthlyVolatility();
+    }
+
+    static HouseholdPlan compile(HouseholdRequest request) {
+        return new HouseholdPlan(request);
+    }
+
+    /**
+     * Returns the first monthly household withdrawal, given the household
+     * balance when the last member retires.
+     */
+    double initialMonthlyWithdrawal(double balanceAtRetirement) {
+        return percentageWithdrawal
+            ? balanceAtRetirement * withdrawalRate / RunPlan.MONTHS_PER_YEAR
+            : withdrawalRate;
+    }
+
+    boolean isYearEnd(int month) {
+        return (month + 1) % RunPlan.MONTHS_PER_YEAR == 0 || month == monthCount - 1;
+    }
+
+    private static int firstTaxableHandle(HouseholdRequest request, SimulationHandles handles) {
+        int first = -1;
+        for (HouseholdMember member : request.getMembers()) {
+            for (InvestmentAccount account : member.getPortfolio().getAccounts()) {
+                int handle = handles.getAccountHandle(account.getId());
+                if (account.getTaxTreatment() == AccountType.TaxTreatment.TAXABLE && (first < 0 || handle < first)) {
+                    first = handle;
+                }
+            }
+        }
+        return first;
+    }
+
+    private static int targetHandle(HouseholdMember member, ContributionConfig config, SimulationHandles handles) {
+        List<InvestmentAccount> accounts = member.getPortfolio().getAccounts();
+        AccountType type = config.getTargetAccountType();
+        if (type == null) {
+            return handles.getAccountHandle(accounts.get(0).getId());
+        }
+        for (InvestmentAccount account : accounts) {
+            if (account.getAccountType() == type) {
+                return handles.getAccountHandle(account.getId());
+            }
+        }
+        throw new ValidationException(member.getPerson().getName() + " has no " + type.getDisplayName()
+            + " account for the contribution", "targetAccountType");
+    }
+}
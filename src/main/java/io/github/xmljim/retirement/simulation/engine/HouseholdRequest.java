@@ -0,0 +1,288 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ConfigurationException;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+
+/**
+ * Everything the {@link HouseholdEngine} needs to simulate a household.
+ *
+ * <p>A household request ties a {@link Scenario} to one {@link HouseholdMember}
+ * per person whose finances are simulated, usually both persons of a couple
+ * scenario. The withdrawal strategy is the household's: it sets the monthly
+ * spending need once the last member retires, and is met from Social
+ * Security first and then from the pooled accounts of every member.
+ *
+ * <p>This is an immutable value object. Use the {@link Builder} to create instances.
+ */
+public final class HouseholdRequest implements ContentHashable {
+
+    private final Scenario scenario;
+    private final List<HouseholdMember> members;
+    private final WithdrawalStrategy withdrawalStrategy;
+    private final RunConfiguration runConfiguration;
+    private final double annualVolatility;
+    private final SimulationHandles handles;
+
+    private ContentHash cachedContentHash;
+
+    private HouseholdRequest(Builder builder, SimulationHandles handles) {
+        this.scenario = builder.scenario;
+        this.members = Collections.unmodifiableList(new ArrayList<>(builder.members));
+        this.withdrawalStrategy = builder.withdrawalStrategy;
+        this.runConfiguration = builder.runConfiguration;
+        this.annualVolatility = builder.annualVolatility;
+        this.handles = handles;
+    }
+
+    /**
+     * Returns the scenario.
+     *
+     * @return the scenario
+     */
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Returns the members, in the order they were added.
+     *
+     * @return an unmodifiable list of members
+     */
+    public List<HouseholdMember> getMembers() {
+        return members;
+    }
+
+    /**
+     * Returns the household withdrawal strategy.
+     *
+     * @return the withdrawal strategy
+     */
+    public WithdrawalStrategy getWithdrawalStrategy() {
+        return withdrawalStrategy;
+    }
+
+    /**
+     * Returns the run configuration.
+     *
+     * @return the run configuration
+     */
+    public RunConfiguration getRunConfiguration() {
+        return runConfiguration;
+    }
+
+    /**
+     * Returns the annual volatility of market returns.
+     *
+     * @return the annual volatility as a decimal
+     */
+    public double getAnnualVolatility() {
+        return annualVolatility;
+    }
+
+    /**
+     * Returns the monthly volatility applied to sampled market shocks.
+     *
+     * @return the annual volatility scaled to one month
+     */
+    public double getMonthlyVolatility() {
+        return annualVolatility / Math.sqrt(12.0);
+    }
+
+    /**
+     * Returns the handles of the scenario's persons and every member's
+     * accounts, in member order.
+     *
+     * @return the handle table
+     */
+    public SimulationHandles getHandles() {
+        return handles;
+    }
+
+    /**
+     * Returns a hash of every input of the run.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            ContentHasher hasher = ContentHasher.create()
+                .putTag("HouseholdRequest")
+                .put(scenario)
+                .putAll(members)
+                .put(withdrawalStrategy)
+                .putEnum(runConfiguration.mode())
+                .putInt(runConfiguration.pathCount())
+                .putLong(runConfiguration.seed())
+                .putLong(Double.doubleToLongBits(annualVolatility));
+            if (runConfiguration.inflationModel() != null) {
+                hasher.put(runConfiguration.inflationModel());
+            }
+            hash = hasher.hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Creates a new builder for HouseholdRequest.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this request.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .scenario(scenario)
+            .members(members)
+            .withdrawalStrategy(withdrawalStrategy)
+            .runConfiguration(runConfiguration)
+            .annualVolatility(annualVolatility);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "HouseholdRequest{"
+            + "scenario=" + scenario.getName()
+            + ", members=" + members.size()
+            + ", accounts=" + handles.getAccountCount()
+            + ", withdrawalStrategy=" + withdrawalStrategy
+            + ", run=" + runConfiguration
+            + '}';
+    }
+
+    /**
+     * Builder for creating HouseholdRequest instances.
+     */
+    public static class Builder {
+        private Scenario scenario;
+        private final List<HouseholdMember> members = new ArrayList<>();
+        private WithdrawalStrategy withdrawalStrategy = WithdrawalStrategy.percentage(0.04);
+        private RunConfiguration runConfiguration = RunConfiguration.deterministic();
+        private double annualVolatility = SimulationRequest.DEFAULT_ANNUAL_VOLATILITY;
+
+        /**
+         * Sets the scenario. Required.
+         *
+         * @param scenario the scenario
+         * @return this builder
+         */
+        public Builder scenario(Scenario scenario) {
+            this.scenario = scenario;
+            return this;
+        }
+
+        /**
+         * Adds a member. At least one is required.
+         *
+         * @param member the member
+         * @return this builder
+         */
+        public Builder addMember(HouseholdMember member) {
+            this.members.add(MissingRequiredFieldException.requireNonNull(member, "member"));
+            return this;
+        }
+
+        /**
+         * Replaces the members.
+         *
+         * @param members the members
+         * @return this builder
+         */
+        public Builder members(List<HouseholdMember> members) {
+            this.members.clear();
+            if (members != null) {
+                members.forEach(this::addMember);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the household withdrawal strategy. Defaults to 4% of the
+         * household balance when the last member retires.
+         *
+         * @param withdrawalStrategy the withdrawal strategy
+         * @return this builder
+         */
+        public Builder withdrawalStrategy(WithdrawalStrategy withdrawalStrategy) {
+            this.withdrawalStrategy = withdrawalStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the run configuration. Defaults to a single deterministic path.
+         *
+         * @param runConfiguration the run configuration
+         * @return this builder
+         */
+        public Builder runConfiguration(RunConfiguration runConfiguration) {
+            this.runConfiguration = runConfiguration;
+            return this;
+        }
+
+        /**
+         * Sets the annual volatility of market returns for stochastic runs.
+         *
+         * @param annualVolatility the annual volatility as a decimal
+         * @return this builder
+         */
+        public Builder annualVolatility(double annualVolatility) {
+            this.annualVolatility = annualVolatility;
+            return this;
+        }
+
+        /**
+         * Builds the request.
+         *
+         * @return a new HouseholdRequest
+         * @throws MissingRequiredFieldException if a required field is missing
+         * @throws ValidationException if there are no members, two members
+         *         represent the same person, or the volatility is negative
+         * @throws ConfigurationException if a member is not a scenario person
+         */
+        public HouseholdRequest build() {
+            MissingRequiredFieldException.requireNonNull(scenario, "scenario");
+            MissingRequiredFieldException.requireNonNull(withdrawalStrategy, "withdrawalStrategy");
+            MissingRequiredFieldException.requireNonNull(runConfiguration, "runConfiguration");
+            if (members.isEmpty()) {
+                throw new ValidationException("Household must have at least one member", "members");
+            }
+            if (annualVolatility < 0 || Double.isNaN(annualVolatility)) {
+                throw new ValidationException("Volatility cannot be negative", "annualVolatility");
+            }
+            Set<String> persons = new HashSet<>();
+            List<Portfolio> portfolios = new ArrayList<>(members.size());
+            for (HouseholdMember member : members) {
+                if (!persons.add(member.getPerson().getId())) {
+                    throw new ValidationException(
+                        "Person appears in more than one member: " + member.getPerson().getName(), "members");
+                }
+                portfolios.add(member.getPortfolio());
+            }
+            return new HouseholdRequest(this, SimulationHandles.compile(scenario, portfolios));
+        }
+    }
+}
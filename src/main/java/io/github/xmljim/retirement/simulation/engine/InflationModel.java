@@ -0,0 +1,255 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+
+/**
+ * A stochastic model of general inflation, sampled into a
+ * {@link ReturnPathBlock} alongside the market shocks.
+ *
+ * <p>The annualized inflation rate follows a first-order autoregressive
+ * process around its mean: each month, its deviation from the mean is
+ * {@code persistence} times the prior month's deviation plus a normal
+ * innovation, scaled so that {@code volatility} is the deviation's long-run
+ * standard deviation. Each path starts at the mean. Innovations can be
+ * correlated with the path's return shocks, for example negatively, so that
+ * high inflation tends to arrive with weak markets.
+ *
+ * <p>The block stores each path's cumulative inflation factors, so everything
+ * that grows with inflation, such as withdrawals, one-time expenses, Social
+ * Security COLAs, and projected IRS limits, reads one factor per year instead
+ * of compounding rates. When a run has no model, the scenario's constant
+ * {@link io.github.xmljim.retirement.domain.value.InflationAssumptions} apply.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * RunConfiguration run = RunConfiguration.monteCarlo(10_000, 42L)
+ *     .withInflationModel(InflationModel.builder()
+ *         .meanRate(0.025)
+ *         .volatility(0.015)
+ *         .returnCorrelation(-0.2)
+ *         .build());
+ * }</pre>
+ */
+public final class InflationModel implements ContentHashable {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final double meanRate;
+    private final double persistence;
+    private final double volatility;
+    private final double returnCorrelation;
+
+    private InflationModel(Builder builder) {
+        this.meanRate = builder.meanRate;
+        this.persistence = builder.persistence;
+        this.volatility = builder.volatility;
+        this.returnCorrelation = builder.returnCorrelation;
+    }
+
+    /**
+     * Returns the long-run mean annual inflation rate.
+     *
+     * @return the mean rate as a decimal
+     */
+    public double getMeanRate() {
+        return meanRate;
+    }
+
+    /**
+     * Returns how much of each month's deviation from the mean carries into
+     * the next month.
+     *
+     * @return the monthly autoregressive coefficient, in [0, 1)
+     */
+    public double getPersistence() {
+        return persistence;
+    }
+
+    /**
+     * Returns the long-run standard deviation of the annualized rate.
+     *
+     * @return the volatility as a decimal
+     */
+    public double getVolatility() {
+        return volatility;
+    }
+
+    /**
+     * Returns the correlation of inflation innovations with return shocks.
+     *
+     * @return the correlation, in [-1, 1]
+     */
+    public double getReturnCorrelation() {
+        return returnCorrelation;
+    }
+
+    /**
+     * Fills one path's cumulative inflation factors: {@code factors[offset + m]}
+     * is the price level at the start of month {@code m}, for {@code m} from 0
+     * to {@code monthCount} inclusive.
+     *
+     * @param random the path's generator, or null for the mean path
+     */
+    void fillFactors(double[] factors, int offset, int monthCount, double[] shocks, int shockOffset,
+                     SplittableRandom random) {
+        double monthlyMean = Math.pow(1.0 + meanRate, 1.0 / MONTHS_PER_YEAR) - 1.0;
+        double innovationScale = volatility * Math.sqrt(1.0 - persistence * persistence);
+        double independent = Math.sqrt(1.0 - returnCorrelation * returnCorrelation);
+        double deviation = 0.0;
+        factors[offset] = 1.0;
+        for (int month = 0; month < monthCount; month++) {
+            if (random != null) {
+                double innovation = returnCorrelation * shocks[shockOffset + month]
+                    + independent * random.nextGaussian();
+                deviation = persistence * deviation + innovationScale * innovation;
+            }
+            double monthly = monthlyMean + deviation / MONTHS_PER_YEAR;
+            factors[offset + month + 1] = factors[offset + month] * (1.0 + monthly);
+        }
+    }
+
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("InflationModel")
+            .putLong(Double.doubleToLongBits(meanRate))
+            .putLong(Double.doubleToLongBits(persistence))
+            .putLong(Double.doubleToLongBits(volatility))
+            .putLong(Double.doubleToLongBits(returnCorrelation))
+            .hash();
+    }
+
+    /**
+     * Creates a new builder for InflationModel.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        InflationModel that = (InflationModel) o;
+        return Double.compare(meanRate, that.meanRate) == 0
+            && Double.compare(persistence, that.persistence) == 0
+            && Double.compare(volatility, that.volatility) == 0
+            && Double.compare(returnCorrelation, that.returnCorrelation) == 0;
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(meanRate, persistence, volatility, returnCorrelation);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "InflationModel{" +
+            "meanRate=" + meanRate +
+            ", persistence=" + persistence +
+            ", volatility=" + volatility +
+            ", returnCorrelation=" + returnCorrelation +
+            '}';
+    }
+
+    /**
+     * Builder for creating InflationModel instances.
+     */
+    public static final class Builder {
+        private static final double DEFAULT_MEAN_RATE = 0.025;
+        private static final double DEFAULT_PERSISTENCE = 0.95;
+        private static final double DEFAULT_VOLATILITY = 0.015;
+
+        private double meanRate = DEFAULT_MEAN_RATE;
+        private double persistence = DEFAULT_PERSISTENCE;
+        private double volatility = DEFAULT_VOLATILITY;
+        private double returnCorrelation;
+
+        /**
+         * Sets the long-run mean annual inflation rate. Default is 0.025.
+         *
+         * @param rate the mean rate as a decimal
+         * @return this builder
+         */
+        public Builder meanRate(double rate) {
+            this.meanRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the monthly autoregressive coefficient. Default is 0.95, a
+         * half-life of about 13 months.
+         *
+         * @param persistence the coefficient, in [0, 1)
+         * @return this builder
+         */
+        public Builder persistence(double persistence) {
+            this.persistence = persistence;
+            return this;
+        }
+
+        /**
+         * Sets the long-run standard deviation of the annualized rate.
+         * Default is 0.015; zero gives every path the mean rate.
+         *
+         * @param volatility the volatility as a decimal
+         * @return this builder
+         */
+        public Builder volatility(double volatility) {
+            this.volatility = volatility;
+            return this;
+        }
+
+        /**
+         * Sets the correlation of inflation innovations with return shocks.
+         * Default is 0.
+         *
+         * @param correlation the correlation, in [-1, 1]
+         * @return this builder
+         */
+        public Builder returnCorrelation(double correlation) {
+            this.returnCorrelation = correlation;
+            return this;
+        }
+
+        /**
+         * Builds the InflationModel.
+         *
+         * @return a new InflationModel
+         * @throws ValidationException if a parameter is out of range
+         */
+        public InflationModel build() {
+            if (!(meanRate > -1.0)) {
+                throw new ValidationException("Mean rate must be greater than -100%", "meanRate");
+            }
+            if (!(persistence >= 0 && persistence < 1)) {
+                throw new ValidationException("Persistence must be in [0, 1)", "persistence");
+            }
+            if (!(volatility >= 0)) {
+                throw new ValidationException("Volatility cannot be negative", "volatility");
+            }
+            if (!(returnCorrelation >= -1 && returnCorrelation <= 1)) {
+                throw new ValidationException("Return correlation must be in [-1, 1]", "returnCorrelation");
+            }
+            return new InflationModel(this);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Append-only month-by-month record of one simulated path.
+ *
+ * <p>Each entry holds the month's contributions, withdrawals, and the total
+ * balance at the end of the month. Entries are stored in primitive arrays
+ * that grow geometrically.
+ *
+ * <p>Ledgers are copy-on-write across branches. {@link #branch(int)} returns
+ * a ledger that shares this ledger's first entries instead of copying them
+ * and appends to its own storage. Because entries are never modified once
+ * appended, the original can keep growing without affecting the branch, so
+ * forking a path costs nothing proportional to the months already simulated.
+ *
+ * <p>Instances are not thread-safe. A branch may be read while its parent
+ * grows only if both are confined to the same thread.
+ */
+public final class MonthlyLedger {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final MonthlyLedger parent;
+    private final int sharedLength;
+
+    private double[] contributions;
+    private double[] withdrawals;
+    private double[] balances;
+    private int ownLength;
+
+    private MonthlyLedger(MonthlyLedger parent, int sharedLength) {
+        this.parent = parent;
+        this.sharedLength = sharedLength;
+        this.contributions = new double[INITIAL_CAPACITY];
+        this.withdrawals = new double[INITIAL_CAPACITY];
+        this.balances = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Creates an empty ledger.
+     *
+     * @return a new ledger
+     */
+    public static MonthlyLedger create() {
+        return new MonthlyLedger(null, 0);
+    }
+
+    /**
+     * Creates a branch that shares this ledger's first {@code length} entries.
+     *
+     * @param length the number of entries to share
+     * @return a new ledger whose entries continue from {@code length}
+     * @throws ValidationException if length is negative or exceeds this ledger's size
+     */
+    public MonthlyLedger branch(int length) {
+        if (length < 0 || length > size()) {
+            throw new ValidationException("Branch length out of range: " + length, "length");
+        }
+        return new MonthlyLedger(this, length);
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return sharedLength + ownLength;
+    }
+
+    /**
+     * Appends an entry for the next month.
+     *
+     * @param contribution the month's contributions
+     * @param withdrawal the month's withdrawals
+     * @param balance the total balance at the end of the month
+     */
+    public void append(double contribution, double withdrawal, double balance) {
+        if (ownLength == balances.length) {
+            int capacity = ownLength * 2;
+            contributions = Arrays.copyOf(contributions, capacity);
+            withdrawals = Arrays.copyOf(withdrawals, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+        }
+        contributions[ownLength] = contribution;
+        withdrawals[ownLength] = withdrawal;
+        balances[ownLength] = balance;
+        ownLength++;
+    }
+
+    /**
+     * Returns the contributions of a month.
+     *
+     * @param index the entry index
+     * @return the contributions
+     * @throws ValidationException if index is out of range
+     */
+    public double getContribution(int index) {
+        checkIndex(index);
+        return index < sharedLength ? parent.getContribution(index) : contributions[index - sharedLength];
+    }
+
+    /**
+     * Returns the withdrawals of a month.
+     *
+     * @param index the entry index
+     * @return the withdrawals
+     * @throws ValidationException if index is out of range
+     */
+    public double getWithdrawal(int index) {
+        checkIndex(index);
+        return index < sharedLength ? parent.getWithdrawal(index) : withdrawals[index - sharedLength];
+    }
+
+    /**
+     * Returns the total balance at the end of a month.
+     *
+     * @param index the entry index
+     * @return the balance
+     * @throws ValidationException if index is out of range
+     */
+    public double getBalance(int index) {
+        checkIndex(index);
+        return index < sharedLength ? parent.getBalance(index) : balances[index - sharedLength];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ValidationException("Ledger index out of range: " + index, "index");
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.strategy.SpendingPath;
+import io.github.xmljim.retirement.simulation.tax.TaxAccumulator;
+
+/**
+ * One simulated path that can be advanced month by month, checkpointed, and
+ * forked.
+ *
+ * <p>The engine drives batch runs through the same loop; this class exposes
+ * it for what-if analysis. A typical branch:
+ *
+ * <pre>{@code
+ * PathSimulation base = engine.start(request);
+ * base.advanceTo(retirementMonth);
+ * SimulationCheckpoint atRetirement = base.checkpoint();
+ *
+ * PathSimulation crash = engine.fork(atRetirement);
+ * crash.scaleBalances(0.70);           // 30% market drop at retirement
+ * SimulationRun crashRun = crash.runToEnd();
+ *
+ * SimulationRun baseRun = base.runToEnd();
+ * }</pre>
+ *
+ * <p>Required minimum distributions are computed once a year, from a
+ * snapshot of each RMD account's balance at the end of the prior year, and
+ * taken in equal monthly amounts. They count toward the month's spending;
+ * any excess is reinvested in the first taxable account, or leaves the
+ * portfolio if there is none.
+ *
+ * <p>When the request has a filing status, taxable income is accumulated
+ * month by month (wages less pre-tax contributions, pre-tax withdrawals, and
+ * realized gains on taxable withdrawals) and the year's federal tax is
+ * evaluated once at each year end.
+ *
+ * <p>One-time expenses are paid in their month, first from any required
+ * distribution not spent that month and then from the portfolio. The path
+ * keeps a cursor into the run's shared {@link EventCalendar}, so each month
+ * costs one comparison however many events there are.
+ *
+ * <p>When the block carries inflation factors, withdrawals and one-time
+ * expenses grow with the path's realized inflation, read as a ratio of two
+ * cumulative factors at each year end; otherwise they grow at the scenario's
+ * constant general inflation.
+ *
+ * <p>When created with a ledger, every simulated month is appended to a
+ * {@link MonthlyLedger}; forks share the ledger prefix copy-on-write.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class PathSimulation {
+
+    private final SimulationRequest request;
+    private final RunPlan plan;
+    private final PortfolioState state;
+    private final ReturnPathBlock block;
+    private final double[] yearEnds;
+    private final double[] rmdBalances;
+    private final double[] rmdMonthly;
+    private final TaxAccumulator taxes;
+    private final double[] yearTaxes;
+
+    private SpendingPath spending;
+    private MonthlyLedger ledger;
+    private PhaseBoundarySnapshot boundaryCapture;
+    private int path;
+    private int shockOffset;
+    private int inflationOffset;
+    private int month;
+    private int eventCursor;
+    private int year;
+    private double salary;
+    private boolean spendingStarted;
+    private int depletionMonth;
+
+    PathSimulation(SimulationRequest request, RunPlan plan, ReturnPathBlock block) {
+        this.request = request;
+        this.plan = plan;
+        this.state = PortfolioState.from(request.getPortfolio());
+        state.setDistributionPlan(plan.distributionPlan);
+        this.block = block;
+        this.yearEnds = new double[plan.yearCount];
+        this.rmdBalances = new double[plan.rmdAccounts.length];
+        this.rmdMonthly = new double[plan.rmdAccounts.length];
+        this.taxes = plan.taxTable != null ? TaxAccumulator.of(plan.taxTable) : null;
+        this.yearTaxes = taxes != null ? new double[plan.yearCount] : null;
+        state.setTaxAccumulator(taxes);
+        this.spending = plan.spendingStrategy.newPath(plan.spendingContext);
+    }
+
+    /**
+     * Resets to the start of a path.
+     */
+    void reset(int pathIndex) {
+        state.reset();
+        this.path = pathIndex;
+        this.shockOffset = block.pathOffset(pathIndex);
+        this.inflationOffset = block.hasInflation() ? block.inflationOffset(pathIndex) : -1;
+        this.month = 0;
+        this.eventCursor = 0;
+        this.year = 0;
+        this.salary = plan.initialMonthlySalary;
+        this.spendingStarted = false;
+        this.depletionMonth = SimulationRun.NOT_DEPLETED;
+        snapshotRmdBalances();
+        scheduleRmds();
+        if (taxes != null) {
+            taxes.reset();
+        }
+    }
+
+    void enableLedger(MonthlyLedger monthlyLedger) {
+        this.ledger = monthlyLedger;
+    }
+
+    void captureBoundaryInto(PhaseBoundarySnapshot snapshot) {
+        this.boundaryCapture = snapshot;
+    }
+
+    void captureBoundary(PhaseBoundarySnapshot snapshot) {
+        snapshot.capture(path, state, yearEnds, rmdBalances, yearTaxes, taxes, depletionMonth);
+    }
+
+    void restoreBoundary(PhaseBoundarySnapshot snapshot) {
+        snapshot.restore(path, state, yearEnds, rmdBalances, yearTaxes, taxes);
+        this.month = snapshot.getBoundaryMonth();
+        this.eventCursor = plan.calendar.indexFrom(month);
+        this.year = RunPlan.yearsBefore(month);
+        this.depletionMonth = snapshot.getDepletionMonth(path);
+        scheduleRmds();
+    }
+
+    void restore(SimulationCheckpoint checkpoint, boolean keepSpending) {
+        reset(checkpoint.getPath());
+        for (int i = 0; i < checkpoint.accountCount(); i++) {
+            state.getAccount(i).restore(checkpoint.balance(i), checkpoint.costBasis(i));
+        }
+        System.arraycopy(checkpoint.yearEnds(), 0, yearEnds, 0, Math.min(yearEnds.length, checkpoint.year()));
+        this.month = checkpoint.getMonth();
+        this.eventCursor = plan.calendar.indexFrom(month);
+        this.year = checkpoint.year();
+        this.salary = checkpoint.salary();
+        System.arraycopy(checkpoint.rmdBalances(), 0, rmdBalances, 0, rmdBalances.length);
+        scheduleRmds();
+        if (taxes != null && checkpoint.yearTaxes() != null) {
+            System.arraycopy(checkpoint.yearTaxes(), 0, yearTaxes, 0, Math.min(yearTaxes.length, checkpoint.year()));
+            double[] ytd = checkpoint.taxesYtd();
+            taxes.restore(ytd[0], ytd[1], ytd[2]);
+        }
+        if (keepSpending) {
+            this.spending = checkpoint.spending().copy();
+            this.spendingStarted = checkpoint.spendingStarted();
+            if (spendingStarted) {
+                spending.attach(state);
+            }
+        }
+        this.depletionMonth = checkpoint.depletionMonth();
+        if (checkpoint.ledger() != null) {
+            this.ledger = checkpoint.ledger().branch(checkpoint.getMonth());
+        }
+    }
+
+    /**
+     * Simulates one month.
+     *
+     * @return true if there are months left to simulate
+     */
+    public boolean step() {
+        if (isComplete()) {
+            return false;
+        }
+        boolean retired = month >= plan.retirementMonth;
+        if (month == plan.retirementMonth && boundaryCapture != null) {
+            captureBoundary(boundaryCapture);
+        }
+
+        double contributed = 0.0;
+        double withdrawn = 0.0;
+        double unspent;
+        if (retired) {
+            double balance = state.getTotalBalance();
+            if (!spendingStarted) {
+                spending.attach(state);
+                spending.start(month, balance);
+                spendingStarted = true;
+            }
+            double target = spending.nextWithdrawal(balance);
+            double required = takeRequiredDistributions();
+            double fromRequired = Math.min(required, target);
+            unspent = required - fromRequired;
+            double shortfall = target - fromRequired;
+            double taken = spending.withdraw(shortfall, state);
+            withdrawn = fromRequired + taken;
+            if (taken < shortfall && depletionMonth == SimulationRun.NOT_DEPLETED) {
+                depletionMonth = month;
+            }
+        } else {
+            contributed = contribute();
+            unspent = takeRequiredDistributions();
+        }
+        double due = dueExpenses();
+        if (due > 0) {
+            double fromUnspent = Math.min(unspent, due);
+            unspent -= fromUnspent;
+            double shortfall = due - fromUnspent;
+            double taken = state.distribute(shortfall);
+            withdrawn += fromUnspent + taken;
+            if (taken < shortfall && depletionMonth == SimulationRun.NOT_DEPLETED) {
+                depletionMonth = month;
+            }
+        }
+        withdrawn += reinvest(unspent);
+
+        state.applyMonthlyReturns(retired, plan.monthlyVolatility * block.shockAt(shockOffset + month));
+
+        if (ledger != null) {
+            ledger.append(contributed, withdrawn, state.getTotalBalance());
+        }
+        if (plan.isYearEnd(month)) {
+            double balance = state.getTotalBalance();
+            if (taxes != null) {
+                yearTaxes[year] = taxes.closeYear(year);
+            }
+            yearEnds[year++] = balance;
+            state.resetYearToDate();
+            snapshotRmdBalances();
+            scheduleRmds();
+            if (retired && inflationOffset >= 0) {
+                spending.closeYear(balance, realizedInflation(year - 1));
+            } else if (retired) {
+                spending.closeYear(balance);
+            } else {
+                salary *= 1.0 + plan.annualSalaryGrowth;
+            }
+        }
+        month++;
+        return !isComplete();
+    }
+
+    /**
+     * Simulates months until the given month is next.
+     *
+     * @param targetMonth the month to stop before
+     * @throws ValidationException if targetMonth is behind the current month or past the end
+     */
+    public void advanceTo(int targetMonth) {
+        if (targetMonth < month || targetMonth > plan.monthCount) {
+            throw new ValidationException("Cannot advance from month " + month + " to " + targetMonth, "month");
+        }
+        while (month < targetMonth) {
+            step();
+        }
+    }
+
+    /**
+     * Simulates the remaining months and returns the path's result.
+     *
+     * @return a single-path run
+     */
+    public SimulationRun runToEnd() {
+        advanceTo(plan.monthCount);
+        return new SimulationRun(plan.monthCount, new double[][] {yearEnds.clone()},
+            new int[] {depletionMonth}, false, yearTaxes != null ? new double[][] {yearTaxes.clone()} : null);
+    }
+
+    /**
+     * Captures the current state.
+     *
+     * @return a checkpoint at the current month
+     */
+    public SimulationCheckpoint checkpoint() {
+        int accounts = state.getAccountCount();
+        double[] balances = new double[accounts];
+        double[] costBases = new double[accounts];
+        for (int i = 0; i < accounts; i++) {
+            balances[i] = state.getAccount(i).getBalance();
+            costBases[i] = state.getAccount(i).getCostBasis();
+        }
+        double[] taxesYtd = taxes != null
+            ? new double[] {taxes.getOrdinaryIncome(), taxes.getCapitalGains(), taxes.getSocialSecurity()}
+            : null;
+        return new SimulationCheckpoint(this, balances, costBases, yearEnds.clone(), rmdBalances.clone(),
+            yearTaxes != null ? yearTaxes.clone() : null, taxesYtd);
+    }
+
+    /**
+     * Multiplies every account balance by a factor, for example {@code 0.7}
+     * for a 30% market drop. Cost bases are unchanged.
+     *
+     * @param factor the factor; must not be negative
+     * @throws ValidationException if factor is negative
+     */
+    public void scaleBalances(double factor) {
+        if (factor < 0 || Double.isNaN(factor)) {
+            throw new ValidationException("Scale factor cannot be negative", "factor");
+        }
+        for (int i = 0; i < state.getAccountCount(); i++) {
+            AccountState account = state.getAccount(i);
+            account.restore(account.getBalance() * factor, account.getCostBasis());
+        }
+    }
+
+    /**
+     * Indicates whether every month has been simulated.
+     *
+     * @return true if the path is complete
+     */
+    public boolean isComplete() {
+        return month >= plan.monthCount;
+    }
+
+    /**
+     * Returns the next month to simulate.
+     *
+     * @return the zero-based month index
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the total number of months in the run.
+     *
+     * @return the month count
+     */
+    public int getMonthCount() {
+        return plan.monthCount;
+    }
+
+    /**
+     * Returns the month the owner retires.
+     *
+     * @return the zero-based retirement month
+     */
+    public int getRetirementMonth() {
+        return plan.retirementMonth;
+    }
+
+    /**
+     * Returns the current total balance.
+     *
+     * @return the total balance
+     */
+    public double getTotalBalance() {
+        return state.getTotalBalance();
+    }
+
+    /**
+     * Returns the first month a withdrawal could not be covered.
+     *
+     * @return the month index, or {@link SimulationRun#NOT_DEPLETED}
+     */
+    public int getDepletionMonth() {
+        return depletionMonth;
+    }
+
+    /**
+     * Returns the path's ledger, if one is kept.
+     *
+     * @return the ledger, or null
+     */
+    @SuppressFBWarnings(
+        value = "EI_EXPOSE_REP",
+        justification = "The ledger is a live, append-only view of the path; callers read it as the path advances")
+    public MonthlyLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Returns the request being simulated.
+     *
+     * @return the request
+     */
+    public SimulationRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the path index within the market shock block.
+     *
+     * @return the path index
+     */
+    public int getPath() {
+        return path;
+    }
+
+    ReturnPathBlock getBlock() {
+        return block;
+    }
+
+    int getYear() {
+        return year;
+    }
+
+    double getMonthlySalary() {
+        return salary;
+    }
+
+    SpendingPath getSpending() {
+        return spending;
+    }
+
+    boolean isSpendingStarted() {
+        return spendingStarted;
+    }
+
+    double[] yearEnds() {
+        return yearEnds;
+    }
+
+    double[] yearTaxes() {
+        return yearTaxes;
+    }
+
+    private void snapshotRmdBalances() {
+        for (int i = 0; i < rmdBalances.length; i++) {
+            rmdBalances[i] = state.getBalance(plan.rmdAccounts[i]);
+        }
+    }
+
+    /**
+     * Spreads the current year's required distributions across its months.
+     */
+    private void scheduleRmds() {
+        double fraction = year < plan.rmdFractions.length ? plan.rmdFractions[year] : 0.0;
+        for (int i = 0; i < rmdMonthly.length; i++) {
+            rmdMonthly[i] = rmdBalances[i] * fraction / RunPlan.MONTHS_PER_YEAR;
+        }
+    }
+
+    private double takeRequiredDistributions() {
+        double taken = 0.0;
+        for (int i = 0; i < rmdMonthly.length; i++) {
+            if (rmdMonthly[i] > 0) {
+                taken += state.withdraw(plan.rmdAccounts[i], rmdMonthly[i]);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Moves the calendar cursor past this month's events.
+     *
+     * @return the total of this month's one-time expenses
+     */
+    private double dueExpenses() {
+        EventCalendar calendar = plan.calendar;
+        double due = 0.0;
+        while (eventCursor < calendar.size() && calendar.month(eventCursor) == month) {
+            if (calendar.kind(eventCursor) == EventCalendar.ONE_TIME_EXPENSE) {
+                due += calendar.amount(eventCursor);
+            }
+            eventCursor++;
+        }
+        return due > 0 ? due * priceLevel(year) : 0.0;
+    }
+
+    /**
+     * Returns the general price level at the start of a year, relative to
+     * the start of the run.
+     */
+    private double priceLevel(int y) {
+        return inflationOffset >= 0
+            ? block.inflationFactorAt(inflationOffset + y * RunPlan.MONTHS_PER_YEAR)
+            : plan.priceLevels[y];
+    }
+
+    /**
+     * Returns the path's inflation growth factor over a year, from the
+     * cumulative factors at its first month and the month after it closes.
+     */
+    private double realizedInflation(int y) {
+        int from = y * RunPlan.MONTHS_PER_YEAR;
+        int to = Math.min(from + RunPlan.MONTHS_PER_YEAR, plan.monthCount);
+        return block.inflationFactorAt(inflationOffset + to) / block.inflationFactorAt(inflationOffset + from);
+    }
+
+    /**
+     * Reinvests unspent required distributions.
+     *
+     * @return the amount that left the portfolio because there is no taxable account
+     */
+    private double reinvest(double amount) {
+        if (amount <= 0) {
+            return 0.0;
+        }
+        if (plan.reinvestmentAccount < 0) {
+            return amount;
+        }
+        state.deposit(plan.reinvestmentAccount, amount);
+        return 0.0;
+    }
+
+    private double contribute() {
+        double total = 0.0;
+        double taxableWages = salary;
+        for (int i = 0; i < plan.contributionTargets.length; i++) {
+            double amount = salary * plan.contributionRates[i];
+            state.getAccount(plan.contributionTargets[i]).contribute(amount);
+            total += amount;
+            if (plan.pretaxContributions[i]) {
+                taxableWages -= amount;
+            }
+        }
+        if (taxes != null) {
+            taxes.addOrdinaryIncome(taxableWages);
+        }
+        return total;
+    }
+}
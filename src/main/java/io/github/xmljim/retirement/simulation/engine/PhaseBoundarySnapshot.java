@@ -0,0 +1,178 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.tax.TaxAccumulator;
+
+/**
+ * Per-path engine state captured at the retirement boundary.
+ *
+ * <p>Nothing before the owner's retirement date depends on distribution
+ * inputs, so when only those change, a run can restore this snapshot and
+ * simulate the distribution phase alone. For a Monte Carlo run the snapshot
+ * holds every path, so it is stored compactly as flat primitive arrays:
+ * {@code accountCount} balances and cost bases per path, the year-end totals
+ * already recorded before the boundary, and the prior year-end balances that
+ * the year's required minimum distributions are computed from, and the month
+ * the path was depleted by a pre-retirement expense, if any. When taxes are
+ * tracked it also holds the year taxes recorded before the boundary and the
+ * taxable income accumulated so far in the boundary year.
+ *
+ * <p>Instances are immutable once captured and may be shared across threads.
+ */
+public final class PhaseBoundarySnapshot {
+
+    private static final long ARRAY_OVERHEAD_BYTES = 16;
+    private static final long OBJECT_OVERHEAD_BYTES = 48;
+    private static final int TAX_STATE_SIZE = 3;
+
+    private final int boundaryMonth;
+    private final int pathCount;
+    private final int accountCount;
+    private final int yearsCompleted;
+    private final int rmdAccountCount;
+    private final double[] balances;
+    private final double[] costBases;
+    private final double[] yearEndTotals;
+    private final double[] rmdBalances;
+    private final double[] yearTaxes;
+    private final double[] taxesYtd;
+    private final int[] depletionMonths;
+
+    private PhaseBoundarySnapshot(int boundaryMonth, int pathCount, int accountCount, int yearsCompleted,
+                                  int rmdAccountCount, boolean taxed) {
+        this.boundaryMonth = boundaryMonth;
+        this.pathCount = pathCount;
+        this.accountCount = accountCount;
+        this.yearsCompleted = yearsCompleted;
+        this.rmdAccountCount = rmdAccountCount;
+        this.balances = new double[pathCount * accountCount];
+        this.costBases = new double[pathCount * accountCount];
+        this.yearEndTotals = new double[pathCount * yearsCompleted];
+        this.rmdBalances = new double[pathCount * rmdAccountCount];
+        this.yearTaxes = new double[taxed ? pathCount * yearsCompleted : 0];
+        this.taxesYtd = new double[taxed ? pathCount * TAX_STATE_SIZE : 0];
+        this.depletionMonths = new int[pathCount];
+    }
+
+    /**
+     * Allocates an empty snapshot for the engine to fill, one path at a time.
+     *
+     * @param boundaryMonth the month index of the boundary
+     * @param pathCount the number of paths
+     * @param accountCount the number of accounts per path
+     * @param yearsCompleted the number of year-end totals recorded before the boundary
+     * @param rmdAccountCount the number of accounts subject to RMDs
+     * @param taxed whether the run tracks taxes
+     * @return an empty snapshot
+     */
+    static PhaseBoundarySnapshot allocate(int boundaryMonth, int pathCount, int accountCount, int yearsCompleted,
+                                          int rmdAccountCount, boolean taxed) {
+        return new PhaseBoundarySnapshot(boundaryMonth, pathCount, accountCount, yearsCompleted, rmdAccountCount,
+            taxed);
+    }
+
+    /**
+     * Returns the month index at which the snapshot was taken.
+     *
+     * @return the boundary month
+     */
+    public int getBoundaryMonth() {
+        return boundaryMonth;
+    }
+
+    /**
+     * Returns the number of paths captured.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the number of accounts per path.
+     *
+     * @return the account count
+     */
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    /**
+     * Returns the number of year-end totals recorded before the boundary.
+     *
+     * @return the completed year count
+     */
+    public int getYearsCompleted() {
+        return yearsCompleted;
+    }
+
+    /**
+     * Returns a path's captured balance for one account.
+     *
+     * @param path the path index
+     * @param account the account index in portfolio order
+     * @return the balance at the boundary
+     */
+    public double getBalance(int path, int account) {
+        return balances[path * accountCount + account];
+    }
+
+    /**
+     * Returns the first month a path could not cover a withdrawal or expense
+     * before the boundary.
+     *
+     * @param path the path index
+     * @return the month index, or {@link SimulationRun#NOT_DEPLETED}
+     */
+    int getDepletionMonth(int path) {
+        return depletionMonths[path];
+    }
+
+    /**
+     * Returns the approximate heap size of the snapshot, for cache weighing.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return OBJECT_OVERHEAD_BYTES + 7 * ARRAY_OVERHEAD_BYTES
+            + (long) Double.BYTES * (balances.length + costBases.length + yearEndTotals.length + rmdBalances.length
+                + yearTaxes.length + taxesYtd.length)
+            + (long) Integer.BYTES * depletionMonths.length;
+    }
+
+    void capture(int path, PortfolioState state, double[] pathYearEnds, double[] pathRmdBalances,
+                 double[] pathYearTaxes, TaxAccumulator taxes, int depletionMonth) {
+        depletionMonths[path] = depletionMonth;
+        int offset = path * accountCount;
+        for (int i = 0; i < accountCount; i++) {
+            AccountState account = state.getAccount(i);
+            balances[offset + i] = account.getBalance();
+            costBases[offset + i] = account.getCostBasis();
+        }
+        System.arraycopy(pathYearEnds, 0, yearEndTotals, path * yearsCompleted, yearsCompleted);
+        System.arraycopy(pathRmdBalances, 0, rmdBalances, path * rmdAccountCount, rmdAccountCount);
+        if (taxes != null) {
+            System.arraycopy(pathYearTaxes, 0, yearTaxes, path * yearsCompleted, yearsCompleted);
+            int taxOffset = path * TAX_STATE_SIZE;
+            taxesYtd[taxOffset] = taxes.getOrdinaryIncome();
+            taxesYtd[taxOffset + 1] = taxes.getCapitalGains();
+            taxesYtd[taxOffset + 2] = taxes.getSocialSecurity();
+        }
+    }
+
+    void restore(int path, PortfolioState state, double[] pathYearEnds, double[] pathRmdBalances,
+                 double[] pathYearTaxes, TaxAccumulator taxes) {
+        int offset = path * accountCount;
+        for (int i = 0; i < accountCount; i++) {
+            state.getAccount(i).restore(balances[offset + i], costBases[offset + i]);
+        }
+        System.arraycopy(yearEndTotals, path * yearsCompleted, pathYearEnds, 0, yearsCompleted);
+        System.arraycopy(rmdBalances, path * rmdAccountCount, pathRmdBalances, 0, rmdAccountCount);
+        if (taxes != null) {
+            System.arraycopy(yearTaxes, path * yearsCompleted, pathYearTaxes, 0, yearsCompleted);
+            int taxOffset = path * TAX_STATE_SIZE;
+            taxes.restore(taxesYtd[taxOffset], taxesYtd[taxOffset + 1], taxesYtd[taxOffset + 2]);
+        }
+    }
+}
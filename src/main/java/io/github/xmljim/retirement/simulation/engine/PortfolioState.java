@@ -0,0 +1,502 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.simulation.strategy.AccountBalances;
+import io.github.xmljim.retirement.simulation.strategy.DistributionPlan;
+import io.github.xmljim.retirement.simulation.tax.TaxAccumulator;
+
+/**
+ * Mutable, simulation-only mirror of a {@link Portfolio}.
+ *
+ * <p>Holds one {@link AccountState} per account, in the portfolio's account
+ * order. The simulation loop updates these in place each month; the immutable
+ * {@link Portfolio} is only rebuilt by {@link #toPortfolio()} at snapshot or
+ * report time.
+ *
+ * <p>Accounts are addressed by their {@link SimulationHandles handle}; string
+ * IDs are only resolved through the handle table at the boundaries.
+ *
+ * <p>As the {@link AccountBalances} of a spending path, accounts are
+ * addressed by index in portfolio order, and a running balance is kept for
+ * each account group a strategy assigns.
+ *
+ * <p>When a {@link TaxAccumulator} is set, every withdrawal through
+ * {@link #withdraw(int, double)} is reported to it by tax treatment:
+ * pre-tax withdrawals as ordinary income and the gain portion of taxable
+ * withdrawals as capital gains. Transfers between accounts of the same tax
+ * treatment are not reported; a transfer across treatments, such as a bucket
+ * refill from a pre-tax account into a taxable one, is reported as a
+ * withdrawal from the source, and the target receives it as after-tax money
+ * with a full cost basis.
+ *
+ * <p>Instances are not thread-safe; each simulation path owns its own state.
+ *
+ * @see AccountState
+ */
+public final class PortfolioState implements AccountBalances {
+
+    private final Portfolio source;
+    private final SimulationHandles handles;
+    private final List<AccountState> accounts;
+    private final AccountState[] accountsByHandle;
+    private DistributionPlan distributionPlan;
+    private int[] accountGroups;
+    private double[] groupBalances;
+    private TaxAccumulator taxes;
+
+    private PortfolioState(Portfolio source, SimulationHandles handles) {
+        this.source = source;
+        this.handles = handles;
+        this.accountsByHandle = new AccountState[handles.getAccountCount()];
+        List<AccountState> states = new ArrayList<>(source.getAccountCount());
+        for (InvestmentAccount account : source.getAccounts()) {
+            AccountState state = AccountState.from(account, handles.getAccountHandle(account.getId()));
+            states.add(state);
+            accountsByHandle[state.getHandle()] = state;
+        }
+        this.accounts = Collections.unmodifiableList(states);
+        this.distributionPlan = DistributionPlan.inPortfolioOrder(states.size());
+    }
+
+    /**
+     * Creates a state initialized from a portfolio, compiling a handle table
+     * for it alone.
+     *
+     * @param portfolio the portfolio to mirror
+     * @return a new PortfolioState
+     * @throws MissingRequiredFieldException if portfolio is null
+     */
+    public static PortfolioState from(Portfolio portfolio) {
+        return from(portfolio, SimulationHandles.compile(portfolio));
+    }
+
+    /**
+     * Creates a state initialized from a portfolio, using handles compiled for
+     * the whole run.
+     *
+     * @param portfolio the portfolio to mirror
+     * @param handles the run's handle table, which must include the portfolio's accounts
+     * @return a new PortfolioState
+     * @throws MissingRequiredFieldException if portfolio or handles is null
+     * @throws ValidationException if an account has no handle
+     */
+    public static PortfolioState from(Portfolio portfolio, SimulationHandles handles) {
+        MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+        MissingRequiredFieldException.requireNonNull(handles, "handles");
+        return new PortfolioState(portfolio, handles);
+    }
+
+    /**
+     * Returns the handle table used by this state.
+     *
+     * @return the handle table
+     */
+    public SimulationHandles getHandles() {
+        return handles;
+    }
+
+    /**
+     * Returns the portfolio this state was created from.
+     *
+     * @return the source portfolio
+     */
+    public Portfolio getSourcePortfolio() {
+        return source;
+    }
+
+    /**
+     * Returns the account states in portfolio order.
+     *
+     * @return an unmodifiable list of account states
+     */
+    public List<AccountState> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Returns the number of accounts.
+     *
+     * @return the account count
+     */
+    @Override
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Returns the account state at a position in portfolio order.
+     *
+     * @param index the account index
+     * @return the account state
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public AccountState getAccount(int index) {
+        return accounts.get(index);
+    }
+
+    /**
+     * Returns the account state with a handle.
+     *
+     * @param handle the account handle
+     * @return the account state
+     * @throws ValidationException if no account in this portfolio has the handle
+     */
+    public AccountState getAccountByHandle(int handle) {
+        AccountState state = handle >= 0 && handle < accountsByHandle.length ? accountsByHandle[handle] : null;
+        if (state == null) {
+            throw new ValidationException("No account in portfolio with handle " + handle, "handle");
+        }
+        return state;
+    }
+
+    /**
+     * Finds an account state by account ID.
+     *
+     * <p>Intended for boundary code; run-time code should use
+     * {@link #getAccountByHandle(int)}.
+     *
+     * @param accountId the account ID
+     * @return the account state, or empty if not found
+     */
+    public Optional<AccountState> findAccount(String accountId) {
+        OptionalInt handle = handles.findAccountHandle(accountId);
+        return handle.isPresent()
+            ? Optional.ofNullable(accountsByHandle[handle.getAsInt()])
+            : Optional.empty();
+    }
+
+    /**
+     * Returns the total balance across all accounts.
+     *
+     * @return the total balance
+     */
+    @Override
+    public double getTotalBalance() {
+        double total = 0;
+        for (AccountState account : accounts) {
+            total += account.getBalance();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the balance of the account at a position in portfolio order.
+     *
+     * @param account the account index
+     * @return the balance
+     * @throws IndexOutOfBoundsException if account is out of range
+     */
+    @Override
+    public double getBalance(int account) {
+        return accounts.get(account).getBalance();
+    }
+
+    /**
+     * Returns the plan that {@link #distribute(double)} follows.
+     *
+     * @return the distribution plan; portfolio order unless set
+     */
+    public DistributionPlan getDistributionPlan() {
+        return distributionPlan;
+    }
+
+    /**
+     * Sets the plan that {@link #distribute(double)} follows.
+     *
+     * @param plan a plan compiled for this state's source portfolio
+     * @throws MissingRequiredFieldException if plan is null
+     */
+    public void setDistributionPlan(DistributionPlan plan) {
+        this.distributionPlan = MissingRequiredFieldException.requireNonNull(plan, "plan");
+    }
+
+    /**
+     * Returns the accumulator withdrawals are reported to.
+     *
+     * @return the tax accumulator, or null if taxes are not tracked
+     */
+    @SuppressFBWarnings(
+        value = "EI_EXPOSE_REP",
+        justification = "The accumulator is shared with the owning path, which adds income and closes each year")
+    public TaxAccumulator getTaxAccumulator() {
+        return taxes;
+    }
+
+    /**
+     * Sets the accumulator withdrawals are reported to.
+     *
+     * @param accumulator the tax accumulator, or null to stop tracking taxes
+     */
+    @SuppressFBWarnings(
+        value = "EI_EXPOSE_REP2",
+        justification = "The accumulator is shared with the owning path, which adds income and closes each year")
+    public void setTaxAccumulator(TaxAccumulator accumulator) {
+        this.taxes = accumulator;
+    }
+
+    /**
+     * Withdraws an amount across the accounts according to the distribution
+     * plan.
+     *
+     * @param amount the amount requested
+     * @return the amount actually withdrawn
+     */
+    @Override
+    public double distribute(double amount) {
+        return distributionPlan.withdraw(amount, this);
+    }
+
+    /**
+     * Withdraws up to the given amount from the account at a position in
+     * portfolio order, keeping its group balance current and reporting the
+     * taxable part to the tax accumulator, if one is set.
+     *
+     * @param account the account index
+     * @param amount the amount requested
+     * @return the amount actually withdrawn
+     * @throws IndexOutOfBoundsException if account is out of range
+     * @throws ValidationException if amount is negative
+     */
+    @Override
+    public double withdraw(int account, double amount) {
+        AccountState state = accounts.get(account);
+        double basisBefore = state.getCostBasis();
+        double withdrawn = state.withdraw(amount);
+        if (accountGroups != null) {
+            groupBalances[accountGroups[account]] -= withdrawn;
+        }
+        if (taxes != null && withdrawn > 0) {
+            switch (state.getTaxTreatment()) {
+                case PRE_TAX -> taxes.addOrdinaryIncome(withdrawn);
+                case TAXABLE -> taxes.addCapitalGains(withdrawn - (basisBefore - state.getCostBasis()));
+                default -> {
+                    // Roth and HSA withdrawals are tax-free
+                }
+            }
+        }
+        return withdrawn;
+    }
+
+    /**
+     * Moves up to the given amount between accounts, keeping both group
+     * balances current. Between accounts of the same tax treatment the move
+     * carries a proportional share of the source's cost basis and is not
+     * taxed. Into a taxable or Roth account of another treatment it is taxed
+     * as a {@link #withdraw(int, double) withdrawal} from the source, as
+     * ordinary income from a pre-tax account or as realized gains from a
+     * taxable one, and lands with a full cost basis. Pre-tax and HSA
+     * accounts accept transfers only from their own treatment.
+     *
+     * @param from the source account index
+     * @param to the target account index
+     * @param amount the amount requested
+     * @return the amount actually moved
+     * @throws IndexOutOfBoundsException if either index is out of range
+     * @throws ValidationException if amount is negative, or if the target is
+     *         a pre-tax or HSA account of another treatment
+     */
+    @Override
+    public double transfer(int from, int to, double amount) {
+        AccountState source = accounts.get(from);
+        AccountState target = accounts.get(to);
+        if (!AccountBalances.canTransfer(source.getTaxTreatment(), target.getTaxTreatment())) {
+            throw new ValidationException("Cannot transfer from a " + source.getTaxTreatment()
+                + " account into a " + target.getTaxTreatment() + " account", "to");
+        }
+        if (source.getTaxTreatment() != target.getTaxTreatment()) {
+            double moved = withdraw(from, amount);
+            if (moved > 0) {
+                target.receive(moved, moved);
+                if (accountGroups != null) {
+                    groupBalances[accountGroups[to]] += moved;
+                }
+            }
+            return moved;
+        }
+        double basisBefore = source.getCostBasis();
+        double moved = source.withdraw(amount);
+        if (moved > 0) {
+            target.receive(moved, basisBefore - source.getCostBasis());
+            if (accountGroups != null) {
+                groupBalances[accountGroups[from]] -= moved;
+                groupBalances[accountGroups[to]] += moved;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Adds after-tax money from outside the portfolio to the account at a
+     * position in portfolio order, such as a required distribution that was
+     * not spent. The amount is added to the account's cost basis and its
+     * group balance is kept current.
+     *
+     * @param account the account index
+     * @param amount the amount deposited
+     * @throws IndexOutOfBoundsException if account is out of range
+     * @throws ValidationException if amount is negative
+     */
+    public void deposit(int account, double amount) {
+        if (amount < 0 || Double.isNaN(amount)) {
+            throw new ValidationException("Amount cannot be negative: " + amount, "amount");
+        }
+        accounts.get(account).receive(amount, amount);
+        if (accountGroups != null) {
+            groupBalances[accountGroups[account]] += amount;
+        }
+    }
+
+    /**
+     * Assigns every account to a group and rebuilds the group balances.
+     *
+     * @param groups the group of each account, indexed by account
+     * @param groupCount the number of groups
+     * @throws ValidationException if groups does not have one entry per account,
+     *         or an entry is outside {@code [0, groupCount)}
+     */
+    @Override
+    public void assignGroups(int[] groups, int groupCount) {
+        if (groups == null || groups.length != accounts.size()) {
+            throw new ValidationException("Account groups must have one entry per account", "accountGroups");
+        }
+        for (int group : groups) {
+            if (group < 0 || group >= groupCount) {
+                throw new ValidationException("Account group out of range: " + group, "accountGroups");
+            }
+        }
+        this.accountGroups = groups.clone();
+        if (groupBalances == null || groupBalances.length != groupCount) {
+            this.groupBalances = new double[groupCount];
+        }
+        refreshGroupBalances();
+    }
+
+    /**
+     * Returns the running balance of an account group.
+     *
+     * @param group the group index
+     * @return the group balance, or 0 if no groups are assigned
+     */
+    @Override
+    public double getGroupBalance(int group) {
+        return groupBalances == null ? 0.0 : groupBalances[group];
+    }
+
+    /**
+     * Returns the total balance of accounts with a tax treatment.
+     *
+     * @param taxTreatment the tax treatment
+     * @return the total balance for that treatment
+     */
+    public double getBalanceByTaxTreatment(AccountType.TaxTreatment taxTreatment) {
+        double total = 0;
+        for (AccountState account : accounts) {
+            if (account.getTaxTreatment() == taxTreatment) {
+                total += account.getBalance();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Applies one month of growth to every account at its expected rate.
+     *
+     * @param retired whether to use post-retirement rates
+     */
+    public void applyMonthlyReturns(boolean retired) {
+        applyMonthlyReturns(retired, 0.0);
+    }
+
+    /**
+     * Applies one month of growth to every account at its expected rate plus
+     * a common market deviation.
+     *
+     * @param retired whether to use post-retirement rates
+     * @param deviation the deviation from each account's expected monthly return
+     */
+    public void applyMonthlyReturns(boolean retired, double deviation) {
+        if (accountGroups == null) {
+            for (AccountState account : accounts) {
+                account.applyMonthlyReturn(retired, deviation);
+            }
+            return;
+        }
+        Arrays.fill(groupBalances, 0.0);
+        for (int i = 0; i < accountGroups.length; i++) {
+            AccountState account = accounts.get(i);
+            account.applyMonthlyReturn(retired, deviation);
+            groupBalances[accountGroups[i]] += account.getBalance();
+        }
+    }
+
+    /**
+     * Restores every account to its source balance, so one state can be
+     * reused for every path of a run.
+     */
+    public void reset() {
+        for (AccountState account : accounts) {
+            account.reset();
+        }
+        if (accountGroups != null) {
+            refreshGroupBalances();
+        }
+    }
+
+    /**
+     * Resets year-to-date tracking on every account.
+     */
+    public void resetYearToDate() {
+        for (AccountState account : accounts) {
+            account.resetYearToDate();
+        }
+    }
+
+    private void refreshGroupBalances() {
+        Arrays.fill(groupBalances, 0.0);
+        for (int i = 0; i < accountGroups.length; i++) {
+            groupBalances[accountGroups[i]] += accounts.get(i).getBalance();
+        }
+    }
+
+    /**
+     * Materializes this state into an immutable portfolio.
+     *
+     * <p>The result keeps the source portfolio's ID, owner, and account order,
+     * with each account carrying its current balance.
+     *
+     * @return a new Portfolio reflecting the current balances
+     */
+    public Portfolio toPortfolio() {
+        List<InvestmentAccount> materialized = new ArrayList<>(accounts.size());
+        for (AccountState account : accounts) {
+            materialized.add(account.toAccount());
+        }
+        return source.toBuilder()
+            .clearAccounts()
+            .addAccounts(materialized)
+            .build();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "PortfolioState{" +
+                "portfolioId='" + source.getId() + '\'' +
+                ", accounts=" + accounts.size() +
+                ", totalBalance=" + getTotalBalance() +
+                '}';
+    }
+}
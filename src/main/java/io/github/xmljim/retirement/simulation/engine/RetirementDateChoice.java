@@ -0,0 +1,120 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+
+/**
+ * The earliest retirement date that meets a success target, with the outcome
+ * of every candidate date, found by {@link RetirementDateOptimizer}.
+ *
+ * <p>Candidates are held in ascending date order. A candidate is abandoned
+ * once it has failed on so many paths that it could no longer meet the
+ * target; its success rate is then unknown.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class RetirementDateChoice {
+
+    private final List<LocalDate> candidates;
+    private final int[] survivors;
+    private final int[] pathsSimulated;
+    private final boolean[] abandoned;
+    private final int chosen;
+    private final int pathCount;
+    private final double targetSuccessRate;
+
+    RetirementDateChoice(List<LocalDate> candidates, int[] survivors, int[] pathsSimulated, boolean[] abandoned,
+                         int chosen, int pathCount, double targetSuccessRate) {
+        this.candidates = List.copyOf(candidates);
+        this.survivors = survivors;
+        this.pathsSimulated = pathsSimulated;
+        this.abandoned = abandoned;
+        this.chosen = chosen;
+        this.pathCount = pathCount;
+        this.targetSuccessRate = targetSuccessRate;
+    }
+
+    /**
+     * Returns the earliest candidate date whose success rate meets the target.
+     *
+     * @return the retirement date, or empty if no candidate meets the target
+     */
+    public Optional<LocalDate> getRetirementDate() {
+        return chosen >= 0 ? Optional.of(candidates.get(chosen)) : Optional.empty();
+    }
+
+    /**
+     * Returns the candidate dates in ascending order.
+     *
+     * @return an unmodifiable list of candidates
+     */
+    public List<LocalDate> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns a candidate's success rate.
+     *
+     * @param candidate the candidate index
+     * @return the fraction of paths that never ran out of money, or NaN if
+     *         the candidate was abandoned
+     * @throws IndexOutOfBoundsException if candidate is out of range
+     */
+    public double getSuccessRate(int candidate) {
+        return abandoned[candidate] ? Double.NaN : (double) survivors[candidate] / pathCount;
+    }
+
+    /**
+     * Indicates whether a candidate was abandoned before all of its paths
+     * were simulated.
+     *
+     * @param candidate the candidate index
+     * @return true if the candidate could no longer meet the target
+     * @throws IndexOutOfBoundsException if candidate is out of range
+     */
+    public boolean isAbandoned(int candidate) {
+        return abandoned[candidate];
+    }
+
+    /**
+     * Returns the number of paths simulated for a candidate.
+     *
+     * @param candidate the candidate index
+     * @return the simulated path count
+     * @throws IndexOutOfBoundsException if candidate is out of range
+     */
+    public int getPathsSimulated(int candidate) {
+        return pathsSimulated[candidate];
+    }
+
+    /**
+     * Returns the number of paths in the run.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the success rate the search targeted.
+     *
+     * @return the target success rate
+     */
+    public double getTargetSuccessRate() {
+        return targetSuccessRate;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "RetirementDateChoice{" +
+            "retirementDate=" + (chosen >= 0 ? candidates.get(chosen) : null) +
+            ", candidates=" + candidates.size() +
+            ", targetSuccessRate=" + targetSuccessRate +
+            '}';
+    }
+}
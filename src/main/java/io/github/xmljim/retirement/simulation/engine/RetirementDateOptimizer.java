@@ -0,0 +1,272 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+/**
+ * Finds the earliest retirement date, among a set of candidates, whose Monte
+ * Carlo success rate meets a target.
+ *
+ * <p>Every candidate retires on or after the earliest one, so every month
+ * before the earliest candidate is pre-retirement for all of them and
+ * simulates identically. The optimizer simulates that shared prefix once per
+ * path and takes a {@link SimulationCheckpoint} at its end. Each candidate
+ * then forks every path from its checkpoint with the owner's retirement date
+ * set to the candidate, and simulates only the rest of the run.
+ *
+ * <p>Candidates are evaluated in parallel, each against the same market
+ * shocks. A candidate is abandoned as soon as it has failed on so many paths
+ * that it could no longer meet the target, and a path stops as soon as it
+ * runs out of money.
+ *
+ * <p>Instances are immutable and can be shared across threads.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * RetirementDateChoice choice = RetirementDateOptimizer.builder()
+ *     .targetSuccessRate(0.90)
+ *     .build()
+ *     .optimize(request, RetirementDateOptimizer.candidates(
+ *         LocalDate.of(2032, 1, 1), LocalDate.of(2040, 1, 1), 6));
+ * }</pre>
+ */
+public final class RetirementDateOptimizer {
+
+    private static final int PATHS_PER_TASK = 64;
+
+    private final double targetSuccessRate;
+    private final boolean parallel;
+
+    private RetirementDateOptimizer(Builder builder) {
+        this.targetSuccessRate = builder.targetSuccessRate;
+        this.parallel = builder.parallel;
+    }
+
+    /**
+     * Returns the success rate a retirement date must meet.
+     *
+     * @return the target success rate
+     */
+    public double getTargetSuccessRate() {
+        return targetSuccessRate;
+    }
+
+    /**
+     * Returns whether candidates and the shared prefix are simulated in parallel.
+     *
+     * @return true if the search runs in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns evenly spaced candidate dates from earliest to latest, inclusive.
+     *
+     * @param earliest the first candidate
+     * @param latest the last candidate
+     * @param stepMonths the months between candidates
+     * @return the candidate dates
+     * @throws MissingRequiredFieldException if a date is null
+     * @throws ValidationException if latest is before earliest or stepMonths is less than 1
+     */
+    public static List<LocalDate> candidates(LocalDate earliest, LocalDate latest, int stepMonths) {
+        MissingRequiredFieldException.requireNonNull(earliest, "earliest");
+        MissingRequiredFieldException.requireNonNull(latest, "latest");
+        if (latest.isBefore(earliest)) {
+            throw new ValidationException("Latest candidate cannot be before the earliest", "latest");
+        }
+        if (stepMonths < 1) {
+            throw new ValidationException("Step must be at least 1 month", "stepMonths");
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = earliest; !date.isAfter(latest); date = date.plusMonths(stepMonths)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    /**
+     * Finds the earliest candidate date that meets the target, generating
+     * market shocks from the request's run configuration.
+     *
+     * @param request the request; its owner's retirement date is replaced by each candidate
+     * @param candidates the candidate retirement dates
+     * @return the outcome of every candidate
+     * @throws MissingRequiredFieldException if an argument or candidate is null
+     * @throws ValidationException if there are no candidates
+     */
+    public RetirementDateChoice optimize(SimulationRequest request, List<LocalDate> candidates) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        RunPlan plan = RunPlan.compile(request);
+        return optimize(request, candidates, ReturnPathBlock.forRun(request.getRunConfiguration(), plan.monthCount));
+    }
+
+    /**
+     * Finds the earliest candidate date that meets the target against
+     * pre-generated market shocks.
+     *
+     * @param request the request; its owner's retirement date is replaced by each candidate
+     * @param candidates the candidate retirement dates
+     * @param block the market shocks shared by every candidate
+     * @return the outcome of every candidate
+     * @throws MissingRequiredFieldException if an argument or candidate is null
+     * @throws ValidationException if there are no candidates or the block is smaller than the run
+     */
+    public RetirementDateChoice optimize(SimulationRequest request, List<LocalDate> candidates,
+                                         ReturnPathBlock block) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(candidates, "candidates");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        TreeSet<LocalDate> sorted = new TreeSet<>();
+        for (LocalDate date : candidates) {
+            sorted.add(MissingRequiredFieldException.requireNonNull(date, "candidates"));
+        }
+        if (sorted.isEmpty()) {
+            throw new ValidationException("At least one candidate date is required", "candidates");
+        }
+        List<LocalDate> dates = new ArrayList<>(sorted);
+        SimulationRequest[] requests = new SimulationRequest[dates.size()];
+        RunPlan[] plans = new RunPlan[dates.size()];
+        for (int c = 0; c < requests.length; c++) {
+            requests[c] = request.withRetirementDate(dates.get(c));
+            plans[c] = RunPlan.compile(requests[c]);
+        }
+        int pathCount = request.getRunConfiguration().pathCount();
+        if (block.getPathCount() < pathCount || block.getMonthCount() < plans[0].monthCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+
+        SimulationCheckpoint[] prefixes = simulatePrefix(requests[0], plans[0], block, pathCount);
+        int[] survivors = new int[dates.size()];
+        int[] simulated = new int[dates.size()];
+        boolean[] abandoned = new boolean[dates.size()];
+        IntStream range = IntStream.range(0, dates.size());
+        (parallel ? range.parallel() : range).forEach(c -> {
+            PathSimulation simulation = new PathSimulation(requests[c], plans[c], block);
+            int failures = 0;
+            for (int path = 0; path < pathCount; path++) {
+                simulated[c]++;
+                if (survives(simulation, prefixes[path])) {
+                    survivors[c]++;
+                } else {
+                    failures++;
+                    if ((double) (pathCount - failures) / pathCount < targetSuccessRate) {
+                        abandoned[c] = true;
+                        return;
+                    }
+                }
+            }
+        });
+
+        int chosen = -1;
+        for (int c = 0; c < dates.size() && chosen < 0; c++) {
+            if (!abandoned[c] && (double) survivors[c] / pathCount >= targetSuccessRate) {
+                chosen = c;
+            }
+        }
+        return new RetirementDateChoice(dates, survivors, simulated, abandoned, chosen, pathCount,
+            targetSuccessRate);
+    }
+
+    /**
+     * Simulates every path up to the earliest candidate's retirement month
+     * and checkpoints it there.
+     */
+    private SimulationCheckpoint[] simulatePrefix(SimulationRequest request, RunPlan plan, ReturnPathBlock block,
+                                                  int pathCount) {
+        SimulationCheckpoint[] checkpoints = new SimulationCheckpoint[pathCount];
+        int tasks = (pathCount + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+        IntStream range = IntStream.range(0, tasks);
+        (parallel ? range.parallel() : range).forEach(task -> {
+            PathSimulation simulation = new PathSimulation(request, plan, block);
+            int end = Math.min(pathCount, (task + 1) * PATHS_PER_TASK);
+            for (int path = task * PATHS_PER_TASK; path < end; path++) {
+                simulation.reset(path);
+                simulation.advanceTo(plan.retirementMonth);
+                checkpoints[path] = simulation.checkpoint();
+            }
+        });
+        return checkpoints;
+    }
+
+    private static boolean survives(PathSimulation simulation, SimulationCheckpoint prefix) {
+        simulation.restore(prefix, false);
+        while (simulation.getDepletionMonth() == SimulationRun.NOT_DEPLETED && !simulation.isComplete()) {
+            simulation.step();
+        }
+        return simulation.getDepletionMonth() == SimulationRun.NOT_DEPLETED;
+    }
+
+    /**
+     * Creates a new builder for RetirementDateOptimizer.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "RetirementDateOptimizer{" +
+            "targetSuccessRate=" + targetSuccessRate +
+            ", parallel=" + parallel +
+            '}';
+    }
+
+    /**
+     * Builder for creating RetirementDateOptimizer instances.
+     */
+    public static final class Builder {
+        private static final double DEFAULT_TARGET_SUCCESS_RATE = 0.90;
+
+        private double targetSuccessRate = DEFAULT_TARGET_SUCCESS_RATE;
+        private boolean parallel = true;
+
+        /**
+         * Sets the success rate a retirement date must meet. Default is 0.90.
+         *
+         * @param rate the target, as a fraction of paths
+         * @return this builder
+         */
+        public Builder targetSuccessRate(double rate) {
+            this.targetSuccessRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets whether candidates and the shared prefix are simulated in
+         * parallel. Default is true.
+         *
+         * @param parallel true to search in parallel
+         * @return this builder
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Builds the RetirementDateOptimizer.
+         *
+         * @return a new RetirementDateOptimizer
+         * @throws ValidationException if the target is outside (0, 1]
+         */
+        public RetirementDateOptimizer build() {
+            if (!(targetSuccessRate > 0 && targetSuccessRate <= 1)) {
+                throw new ValidationException("Target success rate must be in (0, 1]", "targetSuccessRate");
+            }
+            return new RetirementDateOptimizer(this);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import io.github.xmljim.retirement.domain.enums.SimulationMode;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Pre-generated market shocks for every path and month of a run.
+ *
+ * <p>Each entry is a standard normal draw. The engine turns a shock into a
+ * monthly return deviation by scaling it with the run's monthly volatility,
+ * and adds that to each account's expected monthly return. Generating all
+ * shocks up front keeps random number generation out of the monthly loop and
+ * lets several runs share identical market paths (common random numbers), so
+ * differences between their results come from their inputs, not from noise.
+ *
+ * <p>Each path draws from its own generator seeded from the run seed and the
+ * path index, so the shocks of a path do not depend on the number of paths or
+ * months generated: a longer block extends each path rather than reshuffling it.
+ *
+ * <p>A block generated with an {@link InflationModel} also carries each path's
+ * cumulative inflation factors, the price level at the start of every month
+ * relative to the first. Everything that grows with inflation reads a ratio of
+ * two factors instead of compounding rates, and a path's inflation is drawn
+ * from its own generator, so adding a model leaves the market shocks unchanged.
+ *
+ * <p>Instances are immutable and may be shared across threads.
+ */
+public final class ReturnPathBlock {
+
+    private static final long PATH_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+    private static final long INFLATION_SEED_SALT = 0x632BE59BD9B4E019L;
+
+    private final int pathCount;
+    private final int monthCount;
+    private final long seed;
+    private final double[] shocks;
+    private final double[] inflationFactors;
+    private final boolean generated;
+    private final InflationModel inflationModel;
+
+    private ReturnPathBlock(int pathCount, int monthCount, long seed, double[] shocks, double[] inflationFactors,
+                            boolean generated, InflationModel inflationModel) {
+        this.pathCount = pathCount;
+        this.monthCount = monthCount;
+        this.seed = seed;
+        this.shocks = shocks;
+        this.inflationFactors = inflationFactors;
+        this.generated = generated;
+        this.inflationModel = inflationModel;
+    }
+
+    /**
+     * Creates a block of zero shocks, for deterministic runs.
+     *
+     * @param monthCount the number of months
+     * @return a single-path block in which every shock is zero
+     * @throws ValidationException if monthCount is negative
+     */
+    public static ReturnPathBlock deterministic(int monthCount) {
+        return deterministic(monthCount, null);
+    }
+
+    /**
+     * Creates a block of zero shocks whose inflation follows a model's mean
+     * path, for deterministic runs.
+     *
+     * @param monthCount the number of months
+     * @param model the inflation model, or null for no inflation factors
+     * @return a single-path block in which every shock is zero
+     * @throws ValidationException if monthCount is negative
+     */
+    public static ReturnPathBlock deterministic(int monthCount, InflationModel model) {
+        requireNonNegative(monthCount, "monthCount");
+        double[] shocks = new double[monthCount];
+        double[] factors = null;
+        if (model != null) {
+            factors = new double[monthCount + 1];
+            model.fillFactors(factors, 0, monthCount, shocks, 0, null);
+        }
+        return new ReturnPathBlock(1, monthCount, 0L, shocks, factors, false, model);
+    }
+
+    /**
+     * Generates standard normal shocks for a number of paths.
+     *
+     * @param pathCount the number of paths; at least 1
+     * @param monthCount the number of months per path
+     * @param seed the random seed
+     * @return the generated block
+     * @throws ValidationException if pathCount is less than 1 or monthCount is negative
+     */
+    public static ReturnPathBlock generate(int pathCount, int monthCount, long seed) {
+        return generate(pathCount, monthCount, seed, null);
+    }
+
+    /**
+     * Generates standard normal shocks and, when a model is given, inflation
+     * factors for a number of paths.
+     *
+     * @param pathCount the number of paths; at least 1
+     * @param monthCount the number of months per path
+     * @param seed the random seed
+     * @param model the inflation model, or null for no inflation factors
+     * @return the generated block
+     * @throws ValidationException if pathCount is less than 1 or monthCount is negative
+     */
+    public static ReturnPathBlock generate(int pathCount, int monthCount, long seed, InflationModel model) {
+        if (pathCount < 1) {
+            throw new ValidationException("Path count must be at least 1", "pathCount");
+        }
+        requireNonNegative(monthCount, "monthCount");
+        double[] shocks = new double[Math.multiplyExact(pathCount, monthCount)];
+        for (int path = 0; path < pathCount; path++) {
+            SplittableRandom random = new SplittableRandom(seed + PATH_SEED_STRIDE * (path + 1));
+            int offset = path * monthCount;
+            for (int month = 0; month < monthCount; month++) {
+                shocks[offset + month] = random.nextGaussian();
+            }
+        }
+        double[] factors = null;
+        if (model != null) {
+            factors = new double[Math.multiplyExact(pathCount, monthCount + 1)];
+            for (int path = 0; path < pathCount; path++) {
+                SplittableRandom random = new SplittableRandom(
+                    (seed ^ INFLATION_SEED_SALT) + PATH_SEED_STRIDE * (path + 1));
+                model.fillFactors(factors, path * (monthCount + 1), monthCount, shocks, path * monthCount, random);
+            }
+        }
+        return new ReturnPathBlock(pathCount, monthCount, seed, shocks, factors, true, model);
+    }
+
+    /**
+     * Creates the block a run configuration calls for.
+     *
+     * @param run the run configuration
+     * @param monthCount the number of months per path
+     * @return a deterministic block for deterministic runs, otherwise a generated
+     *         one; either carries inflation factors when the run has an inflation model
+     */
+    public static ReturnPathBlock forRun(RunConfiguration run, int monthCount) {
+        return run.mode() == SimulationMode.DETERMINISTIC
+            ? deterministic(monthCount, run.inflationModel())
+            : generate(run.pathCount(), monthCount, run.seed(), run.inflationModel());
+    }
+
+    /**
+     * Returns whether this block holds the paths a run configuration calls
+     * for: it was created the way {@link #forRun(RunConfiguration, int)}
+     * creates one, from the same seed and inflation model, with at least as
+     * many paths. Since a longer block extends each path, the month count
+     * is left to the caller.
+     *
+     * @param run the run configuration
+     * @return true if the block's first paths are the run's paths
+     */
+    public boolean isFor(RunConfiguration run) {
+        boolean deterministic = run.mode() == SimulationMode.DETERMINISTIC;
+        return generated != deterministic
+            && (deterministic || seed == run.seed())
+            && pathCount >= run.pathCount()
+            && Objects.equals(inflationModel, run.inflationModel());
+    }
+
+    /**
+     * Returns the number of paths.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the number of months per path.
+     *
+     * @return the month count
+     */
+    public int getMonthCount() {
+        return monthCount;
+    }
+
+    /**
+     * Returns the seed the block was generated from.
+     *
+     * @return the seed; 0 for deterministic blocks
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the shock for a path and month.
+     *
+     * @param path the zero-based path index
+     * @param month the zero-based month index
+     * @return the standard normal shock
+     */
+    public double shock(int path, int month) {
+        return shocks[path * monthCount + month];
+    }
+
+    /**
+     * Returns the index of a path's first month in the backing array, for
+     * loops that walk a path with {@link #shockAt(int)}.
+     *
+     * @param path the zero-based path index
+     * @return the offset of the path
+     */
+    public int pathOffset(int path) {
+        return path * monthCount;
+    }
+
+    /**
+     * Returns the shock at a raw offset.
+     *
+     * @param offset the offset, from {@link #pathOffset(int)} plus a month index
+     * @return the standard normal shock
+     */
+    public double shockAt(int offset) {
+        return shocks[offset];
+    }
+
+    /**
+     * Returns whether the block carries inflation factors.
+     *
+     * @return true if the block was created with an inflation model
+     */
+    public boolean hasInflation() {
+        return inflationFactors != null;
+    }
+
+    /**
+     * Returns a path's price level at the start of a month, relative to the
+     * start of the run.
+     *
+     * @param path the zero-based path index
+     * @param month the zero-based month index, up to and including the month count
+     * @return the cumulative inflation factor
+     * @throws IllegalStateException if the block has no inflation factors
+     */
+    public double inflationFactor(int path, int month) {
+        return inflationFactorAt(inflationOffset(path) + month);
+    }
+
+    /**
+     * Returns the index of a path's first inflation factor in the backing
+     * array, for loops that walk a path with {@link #inflationFactorAt(int)}.
+     * Each path holds one more factor than it has months.
+     *
+     * @param path the zero-based path index
+     * @return the offset of the path's factors
+     * @throws IllegalStateException if the block has no inflation factors
+     */
+    public int inflationOffset(int path) {
+        if (inflationFactors == null) {
+            throw new IllegalStateException("Block was generated without an inflation model");
+        }
+        return path * (monthCount + 1);
+    }
+
+    /**
+     * Returns the inflation factor at a raw offset.
+     *
+     * @param offset the offset, from {@link #inflationOffset(int)} plus a month index
+     * @return the cumulative inflation factor
+     */
+    public double inflationFactorAt(int offset) {
+        return inflationFactors[offset];
+    }
+
+    private static void requireNonNegative(int value, String field) {
+        if (value < 0) {
+            throw new ValidationException(field + " cannot be negative", field);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import io.github.xmljim.retirement.domain.enums.SimulationMode;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * How a simulation run samples its paths.
+ *
+ * <p>The scenario describes <em>what</em> is simulated; the run configuration
+ * describes <em>how</em>: the simulation mode, the number of paths, the
+ * random seed, and optionally a stochastic inflation model. Together with
+ * the scenario content and the precision mode it determines the result
+ * exactly, so it forms part of every cache key.
+ *
+ * @param mode the simulation mode
+ * @param pathCount the number of paths to simulate; at least 1
+ * @param seed the random seed; ignored by deterministic runs
+ * @param inflationModel the inflation model sampled into each path, or null
+ *        to use the scenario's constant inflation assumptions
+ */
+public record RunConfiguration(SimulationMode mode, int pathCount, long seed, InflationModel inflationModel) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws MissingRequiredFieldException if mode is null
+     * @throws ValidationException if pathCount is less than 1, or greater
+     *         than 1 for a deterministic run
+     */
+    public RunConfiguration {
+        MissingRequiredFieldException.requireNonNull(mode, "mode");
+        if (pathCount < 1) {
+            throw new ValidationException("Path count must be at least 1", "pathCount");
+        }
+        if (mode == SimulationMode.DETERMINISTIC && pathCount != 1) {
+            throw new ValidationException("Deterministic runs have exactly one path", "pathCount");
+        }
+        if (mode == SimulationMode.DETERMINISTIC) {
+            seed = 0L;
+        }
+    }
+
+    /**
+     * Creates a configuration with constant inflation.
+     *
+     * @param mode the simulation mode
+     * @param pathCount the number of paths to simulate; at least 1
+     * @param seed the random seed; ignored by deterministic runs
+     */
+    public RunConfiguration(SimulationMode mode, int pathCount, long seed) {
+        this(mode, pathCount, seed, null);
+    }
+
+    /**
+     * Returns a copy of this configuration that samples inflation from a model.
+     * A deterministic run follows the model's mean path.
+     *
+     * @param model the inflation model, or null for constant inflation
+     * @return a new RunConfiguration
+     */
+    public RunConfiguration withInflationModel(InflationModel model) {
+        return new RunConfiguration(mode, pathCount, seed, model);
+    }
+
+    /**
+     * Creates a configuration for a single deterministic path.
+     *
+     * @return a deterministic RunConfiguration
+     */
+    public static RunConfiguration deterministic() {
+        return new RunConfiguration(SimulationMode.DETERMINISTIC, 1, 0L);
+    }
+
+    /**
+     * Creates a Monte Carlo configuration.
+     *
+     * @param pathCount the number of paths
+     * @param seed the random seed
+     * @return a Monte Carlo RunConfiguration
+     */
+    public static RunConfiguration monteCarlo(int pathCount, long seed) {
+        return new RunConfiguration(SimulationMode.MONTE_CARLO, pathCount, seed);
+    }
+}
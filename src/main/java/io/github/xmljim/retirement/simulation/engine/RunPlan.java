@@ -0,0 +1,208 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+import io.github.xmljim.retirement.simulation.expense.OneTimeExpense;
+import io.github.xmljim.retirement.simulation.rules.RmdRules;
+import io.github.xmljim.retirement.simulation.strategy.DistributionPlan;
+import io.github.xmljim.retirement.simulation.strategy.SpendingContext;
+import io.github.xmljim.retirement.simulation.strategy.SpendingStrategy;
+import io.github.xmljim.retirement.simulation.tax.TaxTable;
+
+/**
+ * A {@link SimulationRequest} resolved into the primitive values the monthly
+ * loop reads.
+ *
+ * <p>Dates become month offsets from the start of the run, and contributions
+ * become parallel arrays of target account indexes and rates. Required
+ * minimum distributions become the indexes of the accounts they apply to and
+ * the required fraction of the prior year-end balance in each year, and a
+ * filing status becomes a tax table with brackets for every year. One-time
+ * expenses become an {@link EventCalendar} of amounts stated relative to
+ * general inflation, and the constant general inflation becomes a table of
+ * price levels by year, which paths without stochastic inflation multiply
+ * those amounts by. Compiling
+ * once per run keeps every date comparison and list lookup out of the loop,
+ * and lets every path share the same plan.
+ */
+final class RunPlan {
+
+    static final int MONTHS_PER_YEAR = 12;
+
+    final int monthCount;
+    final int yearCount;
+    final int retirementMonth;
+    final double initialMonthlySalary;
+    final double annualSalaryGrowth;
+    final int[] contributionTargets;
+    final double[] contributionRates;
+    final SpendingStrategy spendingStrategy;
+    final SpendingContext spendingContext;
+    final DistributionPlan distributionPlan;
+    final double annualWithdrawalGrowth;
+    final double monthlyVolatility;
+    final int[] rmdAccounts;
+    final double[] rmdFractions;
+    final int reinvestmentAccount;
+    final boolean[] pretaxContributions;
+    final TaxTable taxTable;
+    final EventCalendar calendar;
+    final double[] priceLevels;
+
+    private RunPlan(SimulationRequest request) {
+        LocalDate start = request.getScenario().getStartDate().withDayOfMonth(1);
+        this.monthCount = (int) Math.max(1,
+            ChronoUnit.MONTHS.between(start, request.getScenario().getProjectedEndDate().withDayOfMonth(1)));
+        this.yearCount = (monthCount + MONTHS_PER_YEAR - 1) / MONTHS_PER_YEAR;
+        this.retirementMonth = monthOffset(start, request.getOwner().getRetirementDate(), monthCount);
+
+        WorkingIncome income = request.getWorkingIncome();
+        this.initialMonthlySalary = income != null ? income.getMonthlySalary().doubleValue() : 0.0;
+        this.annualSalaryGrowth = income != null ? income.getColaRate().doubleValue() : 0.0;
+
+        List<ContributionConfig> contributions = request.getContributions();
+        this.contributionTargets = new int[contributions.size()];
+        this.contributionRates = new double[contributions.size()];
+        for (int i = 0; i < contributions.size(); i++) {
+            ContributionConfig config = contributions.get(i);
+            contributionTargets[i] = targetIndex(request.getPortfolio(), config);
+            contributionRates[i] = config.getContributionRate().doubleValue();
+        }
+
+        this.spendingStrategy = request.getSpendingStrategy();
+        this.annualWithdrawalGrowth =
+            request.getScenario().getInflationAssumptions().getGeneralInflation().doubleValue();
+        this.spendingContext =
+            SpendingContext.of(request.getPortfolio(), start, monthCount, annualWithdrawalGrowth);
+        this.distributionPlan =
+            DistributionPlan.compile(request.getPortfolio(), request.getScenario().getDistributionStrategy());
+        this.monthlyVolatility = request.getMonthlyVolatility();
+
+        this.rmdAccounts = rmdAccounts(request.getPortfolio());
+        this.rmdFractions = rmdAccounts.length > 0
+            ? RmdRules.compileFractions(request.getOwner().getDateOfBirth(), start, yearCount)
+            : new double[yearCount];
+        this.reinvestmentAccount = firstTaxableAccount(request.getPortfolio());
+
+        this.taxTable = request.getFilingStatus() != null
+            ? TaxTable.compile(request.getFilingStatus(), annualWithdrawalGrowth, yearCount)
+            : null;
+        this.pretaxContributions = new boolean[contributionTargets.length];
+        for (int i = 0; i < contributionTargets.length; i++) {
+            AccountType.TaxTreatment treatment =
+                request.getPortfolio().getAccounts().get(contributionTargets[i]).getTaxTreatment();
+            pretaxContributions[i] =
+                treatment == AccountType.TaxTreatment.PRE_TAX || treatment == AccountType.TaxTreatment.HSA;
+        }
+        this.calendar = compileEvents(request, start, monthCount, annualWithdrawalGrowth);
+        this.priceLevels = new double[yearCount];
+        priceLevels[0] = 1.0;
+        for (int y = 1; y < yearCount; y++) {
+            priceLevels[y] = priceLevels[y - 1] * (1.0 + annualWithdrawalGrowth);
+        }
+    }
+
+    static RunPlan compile(SimulationRequest request) {
+        return new RunPlan(request);
+    }
+
+    /**
+     * Returns the number of whole years completed before a month.
+     */
+    static int yearsBefore(int month) {
+        return month / MONTHS_PER_YEAR;
+    }
+
+    /**
+     * Indicates whether a month closes a simulation year.
+     */
+    boolean isYearEnd(int month) {
+        return (month + 1) % MONTHS_PER_YEAR == 0 || month == monthCount - 1;
+    }
+
+    boolean hasPhaseBoundary() {
+        return retirementMonth > 0 && retirementMonth < monthCount;
+    }
+
+    static int monthOffset(LocalDate start, LocalDate date, int monthCount) {
+        long months = ChronoUnit.MONTHS.between(start, date.withDayOfMonth(1));
+        return (int) Math.max(0, Math.min(monthCount, months));
+    }
+
+    /**
+     * Resolves one-time expenses to month offsets and grows each amount by
+     * its category's spread over general inflation, stepping once per year as
+     * withdrawals do. The path multiplies the amount by its general price
+     * level when the expense is paid. Expenses before the start of the run
+     * are dropped.
+     */
+    private static EventCalendar compileEvents(SimulationRequest request, LocalDate start, int monthCount,
+                                               double generalInflation) {
+        if (request.getOneTimeExpenses().isEmpty()) {
+            return EventCalendar.empty();
+        }
+        InflationAssumptions inflation = request.getScenario().getInflationAssumptions();
+        EventCalendar.Builder events = new EventCalendar.Builder(monthCount);
+        for (OneTimeExpense expense : request.getOneTimeExpenses()) {
+            if (!expense.getDate().withDayOfMonth(1).isBefore(start)) {
+                int month = monthOffset(start, expense.getDate(), monthCount);
+                double spread = (1.0 + expense.getCategory().getInflationIndex().annualRate(inflation))
+                    / (1.0 + generalInflation);
+                events.add(month, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD,
+                    expense.getAmount() * Math.pow(spread, yearsBefore(month)));
+            }
+        }
+        return events.build();
+    }
+
+    /**
+     * Returns the indexes of the pre-tax accounts subject to RMDs. Roth
+     * employer accounts are exempt during the owner's lifetime since 2024
+     * under SECURE 2.0.
+     */
+    private static int[] rmdAccounts(Portfolio portfolio) {
+        List<InvestmentAccount> accounts = portfolio.getAccounts();
+        int[] indexes = new int[accounts.size()];
+        int count = 0;
+        for (int i = 0; i < accounts.size(); i++) {
+            InvestmentAccount account = accounts.get(i);
+            if (account.isSubjectToRmd() && account.getTaxTreatment() == AccountType.TaxTreatment.PRE_TAX) {
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    private static int firstTaxableAccount(Portfolio portfolio) {
+        for (int i = 0; i < portfolio.getAccountCount(); i++) {
+            if (portfolio.getAccounts().get(i).getTaxTreatment() == AccountType.TaxTreatment.TAXABLE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int targetIndex(Portfolio portfolio, ContributionConfig config) {
+        AccountType type = config.getTargetAccountType();
+        if (type == null) {
+            return 0;
+        }
+        for (int i = 0; i < portfolio.getAccountCount(); i++) {
+            if (portfolio.getAccounts().get(i).getAccountType() == type) {
+                return i;
+            }
+        }
+        throw new ValidationException("No " + type.getDisplayName() + " account for the contribution",
+            "targetAccountType");
+    }
+}
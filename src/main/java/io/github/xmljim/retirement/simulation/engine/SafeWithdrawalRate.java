@@ -0,0 +1,132 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+
+/**
+ * The highest withdrawal rate that meets a success target, found by
+ * {@link SafeWithdrawalRateSolver}.
+ *
+ * <p>Besides the answer, the result reports how much simulation the search
+ * took: every candidate rate it evaluated, and how many of the paths it
+ * actually simulated rather than resolving from earlier candidates.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class SafeWithdrawalRate {
+
+    private final double rate;
+    private final double successRate;
+    private final double failingRate;
+    private final double targetSuccessRate;
+    private final int pathCount;
+    private final int evaluations;
+    private final long pathsSimulated;
+
+    SafeWithdrawalRate(double rate, double successRate, double failingRate, double targetSuccessRate,
+                       int pathCount, int evaluations, long pathsSimulated) {
+        this.rate = rate;
+        this.successRate = successRate;
+        this.failingRate = failingRate;
+        this.targetSuccessRate = targetSuccessRate;
+        this.pathCount = pathCount;
+        this.evaluations = evaluations;
+        this.pathsSimulated = pathsSimulated;
+    }
+
+    /**
+     * Indicates whether any rate in the search range met the target.
+     *
+     * @return true if a safe rate was found
+     */
+    public boolean isFound() {
+        return !Double.isNaN(rate);
+    }
+
+    /**
+     * Returns the highest evaluated rate whose success rate meets the target.
+     *
+     * @return the safe withdrawal rate, or NaN if even the minimum rate falls short
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Returns the success rate at the safe withdrawal rate, or at the
+     * minimum rate if none was found.
+     *
+     * @return the fraction of paths that never ran out of money
+     */
+    public double getSuccessRate() {
+        return successRate;
+    }
+
+    /**
+     * Returns the lowest evaluated rate whose success rate falls short of
+     * the target. The true threshold lies between the safe rate and this one.
+     *
+     * @return the failing rate, or NaN if even the maximum rate meets the target
+     */
+    public double getFailingRate() {
+        return failingRate;
+    }
+
+    /**
+     * Returns the success rate the search targeted.
+     *
+     * @return the target success rate
+     */
+    public double getTargetSuccessRate() {
+        return targetSuccessRate;
+    }
+
+    /**
+     * Returns the number of paths in the run.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the number of candidate rates evaluated.
+     *
+     * @return the evaluation count
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns the number of path simulations run across all candidates.
+     *
+     * @return the simulated path count
+     */
+    public long getPathsSimulated() {
+        return pathsSimulated;
+    }
+
+    /**
+     * Returns the number of path outcomes resolved from earlier candidates
+     * instead of being simulated.
+     *
+     * @return the pruned path count
+     */
+    public long getPathsPruned() {
+        return (long) evaluations * pathCount - pathsSimulated;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SafeWithdrawalRate{" +
+            "rate=" + rate +
+            ", successRate=" + successRate +
+            ", failingRate=" + failingRate +
+            ", targetSuccessRate=" + targetSuccessRate +
+            ", evaluations=" + evaluations +
+            ", pathsSimulated=" + pathsSimulated +
+            '}';
+    }
+}
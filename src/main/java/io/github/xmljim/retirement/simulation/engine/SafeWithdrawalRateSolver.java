@@ -0,0 +1,456 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.strategy.StaticWithdrawalStrategy;
+
+/**
+ * Finds the highest percentage withdrawal rate whose Monte Carlo success rate
+ * meets a target, such as "the highest rate with 90% success".
+ *
+ * <p>Every candidate rate is simulated against the same {@link ReturnPathBlock}
+ * (common random numbers), so the success rate moves only with the rate and
+ * never with sampling noise. The accumulation phase does not depend on the
+ * rate: it is simulated once per path and captured in a
+ * {@link PhaseBoundarySnapshot}, and each candidate simulates the
+ * distribution phase alone. A path stops as soon as it runs out of money.
+ *
+ * <p>The search has two stages:
+ * <ol>
+ *   <li>a coarse grid of evenly spaced rates, evaluated in parallel, brackets
+ *       the answer between the highest grid rate that meets the target and
+ *       the next one up</li>
+ *   <li>bisection narrows the bracket until it is no wider than the rate
+ *       tolerance; since the success rate is a step function of the rate,
+ *       bisection is used rather than secant steps</li>
+ * </ol>
+ *
+ * <p>A path that runs out of money at one rate also runs out at any higher
+ * rate, and a path that survives one rate survives any lower one. The solver
+ * keeps, for each path, the highest rate it is known to survive and the
+ * lowest rate it is known to fail, and a candidate only simulates the paths
+ * whose outcome those bounds leave open. As the bracket narrows, most paths
+ * are resolved without simulation.
+ *
+ * <p>Each candidate uses a {@link StaticWithdrawalStrategy} at that rate in
+ * place of the request's own spending strategy. Instances are immutable and
+ * can be shared across threads.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder()
+ *     .targetSuccessRate(0.90)
+ *     .build()
+ *     .solve(request);
+ * }</pre>
+ */
+public final class SafeWithdrawalRateSolver {
+
+    private static final int PATHS_PER_TASK = 64;
+
+    private final double targetSuccessRate;
+    private final double minimumRate;
+    private final double maximumRate;
+    private final int gridPoints;
+    private final double rateTolerance;
+    private final boolean parallel;
+
+    private SafeWithdrawalRateSolver(Builder builder) {
+        this.targetSuccessRate = builder.targetSuccessRate;
+        this.minimumRate = builder.minimumRate;
+        this.maximumRate = builder.maximumRate;
+        this.gridPoints = builder.gridPoints;
+        this.rateTolerance = builder.rateTolerance;
+        this.parallel = builder.parallel;
+    }
+
+    /**
+     * Returns the success rate a safe withdrawal rate must meet.
+     *
+     * @return the target success rate
+     */
+    public double getTargetSuccessRate() {
+        return targetSuccessRate;
+    }
+
+    /**
+     * Returns the lowest rate searched.
+     *
+     * @return the minimum rate
+     */
+    public double getMinimumRate() {
+        return minimumRate;
+    }
+
+    /**
+     * Returns the highest rate searched.
+     *
+     * @return the maximum rate
+     */
+    public double getMaximumRate() {
+        return maximumRate;
+    }
+
+    /**
+     * Returns the number of rates in the coarse grid.
+     *
+     * @return the grid size
+     */
+    public int getGridPoints() {
+        return gridPoints;
+    }
+
+    /**
+     * Returns the bracket width at which refinement stops.
+     *
+     * @return the rate tolerance
+     */
+    public double getRateTolerance() {
+        return rateTolerance;
+    }
+
+    /**
+     * Returns whether candidates and paths are simulated in parallel.
+     *
+     * @return true if the search runs in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Finds the safe withdrawal rate, generating market shocks from the
+     * request's run configuration.
+     *
+     * @param request the request
+     * @return the safe withdrawal rate
+     * @throws MissingRequiredFieldException if request is null
+     */
+    public SafeWithdrawalRate solve(SimulationRequest request) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        RunPlan plan = RunPlan.compile(request);
+        return new Search(request, plan, ReturnPathBlock.forRun(request.getRunConfiguration(), plan.monthCount))
+            .run();
+    }
+
+    /**
+     * Finds the safe withdrawal rate against pre-generated market shocks.
+     *
+     * @param request the request
+     * @param block the market shocks shared by every candidate rate
+     * @return the safe withdrawal rate
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if the block has too few paths or months
+     */
+    public SafeWithdrawalRate solve(SimulationRequest request, ReturnPathBlock block) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        RunPlan plan = RunPlan.compile(request);
+        if (block.getPathCount() < request.getRunConfiguration().pathCount()
+            || block.getMonthCount() < plan.monthCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+        return new Search(request, plan, block).run();
+    }
+
+    /**
+     * Creates a new builder for SafeWithdrawalRateSolver.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SafeWithdrawalRateSolver{" +
+            "targetSuccessRate=" + targetSuccessRate +
+            ", minimumRate=" + minimumRate +
+            ", maximumRate=" + maximumRate +
+            ", gridPoints=" + gridPoints +
+            ", rateTolerance=" + rateTolerance +
+            ", parallel=" + parallel +
+            '}';
+    }
+
+    /**
+     * The state of one search: the shared boundary snapshot and each path's
+     * known outcome bounds.
+     */
+    private final class Search {
+        private final SimulationRequest request;
+        private final ReturnPathBlock block;
+        private final int pathCount;
+        private final PhaseBoundarySnapshot boundary;
+        private final double[] survivesUpTo;
+        private final double[] failsFrom;
+        private int evaluations;
+        private long pathsSimulated;
+
+        Search(SimulationRequest request, RunPlan plan, ReturnPathBlock block) {
+            this.request = request;
+            this.block = block;
+            this.pathCount = request.getRunConfiguration().pathCount();
+            this.boundary = plan.hasPhaseBoundary() ? accumulate(plan) : null;
+            this.survivesUpTo = new double[pathCount];
+            this.failsFrom = new double[pathCount];
+            Arrays.fill(survivesUpTo, Double.NEGATIVE_INFINITY);
+            Arrays.fill(failsFrom, Double.POSITIVE_INFINITY);
+        }
+
+        SafeWithdrawalRate run() {
+            double[] rates = new double[gridPoints];
+            double step = (maximumRate - minimumRate) / (gridPoints - 1);
+            for (int g = 0; g < gridPoints; g++) {
+                rates[g] = minimumRate + g * step;
+            }
+            int[] allPaths = IntStream.range(0, pathCount).toArray();
+            IntStream candidates = IntStream.range(0, gridPoints);
+            boolean[][] outcomes = (parallel ? candidates.parallel() : candidates)
+                .mapToObj(g -> simulate(rates[g], allPaths, pathCount))
+                .toArray(boolean[][]::new);
+
+            double[] success = new double[gridPoints];
+            for (int g = 0; g < gridPoints; g++) {
+                success[g] = record(rates[g], allPaths, pathCount, outcomes[g], 0);
+            }
+            evaluations = gridPoints;
+            pathsSimulated = (long) gridPoints * pathCount;
+
+            int best = gridPoints - 1;
+            while (best >= 0 && success[best] < targetSuccessRate) {
+                best--;
+            }
+            if (best < 0) {
+                return result(Double.NaN, success[0], rates[0]);
+            }
+            if (best == gridPoints - 1) {
+                return result(rates[best], success[best], Double.NaN);
+            }
+
+            double low = rates[best];
+            double lowSuccess = success[best];
+            double high = rates[best + 1];
+            while (high - low > rateTolerance) {
+                double mid = 0.5 * (low + high);
+                double midSuccess = evaluate(mid);
+                if (midSuccess >= targetSuccessRate) {
+                    low = mid;
+                    lowSuccess = midSuccess;
+                } else {
+                    high = mid;
+                }
+            }
+            return result(low, lowSuccess, high);
+        }
+
+        /**
+         * Returns the success rate at a rate, simulating only the paths
+         * whose outcome is not already known.
+         */
+        private double evaluate(double rate) {
+            int[] pending = new int[pathCount];
+            int pendingCount = 0;
+            int survivors = 0;
+            for (int p = 0; p < pathCount; p++) {
+                if (rate >= failsFrom[p]) {
+                    continue;
+                }
+                if (rate <= survivesUpTo[p]) {
+                    survivors++;
+                } else {
+                    pending[pendingCount++] = p;
+                }
+            }
+            boolean[] outcomes = simulate(rate, pending, pendingCount);
+            evaluations++;
+            pathsSimulated += pendingCount;
+            return record(rate, pending, pendingCount, outcomes, survivors);
+        }
+
+        /**
+         * Folds simulated outcomes into each path's bounds and returns the
+         * success rate, given the survivors already known.
+         */
+        private double record(double rate, int[] paths, int count, boolean[] outcomes, int knownSurvivors) {
+            int survivors = knownSurvivors;
+            for (int i = 0; i < count; i++) {
+                int p = paths[i];
+                if (outcomes[i]) {
+                    survivors++;
+                    survivesUpTo[p] = Math.max(survivesUpTo[p], rate);
+                } else {
+                    failsFrom[p] = Math.min(failsFrom[p], rate);
+                }
+            }
+            return (double) survivors / pathCount;
+        }
+
+        /**
+         * Simulates the distribution phase of some paths at a rate.
+         */
+        private boolean[] simulate(double rate, int[] paths, int count) {
+            SimulationRequest candidate = request.toBuilder()
+                .spendingStrategy(StaticWithdrawalStrategy.of(WithdrawalStrategy.percentage(rate)))
+                .build();
+            RunPlan plan = RunPlan.compile(candidate);
+            boolean[] survived = new boolean[count];
+            int tasks = (count + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+            IntStream range = IntStream.range(0, tasks);
+            (parallel ? range.parallel() : range).forEach(task -> {
+                PathSimulation simulation = new PathSimulation(candidate, plan, block);
+                int end = Math.min(count, (task + 1) * PATHS_PER_TASK);
+                for (int i = task * PATHS_PER_TASK; i < end; i++) {
+                    survived[i] = survives(simulation, paths[i]);
+                }
+            });
+            return survived;
+        }
+
+        private boolean survives(PathSimulation simulation, int path) {
+            simulation.reset(path);
+            if (boundary != null) {
+                simulation.restoreBoundary(boundary);
+            }
+            while (simulation.getDepletionMonth() == SimulationRun.NOT_DEPLETED && !simulation.isComplete()) {
+                simulation.step();
+            }
+            return simulation.getDepletionMonth() == SimulationRun.NOT_DEPLETED;
+        }
+
+        /**
+         * Simulates every path up to retirement once and captures the result.
+         */
+        private PhaseBoundarySnapshot accumulate(RunPlan plan) {
+            PhaseBoundarySnapshot snapshot = PhaseBoundarySnapshot.allocate(plan.retirementMonth, pathCount,
+                request.getPortfolio().getAccountCount(), RunPlan.yearsBefore(plan.retirementMonth),
+                plan.rmdAccounts.length, plan.taxTable != null);
+            int tasks = (pathCount + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+            IntStream range = IntStream.range(0, tasks);
+            (parallel ? range.parallel() : range).forEach(task -> {
+                PathSimulation simulation = new PathSimulation(request, plan, block);
+                int end = Math.min(pathCount, (task + 1) * PATHS_PER_TASK);
+                for (int path = task * PATHS_PER_TASK; path < end; path++) {
+                    simulation.reset(path);
+                    simulation.advanceTo(plan.retirementMonth);
+                    simulation.captureBoundary(snapshot);
+                }
+            });
+            return snapshot;
+        }
+
+        private SafeWithdrawalRate result(double rate, double successRate, double failingRate) {
+            return new SafeWithdrawalRate(rate, successRate, failingRate, targetSuccessRate, pathCount,
+                evaluations, pathsSimulated);
+        }
+    }
+
+    /**
+     * Builder for creating SafeWithdrawalRateSolver instances.
+     */
+    public static final class Builder {
+        private static final double DEFAULT_TARGET_SUCCESS_RATE = 0.90;
+        private static final double DEFAULT_MINIMUM_RATE = 0.01;
+        private static final double DEFAULT_MAXIMUM_RATE = 0.10;
+        private static final int DEFAULT_GRID_POINTS = 10;
+        private static final double DEFAULT_RATE_TOLERANCE = 0.0001;
+
+        private double targetSuccessRate = DEFAULT_TARGET_SUCCESS_RATE;
+        private double minimumRate = DEFAULT_MINIMUM_RATE;
+        private double maximumRate = DEFAULT_MAXIMUM_RATE;
+        private int gridPoints = DEFAULT_GRID_POINTS;
+        private double rateTolerance = DEFAULT_RATE_TOLERANCE;
+        private boolean parallel = true;
+
+        /**
+         * Sets the success rate a safe withdrawal rate must meet. Default is 0.90.
+         *
+         * @param rate the target, as a fraction of paths
+         * @return this builder
+         */
+        public Builder targetSuccessRate(double rate) {
+            this.targetSuccessRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the range of withdrawal rates searched. Default is 1% to 10%.
+         *
+         * @param minimum the lowest rate
+         * @param maximum the highest rate
+         * @return this builder
+         */
+        public Builder rateRange(double minimum, double maximum) {
+            this.minimumRate = minimum;
+            this.maximumRate = maximum;
+            return this;
+        }
+
+        /**
+         * Sets the number of evenly spaced rates in the coarse grid. Default is 10.
+         *
+         * @param points the grid size
+         * @return this builder
+         */
+        public Builder gridPoints(int points) {
+            this.gridPoints = points;
+            return this;
+        }
+
+        /**
+         * Sets the bracket width at which refinement stops. Default is 0.0001
+         * (one basis point).
+         *
+         * @param tolerance the rate tolerance
+         * @return this builder
+         */
+        public Builder rateTolerance(double tolerance) {
+            this.rateTolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Sets whether candidates and paths are simulated in parallel.
+         * Default is true.
+         *
+         * @param parallel true to search in parallel
+         * @return this builder
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Builds the SafeWithdrawalRateSolver.
+         *
+         * @return a new SafeWithdrawalRateSolver
+         * @throws ValidationException if the target is outside (0, 1], the
+         *         range is empty or negative, the grid has fewer than 2 points,
+         *         or the tolerance is not positive
+         */
+        public SafeWithdrawalRateSolver build() {
+            if (!(targetSuccessRate > 0 && targetSuccessRate <= 1)) {
+                throw new ValidationException("Target success rate must be in (0, 1]", "targetSuccessRate");
+            }
+            if (!(minimumRate >= 0 && maximumRate > minimumRate)) {
+                throw new ValidationException("Rate range must be non-negative and non-empty", "rateRange");
+            }
+            if (gridPoints < 2) {
+                throw new ValidationException("Grid must have at least 2 points", "gridPoints");
+            }
+            if (!(rateTolerance > 0)) {
+                throw new ValidationException("Rate tolerance must be positive", "rateTolerance");
+            }
+            return new SafeWithdrawalRateSolver(this);
+        }
+    }
+}
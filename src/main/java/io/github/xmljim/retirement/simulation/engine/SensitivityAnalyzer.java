@@ -0,0 +1,412 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.WithdrawalType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.strategy.SpendingStrategy;
+import io.github.xmljim.retirement.simulation.strategy.StaticWithdrawalStrategy;
+
+/**
+ * Measures how sensitive a request's outcome is to each of its main inputs,
+ * producing the data for a tornado chart.
+ *
+ * <p>Each selected {@link Parameter} is perturbed down and up by its delta,
+ * giving {@code 2k + 1} requests with the baseline. They are planned as one
+ * batched job over a single {@link ReturnPathBlock}, so every request sees the
+ * same market paths and the bars differ only by their inputs:
+ * <ol>
+ *   <li>requests are grouped by {@link SimulationRequest#accumulationHash()
+ *       accumulation hash}; perturbations of distribution inputs (inflation,
+ *       withdrawal rate) share the baseline's group</li>
+ *   <li>the accumulation phase of each group is simulated once per path and
+ *       captured in a {@link PhaseBoundarySnapshot}</li>
+ *   <li>the distribution phase of every request is simulated from its
+ *       group's snapshot</li>
+ * </ol>
+ * Both stages run as flat sets of tasks, one per group or request and block
+ * of paths, so all perturbations run concurrently.
+ *
+ * <p>Instances are immutable and can be shared across threads.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TornadoChart chart = SensitivityAnalyzer.builder()
+ *     .perturbation(SensitivityAnalyzer.Parameter.RETURN_RATE, 0.02)
+ *     .build()
+ *     .analyze(request);
+ * for (TornadoBar bar : chart.getBars()) {
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class SensitivityAnalyzer {
+
+    private static final int PATHS_PER_TASK = 64;
+    private static final double MEDIAN = 0.5;
+
+    /**
+     * An input the analyzer can perturb.
+     */
+    public enum Parameter {
+        /**
+         * Every account's expected pre- and post-retirement return, shifted
+         * by the delta. The scenario's default stock return is not read by
+         * the engine, so the account rates are perturbed instead.
+         */
+        RETURN_RATE(0.01),
+
+        /**
+         * The general, healthcare, and housing inflation rates, each shifted
+         * by the delta.
+         */
+        INFLATION(0.005),
+
+        /**
+         * Every contribution rate, shifted by the delta and floored at zero.
+         */
+        CONTRIBUTION_RATE(0.02),
+
+        /**
+         * The owner's retirement date, moved by the delta in months.
+         */
+        RETIREMENT_DATE(12),
+
+        /**
+         * The withdrawal rate, shifted by the delta for a percentage
+         * withdrawal and floored at zero. A fixed withdrawal amount is scaled
+         * by one plus or minus the delta instead. Has no effect when the
+         * request uses a dynamic spending strategy.
+         */
+        WITHDRAWAL_RATE(0.005);
+
+        private final double defaultDelta;
+
+        Parameter(double defaultDelta) {
+            this.defaultDelta = defaultDelta;
+        }
+
+        /**
+         * Returns the delta used unless the builder sets another.
+         *
+         * @return the default delta
+         */
+        public double getDefaultDelta() {
+            return defaultDelta;
+        }
+    }
+
+    private final Map<Parameter, Double> deltas;
+    private final boolean parallel;
+
+    private SensitivityAnalyzer(Builder builder) {
+        this.deltas = new EnumMap<>(builder.deltas);
+        this.parallel = builder.parallel;
+    }
+
+    /**
+     * Returns the parameters analyzed and their deltas.
+     *
+     * @return an unmodifiable map from parameter to delta
+     */
+    public Map<Parameter, Double> getDeltas() {
+        return Map.copyOf(deltas);
+    }
+
+    /**
+     * Returns whether the batched job runs in parallel.
+     *
+     * @return true if tasks run in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Analyzes a request, generating market shocks from its run configuration.
+     *
+     * @param request the baseline request
+     * @return the tornado chart data
+     * @throws MissingRequiredFieldException if request is null
+     */
+    public TornadoChart analyze(SimulationRequest request) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        RunPlan plan = RunPlan.compile(request);
+        return analyze(request, ReturnPathBlock.forRun(request.getRunConfiguration(), plan.monthCount));
+    }
+
+    /**
+     * Analyzes a request against pre-generated market shocks.
+     *
+     * @param request the baseline request
+     * @param block the market shocks shared by every perturbation
+     * @return the tornado chart data
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if the block is smaller than the run
+     */
+    public TornadoChart analyze(SimulationRequest request, ReturnPathBlock block) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        List<Parameter> parameters = new ArrayList<>(deltas.keySet());
+        int scenarios = 1 + 2 * parameters.size();
+        SimulationRequest[] requests = new SimulationRequest[scenarios];
+        requests[0] = request;
+        for (int i = 0; i < parameters.size(); i++) {
+            Parameter parameter = parameters.get(i);
+            double delta = deltas.get(parameter);
+            requests[2 * i + 1] = perturb(request, parameter, -delta);
+            requests[2 * i + 2] = perturb(request, parameter, delta);
+        }
+        RunPlan[] plans = new RunPlan[scenarios];
+        for (int s = 0; s < scenarios; s++) {
+            plans[s] = RunPlan.compile(requests[s]);
+            if (block.getMonthCount() < plans[s].monthCount) {
+                throw new ValidationException("Return path block is smaller than the run", "block");
+            }
+        }
+        int pathCount = request.getRunConfiguration().pathCount();
+        if (block.getPathCount() < pathCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+
+        int[] groupOf = new int[scenarios];
+        List<Integer> representatives = new ArrayList<>();
+        Map<ContentHash, Integer> groups = new HashMap<>();
+        for (int s = 0; s < scenarios; s++) {
+            if (!plans[s].hasPhaseBoundary()) {
+                groupOf[s] = -1;
+                continue;
+            }
+            Integer group = groups.get(requests[s].accumulationHash());
+            if (group == null) {
+                group = representatives.size();
+                groups.put(requests[s].accumulationHash(), group);
+                representatives.add(s);
+            }
+            groupOf[s] = group;
+        }
+
+        int chunks = (pathCount + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+        PhaseBoundarySnapshot[] snapshots = new PhaseBoundarySnapshot[representatives.size()];
+        for (int g = 0; g < snapshots.length; g++) {
+            RunPlan plan = plans[representatives.get(g)];
+            snapshots[g] = PhaseBoundarySnapshot.allocate(plan.retirementMonth, pathCount,
+                request.getPortfolio().getAccountCount(), RunPlan.yearsBefore(plan.retirementMonth),
+                plan.rmdAccounts.length, plan.taxTable != null);
+        }
+        tasks(snapshots.length * chunks).forEach(task -> {
+            int s = representatives.get(task / chunks);
+            PathSimulation simulation = new PathSimulation(requests[s], plans[s], block);
+            int end = Math.min(pathCount, (task % chunks + 1) * PATHS_PER_TASK);
+            for (int path = task % chunks * PATHS_PER_TASK; path < end; path++) {
+                simulation.reset(path);
+                simulation.advanceTo(plans[s].retirementMonth);
+                simulation.captureBoundary(snapshots[task / chunks]);
+            }
+        });
+
+        double[][][] yearEnds = new double[scenarios][pathCount][];
+        int[][] depletionMonths = new int[scenarios][pathCount];
+        tasks(scenarios * chunks).forEach(task -> {
+            int s = task / chunks;
+            PathSimulation simulation = new PathSimulation(requests[s], plans[s], block);
+            int end = Math.min(pathCount, (task % chunks + 1) * PATHS_PER_TASK);
+            for (int path = task % chunks * PATHS_PER_TASK; path < end; path++) {
+                simulation.reset(path);
+                if (groupOf[s] >= 0) {
+                    simulation.restoreBoundary(snapshots[groupOf[s]]);
+                }
+                simulation.advanceTo(plans[s].monthCount);
+                yearEnds[s][path] = simulation.yearEnds().clone();
+                depletionMonths[s][path] = simulation.getDepletionMonth();
+            }
+        });
+
+        SimulationRun[] runs = new SimulationRun[scenarios];
+        for (int s = 0; s < scenarios; s++) {
+            runs[s] = new SimulationRun(plans[s].monthCount, yearEnds[s], depletionMonths[s], groupOf[s] >= 0);
+        }
+        List<TornadoBar> bars = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            SimulationRun low = runs[2 * i + 1];
+            SimulationRun high = runs[2 * i + 2];
+            bars.add(new TornadoBar(parameters.get(i), deltas.get(parameters.get(i)),
+                low.getSuccessRate(), high.getSuccessRate(), median(low), median(high)));
+        }
+        return new TornadoChart(runs[0].getSuccessRate(), median(runs[0]), pathCount, bars);
+    }
+
+    private IntStream tasks(int count) {
+        IntStream range = IntStream.range(0, count);
+        return parallel ? range.parallel() : range;
+    }
+
+    private static double median(SimulationRun run) {
+        return run.summarize(MEDIAN).getEndingBalance(MEDIAN);
+    }
+
+    /**
+     * Returns the request with one input shifted by a signed delta.
+     */
+    static SimulationRequest perturb(SimulationRequest request, Parameter parameter, double delta) {
+        BigDecimal shift = BigDecimal.valueOf(delta);
+        return switch (parameter) {
+            case RETURN_RATE -> {
+                List<InvestmentAccount> accounts = new ArrayList<>();
+                for (InvestmentAccount account : request.getPortfolio().getAccounts()) {
+                    accounts.add(account.toBuilder()
+                        .preRetirementReturnRate(account.getPreRetirementReturnRate().add(shift))
+                        .postRetirementReturnRate(account.getPostRetirementReturnRate().add(shift))
+                        .build());
+                }
+                yield request.toBuilder()
+                    .portfolio(request.getPortfolio().toBuilder().clearAccounts().addAccounts(accounts).build())
+                    .build();
+            }
+            case INFLATION -> {
+                InflationAssumptions inflation = request.getScenario().getInflationAssumptions();
+                InflationAssumptions shifted = InflationAssumptions.builder()
+                    .generalInflation(inflation.getGeneralInflation().add(shift))
+                    .healthcareInflation(inflation.getHealthcareInflation().add(shift))
+                    .housingInflation(inflation.getHousingInflation().add(shift))
+                    .build();
+                yield request.toBuilder()
+                    .scenario(request.getScenario().toBuilder().inflationAssumptions(shifted).build())
+                    .build();
+            }
+            case CONTRIBUTION_RATE -> {
+                List<ContributionConfig> contributions = new ArrayList<>();
+                for (ContributionConfig contribution : request.getContributions()) {
+                    contributions.add(contribution.toBuilder()
+                        .contributionRate(contribution.getContributionRate().add(shift).max(BigDecimal.ZERO))
+                        .build());
+                }
+                yield request.toBuilder().contributions(contributions).build();
+            }
+            case RETIREMENT_DATE -> request.withRetirementDate(
+                request.getOwner().getRetirementDate().plusMonths(Math.round(delta)));
+            case WITHDRAWAL_RATE -> {
+                SpendingStrategy spending = request.getSpendingStrategy();
+                if (!(spending instanceof StaticWithdrawalStrategy fixed)) {
+                    yield request;
+                }
+                WithdrawalStrategy withdrawal = fixed.getWithdrawalStrategy();
+                BigDecimal rate = withdrawal.getWithdrawalType() == WithdrawalType.PERCENTAGE
+                    ? withdrawal.getWithdrawalRate().add(shift)
+                    : withdrawal.getWithdrawalRate().multiply(BigDecimal.ONE.add(shift));
+                yield request.toBuilder()
+                    .spendingStrategy(null)
+                    .withdrawalStrategy(WithdrawalStrategy.builder()
+                        .withdrawalType(withdrawal.getWithdrawalType())
+                        .withdrawalRate(rate.max(BigDecimal.ZERO))
+                        .build())
+                    .build();
+            }
+        };
+    }
+
+    /**
+     * Creates a new builder for SensitivityAnalyzer.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SensitivityAnalyzer{" +
+            "deltas=" + deltas +
+            ", parallel=" + parallel +
+            '}';
+    }
+
+    /**
+     * Builder for creating SensitivityAnalyzer instances.
+     */
+    public static final class Builder {
+        private final Map<Parameter, Double> deltas = new EnumMap<>(Parameter.class);
+        private boolean parallel = true;
+
+        private Builder() {
+            for (Parameter parameter : Parameter.values()) {
+                deltas.put(parameter, parameter.getDefaultDelta());
+            }
+        }
+
+        /**
+         * Restricts the analysis to some parameters, at their current
+         * deltas. Default is every parameter.
+         *
+         * @param parameters the parameters to analyze
+         * @return this builder
+         */
+        public Builder parameters(Parameter... parameters) {
+            Map<Parameter, Double> selected = new EnumMap<>(Parameter.class);
+            for (Parameter parameter : parameters) {
+                MissingRequiredFieldException.requireNonNull(parameter, "parameters");
+                selected.put(parameter, deltas.getOrDefault(parameter, parameter.getDefaultDelta()));
+            }
+            deltas.clear();
+            deltas.putAll(selected);
+            return this;
+        }
+
+        /**
+         * Sets the delta for a parameter, adding it to the analysis.
+         *
+         * @param parameter the parameter
+         * @param delta the perturbation in each direction
+         * @return this builder
+         */
+        public Builder perturbation(Parameter parameter, double delta) {
+            deltas.put(MissingRequiredFieldException.requireNonNull(parameter, "parameter"), delta);
+            return this;
+        }
+
+        /**
+         * Sets whether the batched job runs in parallel. Default is true.
+         *
+         * @param parallel true to run in parallel
+         * @return this builder
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Builds the SensitivityAnalyzer.
+         *
+         * @return a new SensitivityAnalyzer
+         * @throws ValidationException if no parameter is selected or a delta is not positive
+         */
+        public SensitivityAnalyzer build() {
+            if (deltas.isEmpty()) {
+                throw new ValidationException("At least one parameter is required", "parameters");
+            }
+            for (Map.Entry<Parameter, Double> entry : deltas.entrySet()) {
+                if (!(entry.getValue() > 0)) {
+                    throw new ValidationException("Delta must be positive for " + entry.getKey(), "delta");
+                }
+            }
+            return new SensitivityAnalyzer(this);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import io.github.xmljim.retirement.simulation.strategy.SpendingPath;
+
+/**
+ * Immutable copy of one path's engine state at the start of a month.
+ *
+ * <p>A checkpoint holds only primitive state (account balances and cost
+ * bases, the year-end totals so far, the current salary, a copy of the
+ * spending strategy's state, and the depletion month) plus a reference to the path's ledger and its length
+ * at the checkpoint. Forking from it with
+ * {@link SimulationEngine#fork(SimulationCheckpoint, SimulationRequest)}
+ * therefore costs time proportional to the state, not to the months already
+ * simulated: the ledger prefix is shared, not copied.
+ *
+ * <p>Checkpoints are taken with {@link PathSimulation#checkpoint()}.
+ */
+public final class SimulationCheckpoint {
+
+    private final SimulationRequest request;
+    private final ReturnPathBlock block;
+    private final int path;
+    private final int month;
+    private final int year;
+    private final double salary;
+    private final SpendingPath spending;
+    private final boolean spendingStarted;
+    private final int depletionMonth;
+    private final double[] balances;
+    private final double[] costBases;
+    private final double[] yearEnds;
+    private final double[] rmdBalances;
+    private final double[] yearTaxes;
+    private final double[] taxesYtd;
+    private final MonthlyLedger ledger;
+
+    SimulationCheckpoint(PathSimulation simulation, double[] balances, double[] costBases, double[] yearEnds,
+                         double[] rmdBalances, double[] yearTaxes, double[] taxesYtd) {
+        this.request = simulation.getRequest();
+        this.block = simulation.getBlock();
+        this.path = simulation.getPath();
+        this.month = simulation.getMonth();
+        this.year = simulation.getYear();
+        this.salary = simulation.getMonthlySalary();
+        this.spending = simulation.getSpending().copy();
+        this.spendingStarted = simulation.isSpendingStarted();
+        this.depletionMonth = simulation.getDepletionMonth();
+        this.balances = balances;
+        this.costBases = costBases;
+        this.yearEnds = yearEnds;
+        this.rmdBalances = rmdBalances;
+        this.yearTaxes = yearTaxes;
+        this.taxesYtd = taxesYtd;
+        this.ledger = simulation.getLedger();
+    }
+
+    /**
+     * Returns the request the checkpointed path was running.
+     *
+     * @return the request
+     */
+    public SimulationRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the path index within the market shock block.
+     *
+     * @return the path index
+     */
+    public int getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the month about to be simulated when the checkpoint was taken.
+     *
+     * @return the zero-based month index
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Returns the total balance at the checkpoint.
+     *
+     * @return the total balance
+     */
+    public double getTotalBalance() {
+        double total = 0;
+        for (double balance : balances) {
+            total += balance;
+        }
+        return total;
+    }
+
+    ReturnPathBlock block() {
+        return block;
+    }
+
+    int year() {
+        return year;
+    }
+
+    double salary() {
+        return salary;
+    }
+
+    SpendingPath spending() {
+        return spending;
+    }
+
+    boolean spendingStarted() {
+        return spendingStarted;
+    }
+
+    int depletionMonth() {
+        return depletionMonth;
+    }
+
+    double balance(int account) {
+        return balances[account];
+    }
+
+    double costBasis(int account) {
+        return costBases[account];
+    }
+
+    int accountCount() {
+        return balances.length;
+    }
+
+    double[] yearEnds() {
+        return yearEnds;
+    }
+
+    double[] rmdBalances() {
+        return rmdBalances;
+    }
+
+    double[] yearTaxes() {
+        return yearTaxes;
+    }
+
+    double[] taxesYtd() {
+        return taxesYtd;
+    }
+
+    MonthlyLedger ledger() {
+        return ledger;
+    }
+}
@@ -0,0 +1,305 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import io.github.xmljim.retirement.domain.enums.PrecisionMode;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.simulation.result.SimulationCacheKey;
+import io.github.xmljim.retirement.simulation.result.SimulationResultCache;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+/**
+ * Runs the monthly simulation loop for a {@link SimulationRequest}.
+ *
+ * <p>Each month of each path:
+ * <ol>
+ *   <li>before retirement, salary contributions are deposited into their
+ *       target accounts</li>
+ *   <li>from retirement on, the monthly withdrawal is taken from the accounts
+ *       as the scenario's {@link io.github.xmljim.retirement.domain.enums.DistributionStrategy
+ *       distribution strategy} directs; the first month it cannot be covered
+ *       is recorded as the path's depletion month</li>
+ *   <li>required minimum distributions are taken from pre-tax accounts once
+ *       the owner reaches the starting age; they count toward the month's
+ *       withdrawal and any excess is reinvested in a taxable account</li>
+ *   <li>every account grows at its expected monthly rate plus the path's
+ *       market shock for the month, scaled by the monthly volatility</li>
+ *   <li>at the end of each simulation year the total balance is recorded,
+ *       the year's federal income tax is evaluated if the request has a
+ *       filing status,
+ *       salary is raised by its COLA, and the spending strategy applies its
+ *       year-end adjustments, such as inflation</li>
+ * </ol>
+ *
+ * <p>The monthly withdrawal comes from the request's
+ * {@link SimulationRequest#getSpendingStrategy() spending strategy}: by
+ * default a static percentage or fixed withdrawal that grows with inflation,
+ * or a dynamic strategy such as guardrails.
+ *
+ * <h2>Phase-boundary reuse</h2>
+ *
+ * <p>Nothing before the owner's retirement date depends on distribution
+ * inputs. When a run reaches the boundary the engine captures every path's
+ * account balances in a {@link PhaseBoundarySnapshot}, cached under the
+ * request's {@link SimulationRequest#accumulationHash() accumulation hash}.
+ * A later request that differs only in distribution inputs restores the
+ * snapshot and simulates the distribution phase alone.
+ *
+ * <h2>Result caching</h2>
+ *
+ * <p>{@link #runCached(SimulationRequest, SimulationResultCache)} goes one
+ * step further: a request whose {@link SimulationRequest#contentHash()
+ * content hash} and run configuration match a cached run returns that run
+ * without compiling or simulating anything.
+ *
+ * <p>The engine computes in {@code double} precision; see {@link PrecisionMode#DOUBLE}.
+ * It is safe for concurrent use: each run owns its own state, and the
+ * snapshot cache is thread-safe.
+ */
+public final class SimulationEngine {
+
+    /**
+     * Default size limit of the phase-boundary snapshot cache.
+     */
+    public static final long DEFAULT_SNAPSHOT_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private final SimulationResultCache<PhaseBoundarySnapshot> boundaryCache;
+
+    /**
+     * Creates an engine with a default-sized snapshot cache.
+     */
+    public SimulationEngine() {
+        this(SimulationResultCache.<PhaseBoundarySnapshot>builder()
+            .maximumWeight(DEFAULT_SNAPSHOT_CACHE_BYTES)
+            .weigher(PhaseBoundarySnapshot::sizeInBytes)
+            .build());
+    }
+
+    /**
+     * Creates an engine with the given snapshot cache.
+     *
+     * @param boundaryCache the cache for phase-boundary snapshots
+     * @throws MissingRequiredFieldException if boundaryCache is null
+     */
+    public SimulationEngine(SimulationResultCache<PhaseBoundarySnapshot> boundaryCache) {
+        this.boundaryCache = MissingRequiredFieldException.requireNonNull(boundaryCache, "boundaryCache");
+    }
+
+    /**
+     * Returns the hit, miss, and eviction counts of the snapshot cache.
+     *
+     * @return the snapshot cache statistics
+     */
+    public SimulationResultCache.Stats getBoundaryCacheStats() {
+        return boundaryCache.stats();
+    }
+
+    /**
+     * Runs a request, generating its market shocks from the run configuration.
+     *
+     * @param request the request
+     * @return the run result
+     * @throws MissingRequiredFieldException if request is null
+     * @throws ValidationException if a contribution targets an account type
+     *         the portfolio does not hold
+     */
+    public SimulationRun run(SimulationRequest request) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        RunPlan plan = RunPlan.compile(request);
+        return execute(request, plan, ReturnPathBlock.forRun(request.getRunConfiguration(), plan.monthCount));
+    }
+
+    /**
+     * Runs a request through a cache of complete runs.
+     *
+     * <p>Runs are keyed on the request's {@link SimulationRequest#contentHash()
+     * content hash}, the engine's {@link PrecisionMode#DOUBLE precision}, and
+     * the run configuration. A hit returns the cached run before the request
+     * is compiled, so it does no simulation at all; a miss runs the request as
+     * {@link #run(SimulationRequest)} does and caches the result. Concurrent
+     * callers with the same request share one run.
+     *
+     * @param request the request
+     * @param results the cache of complete runs
+     * @return the cached or newly computed run result
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if a contribution targets an account type
+     *         the portfolio does not hold
+     */
+    public SimulationRun runCached(SimulationRequest request, SimulationResultCache<SimulationRun> results) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(results, "results");
+        SimulationCacheKey key = new SimulationCacheKey(request.contentHash(), PrecisionMode.DOUBLE,
+            request.getRunConfiguration());
+        return results.getOrCompute(key, () -> run(request));
+    }
+
+    /**
+     * Runs a request against pre-generated market shocks.
+     *
+     * <p>Sharing one block across several requests gives them identical
+     * market paths. The block must have been generated for the request's
+     * run configuration, since phase-boundary snapshots are keyed on it: a
+     * block from another seed or inflation model would resume from another
+     * block's accumulation.
+     *
+     * @param request the request
+     * @param block the market shocks
+     * @return the run result
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if the block was not generated for the run
+     *         configuration or has too few months, or if a contribution
+     *         targets an account type the portfolio does not hold
+     * @see ReturnPathBlock#isFor(RunConfiguration)
+     */
+    public SimulationRun run(SimulationRequest request, ReturnPathBlock block) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        RunPlan plan = RunPlan.compile(request);
+        if (!block.isFor(request.getRunConfiguration())) {
+            throw new ValidationException("Return path block was not generated for the run configuration", "block");
+        }
+        if (block.getMonthCount() < plan.monthCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+        return execute(request, plan, block);
+    }
+
+    /**
+     * Starts a steppable deterministic simulation of a request that keeps a
+     * monthly ledger.
+     *
+     * @param request the request
+     * @return a simulation positioned at month 0
+     * @throws MissingRequiredFieldException if request is null
+     */
+    public PathSimulation start(SimulationRequest request) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        RunPlan plan = RunPlan.compile(request);
+        return start(request, ReturnPathBlock.deterministic(plan.monthCount), 0);
+    }
+
+    /**
+     * Starts a steppable simulation of one path of a market shock block that
+     * keeps a monthly ledger.
+     *
+     * @param request the request
+     * @param block the market shocks
+     * @param path the path index within the block
+     * @return a simulation positioned at month 0
+     * @throws MissingRequiredFieldException if request or block is null
+     * @throws ValidationException if the block is too short or path is out of range
+     */
+    public PathSimulation start(SimulationRequest request, ReturnPathBlock block, int path) {
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        MissingRequiredFieldException.requireNonNull(block, "block");
+        RunPlan plan = RunPlan.compile(request);
+        validateBlock(block, plan, path);
+        PathSimulation simulation = new PathSimulation(request, plan, block);
+        simulation.reset(path);
+        simulation.enableLedger(MonthlyLedger.create());
+        return simulation;
+    }
+
+    /**
+     * Forks a simulation from a checkpoint, continuing the same request.
+     *
+     * @param checkpoint the checkpoint
+     * @return a simulation positioned at the checkpoint's month
+     * @throws MissingRequiredFieldException if checkpoint is null
+     */
+    public PathSimulation fork(SimulationCheckpoint checkpoint) {
+        MissingRequiredFieldException.requireNonNull(checkpoint, "checkpoint");
+        return fork(checkpoint, checkpoint.getRequest());
+    }
+
+    /**
+     * Forks a simulation from a checkpoint, continuing with a different request.
+     *
+     * <p>The request supplies every input from the checkpoint's month on:
+     * contributions, salary growth, spending strategy, and so on. Balances,
+     * the salary reached so far, and history up to the checkpoint are carried
+     * over. If the spending strategy or inflation differs from the
+     * checkpointed request's and the checkpoint is past retirement, the
+     * spending strategy restarts from the balance at the fork.
+     *
+     * <p>The fork costs time proportional to the number of accounts and years;
+     * the ledger prefix is shared with the original path, not copied.
+     *
+     * @param checkpoint the checkpoint
+     * @param request the request to continue with
+     * @return a simulation positioned at the checkpoint's month
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if the request starts on a different date,
+     *         has a different number of accounts, or runs past the checkpoint's
+     *         market shocks
+     */
+    public PathSimulation fork(SimulationCheckpoint checkpoint, SimulationRequest request) {
+        MissingRequiredFieldException.requireNonNull(checkpoint, "checkpoint");
+        MissingRequiredFieldException.requireNonNull(request, "request");
+        SimulationRequest original = checkpoint.getRequest();
+        if (!request.getScenario().getStartDate().withDayOfMonth(1)
+            .equals(original.getScenario().getStartDate().withDayOfMonth(1))) {
+            throw new ValidationException("Forked request must start on the checkpoint's start date", "request");
+        }
+        if (request.getPortfolio().getAccountCount() != checkpoint.accountCount()) {
+            throw new ValidationException("Forked request must have the checkpoint's accounts", "request");
+        }
+        RunPlan plan = RunPlan.compile(request);
+        validateBlock(checkpoint.block(), plan, checkpoint.getPath());
+        if (checkpoint.getMonth() > plan.monthCount) {
+            throw new ValidationException("Forked request ends before the checkpoint", "request");
+        }
+        PathSimulation simulation = new PathSimulation(request, plan, checkpoint.block());
+        boolean sameSpending = request.getSpendingStrategy().equals(original.getSpendingStrategy())
+            && request.getScenario().getInflationAssumptions().equals(original.getScenario().getInflationAssumptions());
+        simulation.restore(checkpoint, sameSpending);
+        return simulation;
+    }
+
+    private static void validateBlock(ReturnPathBlock block, RunPlan plan, int path) {
+        if (block.getMonthCount() < plan.monthCount) {
+            throw new ValidationException("Return path block is smaller than the run", "block");
+        }
+        if (path < 0 || path >= block.getPathCount()) {
+            throw new ValidationException("Path index out of range: " + path, "path");
+        }
+    }
+
+    private SimulationRun execute(SimulationRequest request, RunPlan plan, ReturnPathBlock block) {
+        int paths = request.getRunConfiguration().pathCount();
+        PathSimulation simulation = new PathSimulation(request, plan, block);
+        double[][] yearEndBalances = new double[paths][];
+        int[] depletionMonths = new int[paths];
+        double[][] yearTaxes = plan.taxTable != null ? new double[paths][] : null;
+
+        SimulationCacheKey boundaryKey = plan.hasPhaseBoundary()
+            ? new SimulationCacheKey(request.accumulationHash(), PrecisionMode.DOUBLE, request.getRunConfiguration())
+            : null;
+        PhaseBoundarySnapshot restored = boundaryKey != null
+            ? boundaryCache.getIfPresent(boundaryKey).orElse(null)
+            : null;
+        PhaseBoundarySnapshot captured = boundaryKey != null && restored == null
+            ? PhaseBoundarySnapshot.allocate(plan.retirementMonth, paths, request.getPortfolio().getAccountCount(),
+                RunPlan.yearsBefore(plan.retirementMonth), plan.rmdAccounts.length, plan.taxTable != null)
+            : null;
+        simulation.captureBoundaryInto(captured);
+
+        for (int path = 0; path < paths; path++) {
+            simulation.reset(path);
+            if (restored != null) {
+                simulation.restoreBoundary(restored);
+            }
+            simulation.advanceTo(plan.monthCount);
+            depletionMonths[path] = simulation.getDepletionMonth();
+            yearEndBalances[path] = simulation.yearEnds().clone();
+            if (yearTaxes != null) {
+                yearTaxes[path] = simulation.yearTaxes().clone();
+            }
+        }
+
+        if (captured != null) {
+            boundaryCache.put(boundaryKey, captured);
+        }
+        return new SimulationRun(plan.monthCount, yearEndBalances, depletionMonths, restored != null, yearTaxes);
+    }
+}
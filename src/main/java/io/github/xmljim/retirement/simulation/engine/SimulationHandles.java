@@ -0,0 +1,224 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ConfigurationException;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+
+/**
+ * Dense integer handles for the persons and accounts in one simulation run.
+ *
+ * <p>Domain objects are identified by UUID strings, which is right for
+ * persistence and export but wasteful inside the simulation loop, where
+ * engine state, ledgers, and strategies would otherwise hash and compare
+ * 36-character IDs on every lookup. Compiling a scenario assigns each person
+ * and account a small {@code int} handle, so run-time code can index plain
+ * arrays instead. String IDs are only needed again when results are exported,
+ * via {@link #getPersonId(int)} and {@link #getAccountId(int)}.
+ *
+ * <p>Handle assignment is deterministic:
+ * <ul>
+ *   <li>Person handles: the primary person is {@link #PRIMARY_PERSON},
+ *       the secondary person (if any) is {@link #SECONDARY_PERSON}</li>
+ *   <li>Account handles: {@code 0..n-1} in portfolio order, then account
+ *       order within each portfolio</li>
+ * </ul>
+ *
+ * <p>Instances are immutable and valid only for the run they were compiled for.
+ */
+public final class SimulationHandles {
+
+    /**
+     * Handle of the primary person.
+     */
+    public static final int PRIMARY_PERSON = 0;
+
+    /**
+     * Handle of the secondary person, when present.
+     */
+    public static final int SECONDARY_PERSON = 1;
+
+    private final List<String> personIds;
+    private final List<String> accountIds;
+    private final int[] accountOwners;
+    private final Map<String, Integer> personHandles;
+    private final Map<String, Integer> accountHandles;
+
+    private SimulationHandles(List<PersonProfile> persons, List<Portfolio> portfolios) {
+        List<String> persIds = new ArrayList<>(persons.size());
+        Map<String, Integer> persHandles = new HashMap<>();
+        for (PersonProfile person : persons) {
+            persHandles.put(person.getId(), persIds.size());
+            persIds.add(person.getId());
+        }
+
+        List<String> acctIds = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        Map<String, Integer> acctHandles = new HashMap<>();
+        for (Portfolio portfolio : portfolios) {
+            Integer owner = persHandles.get(portfolio.getOwner().getId());
+            if (owner == null) {
+                throw new ConfigurationException(
+                    "Portfolio owner is not a person in the scenario: " + portfolio.getOwner().getName());
+            }
+            for (InvestmentAccount account : portfolio.getAccounts()) {
+                if (acctHandles.putIfAbsent(account.getId(), acctIds.size()) != null) {
+                    throw new ValidationException("Duplicate account ID: " + account.getId(), "account");
+                }
+                acctIds.add(account.getId());
+                owners.add(owner);
+            }
+        }
+
+        this.personIds = Collections.unmodifiableList(persIds);
+        this.personHandles = Collections.unmodifiableMap(persHandles);
+        this.accountIds = Collections.unmodifiableList(acctIds);
+        this.accountHandles = Collections.unmodifiableMap(acctHandles);
+        this.accountOwners = owners.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compiles handles for a scenario and the portfolios taking part in it.
+     *
+     * @param scenario the scenario supplying the persons
+     * @param portfolios the portfolios, each owned by a scenario person
+     * @return the compiled handles
+     * @throws MissingRequiredFieldException if scenario or portfolios is null
+     * @throws ConfigurationException if a portfolio owner is not in the scenario
+     * @throws ValidationException if an account ID appears more than once
+     */
+    public static SimulationHandles compile(Scenario scenario, List<Portfolio> portfolios) {
+        MissingRequiredFieldException.requireNonNull(scenario, "scenario");
+        MissingRequiredFieldException.requireNonNull(portfolios, "portfolios");
+
+        List<PersonProfile> persons = new ArrayList<>(2);
+        persons.add(scenario.getPrimaryPerson());
+        scenario.getSecondaryPerson().ifPresent(persons::add);
+        return new SimulationHandles(persons, portfolios);
+    }
+
+    /**
+     * Compiles handles for a single portfolio, whose owner becomes the
+     * primary person.
+     *
+     * @param portfolio the portfolio
+     * @return the compiled handles
+     * @throws MissingRequiredFieldException if portfolio is null
+     */
+    public static SimulationHandles compile(Portfolio portfolio) {
+        MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+        return new SimulationHandles(List.of(portfolio.getOwner()), List.of(portfolio));
+    }
+
+    /**
+     * Returns the number of persons.
+     *
+     * @return the person count
+     */
+    public int getPersonCount() {
+        return personIds.size();
+    }
+
+    /**
+     * Returns the number of accounts.
+     *
+     * @return the account count
+     */
+    public int getAccountCount() {
+        return accountIds.size();
+    }
+
+    /**
+     * Returns the handle of a person.
+     *
+     * @param personId the person's ID
+     * @return the person handle
+     * @throws ValidationException if the person is not part of this run
+     */
+    public int getPersonHandle(String personId) {
+        Integer handle = personHandles.get(personId);
+        if (handle == null) {
+            throw new ValidationException("Unknown person ID: " + personId, "personId");
+        }
+        return handle;
+    }
+
+    /**
+     * Returns the handle of an account.
+     *
+     * @param accountId the account's ID
+     * @return the account handle
+     * @throws ValidationException if the account is not part of this run
+     */
+    public int getAccountHandle(String accountId) {
+        Integer handle = accountHandles.get(accountId);
+        if (handle == null) {
+            throw new ValidationException("Unknown account ID: " + accountId, "accountId");
+        }
+        return handle;
+    }
+
+    /**
+     * Looks up the handle of an account without failing when it is absent.
+     *
+     * @param accountId the account's ID
+     * @return the account handle, or empty if the account is not part of this run
+     */
+    public OptionalInt findAccountHandle(String accountId) {
+        Integer handle = accountHandles.get(accountId);
+        return handle != null ? OptionalInt.of(handle) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the ID of the person with a handle, for export.
+     *
+     * @param personHandle the person handle
+     * @return the person's ID
+     * @throws IndexOutOfBoundsException if the handle is out of range
+     */
+    public String getPersonId(int personHandle) {
+        return personIds.get(personHandle);
+    }
+
+    /**
+     * Returns the ID of the account with a handle, for export.
+     *
+     * @param accountHandle the account handle
+     * @return the account's ID
+     * @throws IndexOutOfBoundsException if the handle is out of range
+     */
+    public String getAccountId(int accountHandle) {
+        return accountIds.get(accountHandle);
+    }
+
+    /**
+     * Returns the handle of the person who owns an account.
+     *
+     * @param accountHandle the account handle
+     * @return the owner's person handle
+     * @throws IndexOutOfBoundsException if the handle is out of range
+     */
+    public int getOwner(int accountHandle) {
+        return accountOwners[accountHandle];
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SimulationHandles{" +
+                "persons=" + personIds.size() +
+                ", accounts=" + accountIds.size() +
+                '}';
+    }
+}
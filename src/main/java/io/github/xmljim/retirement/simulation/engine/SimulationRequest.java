@@ -0,0 +1,512 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+import io.github.xmljim.retirement.simulation.expense.OneTimeExpense;
+import io.github.xmljim.retirement.simulation.strategy.SpendingStrategy;
+import io.github.xmljim.retirement.simulation.strategy.StaticWithdrawalStrategy;
+
+/**
+ * Everything the {@link SimulationEngine} needs for one run.
+ *
+ * <p>A request ties a {@link Scenario} to the portfolio being simulated, the
+ * owner's working income and contributions, the withdrawal or spending
+ * strategy, any {@link OneTimeExpense one-time expenses}, and the
+ * {@link RunConfiguration}. The simulation has two phases, split at the
+ * portfolio owner's retirement date:
+ * <ul>
+ *   <li>accumulation: contributions from salary and growth at each account's
+ *       pre-retirement rate</li>
+ *   <li>distribution: withdrawals and growth at each account's
+ *       post-retirement rate</li>
+ * </ul>
+ *
+ * <p>Two hashes identify a request. {@link #contentHash()} covers every input
+ * and keys complete results. {@link #accumulationHash()} covers only the
+ * inputs the accumulation phase reads, so requests that differ only in
+ * distribution inputs (withdrawal strategy, post-retirement returns,
+ * inflation, life expectancy) share it and can reuse the engine's snapshot of
+ * the phase boundary. The distribution strategy and inflation are
+ * distribution inputs only while no one-time expense falls before
+ * retirement; such expenses are paid through the distribution strategy and
+ * grow with inflation, so they bring both into the accumulation hash.
+ *
+ * <p>This is an immutable value object. Use the {@link Builder} to create instances.
+ */
+public final class SimulationRequest implements ContentHashable {
+
+    /**
+     * Default annual volatility of market returns for stochastic runs.
+     */
+    public static final double DEFAULT_ANNUAL_VOLATILITY = 0.15;
+
+    private final Scenario scenario;
+    private final Portfolio portfolio;
+    private final WorkingIncome workingIncome;
+    private final List<ContributionConfig> contributions;
+    private final WithdrawalStrategy withdrawalStrategy;
+    private final SpendingStrategy spendingStrategy;
+    private final RunConfiguration runConfiguration;
+    private final double annualVolatility;
+    private final FilingStatus filingStatus;
+    private final List<OneTimeExpense> oneTimeExpenses;
+
+    private ContentHash cachedContentHash;
+    private ContentHash cachedAccumulationHash;
+
+    private SimulationRequest(Builder builder) {
+        this.scenario = builder.scenario;
+        this.portfolio = builder.portfolio;
+        this.workingIncome = builder.workingIncome;
+        this.contributions = Collections.unmodifiableList(new ArrayList<>(builder.contributions));
+        this.withdrawalStrategy = builder.withdrawalStrategy;
+        this.spendingStrategy = builder.spendingStrategy;
+        this.runConfiguration = builder.runConfiguration;
+        this.annualVolatility = builder.annualVolatility;
+        this.filingStatus = builder.filingStatus;
+        this.oneTimeExpenses = List.copyOf(builder.oneTimeExpenses);
+    }
+
+    /**
+     * Returns the scenario.
+     *
+     * @return the scenario
+     */
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Returns the simulated portfolio.
+     *
+     * @return the portfolio
+     */
+    public Portfolio getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * Returns the portfolio owner's working income, if any.
+     *
+     * @return the working income, or null if the owner has no salary
+     */
+    public WorkingIncome getWorkingIncome() {
+        return workingIncome;
+    }
+
+    /**
+     * Returns the contributions made from salary before retirement.
+     *
+     * @return an unmodifiable list of contribution configurations
+     */
+    public List<ContributionConfig> getContributions() {
+        return contributions;
+    }
+
+    /**
+     * Returns the withdrawal strategy used in retirement.
+     *
+     * @return the withdrawal strategy
+     */
+    public WithdrawalStrategy getWithdrawalStrategy() {
+        return withdrawalStrategy;
+    }
+
+    /**
+     * Returns the strategy that sets each month's withdrawal in retirement.
+     *
+     * <p>Unless one was set explicitly, this is a {@link StaticWithdrawalStrategy}
+     * for the {@linkplain #getWithdrawalStrategy() withdrawal strategy}.
+     *
+     * @return the spending strategy
+     */
+    public SpendingStrategy getSpendingStrategy() {
+        return spendingStrategy != null ? spendingStrategy : StaticWithdrawalStrategy.of(withdrawalStrategy);
+    }
+
+    /**
+     * Returns the run configuration.
+     *
+     * @return the run configuration
+     */
+    public RunConfiguration getRunConfiguration() {
+        return runConfiguration;
+    }
+
+    /**
+     * Returns the annual volatility applied to sampled market shocks.
+     *
+     * @return the annual volatility as a decimal
+     */
+    public double getAnnualVolatility() {
+        return annualVolatility;
+    }
+
+    /**
+     * Returns the monthly volatility applied to sampled market shocks.
+     *
+     * @return the annual volatility scaled to one month
+     */
+    public double getMonthlyVolatility() {
+        return annualVolatility / Math.sqrt(12.0);
+    }
+
+    /**
+     * Returns the filing status federal income tax is computed under.
+     *
+     * @return the filing status, or null if the run does not track taxes
+     */
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Returns the expenses paid once from the portfolio.
+     *
+     * @return an unmodifiable list of one-time expenses
+     */
+    public List<OneTimeExpense> getOneTimeExpenses() {
+        return oneTimeExpenses;
+    }
+
+    /**
+     * Returns the person whose retirement date splits the run into phases.
+     *
+     * @return the portfolio owner
+     */
+    public PersonProfile getOwner() {
+        return portfolio.getOwner();
+    }
+
+    /**
+     * Returns a hash of every input of the run.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHash hash = cachedContentHash;
+        if (hash == null) {
+            ContentHasher hasher = ContentHasher.create()
+                .putTag("SimulationRequest")
+                .putHash(accumulationHash())
+                .put(scenario)
+                .put(portfolio)
+                .put(withdrawalStrategy)
+                .put(spendingStrategy)
+                .putAll(oneTimeExpenses);
+            if (runConfiguration.inflationModel() != null) {
+                hasher.put(runConfiguration.inflationModel());
+            }
+            hash = hasher.hash();
+            cachedContentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a hash of only the inputs the accumulation phase depends on.
+     *
+     * <p>The hash covers the start date, the owner's birth and retirement
+     * dates, each account's type, balance and pre-retirement return, the
+     * working income, the contributions, the run configuration and
+     * volatility (which determine the sampled market path), the filing
+     * status and, when taxes are tracked, the general inflation that indexes
+     * the brackets, and the one-time expenses paid before retirement with the
+     * inflation assumptions and inflation model that grow them and the
+     * distribution strategy that pays them. It leaves out everything that only affects
+     * the distribution phase.
+     *
+     * @return the accumulation-phase hash
+     */
+    public ContentHash accumulationHash() {
+        ContentHash hash = cachedAccumulationHash;
+        if (hash == null) {
+            ContentHasher hasher = ContentHasher.create()
+                .putTag("Accumulation")
+                .putDate(scenario.getStartDate())
+                .putDate(getOwner().getDateOfBirth())
+                .putDate(getOwner().getRetirementDate())
+                .putInt(portfolio.getAccountCount());
+            for (InvestmentAccount account : portfolio.getAccounts()) {
+                hasher.putEnum(account.getAccountType())
+                    .putDecimal(account.getBalance())
+                    .putDecimal(account.getMonthlyPreRetirementReturnRate());
+            }
+            hasher
+                .put(workingIncome)
+                .putAll(contributions)
+                .putEnum(runConfiguration.mode())
+                .putInt(runConfiguration.pathCount())
+                .putLong(runConfiguration.seed())
+                .putLong(Double.doubleToLongBits(annualVolatility))
+                .putEnum(filingStatus)
+                .putDecimal(filingStatus != null
+                    ? scenario.getInflationAssumptions().getGeneralInflation()
+                    : null);
+            LocalDate retirement = getOwner().getRetirementDate().withDayOfMonth(1);
+            List<OneTimeExpense> beforeRetirement = oneTimeExpenses.stream()
+                .filter(expense -> expense.getDate().isBefore(retirement))
+                .toList();
+            if (!beforeRetirement.isEmpty()) {
+                hasher.putAll(beforeRetirement)
+                    .putEnum(scenario.getDistributionStrategy())
+                    .put(scenario.getInflationAssumptions())
+                    .put(runConfiguration.inflationModel());
+            }
+            hash = hasher.hash();
+            cachedAccumulationHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a copy of this request with the owner retiring on a date, in
+     * both the portfolio and, if the owner is its primary person, the scenario.
+     */
+    SimulationRequest withRetirementDate(LocalDate date) {
+        PersonProfile owner = getOwner().toBuilder().retirementDate(date).build();
+        Scenario retiring = owner.equals(scenario.getPrimaryPerson())
+            ? scenario.toBuilder().primaryPerson(owner).build()
+            : scenario;
+        return toBuilder()
+            .scenario(retiring)
+            .portfolio(portfolio.toBuilder().owner(owner).build())
+            .build();
+    }
+
+    /**
+     * Creates a new builder for SimulationRequest.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this request.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .scenario(scenario)
+            .portfolio(portfolio)
+            .workingIncome(workingIncome)
+            .contributions(contributions)
+            .withdrawalStrategy(withdrawalStrategy)
+            .spendingStrategy(spendingStrategy)
+            .runConfiguration(runConfiguration)
+            .annualVolatility(annualVolatility)
+            .filingStatus(filingStatus)
+            .oneTimeExpenses(oneTimeExpenses);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SimulationRequest{"
+            + "scenario=" + scenario.getName()
+            + ", portfolio=" + portfolio.getId()
+            + ", accounts=" + portfolio.getAccountCount()
+            + ", contributions=" + contributions.size()
+            + ", withdrawalStrategy=" + withdrawalStrategy
+            + ", run=" + runConfiguration
+            + '}';
+    }
+
+    /**
+     * Builder for creating SimulationRequest instances.
+     */
+    public static class Builder {
+        private Scenario scenario;
+        private Portfolio portfolio;
+        private WorkingIncome workingIncome;
+        private final List<ContributionConfig> contributions = new ArrayList<>();
+        private WithdrawalStrategy withdrawalStrategy = WithdrawalStrategy.percentage(0.04);
+        private SpendingStrategy spendingStrategy;
+        private RunConfiguration runConfiguration = RunConfiguration.deterministic();
+        private double annualVolatility = DEFAULT_ANNUAL_VOLATILITY;
+        private FilingStatus filingStatus;
+        private final List<OneTimeExpense> oneTimeExpenses = new ArrayList<>();
+
+        /**
+         * Sets the scenario. Required.
+         *
+         * @param scenario the scenario
+         * @return this builder
+         */
+        public Builder scenario(Scenario scenario) {
+            this.scenario = scenario;
+            return this;
+        }
+
+        /**
+         * Sets the portfolio to simulate. Required.
+         *
+         * @param portfolio the portfolio
+         * @return this builder
+         */
+        public Builder portfolio(Portfolio portfolio) {
+            this.portfolio = portfolio;
+            return this;
+        }
+
+        /**
+         * Sets the owner's working income.
+         *
+         * @param workingIncome the working income, or null for none
+         * @return this builder
+         */
+        public Builder workingIncome(WorkingIncome workingIncome) {
+            this.workingIncome = workingIncome;
+            return this;
+        }
+
+        /**
+         * Adds a contribution configuration.
+         *
+         * @param contribution the contribution configuration
+         * @return this builder
+         */
+        public Builder addContribution(ContributionConfig contribution) {
+            this.contributions.add(MissingRequiredFieldException.requireNonNull(contribution, "contribution"));
+            return this;
+        }
+
+        /**
+         * Replaces the contribution configurations.
+         *
+         * @param contributions the contribution configurations
+         * @return this builder
+         */
+        public Builder contributions(List<ContributionConfig> contributions) {
+            this.contributions.clear();
+            if (contributions != null) {
+                contributions.forEach(this::addContribution);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the withdrawal strategy. Defaults to 4% of the balance at retirement.
+         *
+         * @param withdrawalStrategy the withdrawal strategy
+         * @return this builder
+         */
+        public Builder withdrawalStrategy(WithdrawalStrategy withdrawalStrategy) {
+            this.withdrawalStrategy = withdrawalStrategy;
+            return this;
+        }
+
+        /**
+         * Sets a dynamic spending strategy, such as guardrails, that replaces
+         * the withdrawal strategy.
+         *
+         * @param spendingStrategy the spending strategy, or null to use the withdrawal strategy
+         * @return this builder
+         */
+        public Builder spendingStrategy(SpendingStrategy spendingStrategy) {
+            this.spendingStrategy = spendingStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the run configuration. Defaults to a single deterministic path.
+         *
+         * @param runConfiguration the run configuration
+         * @return this builder
+         */
+        public Builder runConfiguration(RunConfiguration runConfiguration) {
+            this.runConfiguration = runConfiguration;
+            return this;
+        }
+
+        /**
+         * Sets the annual volatility of market returns for stochastic runs.
+         *
+         * @param annualVolatility the annual volatility as a decimal
+         * @return this builder
+         */
+        public Builder annualVolatility(double annualVolatility) {
+            this.annualVolatility = annualVolatility;
+            return this;
+        }
+
+        /**
+         * Sets the filing status, which turns on per-year federal income tax
+         * in the run's results.
+         *
+         * @param filingStatus the filing status, or null to not track taxes
+         * @return this builder
+         */
+        public Builder filingStatus(FilingStatus filingStatus) {
+            this.filingStatus = filingStatus;
+            return this;
+        }
+
+        /**
+         * Adds an expense paid once from the portfolio.
+         *
+         * @param expense the one-time expense
+         * @return this builder
+         */
+        public Builder addOneTimeExpense(OneTimeExpense expense) {
+            this.oneTimeExpenses.add(MissingRequiredFieldException.requireNonNull(expense, "expense"));
+            return this;
+        }
+
+        /**
+         * Replaces the one-time expenses.
+         *
+         * @param expenses the one-time expenses
+         * @return this builder
+         */
+        public Builder oneTimeExpenses(List<OneTimeExpense> expenses) {
+            this.oneTimeExpenses.clear();
+            if (expenses != null) {
+                expenses.forEach(this::addOneTimeExpense);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the request.
+         *
+         * @return a new SimulationRequest
+         * @throws MissingRequiredFieldException if a required field is missing
+         * @throws ValidationException if the portfolio is empty or the volatility is negative
+         */
+        public SimulationRequest build() {
+            MissingRequiredFieldException.requireNonNull(scenario, "scenario");
+            MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+            MissingRequiredFieldException.requireNonNull(withdrawalStrategy, "withdrawalStrategy");
+            MissingRequiredFieldException.requireNonNull(runConfiguration, "runConfiguration");
+            if (portfolio.getAccountCount() == 0) {
+                throw new ValidationException("Portfolio must contain at least one account", "portfolio");
+            }
+            if (annualVolatility < 0 || Double.isNaN(annualVolatility)) {
+                throw new ValidationException("Volatility cannot be negative", "annualVolatility");
+            }
+            return new SimulationRequest(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+/**
+ * One bar of a tornado chart: the outcomes of a run with one input perturbed
+ * down and up, produced by {@link SensitivityAnalyzer}.
+ *
+ * @param parameter the perturbed input
+ * @param delta the size of the perturbation in each direction
+ * @param lowSuccessRate the success rate with the input perturbed down
+ * @param highSuccessRate the success rate with the input perturbed up
+ * @param lowMedianEndingBalance the median ending balance with the input perturbed down
+ * @param highMedianEndingBalance the median ending balance with the input perturbed up
+ */
+public record TornadoBar(SensitivityAnalyzer.Parameter parameter, double delta,
+                         double lowSuccessRate, double highSuccessRate,
+                         double lowMedianEndingBalance, double highMedianEndingBalance) {
+
+    /**
+     * Returns the width of the bar in success rate.
+     *
+     * @return the absolute difference between the two success rates
+     */
+    public double successRateSwing() {
+        return Math.abs(highSuccessRate - lowSuccessRate);
+    }
+
+    /**
+     * Returns the width of the bar in median ending balance.
+     *
+     * @return the absolute difference between the two median ending balances
+     */
+    public double endingBalanceSwing() {
+        return Math.abs(highMedianEndingBalance - lowMedianEndingBalance);
+    }
+}
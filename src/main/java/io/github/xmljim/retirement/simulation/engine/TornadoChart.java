@@ -0,0 +1,97 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import java.util.Comparator;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * The result of a {@link SensitivityAnalyzer} run: the baseline outcome and
+ * one {@link TornadoBar} per perturbed input.
+ *
+ * <p>Bars are ordered widest first, by success rate swing and then by median
+ * ending balance swing, which is the order a tornado chart draws them.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class TornadoChart {
+
+    private static final Comparator<TornadoBar> WIDEST_FIRST =
+        Comparator.comparingDouble(TornadoBar::successRateSwing)
+            .thenComparingDouble(TornadoBar::endingBalanceSwing)
+            .reversed();
+
+    private final double baselineSuccessRate;
+    private final double baselineMedianEndingBalance;
+    private final int pathCount;
+    private final List<TornadoBar> bars;
+
+    TornadoChart(double baselineSuccessRate, double baselineMedianEndingBalance, int pathCount,
+                 List<TornadoBar> bars) {
+        this.baselineSuccessRate = baselineSuccessRate;
+        this.baselineMedianEndingBalance = baselineMedianEndingBalance;
+        this.pathCount = pathCount;
+        this.bars = bars.stream().sorted(WIDEST_FIRST).toList();
+    }
+
+    /**
+     * Returns the success rate of the unperturbed request.
+     *
+     * @return the baseline success rate
+     */
+    public double getBaselineSuccessRate() {
+        return baselineSuccessRate;
+    }
+
+    /**
+     * Returns the median ending balance of the unperturbed request.
+     *
+     * @return the baseline median ending balance
+     */
+    public double getBaselineMedianEndingBalance() {
+        return baselineMedianEndingBalance;
+    }
+
+    /**
+     * Returns the number of paths in every run.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the bars, widest first.
+     *
+     * @return an unmodifiable list of bars
+     */
+    public List<TornadoBar> getBars() {
+        return List.copyOf(bars);
+    }
+
+    /**
+     * Returns the bar for one input.
+     *
+     * @param parameter the input
+     * @return the bar
+     * @throws ValidationException if the input was not analyzed
+     */
+    public TornadoBar getBar(SensitivityAnalyzer.Parameter parameter) {
+        return bars.stream()
+            .filter(bar -> bar.parameter() == parameter)
+            .findFirst()
+            .orElseThrow(() -> new ValidationException("Parameter was not analyzed: " + parameter, "parameter"));
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "TornadoChart{" +
+            "baselineSuccessRate=" + baselineSuccessRate +
+            ", baselineMedianEndingBalance=" + baselineMedianEndingBalance +
+            ", bars=" + bars +
+            '}';
+    }
+}
@@ -1,7 +1,36 @@
 /**
  * Core simulation engine.
  *
- * <p>Contains the simulation runner and monthly processing loop
- * that drives the retirement simulation from start to end date.
+ * <p>Contains the {@code SimulationEngine} and its monthly processing loop,
+ * which drives the retirement simulation from start to end date, along with
+ * the mutable per-path state ({@code PortfolioState}, {@code AccountState})
+ * that the loop updates in place, the shared market shocks
+ * ({@code ReturnPathBlock}), and the phase-boundary snapshots that let runs
+ * differing only in distribution inputs skip the accumulation phase.
+ *
+ * <p>{@code PathSimulation} exposes the loop one month at a time for what-if
+ * analysis: a path can be checkpointed at any month
+ * ({@code SimulationCheckpoint}) and forked under different inputs, sharing
+ * its {@code MonthlyLedger} history copy-on-write.
+ *
+ * <p>{@code SafeWithdrawalRateSolver} searches for the highest withdrawal
+ * rate that meets a success target, evaluating every candidate rate against
+ * one shared market shock block. {@code RetirementDateOptimizer} finds the
+ * earliest retirement date that meets a success target, forking every
+ * candidate date from a shared, checkpointed accumulation prefix.
+ * {@code SensitivityAnalyzer} perturbs each main input down and up and
+ * returns the outcomes as {@code TornadoChart} data, running every perturbation
+ * as one batched job over shared shocks and accumulation snapshots.
+ *
+ * <p>{@code HouseholdEngine} simulates couple scenarios, advancing both
+ * persons' accounts in one monthly loop driven by a merged event calendar.
+ * Both engines read dated events, such as one-time expenses and life events,
+ * from an {@code EventCalendar} shared by every path and walked with a
+ * per-path cursor.
+ *
+ * <p>An {@code InflationModel} on the run configuration samples per-path
+ * inflation into the {@code ReturnPathBlock} as cumulative factors, which
+ * withdrawals, one-time expenses, and Social Security COLAs read in place of
+ * the scenario's constant inflation.
  */
 package io.github.xmljim.retirement.simulation.engine;
@@ -0,0 +1,389 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+
+/**
+ * A household budget: a set of {@link Expense expenses} by category, and
+ * {@link Phase phases} that scale spending from a date onward, such as
+ * cutting travel in late retirement.
+ *
+ * <p>A budget is a plan, not a projection. {@link #compile} resolves it over
+ * a horizon into an {@link ExpenseSchedule} of per-category monthly amounts:
+ * <ul>
+ *   <li>each inflation index becomes a table of cumulative annual factors,
+ *       built by running product, so no month evaluates a power</li>
+ *   <li>each expense adds its inflated amount to its category over the months
+ *       between its start and end dates, so loan payoffs drop out</li>
+ *   <li>each category's phase multipliers become a per-month table that
+ *       scales the category's amounts</li>
+ * </ul>
+ * Inflation steps once per year of the horizon, as withdrawals do in the
+ * simulation engine.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Budget budget = Budget.builder()
+ *     .addExpense(Expense.of(ExpenseCategory.HOUSING, 1200))
+ *     .addExpense(Expense.of(ExpenseCategory.HEALTHCARE, 800))
+ *     .addExpense(Expense.debt("Mortgage", 2100, LocalDate.of(2041, 6, 1)))
+ *     .addPhase(Phase.from(LocalDate.of(2050, 1, 1), ExpenseCategory.TRAVEL, 0.5))
+ *     .build();
+ * ExpenseSchedule schedule = budget.compile(start, 360, scenario.getInflationAssumptions());
+ * }</pre>
+ */
+public final class Budget {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final List<Expense> expenses;
+    private final List<Phase> phases;
+
+    private Budget(Builder builder) {
+        List<Phase> sorted = new ArrayList<>(builder.phases);
+        sorted.sort(Comparator.comparing(Phase::getStartDate));
+        this.expenses = List.copyOf(builder.expenses);
+        this.phases = List.copyOf(sorted);
+    }
+
+    /**
+     * Returns the expenses.
+     *
+     * @return an unmodifiable list of expenses
+     */
+    public List<Expense> getExpenses() {
+        return expenses;
+    }
+
+    /**
+     * Returns the phases in start date order.
+     *
+     * @return an unmodifiable list of phases
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Compiles the budget over a horizon.
+     *
+     * @param startDate the first month of the horizon; expense amounts are in its dollars
+     * @param monthCount the number of months in the horizon
+     * @param inflation the inflation rates for each index
+     * @return the compiled schedule
+     * @throws MissingRequiredFieldException if startDate or inflation is null
+     * @throws ValidationException if monthCount is less than 1
+     */
+    public ExpenseSchedule compile(LocalDate startDate, int monthCount, InflationAssumptions inflation) {
+        MissingRequiredFieldException.requireNonNull(startDate, "startDate");
+        MissingRequiredFieldException.requireNonNull(inflation, "inflation");
+        if (monthCount < 1) {
+            throw new ValidationException("Month count must be at least 1", "monthCount");
+        }
+        LocalDate start = startDate.withDayOfMonth(1);
+        int yearCount = (monthCount + MONTHS_PER_YEAR - 1) / MONTHS_PER_YEAR;
+        double[][] factors = new double[InflationIndex.values().length][];
+        for (InflationIndex index : InflationIndex.values()) {
+            factors[index.ordinal()] = cumulativeFactors(index.annualRate(inflation), yearCount);
+        }
+
+        double[][] amounts = new double[ExpenseCategory.values().length][monthCount];
+        for (Expense expense : expenses) {
+            double[] target = amounts[expense.getCategory().ordinal()];
+            double[] factor = factors[expense.getCategory().getInflationIndex().ordinal()];
+            int from = expense.getStartDate().map(date -> monthOffset(start, date, monthCount)).orElse(0);
+            int to = expense.getEndDate().map(date -> monthOffset(start, date, monthCount)).orElse(monthCount);
+            for (int month = from; month < to; month++) {
+                target[month] += expense.getMonthlyAmount() * factor[month / MONTHS_PER_YEAR];
+            }
+        }
+
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            double[] multipliers = compileMultipliers(category, start, monthCount);
+            if (multipliers != null) {
+                double[] target = amounts[category.ordinal()];
+                for (int month = 0; month < monthCount; month++) {
+                    target[month] *= multipliers[month];
+                }
+            }
+        }
+        return new ExpenseSchedule(start, amounts, factors[InflationIndex.GENERAL.ordinal()]);
+    }
+
+    /**
+     * Returns the cumulative factor for each year, relative to the first.
+     */
+    private static double[] cumulativeFactors(double annualRate, int yearCount) {
+        double[] factors = new double[yearCount];
+        factors[0] = 1.0;
+        for (int year = 1; year < yearCount; year++) {
+            factors[year] = factors[year - 1] * (1.0 + annualRate);
+        }
+        return factors;
+    }
+
+    /**
+     * Returns a category's multiplier for each month, or null if no phase
+     * applies to it. Phases are in start date order, so a later phase
+     * overrides an earlier one from its start onward.
+     */
+    private double[] compileMultipliers(ExpenseCategory category, LocalDate start, int monthCount) {
+        double[] multipliers = null;
+        for (Phase phase : phases) {
+            if (phase.appliesTo(category)) {
+                if (multipliers == null) {
+                    multipliers = new double[monthCount];
+                    Arrays.fill(multipliers, 1.0);
+                }
+                int from = monthOffset(start, phase.startDate, monthCount);
+                Arrays.fill(multipliers, from, monthCount, phase.multiplier);
+            }
+        }
+        return multipliers;
+    }
+
+    private static int monthOffset(LocalDate start, LocalDate date, int monthCount) {
+        long months = ChronoUnit.MONTHS.between(start, date.withDayOfMonth(1));
+        return (int) Math.max(0, Math.min(monthCount, months));
+    }
+
+    /**
+     * Creates a new builder for Budget.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this budget.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .expenses(expenses)
+            .phases(phases);
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Budget that = (Budget) o;
+        return expenses.equals(that.expenses) && phases.equals(that.phases);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(expenses, phases);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "Budget{" +
+            "expenses=" + expenses +
+            ", phases=" + phases +
+            '}';
+    }
+
+    /**
+     * A spending multiplier that takes effect on a date, for one category or
+     * for all of them, and lasts until a later phase for the same category.
+     *
+     * <p>This is an immutable value object.
+     */
+    public static final class Phase {
+        private final LocalDate startDate;
+        private final ExpenseCategory category;
+        private final double multiplier;
+
+        private Phase(LocalDate startDate, ExpenseCategory category, double multiplier) {
+            this.startDate = startDate;
+            this.category = category;
+            this.multiplier = multiplier;
+        }
+
+        /**
+         * Creates a phase that scales one category from a date onward.
+         *
+         * @param startDate the first month of the phase
+         * @param category the category scaled
+         * @param multiplier the spending multiplier
+         * @return a new Phase
+         * @throws MissingRequiredFieldException if startDate or category is null
+         * @throws ValidationException if the multiplier is negative
+         */
+        public static Phase from(LocalDate startDate, ExpenseCategory category, double multiplier) {
+            MissingRequiredFieldException.requireNonNull(category, "category");
+            return create(startDate, category, multiplier);
+        }
+
+        /**
+         * Creates a phase that scales every category from a date onward.
+         *
+         * @param startDate the first month of the phase
+         * @param multiplier the spending multiplier
+         * @return a new Phase
+         * @throws MissingRequiredFieldException if startDate is null
+         * @throws ValidationException if the multiplier is negative
+         */
+        public static Phase from(LocalDate startDate, double multiplier) {
+            return create(startDate, null, multiplier);
+        }
+
+        private static Phase create(LocalDate startDate, ExpenseCategory category, double multiplier) {
+            MissingRequiredFieldException.requireNonNull(startDate, "startDate");
+            if (multiplier < 0 || Double.isNaN(multiplier)) {
+                throw new ValidationException("Phase multiplier cannot be negative", "multiplier");
+            }
+            return new Phase(startDate, category, multiplier);
+        }
+
+        /**
+         * Returns the first month of the phase.
+         *
+         * @return the start date
+         */
+        public LocalDate getStartDate() {
+            return startDate;
+        }
+
+        /**
+         * Returns the category scaled.
+         *
+         * @return the category, or empty if the phase scales every category
+         */
+        public Optional<ExpenseCategory> getCategory() {
+            return Optional.ofNullable(category);
+        }
+
+        /**
+         * Returns the spending multiplier.
+         *
+         * @return the multiplier
+         */
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        boolean appliesTo(ExpenseCategory expenseCategory) {
+            return category == null || category == expenseCategory;
+        }
+
+        @Generated
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Phase that = (Phase) o;
+            return startDate.equals(that.startDate)
+                && category == that.category
+                && Double.compare(multiplier, that.multiplier) == 0;
+        }
+
+        @Generated
+        @Override
+        public int hashCode() {
+            return Objects.hash(startDate, category, multiplier);
+        }
+
+        @Generated
+        @Override
+        public String toString() {
+            return "Phase{" +
+                "startDate=" + startDate +
+                ", category=" + category +
+                ", multiplier=" + multiplier +
+                '}';
+        }
+    }
+
+    /**
+     * Builder for creating Budget instances.
+     */
+    public static final class Builder {
+        private final List<Expense> expenses = new ArrayList<>();
+        private final List<Phase> phases = new ArrayList<>();
+
+        /**
+         * Adds an expense.
+         *
+         * @param expense the expense
+         * @return this builder
+         */
+        public Builder addExpense(Expense expense) {
+            expenses.add(MissingRequiredFieldException.requireNonNull(expense, "expense"));
+            return this;
+        }
+
+        /**
+         * Replaces the expenses.
+         *
+         * @param expenses the expenses
+         * @return this builder
+         */
+        public Builder expenses(List<Expense> expenses) {
+            this.expenses.clear();
+            expenses.forEach(this::addExpense);
+            return this;
+        }
+
+        /**
+         * Adds a phase.
+         *
+         * @param phase the phase
+         * @return this builder
+         */
+        public Builder addPhase(Phase phase) {
+            phases.add(MissingRequiredFieldException.requireNonNull(phase, "phase"));
+            return this;
+        }
+
+        /**
+         * Replaces the phases.
+         *
+         * @param phases the phases
+         * @return this builder
+         */
+        public Builder phases(List<Phase> phases) {
+            this.phases.clear();
+            phases.forEach(this::addPhase);
+            return this;
+        }
+
+        /**
+         * Builds the Budget.
+         *
+         * @return a new Budget
+         */
+        public Budget build() {
+            return new Budget(this);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * A recurring monthly expense in a {@link Budget}.
+ *
+ * <p>The amount is stated in dollars of the budget's first month and grows
+ * with its category's {@link InflationIndex}; a {@link ExpenseCategory#DEBT}
+ * payment stays fixed. An expense may start after the budget does and may
+ * end before it, such as a loan at its payoff date.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Expense groceries = Expense.of(ExpenseCategory.FOOD, 900);
+ * Expense mortgage = Expense.debt("Mortgage", 2100, LocalDate.of(2041, 6, 1));
+ * }</pre>
+ */
+public final class Expense {
+
+    private final String name;
+    private final ExpenseCategory category;
+    private final double monthlyAmount;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    private Expense(Builder builder) {
+        this.name = builder.name != null ? builder.name : builder.category.getDisplayName();
+        this.category = builder.category;
+        this.monthlyAmount = builder.monthlyAmount;
+        this.startDate = builder.startDate;
+        this.endDate = builder.endDate;
+    }
+
+    /**
+     * Creates an expense that lasts the whole budget, named after its
+     * category.
+     *
+     * @param category the expense category
+     * @param monthlyAmount the monthly amount in first-month dollars
+     * @return a new Expense
+     * @throws MissingRequiredFieldException if category is null
+     * @throws ValidationException if monthlyAmount is negative
+     */
+    public static Expense of(ExpenseCategory category, double monthlyAmount) {
+        return builder().category(category).monthlyAmount(monthlyAmount).build();
+    }
+
+    /**
+     * Creates a fixed loan payment that ends at the payoff date.
+     *
+     * @param name the name of the loan
+     * @param monthlyPayment the monthly payment
+     * @param payoffDate the first month with no payment
+     * @return a new Expense in the {@link ExpenseCategory#DEBT} category
+     * @throws MissingRequiredFieldException if payoffDate is null
+     * @throws ValidationException if monthlyPayment is negative
+     */
+    public static Expense debt(String name, double monthlyPayment, LocalDate payoffDate) {
+        MissingRequiredFieldException.requireNonNull(payoffDate, "payoffDate");
+        return builder()
+            .name(name)
+            .category(ExpenseCategory.DEBT)
+            .monthlyAmount(monthlyPayment)
+            .endDate(payoffDate)
+            .build();
+    }
+
+    /**
+     * Returns the expense name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the expense category.
+     *
+     * @return the category
+     */
+    public ExpenseCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the monthly amount in dollars of the budget's first month.
+     *
+     * @return the monthly amount
+     */
+    public double getMonthlyAmount() {
+        return monthlyAmount;
+    }
+
+    /**
+     * Returns the first month of the expense.
+     *
+     * @return the start date, or empty if it starts with the budget
+     */
+    public Optional<LocalDate> getStartDate() {
+        return Optional.ofNullable(startDate);
+    }
+
+    /**
+     * Returns the first month without the expense.
+     *
+     * @return the end date, exclusive, or empty if it lasts the whole budget
+     */
+    public Optional<LocalDate> getEndDate() {
+        return Optional.ofNullable(endDate);
+    }
+
+    /**
+     * Creates a new builder for Expense.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this expense.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .name(name)
+            .category(category)
+            .monthlyAmount(monthlyAmount)
+            .startDate(startDate)
+            .endDate(endDate);
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Expense that = (Expense) o;
+        return Double.compare(monthlyAmount, that.monthlyAmount) == 0
+            && name.equals(that.name)
+            && category == that.category
+            && Objects.equals(startDate, that.startDate)
+            && Objects.equals(endDate, that.endDate);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, category, monthlyAmount, startDate, endDate);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "Expense{" +
+            "name='" + name + '\'' +
+            ", category=" + category +
+            ", monthlyAmount=" + monthlyAmount +
+            ", startDate=" + startDate +
+            ", endDate=" + endDate +
+            '}';
+    }
+
+    /**
+     * Builder for creating Expense instances.
+     */
+    public static final class Builder {
+        private String name;
+        private ExpenseCategory category;
+        private double monthlyAmount;
+        private LocalDate startDate;
+        private LocalDate endDate;
+
+        /**
+         * Sets the expense name. Default is the category's display name.
+         *
+         * @param name the name
+         * @return this builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the expense category. Required.
+         *
+         * @param category the category
+         * @return this builder
+         */
+        public Builder category(ExpenseCategory category) {
+            this.category = category;
+            return this;
+        }
+
+        /**
+         * Sets the monthly amount in dollars of the budget's first month.
+         *
+         * @param monthlyAmount the monthly amount
+         * @return this builder
+         */
+        public Builder monthlyAmount(double monthlyAmount) {
+            this.monthlyAmount = monthlyAmount;
+            return this;
+        }
+
+        /**
+         * Sets the first month of the expense. Default is the budget's first month.
+         *
+         * @param startDate the start date, or null to start with the budget
+         * @return this builder
+         */
+        public Builder startDate(LocalDate startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
+        /**
+         * Sets the first month without the expense. Default is none.
+         *
+         * @param endDate the end date, exclusive, or null to last the whole budget
+         * @return this builder
+         */
+        public Builder endDate(LocalDate endDate) {
+            this.endDate = endDate;
+            return this;
+        }
+
+        /**
+         * Builds the Expense.
+         *
+         * @return a new Expense
+         * @throws MissingRequiredFieldException if category is null
+         * @throws ValidationException if the amount is negative or the end is
+         *         not after the start
+         */
+        public Expense build() {
+            MissingRequiredFieldException.requireNonNull(category, "category");
+            if (monthlyAmount < 0 || Double.isNaN(monthlyAmount)) {
+                throw new ValidationException("Monthly amount cannot be negative", "monthlyAmount");
+            }
+            if (startDate != null && endDate != null && !endDate.isAfter(startDate)) {
+                throw new ValidationException("End date must be after the start date", "endDate");
+            }
+            return new Expense(this);
+        }
+    }
+}
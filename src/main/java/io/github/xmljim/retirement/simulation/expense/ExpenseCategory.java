@@ -0,0 +1,79 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+/**
+ * A category of household spending, with the inflation index its expenses
+ * grow at.
+ */
+public enum ExpenseCategory {
+    /**
+     * Rent, property taxes, maintenance, and other housing costs.
+     */
+    HOUSING("Housing", InflationIndex.HOUSING),
+
+    /**
+     * Electricity, water, phone, and internet.
+     */
+    UTILITIES("Utilities", InflationIndex.GENERAL),
+
+    /**
+     * Groceries and dining.
+     */
+    FOOD("Food", InflationIndex.GENERAL),
+
+    /**
+     * Vehicles, fuel, and transit.
+     */
+    TRANSPORTATION("Transportation", InflationIndex.GENERAL),
+
+    /**
+     * Insurance premiums and out-of-pocket medical costs.
+     */
+    HEALTHCARE("Healthcare", InflationIndex.HEALTHCARE),
+
+    /**
+     * Non-health insurance premiums.
+     */
+    INSURANCE("Insurance", InflationIndex.GENERAL),
+
+    /**
+     * Travel and leisure.
+     */
+    TRAVEL("Travel", InflationIndex.GENERAL),
+
+    /**
+     * Fixed loan payments, such as a mortgage or car loan, which do not
+     * inflate.
+     */
+    DEBT("Debt", InflationIndex.NONE),
+
+    /**
+     * Everything else.
+     */
+    OTHER("Other", InflationIndex.GENERAL);
+
+    private final String displayName;
+    private final InflationIndex inflationIndex;
+
+    ExpenseCategory(String displayName, InflationIndex inflationIndex) {
+        this.displayName = displayName;
+        this.inflationIndex = inflationIndex;
+    }
+
+    /**
+     * Returns the human-readable display name.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the inflation index expenses in this category grow at.
+     *
+     * @return the inflation index
+     */
+    public InflationIndex getInflationIndex() {
+        return inflationIndex;
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import java.time.LocalDate;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+
+/**
+ * A {@link Budget} compiled over a horizon: the inflated, phase-adjusted
+ * amount of every category in every month, and the monthly total.
+ *
+ * <p>Amounts are held as one primitive array per category, indexed by month
+ * from {@link #getStartDate()}, and the totals are summed when the schedule
+ * is built, so reading a month's expenses is an array lookup.
+ *
+ * <p>For simulations with stochastic inflation, the totals are also split
+ * into fixed amounts (debt payments) and inflation-indexed amounts stated in
+ * first-month dollars of general inflation, so
+ * {@link #getTotalAtPriceLevel(int, double)} restates a month at a path's
+ * price level with one multiply and one add. Categories that inflate faster
+ * than general inflation keep their spread.
+ *
+ * <p>This is an immutable value object and may be shared across threads.
+ */
+public final class ExpenseSchedule {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final LocalDate startDate;
+    private final double[][] amounts;
+    private final double[] totals;
+    private final double[] fixedTotals;
+    private final double[] indexedTotals;
+
+    /**
+     * Creates a schedule.
+     *
+     * @param generalFactors the cumulative general inflation factor of each year
+     */
+    ExpenseSchedule(LocalDate startDate, double[][] amounts, double[] generalFactors) {
+        this.startDate = startDate;
+        this.amounts = amounts;
+        int monthCount = amounts[0].length;
+        this.totals = new double[monthCount];
+        this.fixedTotals = new double[monthCount];
+        this.indexedTotals = new double[monthCount];
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            double[] amount = amounts[category.ordinal()];
+            boolean fixed = category.getInflationIndex() == InflationIndex.NONE;
+            for (int month = 0; month < monthCount; month++) {
+                totals[month] += amount[month];
+                if (fixed) {
+                    fixedTotals[month] += amount[month];
+                } else {
+                    indexedTotals[month] += amount[month] / generalFactors[month / MONTHS_PER_YEAR];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the first month of the horizon, as the first day of that month.
+     *
+     * @return the start date
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Returns the number of months in the horizon.
+     *
+     * @return the month count
+     */
+    public int getMonthCount() {
+        return totals.length;
+    }
+
+    /**
+     * Returns the total expenses of a month.
+     *
+     * @param month the month index from the start date
+     * @return the total of every category
+     * @throws IndexOutOfBoundsException if month is outside the horizon
+     */
+    public double getTotal(int month) {
+        return totals[month];
+    }
+
+    /**
+     * Returns the total expenses of a month at a given general price level,
+     * in place of the constant general inflation the schedule was compiled
+     * with. Fixed amounts are not rescaled.
+     *
+     * @param month the month index from the start date
+     * @param priceLevel the general price level of the month relative to the
+     *        start date, such as a simulated path's cumulative inflation factor
+     * @return the total of every category
+     * @throws IndexOutOfBoundsException if month is outside the horizon
+     */
+    public double getTotalAtPriceLevel(int month, double priceLevel) {
+        return fixedTotals[month] + indexedTotals[month] * priceLevel;
+    }
+
+    /**
+     * Returns one category's expenses in a month.
+     *
+     * @param category the category
+     * @param month the month index from the start date
+     * @return the category's amount
+     * @throws MissingRequiredFieldException if category is null
+     * @throws IndexOutOfBoundsException if month is outside the horizon
+     */
+    public double getAmount(ExpenseCategory category, int month) {
+        MissingRequiredFieldException.requireNonNull(category, "category");
+        return amounts[category.ordinal()][month];
+    }
+
+    /**
+     * Returns the total expenses of every month.
+     *
+     * @return a copy of the monthly totals
+     */
+    public double[] getTotals() {
+        return totals.clone();
+    }
+
+    /**
+     * Returns the total expenses over a range of months.
+     *
+     * @param fromMonth the first month, inclusive
+     * @param toMonth the last month, exclusive
+     * @return the sum of the monthly totals
+     * @throws IndexOutOfBoundsException if the range is outside the horizon
+     */
+    public double getTotal(int fromMonth, int toMonth) {
+        if (fromMonth < 0 || toMonth > totals.length || fromMonth > toMonth) {
+            throw new IndexOutOfBoundsException("Month range " + fromMonth + " to " + toMonth
+                + " is outside the horizon of " + totals.length + " months");
+        }
+        double sum = 0.0;
+        for (int month = fromMonth; month < toMonth; month++) {
+            sum += totals[month];
+        }
+        return sum;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "ExpenseSchedule{" +
+            "startDate=" + startDate +
+            ", monthCount=" + totals.length +
+            ", firstMonthTotal=" + totals[0] +
+            '}';
+    }
+}
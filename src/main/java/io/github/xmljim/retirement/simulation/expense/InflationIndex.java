@@ -0,0 +1,45 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+
+/**
+ * The inflation rate an expense grows at, chosen from a scenario's
+ * {@link InflationAssumptions}.
+ */
+public enum InflationIndex {
+    /**
+     * General consumer price inflation.
+     */
+    GENERAL,
+
+    /**
+     * Healthcare cost inflation.
+     */
+    HEALTHCARE,
+
+    /**
+     * Housing cost inflation.
+     */
+    HOUSING,
+
+    /**
+     * No inflation; the amount is fixed in nominal dollars, as for a
+     * fixed-rate loan payment.
+     */
+    NONE;
+
+    /**
+     * Returns the annual rate of this index under a set of assumptions.
+     *
+     * @param assumptions the inflation assumptions
+     * @return the annual rate as a decimal
+     */
+    public double annualRate(InflationAssumptions assumptions) {
+        return switch (this) {
+            case GENERAL -> assumptions.getGeneralInflation().doubleValue();
+            case HEALTHCARE -> assumptions.getHealthcareInflation().doubleValue();
+            case HOUSING -> assumptions.getHousingInflation().doubleValue();
+            case NONE -> 0.0;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+
+/**
+ * An expense paid once, such as a new car, a roof, or a trip, drawn from the
+ * portfolio in the month of its date.
+ *
+ * <p>The amount is stated in dollars of the run's first month and grows with
+ * its category's {@link InflationIndex}, stepping once per year of the run.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * OneTimeExpense roof = OneTimeExpense.of("Roof", ExpenseCategory.HOUSING, 18000, LocalDate.of(2031, 5, 1));
+ * }</pre>
+ */
+public final class OneTimeExpense implements ContentHashable {
+
+    private final String name;
+    private final ExpenseCategory category;
+    private final double amount;
+    private final LocalDate date;
+
+    private OneTimeExpense(String name, ExpenseCategory category, double amount, LocalDate date) {
+        this.name = name;
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    /**
+     * Creates a one-time expense.
+     *
+     * @param name the expense name
+     * @param category the category whose inflation index the amount grows at
+     * @param amount the amount in dollars of the run's first month
+     * @param date the date the expense is paid; only its month is used
+     * @return a new OneTimeExpense
+     * @throws MissingRequiredFieldException if name, category, or date is null
+     * @throws ValidationException if amount is negative
+     */
+    public static OneTimeExpense of(String name, ExpenseCategory category, double amount, LocalDate date) {
+        MissingRequiredFieldException.requireNonNull(name, "name");
+        MissingRequiredFieldException.requireNonNull(category, "category");
+        MissingRequiredFieldException.requireNonNull(date, "date");
+        if (amount < 0 || Double.isNaN(amount)) {
+            throw new ValidationException("Amount cannot be negative", "amount");
+        }
+        return new OneTimeExpense(name, category, amount, date);
+    }
+
+    /**
+     * Returns the expense name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the expense category.
+     *
+     * @return the category
+     */
+    public ExpenseCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the amount in dollars of the run's first month.
+     *
+     * @return the amount
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Returns the date the expense is paid.
+     *
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("OneTimeExpense")
+            .putString(name)
+            .putEnum(category)
+            .putLong(Double.doubleToLongBits(amount))
+            .putDate(date)
+            .hash();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OneTimeExpense that = (OneTimeExpense) o;
+        return Double.compare(amount, that.amount) == 0
+            && name.equals(that.name)
+            && category == that.category
+            && date.equals(that.date);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, category, amount, date);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "OneTimeExpense{" +
+            "name='" + name + '\'' +
+            ", category=" + category +
+            ", amount=" + amount +
+            ", date=" + date +
+            '}';
+    }
+}
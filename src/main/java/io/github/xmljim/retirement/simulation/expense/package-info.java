@@ -2,6 +2,10 @@
  * Expense and budget modeling.
  *
  * <p>Contains models for expense categories, budgets, and expense
- * projections with differentiated inflation rates.
+ * projections with differentiated inflation rates. A {@code Budget} of
+ * categorized {@code Expense}s compiles into an {@code ExpenseSchedule} of
+ * per-category monthly amounts, with each category inflated at its
+ * {@code InflationIndex} and loan payoffs and spending phases applied.
+ * A {@code OneTimeExpense} is paid from the portfolio in a single month.
  */
 package io.github.xmljim.retirement.simulation.expense;
@@ -15,6 +15,7 @@
  *   <li>{@code income} - Income source modeling</li>
  *   <li>{@code expense} - Expense and budget modeling</li>
  *   <li>{@code rules} - IRS rules and contribution limits</li>
+ *   <li>{@code tax} - Income tax brackets and Roth conversion planning</li>
  *   <li>{@code result} - Simulation result models</li>
  * </ul>
  */
@@ -0,0 +1,46 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import io.github.xmljim.retirement.domain.enums.PrecisionMode;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.simulation.engine.RunConfiguration;
+
+/**
+ * Identifies a simulation result by everything that determines it.
+ *
+ * <p>Two requests with the same key produce the same result, so a cached
+ * result can be returned without running the engine. IDs and display names
+ * are not part of the key; see {@link ContentHash}.
+ *
+ * @param inputHash the content hash of the simulation inputs
+ * @param precision the numeric precision of the run
+ * @param run the run configuration
+ */
+public record SimulationCacheKey(ContentHash inputHash, PrecisionMode precision, RunConfiguration run) {
+
+    /**
+     * Validates the key.
+     *
+     * @throws MissingRequiredFieldException if any component is null
+     */
+    public SimulationCacheKey {
+        MissingRequiredFieldException.requireNonNull(inputHash, "inputHash");
+        MissingRequiredFieldException.requireNonNull(precision, "precision");
+        MissingRequiredFieldException.requireNonNull(run, "run");
+    }
+
+    /**
+     * Creates a key for the given inputs.
+     *
+     * @param inputs the simulation inputs, typically a scenario
+     * @param precision the numeric precision of the run
+     * @param run the run configuration
+     * @return a new SimulationCacheKey
+     * @throws MissingRequiredFieldException if any argument is null
+     */
+    public static SimulationCacheKey of(ContentHashable inputs, PrecisionMode precision, RunConfiguration run) {
+        MissingRequiredFieldException.requireNonNull(inputs, "inputs");
+        return new SimulationCacheKey(inputs.contentHash(), precision, run);
+    }
+}
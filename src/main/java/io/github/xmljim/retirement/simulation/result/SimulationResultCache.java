@@ -0,0 +1,439 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Bounded in-memory cache of simulation results.
+ *
+ * <p>Callers often request the same scenario repeatedly while unrelated
+ * settings change. Results are keyed by {@link SimulationCacheKey}, so a
+ * repeated request is answered from memory and the engine is not run at all:
+ *
+ * <pre>{@code
+ * SimulationCacheKey key = SimulationCacheKey.of(scenario, PrecisionMode.DOUBLE, run);
+ * Result result = cache.getOrCompute(key, () -> engine.run(scenario, run));
+ * }</pre>
+ *
+ * <p>Results vary widely in size, so the cache is bounded by total
+ * <em>weight</em> rather than entry count. Each result is weighed once when
+ * it is stored (typically its approximate size in bytes); when the total
+ * exceeds the maximum, least recently used entries are evicted. Entries also
+ * expire a fixed time after they were stored. Expired entries count as
+ * evictions in {@link #stats()}.
+ *
+ * <p>The cache is safe for concurrent use. Concurrent requests for the same
+ * missing key run the loader once; the other callers wait for its result.
+ * Loaders run outside the cache lock, so a slow simulation never blocks
+ * requests for other keys.
+ *
+ * @param <V> the result type
+ */
+public final class SimulationResultCache<V> {
+
+    private final long maximumWeight;
+    private final long expireAfterWriteNanos;
+    private final ToLongFunction<? super V> weigher;
+    private final LongSupplier ticker;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<SimulationCacheKey, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<SimulationCacheKey, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private long totalWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private SimulationResultCache(Builder<V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.expireAfterWriteNanos = builder.expireAfterWrite.toNanos();
+        this.weigher = builder.weigher;
+        this.ticker = builder.ticker;
+    }
+
+    /**
+     * Returns the cached result for a key, if present and not expired.
+     *
+     * @param key the cache key
+     * @return the cached result, or empty
+     */
+    public Optional<V> getIfPresent(SimulationCacheKey key) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        lock.lock();
+        try {
+            Entry<V> entry = liveEntry(key);
+            if (entry == null) {
+                missCount++;
+                return Optional.empty();
+            }
+            hitCount++;
+            return Optional.of(entry.value());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached result for a key, computing and storing it on a miss.
+     *
+     * <p>If another caller is already computing the same key, this call waits
+     * for that result instead of computing it again. If the loader throws,
+     * nothing is cached and the exception propagates to every waiting caller.
+     *
+     * @param key the cache key
+     * @param loader computes the result; must not return null
+     * @return the cached or newly computed result
+     * @throws MissingRequiredFieldException if the loader returns null
+     */
+    public V getOrCompute(SimulationCacheKey key, Supplier<? extends V> loader) {
+        MissingRequiredFieldException.requireNonNull(loader, "loader");
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // Another caller may have stored the result between our miss and claiming the key
+            V value = peek(key);
+            if (value == null) {
+                value = MissingRequiredFieldException.requireNonNull(loader.get(), "result");
+                put(key, value);
+            }
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Stores a result, replacing any existing result for the key.
+     *
+     * <p>A result heavier than the maximum weight is not stored.
+     *
+     * @param key the cache key
+     * @param value the result
+     */
+    public void put(SimulationCacheKey key, V value) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        MissingRequiredFieldException.requireNonNull(value, "value");
+        long weight = weigher.applyAsLong(value);
+        if (weight < 0) {
+            throw new ValidationException("Weight must not be negative", "weight");
+        }
+
+        lock.lock();
+        try {
+            Entry<V> previous = entries.remove(key);
+            if (previous != null) {
+                totalWeight -= previous.weight();
+            }
+            if (weight > maximumWeight) {
+                return;
+            }
+            entries.put(key, new Entry<>(value, weight, ticker.getAsLong() + expireAfterWriteNanos));
+            totalWeight += weight;
+            evictToMaximumWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the result for a key, if present.
+     *
+     * @param key the cache key
+     */
+    public void invalidate(SimulationCacheKey key) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                removeEntry(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all results. Statistics are kept.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all expired results now rather than when they are next requested.
+     */
+    public void cleanUp() {
+        lock.lock();
+        try {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry<V> entry = iterator.next();
+                if (isExpired(entry)) {
+                    iterator.remove();
+                    totalWeight -= entry.weight();
+                    evictionCount++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached results, including expired ones not yet removed.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total weight of the cached results.
+     *
+     * @return the total weight
+     */
+    public long weightedSize() {
+        lock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum total weight.
+     *
+     * @return the maximum weight
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss, and eviction counters.
+     *
+     * @return the statistics
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hitCount, missCount, evictionCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V peek(SimulationCacheKey key) {
+        lock.lock();
+        try {
+            Entry<V> entry = liveEntry(key);
+            return entry != null ? entry.value() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry<V> liveEntry(SimulationCacheKey key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            removeEntry(key, entry);
+            evictionCount++;
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ticker.getAsLong() - entry.expiresAt() >= 0;
+    }
+
+    private void removeEntry(SimulationCacheKey key, Entry<V> entry) {
+        entries.remove(key);
+        totalWeight -= entry.weight();
+    }
+
+    private void evictToMaximumWeight() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (totalWeight > maximumWeight && iterator.hasNext()) {
+            Entry<V> eldest = iterator.next();
+            iterator.remove();
+            totalWeight -= eldest.weight();
+            evictionCount++;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param <V> the result type
+     * @return a new Builder
+     */
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    private record Entry<V>(V value, long weight, long expiresAt) {
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hitCount requests answered from the cache
+     * @param missCount requests not answered from the cache
+     * @param evictionCount results removed for weight or expiry
+     */
+    public record Stats(long hitCount, long missCount, long evictionCount) {
+
+        /**
+         * Returns the total number of requests.
+         *
+         * @return hits plus misses
+         */
+        public long requestCount() {
+            return hitCount + missCount;
+        }
+
+        /**
+         * Returns the fraction of requests answered from the cache.
+         *
+         * @return the hit rate, or 1.0 if there have been no requests
+         */
+        public double hitRate() {
+            long requests = requestCount();
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
+    /**
+     * Builder for creating SimulationResultCache instances.
+     *
+     * @param <V> the result type
+     */
+    public static class Builder<V> {
+        private long maximumWeight = -1;
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+        private ToLongFunction<? super V> weigher = value -> 1L;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Sets the maximum total weight of cached results. Required.
+         *
+         * @param maximumWeight the maximum weight; must be positive
+         * @return this builder
+         */
+        public Builder<V> maximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets how long a result stays cached after it is stored.
+         * Defaults to 30 minutes.
+         *
+         * @param expireAfterWrite the time to live; must be positive
+         * @return this builder
+         */
+        public Builder<V> expireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the function that weighs a result, typically its approximate
+         * size in bytes. Defaults to a weight of 1 per result.
+         *
+         * @param weigher the weigher
+         * @return this builder
+         */
+        public Builder<V> weigher(ToLongFunction<? super V> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the nanosecond time source used for expiry.
+         * Defaults to {@link System#nanoTime()}.
+         *
+         * @param ticker the time source
+         * @return this builder
+         */
+        public Builder<V> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return a new SimulationResultCache
+         * @throws ValidationException if the maximum weight or time to live is not positive
+         * @throws MissingRequiredFieldException if a required setting is null
+         */
+        public SimulationResultCache<V> build() {
+            if (maximumWeight <= 0) {
+                throw new ValidationException("Maximum weight must be positive", "maximumWeight");
+            }
+            MissingRequiredFieldException.requireNonNull(expireAfterWrite, "expireAfterWrite");
+            MissingRequiredFieldException.requireNonNull(weigher, "weigher");
+            MissingRequiredFieldException.requireNonNull(ticker, "ticker");
+            if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+                throw new ValidationException("Time to live must be positive", "expireAfterWrite");
+            }
+            return new SimulationResultCache<>(this);
+        }
+    }
+}
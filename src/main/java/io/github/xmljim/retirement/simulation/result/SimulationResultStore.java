@@ -0,0 +1,399 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.simulation.engine.InflationModel;
+
+/**
+ * Content-addressed on-disk store of {@link SimulationSummary} results.
+ *
+ * <p>Runs with many paths are expensive to recompute after a restart. The
+ * store keeps their summaries in a local directory, one file per
+ * {@link SimulationCacheKey}, named after the key so that a result can be
+ * found again from the inputs alone. Opening a store on an existing directory
+ * serves the results it already holds.
+ *
+ * <ul>
+ *   <li>Writes are atomic: a summary is written to a temporary file in the
+ *       same directory, forced to disk, then renamed into place, so readers
+ *       never see a partial file</li>
+ *   <li>Reads memory-map the file rather than copying it through a stream</li>
+ *   <li>The total size of stored files is capped; when a write exceeds the
+ *       cap, least recently used files are deleted. Recency is kept in the
+ *       file modification time, so it survives restarts</li>
+ * </ul>
+ *
+ * <p>Files that cannot be decoded (truncated, or written by an incompatible
+ * version) are treated as missing and deleted.
+ *
+ * <p>The store is safe for concurrent use within one process. It is typically
+ * placed behind a {@link SimulationResultCache}:
+ *
+ * <pre>{@code
+ * memoryCache.getOrCompute(key, () -> diskStore.getOrCompute(key, () -> engine.run(...)));
+ * }</pre>
+ */
+@SuppressFBWarnings(
+    value = "PATH_TRAVERSAL_IN",
+    justification = "File names are built only from hex digests, enum names, and numbers")
+public final class SimulationResultStore {
+
+    private static final String EXTENSION = ".sim";
+    private static final int MAGIC = 0x52534D53;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final long maximumBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Long> fileSizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    private SimulationResultStore(Path directory, long maximumBytes) {
+        this.directory = directory;
+        this.maximumBytes = maximumBytes;
+    }
+
+    /**
+     * Opens a store in a directory, creating the directory if necessary.
+     *
+     * <p>Existing result files are indexed, least recently used first, and
+     * leftover temporary files from interrupted writes are removed.
+     *
+     * @param directory the store directory
+     * @param maximumBytes the cap on the total size of stored files; must be positive
+     * @return the store
+     * @throws MissingRequiredFieldException if directory is null
+     * @throws ValidationException if maximumBytes is not positive
+     * @throws UncheckedIOException if the directory cannot be created or read
+     */
+    public static SimulationResultStore open(Path directory, long maximumBytes) {
+        MissingRequiredFieldException.requireNonNull(directory, "directory");
+        if (maximumBytes <= 0) {
+            throw new ValidationException("Maximum size must be positive", "maximumBytes");
+        }
+        SimulationResultStore store = new SimulationResultStore(directory, maximumBytes);
+        store.loadIndex();
+        return store;
+    }
+
+    /**
+     * Returns the stored summary for a key, if present.
+     *
+     * @param key the cache key
+     * @return the stored summary, or empty
+     */
+    public Optional<SimulationSummary> get(SimulationCacheKey key) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        String name = fileName(key);
+        lock.lock();
+        try {
+            // get (not containsKey) so the access-ordered index records the use
+            if (fileSizes.get(name) == null) {
+                return Optional.empty();
+            }
+            Path file = directory.resolve(name);
+            SimulationSummary summary;
+            try {
+                summary = read(file, key);
+            } catch (IOException | BufferUnderflowException | IllegalStateException e) {
+                discard(name);
+                return Optional.empty();
+            }
+            touch(file);
+            return Optional.of(summary);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the stored summary for a key, computing and storing it if missing.
+     *
+     * @param key the cache key
+     * @param loader computes the summary; must not return null
+     * @return the stored or newly computed summary
+     * @throws MissingRequiredFieldException if the loader returns null
+     */
+    public SimulationSummary getOrCompute(SimulationCacheKey key, Supplier<SimulationSummary> loader) {
+        MissingRequiredFieldException.requireNonNull(loader, "loader");
+        Optional<SimulationSummary> stored = get(key);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        SimulationSummary summary = MissingRequiredFieldException.requireNonNull(loader.get(), "summary");
+        put(key, summary);
+        return summary;
+    }
+
+    /**
+     * Stores a summary, replacing any existing summary for the key.
+     *
+     * <p>A summary larger than the size cap is not stored.
+     *
+     * @param key the cache key
+     * @param summary the summary
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void put(SimulationCacheKey key, SimulationSummary summary) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        MissingRequiredFieldException.requireNonNull(summary, "summary");
+        ByteBuffer encoded = encode(key, summary);
+        long size = encoded.remaining();
+        if (size > maximumBytes) {
+            return;
+        }
+
+        String name = fileName(key);
+        lock.lock();
+        try {
+            Path temp = Files.createTempFile(directory, name, ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (encoded.hasRemaining()) {
+                        channel.write(encoded);
+                    }
+                    channel.force(true);
+                }
+                moveIntoPlace(temp, directory.resolve(name));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            Long previous = fileSizes.put(name, size);
+            totalBytes += size - (previous != null ? previous : 0L);
+            evictToMaximumSize();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store simulation result " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the stored summary for a key, if present.
+     *
+     * @param key the cache key
+     */
+    public void remove(SimulationCacheKey key) {
+        MissingRequiredFieldException.requireNonNull(key, "key");
+        lock.lock();
+        try {
+            discard(fileName(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored summaries.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return fileSizes.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total size of the stored files.
+     *
+     * @return the total size in bytes
+     */
+    public long totalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the store directory.
+     *
+     * @return the directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void loadIndex() {
+        record StoredFile(String name, long size, FileTime modified) { }
+
+        List<StoredFile> found = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path file : stream) {
+                    String name = String.valueOf(file.getFileName());
+                    if (name.endsWith(".tmp")) {
+                        Files.deleteIfExists(file);
+                    } else if (name.endsWith(EXTENSION)) {
+                        found.add(new StoredFile(name, Files.size(file), Files.getLastModifiedTime(file)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open result store " + directory, e);
+        }
+
+        found.sort(Comparator.comparing(StoredFile::modified));
+        lock.lock();
+        try {
+            for (StoredFile file : found) {
+                fileSizes.put(file.name(), file.size());
+                totalBytes += file.size();
+            }
+            evictToMaximumSize();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictToMaximumSize() {
+        Iterator<Map.Entry<String, Long>> iterator = fileSizes.entrySet().iterator();
+        while (totalBytes > maximumBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(directory.resolve(eldest.getKey()));
+        }
+    }
+
+    private void discard(String name) {
+        Long size = fileSizes.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(directory.resolve(name));
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Recency only matters across restarts; the in-memory order is already updated
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // An undeletable file is no longer indexed; it is retried on the next open
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static String fileName(SimulationCacheKey key) {
+        InflationModel inflation = key.run().inflationModel();
+        return String.format(Locale.ROOT, "%s-%s-%s-%d-%d%s%s",
+            key.inputHash().toHex(),
+            key.precision().name().toLowerCase(Locale.ROOT),
+            key.run().mode().name().toLowerCase(Locale.ROOT),
+            key.run().pathCount(),
+            key.run().seed(),
+            inflation != null ? "-" + inflation.contentHash().toHex() : "",
+            EXTENSION);
+    }
+
+    private static ByteBuffer encode(SimulationCacheKey key, SimulationSummary summary) {
+        double[] levels = summary.levels();
+        double[][] bands = summary.bands();
+        double[] sketch = summary.sketch();
+        int size = Integer.BYTES * 7 + Long.BYTES * 2
+            + Double.BYTES * (levels.length * (bands.length + 1) + sketch.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+            .putInt(MAGIC)
+            .putInt(FORMAT_VERSION)
+            .putLong(key.inputHash().high())
+            .putLong(key.inputHash().low())
+            .putInt(summary.getPathCount())
+            .putInt(summary.getSuccessfulPaths())
+            .putInt(levels.length);
+        putDoubles(buffer, levels);
+        buffer.putInt(bands.length);
+        for (double[] band : bands) {
+            putDoubles(buffer, band);
+        }
+        buffer.putInt(sketch.length);
+        putDoubles(buffer, sketch);
+        return buffer.flip();
+    }
+
+    private static SimulationSummary read(Path file, SimulationCacheKey key) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                || buffer.getLong() != key.inputHash().high() || buffer.getLong() != key.inputHash().low()) {
+                throw new IllegalStateException("Not a result file for this key: " + file);
+            }
+            int pathCount = buffer.getInt();
+            int successfulPaths = buffer.getInt();
+            double[] levels = getDoubles(buffer, buffer.getInt());
+            double[][] bands = new double[checkedLength(buffer, buffer.getInt())][];
+            for (int year = 0; year < bands.length; year++) {
+                bands[year] = getDoubles(buffer, levels.length);
+            }
+            double[] sketch = getDoubles(buffer, buffer.getInt());
+            return new SimulationSummary(pathCount, successfulPaths, levels, bands, sketch);
+        }
+    }
+
+    private static void putDoubles(ByteBuffer buffer, double[] values) {
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Double.BYTES);
+    }
+
+    private static double[] getDoubles(ByteBuffer buffer, int length) {
+        double[] values = new double[checkedLength(buffer, length)];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return values;
+    }
+
+    private static int checkedLength(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Corrupt result file");
+        }
+        return length;
+    }
+}
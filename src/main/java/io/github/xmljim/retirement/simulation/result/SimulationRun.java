@@ -0,0 +1,218 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Raw per-path outcome of a simulation run.
+ *
+ * <p>For each path the run keeps the total portfolio balance at the end of
+ * every simulation year and the month in which the portfolio could first not
+ * cover a withdrawal, and, when the request tracked taxes, the federal income
+ * tax for every year. {@link #summarize(double...)} reduces the run to a
+ * {@link SimulationSummary} for caching and reporting.
+ *
+ * <p>Instances are created by the simulation engine and are not modified
+ * afterwards.
+ */
+public final class SimulationRun {
+
+    /**
+     * Depletion month of a path that never ran out of money.
+     */
+    public static final int NOT_DEPLETED = -1;
+
+    private final int monthCount;
+    private final double[][] yearEndBalances;
+    private final int[] depletionMonths;
+    private final boolean resumedFromBoundary;
+    private final double[][] yearTaxes;
+
+    /**
+     * Creates a run result without taxes. The arrays are owned by the result
+     * afterwards.
+     *
+     * @param monthCount the number of simulated months
+     * @param yearEndBalances the year-end total balances, indexed by path then year
+     * @param depletionMonths the first month each path could not cover a
+     *        withdrawal, or {@link #NOT_DEPLETED}
+     * @param resumedFromBoundary whether the accumulation phase was restored
+     *        from a snapshot rather than simulated
+     */
+    public SimulationRun(int monthCount, double[][] yearEndBalances, int[] depletionMonths,
+                         boolean resumedFromBoundary) {
+        this(monthCount, yearEndBalances, depletionMonths, resumedFromBoundary, null);
+    }
+
+    /**
+     * Creates a run result. The arrays are owned by the result afterwards.
+     *
+     * @param monthCount the number of simulated months
+     * @param yearEndBalances the year-end total balances, indexed by path then year
+     * @param depletionMonths the first month each path could not cover a
+     *        withdrawal, or {@link #NOT_DEPLETED}
+     * @param resumedFromBoundary whether the accumulation phase was restored
+     *        from a snapshot rather than simulated
+     * @param yearTaxes the federal income tax, indexed by path then year, or
+     *        null if the run did not track taxes
+     */
+    @SuppressFBWarnings(
+        value = "EI_EXPOSE_REP2",
+        justification = "The engine hands over freshly built arrays; copying them would double a large result")
+    public SimulationRun(int monthCount, double[][] yearEndBalances, int[] depletionMonths,
+                         boolean resumedFromBoundary, double[][] yearTaxes) {
+        this.monthCount = monthCount;
+        this.yearEndBalances = yearEndBalances;
+        this.depletionMonths = depletionMonths;
+        this.resumedFromBoundary = resumedFromBoundary;
+        this.yearTaxes = yearTaxes;
+    }
+
+    /**
+     * Returns the number of paths.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return yearEndBalances.length;
+    }
+
+    /**
+     * Returns the number of simulated months.
+     *
+     * @return the month count
+     */
+    public int getMonthCount() {
+        return monthCount;
+    }
+
+    /**
+     * Returns the number of simulation years recorded per path.
+     *
+     * @return the year count
+     */
+    public int getYearCount() {
+        return yearEndBalances.length == 0 ? 0 : yearEndBalances[0].length;
+    }
+
+    /**
+     * Returns a path's total balance at the end of a simulation year.
+     *
+     * @param path the path index
+     * @param year the zero-based simulation year
+     * @return the year-end balance
+     * @throws ValidationException if path or year is out of range
+     */
+    public double getYearEndBalance(int path, int year) {
+        checkPath(path);
+        if (year < 0 || year >= getYearCount()) {
+            throw new ValidationException("Year out of range: " + year, "year");
+        }
+        return yearEndBalances[path][year];
+    }
+
+    /**
+     * Returns a path's balance at the end of the run.
+     *
+     * @param path the path index
+     * @return the ending balance
+     * @throws ValidationException if path is out of range
+     */
+    public double getEndingBalance(int path) {
+        return getYearEndBalance(path, getYearCount() - 1);
+    }
+
+    /**
+     * Returns the first month a path could not cover its withdrawal.
+     *
+     * @param path the path index
+     * @return the zero-based month index, or {@link #NOT_DEPLETED}
+     * @throws ValidationException if path is out of range
+     */
+    public int getDepletionMonth(int path) {
+        checkPath(path);
+        return depletionMonths[path];
+    }
+
+    /**
+     * Returns the fraction of paths that never ran out of money.
+     *
+     * @return the success rate, between 0 and 1
+     */
+    public double getSuccessRate() {
+        int successes = 0;
+        for (int month : depletionMonths) {
+            if (month == NOT_DEPLETED) {
+                successes++;
+            }
+        }
+        return (double) successes / depletionMonths.length;
+    }
+
+    /**
+     * Indicates whether the accumulation phase was restored from a
+     * phase-boundary snapshot instead of being simulated.
+     *
+     * @return true if the run resumed from a snapshot
+     */
+    public boolean isResumedFromBoundary() {
+        return resumedFromBoundary;
+    }
+
+    /**
+     * Reduces the run to a compact summary.
+     *
+     * @param percentileLevels the percentile levels for the balance bands
+     * @return the summary
+     */
+    public SimulationSummary summarize(double... percentileLevels) {
+        return SimulationSummary.summarize(yearEndBalances, percentileLevels);
+    }
+
+    /**
+     * Indicates whether the run tracked taxes.
+     *
+     * @return true if year taxes are available
+     */
+    public boolean hasTaxes() {
+        return yearTaxes != null;
+    }
+
+    /**
+     * Returns a path's federal income tax for a year.
+     *
+     * @param path the path index
+     * @param year the year index
+     * @return the tax for the year
+     * @throws ValidationException if the run did not track taxes, or path or
+     *         year is out of range
+     */
+    public double getYearTax(int path, int year) {
+        if (yearTaxes == null) {
+            throw new ValidationException("Run did not track taxes", "filingStatus");
+        }
+        checkPath(path);
+        if (year < 0 || year >= getYearCount()) {
+            throw new ValidationException("Year out of range: " + year, "year");
+        }
+        return yearTaxes[path][year];
+    }
+
+    private void checkPath(int path) {
+        if (path < 0 || path >= yearEndBalances.length) {
+            throw new ValidationException("Path out of range: " + path, "path");
+        }
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SimulationRun{"
+            + "paths=" + getPathCount()
+            + ", months=" + monthCount
+            + ", successRate=" + getSuccessRate()
+            + ", resumedFromBoundary=" + resumedFromBoundary
+            + '}';
+    }
+}
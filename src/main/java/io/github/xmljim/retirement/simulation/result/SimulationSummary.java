@@ -0,0 +1,242 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Compact summary of a multi-path simulation run.
+ *
+ * <p>A Monte Carlo or historical run with many paths produces far more data
+ * than any consumer needs. The summary keeps only what reports and charts use:
+ * <ul>
+ *   <li>success statistics: how many paths never ran out of money</li>
+ *   <li>percentile bands: the balance at each requested percentile for each
+ *       year of the run</li>
+ *   <li>an ending-balance sketch: {@value #SKETCH_POINTS} evenly spaced
+ *       quantiles of the final balances, from which any percentile can be
+ *       interpolated</li>
+ * </ul>
+ *
+ * <p>Its size depends on the run length and the number of percentile levels,
+ * not on the number of paths, which makes it cheap to cache and store.
+ *
+ * <p>Instances are immutable.
+ */
+public final class SimulationSummary {
+
+    /**
+     * Number of quantile points in the ending-balance sketch.
+     */
+    public static final int SKETCH_POINTS = 101;
+
+    private final int pathCount;
+    private final int successfulPaths;
+    private final double[] percentileLevels;
+    private final double[][] balanceBands;
+    private final double[] endingBalanceSketch;
+
+    SimulationSummary(int pathCount, int successfulPaths, double[] percentileLevels,
+                      double[][] balanceBands, double[] endingBalanceSketch) {
+        this.pathCount = pathCount;
+        this.successfulPaths = successfulPaths;
+        this.percentileLevels = percentileLevels;
+        this.balanceBands = balanceBands;
+        this.endingBalanceSketch = endingBalanceSketch;
+    }
+
+    /**
+     * Summarizes the year-end balances of a set of paths.
+     *
+     * <p>A path succeeds if its balance stays positive through the final year.
+     *
+     * @param yearEndBalances the balances, indexed by path then year; every
+     *        path must cover the same number of years
+     * @param percentileLevels the percentile levels for the bands, each
+     *        between 0 and 1 (for example 0.1, 0.5, 0.9)
+     * @return the summary
+     * @throws MissingRequiredFieldException if an argument is null
+     * @throws ValidationException if there are no paths or years, paths differ
+     *         in length, or a level is outside [0, 1]
+     */
+    public static SimulationSummary summarize(double[][] yearEndBalances, double... percentileLevels) {
+        MissingRequiredFieldException.requireNonNull(yearEndBalances, "yearEndBalances");
+        MissingRequiredFieldException.requireNonNull(percentileLevels, "percentileLevels");
+        if (yearEndBalances.length == 0 || yearEndBalances[0].length == 0) {
+            throw new ValidationException("At least one path and one year are required", "yearEndBalances");
+        }
+        for (double level : percentileLevels) {
+            if (level < 0.0 || level > 1.0) {
+                throw new ValidationException("Percentile level must be between 0 and 1", "percentileLevels");
+            }
+        }
+
+        int paths = yearEndBalances.length;
+        int years = yearEndBalances[0].length;
+        double[][] byYear = new double[years][paths];
+        int successes = 0;
+        for (int path = 0; path < paths; path++) {
+            double[] balances = yearEndBalances[path];
+            if (balances.length != years) {
+                throw new ValidationException("All paths must cover the same number of years", "yearEndBalances");
+            }
+            boolean solvent = true;
+            for (int year = 0; year < years; year++) {
+                byYear[year][path] = balances[year];
+                solvent &= balances[year] > 0.0;
+            }
+            if (solvent) {
+                successes++;
+            }
+        }
+
+        double[][] bands = new double[years][percentileLevels.length];
+        for (int year = 0; year < years; year++) {
+            Arrays.sort(byYear[year]);
+            for (int i = 0; i < percentileLevels.length; i++) {
+                bands[year][i] = quantile(byYear[year], percentileLevels[i]);
+            }
+        }
+
+        double[] ending = byYear[years - 1];
+        double[] sketch = new double[SKETCH_POINTS];
+        for (int i = 0; i < SKETCH_POINTS; i++) {
+            sketch[i] = quantile(ending, (double) i / (SKETCH_POINTS - 1));
+        }
+
+        return new SimulationSummary(paths, successes, percentileLevels.clone(), bands, sketch);
+    }
+
+    /**
+     * Returns the number of simulated paths.
+     *
+     * @return the path count
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    /**
+     * Returns the number of paths that never ran out of money.
+     *
+     * @return the successful path count
+     */
+    public int getSuccessfulPaths() {
+        return successfulPaths;
+    }
+
+    /**
+     * Returns the fraction of paths that never ran out of money.
+     *
+     * @return the success rate, between 0 and 1
+     */
+    public double getSuccessRate() {
+        return (double) successfulPaths / pathCount;
+    }
+
+    /**
+     * Returns the number of years covered by the percentile bands.
+     *
+     * @return the year count
+     */
+    public int getYearCount() {
+        return balanceBands.length;
+    }
+
+    /**
+     * Returns the percentile levels of the bands.
+     *
+     * @return a copy of the levels
+     */
+    public double[] getPercentileLevels() {
+        return percentileLevels.clone();
+    }
+
+    /**
+     * Returns the balance band for one year.
+     *
+     * @param year the zero-based year of the run
+     * @return a copy of the balances at each percentile level
+     * @throws ValidationException if the year is out of range
+     */
+    public double[] getBand(int year) {
+        if (year < 0 || year >= balanceBands.length) {
+            throw new ValidationException("Year out of range: " + year, "year");
+        }
+        return balanceBands[year].clone();
+    }
+
+    /**
+     * Returns an interpolated percentile of the ending balances.
+     *
+     * @param level the percentile level, between 0 and 1
+     * @return the ending balance at that percentile
+     * @throws ValidationException if the level is outside [0, 1]
+     */
+    public double getEndingBalance(double level) {
+        if (level < 0.0 || level > 1.0) {
+            throw new ValidationException("Percentile level must be between 0 and 1", "level");
+        }
+        return quantile(endingBalanceSketch, level);
+    }
+
+    double[][] bands() {
+        return balanceBands;
+    }
+
+    double[] sketch() {
+        return endingBalanceSketch;
+    }
+
+    double[] levels() {
+        return percentileLevels;
+    }
+
+    private static double quantile(double[] sorted, double level) {
+        double rank = level * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(lower + 1, sorted.length - 1);
+        double fraction = rank - lower;
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * fraction;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SimulationSummary that = (SimulationSummary) o;
+        return pathCount == that.pathCount
+            && successfulPaths == that.successfulPaths
+            && Arrays.equals(percentileLevels, that.percentileLevels)
+            && Arrays.deepEquals(balanceBands, that.balanceBands)
+            && Arrays.equals(endingBalanceSketch, that.endingBalanceSketch);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(pathCount);
+        result = 31 * result + Integer.hashCode(successfulPaths);
+        result = 31 * result + Arrays.hashCode(percentileLevels);
+        result = 31 * result + Arrays.deepHashCode(balanceBands);
+        return 31 * result + Arrays.hashCode(endingBalanceSketch);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SimulationSummary{"
+            + "pathCount=" + pathCount
+            + ", successRate=" + getSuccessRate()
+            + ", years=" + balanceBands.length
+            + ", levels=" + Arrays.toString(percentileLevels)
+            + '}';
+    }
+}
@@ -2,6 +2,8 @@
  * Simulation result models.
  *
  * <p>Contains models for capturing simulation outcomes including
- * monthly snapshots, cumulative statistics, and success metrics.
+ * monthly snapshots, cumulative statistics, and success metrics, and
+ * the {@code SimulationResultCache} that lets repeated requests for the same
+ * inputs skip the engine.
  */
 package io.github.xmljim.retirement.simulation.result;
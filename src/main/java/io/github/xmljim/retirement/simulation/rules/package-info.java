@@ -3,5 +3,10 @@
  *
  * <p>Contains configuration and logic for IRS contribution limits,
  * catch-up rules, SECURE 2.0 compliance, and RMD requirements.
+ *
+ * <h2>Key Classes</h2>
+ * <ul>
+ *   <li>{@code RmdRules} - Uniform Lifetime divisors and RMD start ages</li>
+ * </ul>
  */
 package io.github.xmljim.retirement.simulation.rules;
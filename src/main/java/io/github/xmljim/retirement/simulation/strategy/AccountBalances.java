@@ -0,0 +1,106 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import io.github.xmljim.retirement.domain.enums.AccountType.TaxTreatment;
+
+/**
+ * The accounts a {@link SpendingPath} draws on, addressed by position in
+ * portfolio order.
+ *
+ * <p>Accounts can be assigned to groups, such as the buckets of a
+ * {@link BucketStrategy}. The implementation keeps a running balance per
+ * group: it is rebuilt when groups are assigned, kept current by
+ * {@link #withdraw(int, double)} and {@link #transfer(int, int, double)},
+ * and refreshed in the same pass that applies each month's returns, so
+ * reading a group balance is a constant-time lookup.
+ *
+ * <p>Implementations are mutable and not thread-safe.
+ */
+public interface AccountBalances {
+
+    /**
+     * Returns the number of accounts.
+     *
+     * @return the account count
+     */
+    int getAccountCount();
+
+    /**
+     * Returns the current balance of an account.
+     *
+     * @param account the account index
+     * @return the balance
+     */
+    double getBalance(int account);
+
+    /**
+     * Returns the total balance across all accounts.
+     *
+     * @return the total balance
+     */
+    double getTotalBalance();
+
+    /**
+     * Withdraws an amount across the accounts according to the run's
+     * {@link DistributionPlan}.
+     *
+     * @param amount the amount requested
+     * @return the amount actually withdrawn
+     */
+    double distribute(double amount);
+
+    /**
+     * Withdraws up to the given amount from an account.
+     *
+     * @param account the account index
+     * @param amount the amount requested
+     * @return the amount actually withdrawn
+     */
+    double withdraw(int account, double amount);
+
+    /**
+     * Moves up to the given amount from one account to another. Between
+     * accounts of the same tax treatment it carries a proportional share of
+     * the source account's cost basis; across treatments it is taxed as a
+     * withdrawal from the source and lands as after-tax money.
+     *
+     * @param from the source account index
+     * @param to the target account index
+     * @param amount the amount requested
+     * @return the amount actually moved
+     * @throws io.github.xmljim.retirement.domain.exception.ValidationException
+     *         if {@link #canTransfer(TaxTreatment, TaxTreatment)} does not
+     *         allow the move
+     */
+    double transfer(int from, int to, double amount);
+
+    /**
+     * Returns whether money can move from an account of one tax treatment to
+     * another. Moves within a treatment are allowed, as are moves into
+     * taxable and Roth accounts, which receive after-tax money. Moving money
+     * from another treatment into a pre-tax or HSA account would be a new
+     * contribution, so it is not.
+     *
+     * @param from the source account's tax treatment
+     * @param to the target account's tax treatment
+     * @return true if a transfer is allowed
+     */
+    static boolean canTransfer(TaxTreatment from, TaxTreatment to) {
+        return from == to || to == TaxTreatment.TAXABLE || to == TaxTreatment.ROTH;
+    }
+
+    /**
+     * Assigns every account to a group and rebuilds the group balances.
+     *
+     * @param accountGroups the group of each account, indexed by account
+     * @param groupCount the number of groups
+     */
+    void assignGroups(int[] accountGroups, int groupCount);
+
+    /**
+     * Returns the running balance of a group.
+     *
+     * @param group the group index
+     * @return the total balance of the group's accounts, or 0 if no groups are assigned
+     */
+    double getGroupBalance(int group);
+}
@@ -0,0 +1,600 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.value.AssetAllocation;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+
+/**
+ * Time-segmented bucket strategy: spending comes from a short-term bucket
+ * that is refilled from a medium-term bucket, which in turn is refilled from
+ * a long-term growth bucket.
+ *
+ * <p>Buckets map onto the portfolio's existing accounts. An account goes to
+ * the bucket it is {@link Builder#assign(String, Bucket) assigned} to, or
+ * else to the bucket its {@link AssetAllocation} suggests: mostly cash is
+ * {@link Bucket#SHORT short}, mostly stocks is {@link Bucket#LONG long}, and
+ * anything else is {@link Bucket#MEDIUM medium}. The mapping is resolved
+ * once per run; the monthly loop works on index arrays and on running
+ * bucket balances kept by the engine's {@link AccountBalances}, so every
+ * refill check is constant time.
+ *
+ * <p>How much to withdraw is delegated to a wrapped {@link SpendingStrategy}
+ * (the 4% rule by default); this strategy only decides where it comes from.
+ * Bucket targets are expressed in months of the current withdrawal:
+ * <ul>
+ *   <li>{@link RefillRule#TIME_BASED} tops up the short bucket from the
+ *       medium bucket, and the medium bucket from the long bucket, every
+ *       {@code refillIntervalMonths} months.</li>
+ *   <li>{@link RefillRule#MARKET_TRIGGERED} tops up the short bucket from
+ *       the medium bucket whenever it falls below target, but sells from the
+ *       long bucket only while it is at its high-water mark, so growth
+ *       assets are not sold into a drawdown.</li>
+ * </ul>
+ * A refill moves money into the first account of the receiving bucket with
+ * the source's tax treatment, or else into its first taxable or Roth
+ * account, where a move from a pre-tax 401(k) is taxed as a withdrawal; see
+ * {@link AccountBalances#transfer(int, int, double)}. A source with no such
+ * account in the receiving bucket is not drawn on, since moving money into a
+ * pre-tax or HSA account would be a new contribution.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * BucketStrategy buckets = BucketStrategy.builder()
+ *     .spendingStrategy(GuardrailsStrategy.builder().build())
+ *     .shortTermMonths(24)
+ *     .mediumTermMonths(72)
+ *     .refillRule(BucketStrategy.RefillRule.MARKET_TRIGGERED)
+ *     .assign(cashAccount.getId(), BucketStrategy.Bucket.SHORT)
+ *     .build();
+ * }</pre>
+ */
+public final class BucketStrategy implements SpendingStrategy {
+
+    /**
+     * A time segment of the portfolio.
+     */
+    public enum Bucket {
+        /**
+         * Near-term spending, held in cash.
+         */
+        SHORT,
+
+        /**
+         * The next several years of spending, held mostly in bonds.
+         */
+        MEDIUM,
+
+        /**
+         * Long-term growth, held mostly in stocks.
+         */
+        LONG
+    }
+
+    /**
+     * When buckets are refilled.
+     */
+    public enum RefillRule {
+        /**
+         * Refill every {@code refillIntervalMonths} months.
+         */
+        TIME_BASED,
+
+        /**
+         * Refill the short bucket whenever it falls below target, and sell
+         * from the long bucket only at its high-water mark.
+         */
+        MARKET_TRIGGERED
+    }
+
+    private static final BigDecimal MAJORITY = new BigDecimal("50");
+    private static final int SHORT = Bucket.SHORT.ordinal();
+    private static final int MEDIUM = Bucket.MEDIUM.ordinal();
+    private static final int LONG = Bucket.LONG.ordinal();
+    private static final int BUCKET_COUNT = Bucket.values().length;
+
+    private final SpendingStrategy spendingStrategy;
+    private final int shortTermMonths;
+    private final int mediumTermMonths;
+    private final RefillRule refillRule;
+    private final int refillIntervalMonths;
+    private final Map<String, Bucket> assignments;
+
+    private BucketStrategy(Builder builder) {
+        this.spendingStrategy = builder.spendingStrategy;
+        this.shortTermMonths = builder.shortTermMonths;
+        this.mediumTermMonths = builder.mediumTermMonths;
+        this.refillRule = builder.refillRule;
+        this.refillIntervalMonths = builder.refillIntervalMonths;
+        this.assignments = Collections.unmodifiableMap(new TreeMap<>(builder.assignments));
+    }
+
+    /**
+     * Returns the strategy that decides how much to withdraw.
+     *
+     * @return the wrapped spending strategy
+     */
+    public SpendingStrategy getSpendingStrategy() {
+        return spendingStrategy;
+    }
+
+    /**
+     * Returns the short bucket's target, in months of withdrawals.
+     *
+     * @return the short-term months
+     */
+    public int getShortTermMonths() {
+        return shortTermMonths;
+    }
+
+    /**
+     * Returns the medium bucket's target, in months of withdrawals.
+     *
+     * @return the medium-term months
+     */
+    public int getMediumTermMonths() {
+        return mediumTermMonths;
+    }
+
+    /**
+     * Returns when buckets are refilled.
+     *
+     * @return the refill rule
+     */
+    public RefillRule getRefillRule() {
+        return refillRule;
+    }
+
+    /**
+     * Returns the months between refills under {@link RefillRule#TIME_BASED}.
+     *
+     * @return the refill interval
+     */
+    public int getRefillIntervalMonths() {
+        return refillIntervalMonths;
+    }
+
+    /**
+     * Returns the explicit account assignments, by account ID.
+     *
+     * @return an unmodifiable map of account ID to bucket
+     */
+    public Map<String, Bucket> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Returns the bucket an account belongs to.
+     *
+     * @param account the account
+     * @return its assigned bucket, or the bucket its allocation suggests
+     * @throws MissingRequiredFieldException if account is null
+     */
+    public Bucket bucketOf(InvestmentAccount account) {
+        MissingRequiredFieldException.requireNonNull(account, "account");
+        Bucket assigned = assignments.get(account.getId());
+        return assigned != null ? assigned : bucketFor(account.getAllocation());
+    }
+
+    /**
+     * Returns the bucket an allocation suggests: short if it is mostly cash,
+     * long if it is mostly stocks, and medium otherwise.
+     *
+     * @param allocation the allocation
+     * @return the bucket
+     * @throws MissingRequiredFieldException if allocation is null
+     */
+    public static Bucket bucketFor(AssetAllocation allocation) {
+        MissingRequiredFieldException.requireNonNull(allocation, "allocation");
+        if (allocation.getCashPercentage().compareTo(MAJORITY) >= 0) {
+            return Bucket.SHORT;
+        }
+        if (allocation.getStocksPercentage().compareTo(MAJORITY) >= 0) {
+            return Bucket.LONG;
+        }
+        return Bucket.MEDIUM;
+    }
+
+    @Override
+    public SpendingPath newPath(SpendingContext context) {
+        Portfolio portfolio = context.getPortfolio();
+        int accountCount = portfolio.getAccountCount();
+        int[] accountBuckets = new int[accountCount];
+        int[] sizes = new int[BUCKET_COUNT];
+        for (int i = 0; i < accountCount; i++) {
+            accountBuckets[i] = bucketOf(portfolio.getAccounts().get(i)).ordinal();
+            sizes[accountBuckets[i]]++;
+        }
+        int[][] bucketAccounts = new int[BUCKET_COUNT][];
+        for (int b = 0; b < BUCKET_COUNT; b++) {
+            bucketAccounts[b] = new int[sizes[b]];
+            sizes[b] = 0;
+        }
+        for (int i = 0; i < accountCount; i++) {
+            bucketAccounts[accountBuckets[i]][sizes[accountBuckets[i]]++] = i;
+        }
+        int[][] refillTargets = new int[BUCKET_COUNT][accountCount];
+        for (int b = 0; b < BUCKET_COUNT; b++) {
+            for (int i = 0; i < accountCount; i++) {
+                refillTargets[b][i] = refillTarget(portfolio, bucketAccounts[b], i);
+            }
+        }
+        return new Path(this, spendingStrategy.newPath(context), accountBuckets, bucketAccounts, refillTargets);
+    }
+
+    /**
+     * Returns the account of a bucket that refills from a source account
+     * receive: the first with the source's tax treatment, else the first
+     * that accepts a transfer from it, else -1.
+     */
+    private static int refillTarget(Portfolio portfolio, int[] members, int source) {
+        AccountType.TaxTreatment treatment = portfolio.getAccounts().get(source).getTaxTreatment();
+        int fallback = -1;
+        for (int member : members) {
+            AccountType.TaxTreatment target = portfolio.getAccounts().get(member).getTaxTreatment();
+            if (target == treatment) {
+                return member;
+            }
+            if (fallback < 0 && AccountBalances.canTransfer(treatment, target)) {
+                fallback = member;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Returns a hash of the wrapped strategy, the bucket targets, the refill
+     * rule, and the account assignments.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHasher hasher = ContentHasher.create()
+            .putTag("BucketStrategy")
+            .put(spendingStrategy)
+            .putInt(shortTermMonths)
+            .putInt(mediumTermMonths)
+            .putEnum(refillRule)
+            .putInt(refillIntervalMonths)
+            .putInt(assignments.size());
+        assignments.forEach((accountId, bucket) -> hasher.putString(accountId).putEnum(bucket));
+        return hasher.hash();
+    }
+
+    /**
+     * Creates a new builder for BucketStrategy.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this strategy.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder()
+            .spendingStrategy(spendingStrategy)
+            .shortTermMonths(shortTermMonths)
+            .mediumTermMonths(mediumTermMonths)
+            .refillRule(refillRule)
+            .refillIntervalMonths(refillIntervalMonths);
+        builder.assignments.putAll(assignments);
+        return builder;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BucketStrategy that = (BucketStrategy) o;
+        return shortTermMonths == that.shortTermMonths
+            && mediumTermMonths == that.mediumTermMonths
+            && refillIntervalMonths == that.refillIntervalMonths
+            && refillRule == that.refillRule
+            && spendingStrategy.equals(that.spendingStrategy)
+            && assignments.equals(that.assignments);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(spendingStrategy, shortTermMonths, mediumTermMonths, refillRule,
+            refillIntervalMonths, assignments);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "BucketStrategy{" +
+            "spendingStrategy=" + spendingStrategy +
+            ", shortTermMonths=" + shortTermMonths +
+            ", mediumTermMonths=" + mediumTermMonths +
+            ", refillRule=" + refillRule +
+            ", refillIntervalMonths=" + refillIntervalMonths +
+            ", assignments=" + assignments +
+            '}';
+    }
+
+    /**
+     * Per-path bucket state. The account-to-bucket arrays are shared by every
+     * copy; the bucket balances themselves live in the attached accounts.
+     */
+    private static final class Path implements SpendingPath {
+        private final SpendingPath spending;
+        private final int[] accountBuckets;
+        private final int[][] bucketAccounts;
+        private final int[][] refillTargets;
+        private final int shortTermMonths;
+        private final int mediumTermMonths;
+        private final boolean timeBased;
+        private final int refillIntervalMonths;
+        private AccountBalances accounts;
+        private boolean filled;
+        private int monthsSinceRefill;
+        private double longHighWater;
+
+        Path(BucketStrategy strategy, SpendingPath spending, int[] accountBuckets, int[][] bucketAccounts,
+             int[][] refillTargets) {
+            this.spending = spending;
+            this.accountBuckets = accountBuckets;
+            this.bucketAccounts = bucketAccounts;
+            this.refillTargets = refillTargets;
+            this.shortTermMonths = strategy.shortTermMonths;
+            this.mediumTermMonths = strategy.mediumTermMonths;
+            this.timeBased = strategy.refillRule == RefillRule.TIME_BASED;
+            this.refillIntervalMonths = strategy.refillIntervalMonths;
+        }
+
+        private Path(Path other) {
+            this.spending = other.spending.copy();
+            this.accountBuckets = other.accountBuckets;
+            this.bucketAccounts = other.bucketAccounts;
+            this.refillTargets = other.refillTargets;
+            this.shortTermMonths = other.shortTermMonths;
+            this.mediumTermMonths = other.mediumTermMonths;
+            this.timeBased = other.timeBased;
+            this.refillIntervalMonths = other.refillIntervalMonths;
+            this.accounts = other.accounts;
+            this.filled = other.filled;
+            this.monthsSinceRefill = other.monthsSinceRefill;
+            this.longHighWater = other.longHighWater;
+        }
+
+        @Override
+        public void attach(AccountBalances balances) {
+            this.accounts = balances;
+            balances.assignGroups(accountBuckets, BUCKET_COUNT);
+            spending.attach(balances);
+        }
+
+        @Override
+        public void start(int month, double balance) {
+            spending.start(month, balance);
+            filled = false;
+            monthsSinceRefill = 0;
+            longHighWater = accounts == null ? 0.0 : accounts.getGroupBalance(LONG);
+        }
+
+        @Override
+        public double nextWithdrawal(double balance) {
+            return spending.nextWithdrawal(balance);
+        }
+
+        @Override
+        public double withdraw(double amount, AccountBalances balances) {
+            if (!filled) {
+                // the initial fill at retirement ignores the refill rule
+                refill(amount, balances, true);
+                filled = true;
+            } else if (timeBased) {
+                if (++monthsSinceRefill >= refillIntervalMonths) {
+                    refill(amount, balances, true);
+                    monthsSinceRefill = 0;
+                }
+            } else {
+                double longBalance = balances.getGroupBalance(LONG);
+                boolean atHighWater = longBalance >= longHighWater;
+                if (atHighWater) {
+                    longHighWater = longBalance;
+                }
+                if (atHighWater || balances.getGroupBalance(SHORT) < shortTermMonths * amount) {
+                    refill(amount, balances, atHighWater);
+                }
+            }
+            double remaining = amount;
+            for (int b = 0; b < BUCKET_COUNT && remaining > 0; b++) {
+                int[] members = bucketAccounts[b];
+                for (int i = 0; i < members.length && remaining > 0; i++) {
+                    remaining -= balances.withdraw(members[i], remaining);
+                }
+            }
+            return amount - remaining;
+        }
+
+        @Override
+        public void closeYear(double balance) {
+            spending.closeYear(balance);
+        }
+
+        @Override
+        public void closeYear(double balance, double inflationGrowth) {
+            spending.closeYear(balance, inflationGrowth);
+        }
+
+        @Override
+        public SpendingPath copy() {
+            return new Path(this);
+        }
+
+        /**
+         * Tops up the short bucket from the medium bucket and, if allowed,
+         * the medium bucket from the long bucket. Only the accounts of the
+         * buckets involved are visited.
+         */
+        private void refill(double monthlyWithdrawal, AccountBalances balances, boolean sellLong) {
+            double shortGap = shortTermMonths * monthlyWithdrawal - balances.getGroupBalance(SHORT);
+            if (shortGap > 0) {
+                shortGap -= move(MEDIUM, SHORT, shortGap, balances);
+            }
+            if (!sellLong) {
+                return;
+            }
+            double soldLong = 0.0;
+            if (shortGap > 0) {
+                soldLong += move(LONG, SHORT, shortGap, balances);
+            }
+            double mediumGap = mediumTermMonths * monthlyWithdrawal - balances.getGroupBalance(MEDIUM);
+            if (mediumGap > 0) {
+                soldLong += move(LONG, MEDIUM, mediumGap, balances);
+            }
+            // the high-water mark tracks market growth, not the bucket's own sales
+            longHighWater -= soldLong;
+        }
+
+        private double move(int from, int to, double amount, AccountBalances balances) {
+            int[] sources = bucketAccounts[from];
+            int[] targets = refillTargets[to];
+            double remaining = amount;
+            for (int i = 0; i < sources.length && remaining > 0; i++) {
+                if (targets[sources[i]] >= 0) {
+                    remaining -= balances.transfer(sources[i], targets[sources[i]], remaining);
+                }
+            }
+            return amount - remaining;
+        }
+    }
+
+    /**
+     * Builder for creating BucketStrategy instances.
+     */
+    public static final class Builder {
+        private static final int DEFAULT_SHORT_TERM_MONTHS = 24;
+        private static final int DEFAULT_MEDIUM_TERM_MONTHS = 72;
+        private static final int DEFAULT_REFILL_INTERVAL_MONTHS = 12;
+        private static final double DEFAULT_WITHDRAWAL_RATE = 0.04;
+
+        private SpendingStrategy spendingStrategy =
+            StaticWithdrawalStrategy.of(WithdrawalStrategy.percentage(DEFAULT_WITHDRAWAL_RATE));
+        private int shortTermMonths = DEFAULT_SHORT_TERM_MONTHS;
+        private int mediumTermMonths = DEFAULT_MEDIUM_TERM_MONTHS;
+        private RefillRule refillRule = RefillRule.TIME_BASED;
+        private int refillIntervalMonths = DEFAULT_REFILL_INTERVAL_MONTHS;
+        private final Map<String, Bucket> assignments = new TreeMap<>();
+
+        /**
+         * Sets the strategy that decides how much to withdraw.
+         * Default is a 4% {@link StaticWithdrawalStrategy}.
+         *
+         * @param spendingStrategy the spending strategy
+         * @return this builder
+         */
+        public Builder spendingStrategy(SpendingStrategy spendingStrategy) {
+            this.spendingStrategy = spendingStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the short bucket's target, in months of withdrawals. Default is 24.
+         *
+         * @param months the short-term months
+         * @return this builder
+         */
+        public Builder shortTermMonths(int months) {
+            this.shortTermMonths = months;
+            return this;
+        }
+
+        /**
+         * Sets the medium bucket's target, in months of withdrawals. Default is 72.
+         *
+         * @param months the medium-term months
+         * @return this builder
+         */
+        public Builder mediumTermMonths(int months) {
+            this.mediumTermMonths = months;
+            return this;
+        }
+
+        /**
+         * Sets when buckets are refilled. Default is {@link RefillRule#TIME_BASED}.
+         *
+         * @param refillRule the refill rule
+         * @return this builder
+         */
+        public Builder refillRule(RefillRule refillRule) {
+            this.refillRule = refillRule;
+            return this;
+        }
+
+        /**
+         * Sets the months between time-based refills. Default is 12.
+         *
+         * @param months the refill interval
+         * @return this builder
+         */
+        public Builder refillIntervalMonths(int months) {
+            this.refillIntervalMonths = months;
+            return this;
+        }
+
+        /**
+         * Assigns an account to a bucket, overriding its allocation.
+         *
+         * @param accountId the account ID
+         * @param bucket the bucket
+         * @return this builder
+         * @throws MissingRequiredFieldException if accountId or bucket is null
+         */
+        public Builder assign(String accountId, Bucket bucket) {
+            assignments.put(MissingRequiredFieldException.requireNonNull(accountId, "accountId"),
+                MissingRequiredFieldException.requireNonNull(bucket, "bucket"));
+            return this;
+        }
+
+        /**
+         * Builds the BucketStrategy.
+         *
+         * @return a new BucketStrategy
+         * @throws MissingRequiredFieldException if spendingStrategy or refillRule is null
+         * @throws ValidationException if a target or the refill interval is out of range
+         */
+        public BucketStrategy build() {
+            MissingRequiredFieldException.requireNonNull(spendingStrategy, "spendingStrategy");
+            MissingRequiredFieldException.requireNonNull(refillRule, "refillRule");
+            if (shortTermMonths < 1) {
+                throw new ValidationException("Short-term months must be at least 1", "shortTermMonths");
+            }
+            if (mediumTermMonths < 0) {
+                throw new ValidationException("Medium-term months cannot be negative", "mediumTermMonths");
+            }
+            if (refillIntervalMonths < 1) {
+                throw new ValidationException("Refill interval must be at least 1 month", "refillIntervalMonths");
+            }
+            return new BucketStrategy(this);
+        }
+    }
+}
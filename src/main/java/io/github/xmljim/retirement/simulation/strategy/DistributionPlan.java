@@ -0,0 +1,150 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.DistributionStrategy;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+
+/**
+ * A {@link DistributionStrategy} compiled against a portfolio's accounts:
+ * which accounts a withdrawal comes from, and in what proportion.
+ *
+ * <ul>
+ *   <li>{@link DistributionStrategy#TAX_EFFICIENT} sorts the accounts once by
+ *       tax treatment (taxable, then pre-tax, then Roth, with HSAs last,
+ *       keeping portfolio order within each group) into an index array that
+ *       each withdrawal walks.</li>
+ *   <li>{@link DistributionStrategy#PRO_RATA} splits each withdrawal across
+ *       all accounts in proportion to their balances, in one pass over the
+ *       accounts.</li>
+ *   <li>The strategies that are not yet {@link DistributionStrategy#isImplemented()
+ *       implemented} withdraw in portfolio order.</li>
+ * </ul>
+ *
+ * <p>Compiling happens once per run, so the monthly loop does no sorting,
+ * grouping, or lookups by tax treatment.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class DistributionPlan {
+
+    private static final AccountType.TaxTreatment[] TAX_EFFICIENT_ORDER = {
+        AccountType.TaxTreatment.TAXABLE,
+        AccountType.TaxTreatment.PRE_TAX,
+        AccountType.TaxTreatment.ROTH,
+        AccountType.TaxTreatment.HSA
+    };
+
+    private final DistributionStrategy strategy;
+    private final int[] order;
+    private final boolean proRata;
+
+    private DistributionPlan(DistributionStrategy strategy, int[] order) {
+        this.strategy = strategy;
+        this.order = order;
+        this.proRata = strategy == DistributionStrategy.PRO_RATA;
+    }
+
+    /**
+     * Compiles a distribution strategy for a portfolio.
+     *
+     * @param portfolio the portfolio withdrawn from
+     * @param strategy the distribution strategy
+     * @return a new DistributionPlan
+     * @throws MissingRequiredFieldException if portfolio or strategy is null
+     */
+    public static DistributionPlan compile(Portfolio portfolio, DistributionStrategy strategy) {
+        MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+        MissingRequiredFieldException.requireNonNull(strategy, "strategy");
+        List<InvestmentAccount> accounts = portfolio.getAccounts();
+        int[] order = new int[accounts.size()];
+        if (strategy == DistributionStrategy.TAX_EFFICIENT) {
+            int next = 0;
+            for (AccountType.TaxTreatment treatment : TAX_EFFICIENT_ORDER) {
+                for (int i = 0; i < accounts.size(); i++) {
+                    if (accounts.get(i).getTaxTreatment() == treatment) {
+                        order[next++] = i;
+                    }
+                }
+            }
+        } else {
+            Arrays.setAll(order, i -> i);
+        }
+        return new DistributionPlan(strategy, order);
+    }
+
+    /**
+     * Creates a plan that withdraws in portfolio order.
+     *
+     * @param accountCount the number of accounts
+     * @return a new DistributionPlan
+     */
+    public static DistributionPlan inPortfolioOrder(int accountCount) {
+        int[] order = new int[accountCount];
+        Arrays.setAll(order, i -> i);
+        return new DistributionPlan(DistributionStrategy.CUSTOM, order);
+    }
+
+    /**
+     * Returns the strategy this plan was compiled from.
+     *
+     * @return the distribution strategy
+     */
+    public DistributionStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the account indexes in withdrawal order. Not used by
+     * {@link DistributionStrategy#PRO_RATA pro-rata} plans.
+     *
+     * @return a copy of the withdrawal order
+     */
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    /**
+     * Withdraws an amount from the accounts according to this plan.
+     *
+     * @param amount the amount requested
+     * @param accounts the accounts, in the portfolio order this plan was compiled for
+     * @return the amount actually withdrawn
+     */
+    public double withdraw(double amount, AccountBalances accounts) {
+        if (amount <= 0) {
+            return 0.0;
+        }
+        if (proRata) {
+            double total = accounts.getTotalBalance();
+            if (total <= 0) {
+                return 0.0;
+            }
+            double fraction = amount / total;
+            double withdrawn = 0.0;
+            for (int i = 0; i < accounts.getAccountCount(); i++) {
+                withdrawn += accounts.withdraw(i, accounts.getBalance(i) * fraction);
+            }
+            return withdrawn;
+        }
+        double remaining = amount;
+        for (int i = 0; i < order.length && remaining > 0; i++) {
+            remaining -= accounts.withdraw(order[i], remaining);
+        }
+        return amount - remaining;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "DistributionPlan{" +
+            "strategy=" + strategy +
+            ", order=" + Arrays.toString(order) +
+            '}';
+    }
+}
@@ -0,0 +1,466 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.util.Objects;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+
+/**
+ * Guyton-Klinger style dynamic withdrawals with guardrails.
+ *
+ * <p>The first withdrawal is the initial rate applied to the balance at
+ * retirement. Every retired month the current withdrawal rate (the annualized
+ * withdrawal divided by the balance) is checked against two guardrails:
+ * <ul>
+ *   <li>above the <em>lower guardrail</em> (the portfolio has fallen), the
+ *       withdrawal is cut by the decrease percentage</li>
+ *   <li>below the <em>upper guardrail</em> (the portfolio has grown), the
+ *       withdrawal is raised by the increase percentage</li>
+ * </ul>
+ * After an adjustment the guardrails rest for twelve months. At each year
+ * end the withdrawal grows with inflation, except that, when
+ * {@link Builder#skipInflationAfterLoss(boolean) enabled}, the raise is
+ * skipped after a year in which the balance fell and the withdrawal rate is
+ * above the initial rate. The withdrawal is always kept between the floor and
+ * ceiling, which are annual amounts in retirement-date dollars and grow with
+ * inflation.
+ *
+ * <p>Every value the monthly check reads is a primitive field, and the check
+ * does not allocate, so the strategy adds a few arithmetic operations per
+ * path-month to a Monte Carlo run.
+ *
+ * <p>This is an immutable value object. Use the {@link Builder} to create instances.
+ */
+public final class GuardrailsStrategy implements SpendingStrategy {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final double initialRate;
+    private final double upperGuardrail;
+    private final double lowerGuardrail;
+    private final double increasePercent;
+    private final double decreasePercent;
+    private final double floor;
+    private final double ceiling;
+    private final boolean skipInflationAfterLoss;
+
+    private GuardrailsStrategy(Builder builder) {
+        this.initialRate = builder.initialRate;
+        this.upperGuardrail = builder.upperGuardrail;
+        this.lowerGuardrail = builder.lowerGuardrail;
+        this.increasePercent = builder.increasePercent;
+        this.decreasePercent = builder.decreasePercent;
+        this.floor = builder.floor;
+        this.ceiling = builder.ceiling;
+        this.skipInflationAfterLoss = builder.skipInflationAfterLoss;
+    }
+
+    /**
+     * Returns the initial annual withdrawal rate.
+     *
+     * @return the initial rate as a decimal
+     */
+    public double getInitialRate() {
+        return initialRate;
+    }
+
+    /**
+     * Returns the withdrawal rate below which spending is increased.
+     *
+     * @return the upper guardrail as a decimal
+     */
+    public double getUpperGuardrail() {
+        return upperGuardrail;
+    }
+
+    /**
+     * Returns the withdrawal rate above which spending is decreased.
+     *
+     * @return the lower guardrail as a decimal
+     */
+    public double getLowerGuardrail() {
+        return lowerGuardrail;
+    }
+
+    /**
+     * Returns the raise applied when the upper guardrail is crossed.
+     *
+     * @return the increase as a decimal
+     */
+    public double getIncreasePercent() {
+        return increasePercent;
+    }
+
+    /**
+     * Returns the cut applied when the lower guardrail is crossed.
+     *
+     * @return the decrease as a decimal
+     */
+    public double getDecreasePercent() {
+        return decreasePercent;
+    }
+
+    /**
+     * Returns the minimum annual withdrawal in retirement-date dollars.
+     *
+     * @return the floor
+     */
+    public double getFloor() {
+        return floor;
+    }
+
+    /**
+     * Returns the maximum annual withdrawal in retirement-date dollars.
+     *
+     * @return the ceiling, or {@link Double#POSITIVE_INFINITY} for none
+     */
+    public double getCeiling() {
+        return ceiling;
+    }
+
+    /**
+     * Indicates whether the inflation raise is skipped after a losing year.
+     *
+     * @return true if the raise is skipped
+     */
+    public boolean isSkipInflationAfterLoss() {
+        return skipInflationAfterLoss;
+    }
+
+    @Override
+    public SpendingPath newPath(SpendingContext context) {
+        return new Path(this, 1.0 + context.getAnnualInflation());
+    }
+
+    /**
+     * Returns a hash of every guardrail parameter.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("GuardrailsStrategy")
+            .putLong(Double.doubleToLongBits(initialRate))
+            .putLong(Double.doubleToLongBits(upperGuardrail))
+            .putLong(Double.doubleToLongBits(lowerGuardrail))
+            .putLong(Double.doubleToLongBits(increasePercent))
+            .putLong(Double.doubleToLongBits(decreasePercent))
+            .putLong(Double.doubleToLongBits(floor))
+            .putLong(Double.doubleToLongBits(ceiling))
+            .putBoolean(skipInflationAfterLoss)
+            .hash();
+    }
+
+    /**
+     * Creates a new builder for GuardrailsStrategy.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this strategy.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .initialRate(initialRate)
+            .upperGuardrail(upperGuardrail)
+            .lowerGuardrail(lowerGuardrail)
+            .increasePercent(increasePercent)
+            .decreasePercent(decreasePercent)
+            .floor(floor)
+            .ceiling(ceiling)
+            .skipInflationAfterLoss(skipInflationAfterLoss);
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GuardrailsStrategy that = (GuardrailsStrategy) o;
+        return Double.compare(initialRate, that.initialRate) == 0
+            && Double.compare(upperGuardrail, that.upperGuardrail) == 0
+            && Double.compare(lowerGuardrail, that.lowerGuardrail) == 0
+            && Double.compare(increasePercent, that.increasePercent) == 0
+            && Double.compare(decreasePercent, that.decreasePercent) == 0
+            && Double.compare(floor, that.floor) == 0
+            && Double.compare(ceiling, that.ceiling) == 0
+            && skipInflationAfterLoss == that.skipInflationAfterLoss;
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialRate, upperGuardrail, lowerGuardrail, increasePercent, decreasePercent,
+            floor, ceiling, skipInflationAfterLoss);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "GuardrailsStrategy{" +
+            "initialRate=" + initialRate +
+            ", guardrails=[" + upperGuardrail + ", " + lowerGuardrail + ']' +
+            ", adjustments=[+" + increasePercent + ", -" + decreasePercent + ']' +
+            ", floor=" + floor +
+            ", ceiling=" + ceiling +
+            '}';
+    }
+
+    /**
+     * Per-path state. Configuration is copied into primitive fields so the
+     * monthly check never dereferences the strategy.
+     */
+    private static final class Path implements SpendingPath {
+        private final double initialRate;
+        private final double upperGuardrail;
+        private final double lowerGuardrail;
+        private final double increaseFactor;
+        private final double decreaseFactor;
+        private final double initialMonthlyFloor;
+        private final double initialMonthlyCeiling;
+        private final boolean skipInflationAfterLoss;
+        private final double growth;
+
+        private double withdrawal;
+        private double monthlyFloor;
+        private double monthlyCeiling;
+        private double yearStartBalance;
+        private int monthsSinceAdjustment;
+
+        Path(GuardrailsStrategy strategy, double growth) {
+            this.initialRate = strategy.initialRate;
+            this.upperGuardrail = strategy.upperGuardrail;
+            this.lowerGuardrail = strategy.lowerGuardrail;
+            this.increaseFactor = 1.0 + strategy.increasePercent;
+            this.decreaseFactor = 1.0 - strategy.decreasePercent;
+            this.initialMonthlyFloor = strategy.floor / MONTHS_PER_YEAR;
+            this.initialMonthlyCeiling = strategy.ceiling / MONTHS_PER_YEAR;
+            this.skipInflationAfterLoss = strategy.skipInflationAfterLoss;
+            this.growth = growth;
+        }
+
+        private Path(Path source) {
+            this.initialRate = source.initialRate;
+            this.upperGuardrail = source.upperGuardrail;
+            this.lowerGuardrail = source.lowerGuardrail;
+            this.increaseFactor = source.increaseFactor;
+            this.decreaseFactor = source.decreaseFactor;
+            this.initialMonthlyFloor = source.initialMonthlyFloor;
+            this.initialMonthlyCeiling = source.initialMonthlyCeiling;
+            this.skipInflationAfterLoss = source.skipInflationAfterLoss;
+            this.growth = source.growth;
+            this.withdrawal = source.withdrawal;
+            this.monthlyFloor = source.monthlyFloor;
+            this.monthlyCeiling = source.monthlyCeiling;
+            this.yearStartBalance = source.yearStartBalance;
+            this.monthsSinceAdjustment = source.monthsSinceAdjustment;
+        }
+
+        @Override
+        public void start(int month, double balance) {
+            monthlyFloor = initialMonthlyFloor;
+            monthlyCeiling = initialMonthlyCeiling;
+            withdrawal = clamp(balance * initialRate / MONTHS_PER_YEAR);
+            yearStartBalance = balance;
+            monthsSinceAdjustment = 0;
+        }
+
+        @Override
+        public double nextWithdrawal(double balance) {
+            if (monthsSinceAdjustment >= MONTHS_PER_YEAR && balance > 0) {
+                double rate = withdrawal * MONTHS_PER_YEAR / balance;
+                if (rate > lowerGuardrail) {
+                    withdrawal = clamp(withdrawal * decreaseFactor);
+                    monthsSinceAdjustment = 0;
+                } else if (rate < upperGuardrail) {
+                    withdrawal = clamp(withdrawal * increaseFactor);
+                    monthsSinceAdjustment = 0;
+                }
+            }
+            monthsSinceAdjustment++;
+            return withdrawal;
+        }
+
+        @Override
+        public void closeYear(double balance) {
+            closeYear(balance, growth);
+        }
+
+        @Override
+        public void closeYear(double balance, double inflationGrowth) {
+            monthlyFloor *= inflationGrowth;
+            monthlyCeiling *= inflationGrowth;
+            boolean skip = skipInflationAfterLoss
+                && balance < yearStartBalance
+                && balance > 0
+                && withdrawal * MONTHS_PER_YEAR / balance > initialRate;
+            if (!skip) {
+                withdrawal *= inflationGrowth;
+            }
+            withdrawal = clamp(withdrawal);
+            yearStartBalance = balance;
+        }
+
+        @Override
+        public SpendingPath copy() {
+            return new Path(this);
+        }
+
+        private double clamp(double amount) {
+            return Math.min(monthlyCeiling, Math.max(monthlyFloor, amount));
+        }
+    }
+
+    /**
+     * Builder for creating GuardrailsStrategy instances.
+     *
+     * <p>Defaults follow Guyton and Klinger: a 5% initial rate, guardrails 20%
+     * either side of it (4% and 6%), and 10% adjustments, with no floor or
+     * ceiling.
+     */
+    public static class Builder {
+        private double initialRate = 0.05;
+        private double upperGuardrail = 0.04;
+        private double lowerGuardrail = 0.06;
+        private double increasePercent = 0.10;
+        private double decreasePercent = 0.10;
+        private double floor;
+        private double ceiling = Double.POSITIVE_INFINITY;
+        private boolean skipInflationAfterLoss = true;
+
+        /**
+         * Sets the initial annual withdrawal rate.
+         *
+         * @param rate the rate as a decimal (e.g., 0.05 for 5%)
+         * @return this builder
+         */
+        public Builder initialRate(double rate) {
+            this.initialRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the withdrawal rate below which spending is increased.
+         *
+         * @param rate the rate as a decimal
+         * @return this builder
+         */
+        public Builder upperGuardrail(double rate) {
+            this.upperGuardrail = rate;
+            return this;
+        }
+
+        /**
+         * Sets the withdrawal rate above which spending is decreased.
+         *
+         * @param rate the rate as a decimal
+         * @return this builder
+         */
+        public Builder lowerGuardrail(double rate) {
+            this.lowerGuardrail = rate;
+            return this;
+        }
+
+        /**
+         * Sets the raise applied when the upper guardrail is crossed.
+         *
+         * @param percent the increase as a decimal (e.g., 0.10 for 10%)
+         * @return this builder
+         */
+        public Builder increasePercent(double percent) {
+            this.increasePercent = percent;
+            return this;
+        }
+
+        /**
+         * Sets the cut applied when the lower guardrail is crossed.
+         *
+         * @param percent the decrease as a decimal (e.g., 0.10 for 10%)
+         * @return this builder
+         */
+        public Builder decreasePercent(double percent) {
+            this.decreasePercent = percent;
+            return this;
+        }
+
+        /**
+         * Sets the minimum annual withdrawal in retirement-date dollars.
+         *
+         * @param amount the floor
+         * @return this builder
+         */
+        public Builder floor(double amount) {
+            this.floor = amount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum annual withdrawal in retirement-date dollars.
+         *
+         * @param amount the ceiling
+         * @return this builder
+         */
+        public Builder ceiling(double amount) {
+            this.ceiling = amount;
+            return this;
+        }
+
+        /**
+         * Sets whether the inflation raise is skipped after a losing year in
+         * which the withdrawal rate exceeds the initial rate. Defaults to true.
+         *
+         * @param skip true to skip the raise
+         * @return this builder
+         */
+        public Builder skipInflationAfterLoss(boolean skip) {
+            this.skipInflationAfterLoss = skip;
+            return this;
+        }
+
+        /**
+         * Builds the strategy.
+         *
+         * @return a new GuardrailsStrategy
+         * @throws ValidationException if a rate is out of range, the guardrails
+         *         do not bracket the initial rate, or the floor exceeds the ceiling
+         */
+        public GuardrailsStrategy build() {
+            validate();
+            return new GuardrailsStrategy(this);
+        }
+
+        private void validate() {
+            if (!(initialRate > 0 && initialRate <= 1)) {
+                throw new ValidationException("Initial rate must be between 0 and 1", "initialRate");
+            }
+            if (!(upperGuardrail >= 0 && upperGuardrail < initialRate)) {
+                throw new ValidationException("Upper guardrail must be below the initial rate", "upperGuardrail");
+            }
+            if (!(lowerGuardrail > initialRate)) {
+                throw new ValidationException("Lower guardrail must be above the initial rate", "lowerGuardrail");
+            }
+            if (!(increasePercent >= 0)) {
+                throw new ValidationException("Increase cannot be negative", "increasePercent");
+            }
+            if (!(decreasePercent >= 0 && decreasePercent < 1)) {
+                throw new ValidationException("Decrease must be between 0 and 1", "decreasePercent");
+            }
+            if (!(floor >= 0 && floor <= ceiling)) {
+                throw new ValidationException("Floor must be between 0 and the ceiling", "floor");
+            }
+        }
+    }
+}
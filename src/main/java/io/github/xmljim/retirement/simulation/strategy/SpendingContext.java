@@ -0,0 +1,102 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.time.LocalDate;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+
+/**
+ * What a {@link SpendingStrategy} knows about a run when it creates its
+ * {@link SpendingPath}: the portfolio drawn on, the run's first month and
+ * length, and the inflation applied to spending.
+ *
+ * <p>Month indexes passed to {@link SpendingPath#start(int, double)} count
+ * from {@link #getStartDate()}, so strategies can resolve anything that
+ * depends on dates or ages into per-month tables here, once per run.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class SpendingContext {
+
+    private final Portfolio portfolio;
+    private final LocalDate startDate;
+    private final int monthCount;
+    private final double annualInflation;
+
+    private SpendingContext(Portfolio portfolio, LocalDate startDate, int monthCount, double annualInflation) {
+        this.portfolio = portfolio;
+        this.startDate = startDate;
+        this.monthCount = monthCount;
+        this.annualInflation = annualInflation;
+    }
+
+    /**
+     * Creates a spending context.
+     *
+     * @param portfolio the portfolio the path draws on
+     * @param startDate the first month of the run
+     * @param monthCount the number of months in the run
+     * @param annualInflation the general inflation rate applied to spending each year
+     * @return a new SpendingContext
+     * @throws MissingRequiredFieldException if portfolio or startDate is null
+     * @throws ValidationException if monthCount is less than 1
+     */
+    public static SpendingContext of(Portfolio portfolio, LocalDate startDate, int monthCount,
+                                     double annualInflation) {
+        MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+        MissingRequiredFieldException.requireNonNull(startDate, "startDate");
+        if (monthCount < 1) {
+            throw new ValidationException("Month count must be at least 1", "monthCount");
+        }
+        return new SpendingContext(portfolio, startDate.withDayOfMonth(1), monthCount, annualInflation);
+    }
+
+    /**
+     * Returns the portfolio the path draws on.
+     *
+     * @return the portfolio
+     */
+    public Portfolio getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * Returns the first month of the run, as the first day of that month.
+     *
+     * @return the start date
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Returns the number of months in the run.
+     *
+     * @return the month count
+     */
+    public int getMonthCount() {
+        return monthCount;
+    }
+
+    /**
+     * Returns the general inflation rate applied to spending each year.
+     *
+     * @return the annual inflation as a decimal
+     */
+    public double getAnnualInflation() {
+        return annualInflation;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SpendingContext{" +
+            "portfolioId='" + portfolio.getId() + '\'' +
+            ", startDate=" + startDate +
+            ", monthCount=" + monthCount +
+            ", annualInflation=" + annualInflation +
+            '}';
+    }
+}
@@ -0,0 +1,497 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+
+/**
+ * Age-based spending curve: the "go-go, slow-go, no-go" pattern in which
+ * spending eases off as the retiree ages.
+ *
+ * <p>Each {@link Phase} scales the withdrawal of a wrapped
+ * {@link SpendingStrategy} by a multiplier over a range of the portfolio
+ * owner's ages; ages outside every phase use a multiplier of 1. Phase changes
+ * can be smoothed with a centered moving average over
+ * {@code smoothingMonths} months.
+ *
+ * <p>The multiplier for a month depends only on the owner's age, so the
+ * curve is compiled into a {@code double[]} over the run's horizon when the
+ * path is created. Every path of a run, and every copy of a path, shares
+ * that table, and the monthly loop reads one element of it.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * SpendingCurveStrategy curve = SpendingCurveStrategy.builder()
+ *     .spendingStrategy(StaticWithdrawalStrategy.of(WithdrawalStrategy.percentage(0.045)))
+ *     .addPhase(Phase.of(75, 85, 0.85))   // slow-go
+ *     .addPhase(Phase.from(85, 0.70))     // no-go
+ *     .smoothingMonths(24)
+ *     .build();
+ * }</pre>
+ */
+public final class SpendingCurveStrategy implements SpendingStrategy {
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int SLOW_GO_AGE = 75;
+    private static final int NO_GO_AGE = 85;
+    private static final double SLOW_GO_MULTIPLIER = 0.85;
+    private static final double NO_GO_MULTIPLIER = 0.75;
+
+    private final SpendingStrategy spendingStrategy;
+    private final List<Phase> phases;
+    private final int smoothingMonths;
+
+    private SpendingCurveStrategy(Builder builder) {
+        List<Phase> sorted = new ArrayList<>(builder.phases);
+        sorted.sort(Comparator.comparingInt(Phase::getFromAge));
+        this.spendingStrategy = builder.spendingStrategy;
+        this.phases = List.copyOf(sorted);
+        this.smoothingMonths = builder.smoothingMonths;
+    }
+
+    /**
+     * Creates the conventional curve around a spending strategy: full
+     * spending until 75, 85% from 75 to 85, and 75% after that.
+     *
+     * @param spendingStrategy the strategy whose withdrawals are scaled
+     * @return a new SpendingCurveStrategy
+     * @throws MissingRequiredFieldException if spendingStrategy is null
+     */
+    public static SpendingCurveStrategy standard(SpendingStrategy spendingStrategy) {
+        return builder()
+            .spendingStrategy(spendingStrategy)
+            .addPhase(Phase.of(SLOW_GO_AGE, NO_GO_AGE, SLOW_GO_MULTIPLIER))
+            .addPhase(Phase.from(NO_GO_AGE, NO_GO_MULTIPLIER))
+            .build();
+    }
+
+    /**
+     * Returns the strategy whose withdrawals are scaled.
+     *
+     * @return the wrapped spending strategy
+     */
+    public SpendingStrategy getSpendingStrategy() {
+        return spendingStrategy;
+    }
+
+    /**
+     * Returns the phases, ordered by starting age.
+     *
+     * @return an unmodifiable list of phases
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Returns the width of the window over which phase changes are blended.
+     *
+     * @return the smoothing window in months, or 0 for step changes
+     */
+    public int getSmoothingMonths() {
+        return smoothingMonths;
+    }
+
+    /**
+     * Compiles the curve into one multiplier per month of a run.
+     *
+     * @param context the run's portfolio and horizon; the portfolio owner's
+     *        date of birth gives the age in each month
+     * @return a new array of {@link SpendingContext#getMonthCount()} multipliers
+     * @throws MissingRequiredFieldException if context is null
+     */
+    public double[] compileMultipliers(SpendingContext context) {
+        MissingRequiredFieldException.requireNonNull(context, "context");
+        LocalDate birthMonth = context.getPortfolio().getOwner().getDateOfBirth().withDayOfMonth(1);
+        long ageAtStart = ChronoUnit.MONTHS.between(birthMonth, context.getStartDate());
+        double[] steps = new double[context.getMonthCount()];
+        for (int month = 0; month < steps.length; month++) {
+            steps[month] = multiplierAtAge(ageAtStart + month);
+        }
+        return smoothingMonths > 1 ? smooth(steps, smoothingMonths) : steps;
+    }
+
+    @Override
+    public SpendingPath newPath(SpendingContext context) {
+        return new Path(spendingStrategy.newPath(context), compileMultipliers(context));
+    }
+
+    /**
+     * Returns a hash of the wrapped strategy, the phases, and the smoothing
+     * window.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("SpendingCurveStrategy")
+            .put(spendingStrategy)
+            .putAll(phases)
+            .putInt(smoothingMonths)
+            .hash();
+    }
+
+    /**
+     * Creates a new builder for SpendingCurveStrategy.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder initialized with values from this strategy.
+     *
+     * @return a new builder with copied values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .spendingStrategy(spendingStrategy)
+            .phases(phases)
+            .smoothingMonths(smoothingMonths);
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SpendingCurveStrategy that = (SpendingCurveStrategy) o;
+        return smoothingMonths == that.smoothingMonths
+            && spendingStrategy.equals(that.spendingStrategy)
+            && phases.equals(that.phases);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(spendingStrategy, phases, smoothingMonths);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "SpendingCurveStrategy{" +
+            "spendingStrategy=" + spendingStrategy +
+            ", phases=" + phases +
+            ", smoothingMonths=" + smoothingMonths +
+            '}';
+    }
+
+    private double multiplierAtAge(long ageInMonths) {
+        for (Phase phase : phases) {
+            if (phase.contains(ageInMonths)) {
+                return phase.multiplier;
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Centered moving average with a running sum; windows are truncated at
+     * the ends of the horizon.
+     */
+    private static double[] smooth(double[] steps, int window) {
+        int before = window / 2;
+        int after = window - 1 - before;
+        double[] smoothed = new double[steps.length];
+        double sum = 0.0;
+        int lo = 0;
+        int hi = -1;
+        for (int month = 0; month < steps.length; month++) {
+            int wantHi = Math.min(steps.length - 1, month + after);
+            while (hi < wantHi) {
+                sum += steps[++hi];
+            }
+            int wantLo = Math.max(0, month - before);
+            while (lo < wantLo) {
+                sum -= steps[lo++];
+            }
+            smoothed[month] = sum / (hi - lo + 1);
+        }
+        return smoothed;
+    }
+
+    /**
+     * A range of ages with a spending multiplier.
+     *
+     * <p>This is an immutable value object.
+     */
+    public static final class Phase implements ContentHashable {
+        private final int fromAge;
+        private final int toAge;
+        private final double multiplier;
+
+        private Phase(int fromAge, int toAge, double multiplier) {
+            this.fromAge = fromAge;
+            this.toAge = toAge;
+            this.multiplier = multiplier;
+        }
+
+        /**
+         * Creates a phase over a range of ages.
+         *
+         * @param fromAge the first age in the phase
+         * @param toAge the age at which the phase ends, exclusive
+         * @param multiplier the spending multiplier
+         * @return a new Phase
+         * @throws ValidationException if the ages are not an ascending range
+         *         of non-negative ages, or the multiplier is negative
+         */
+        public static Phase of(int fromAge, int toAge, double multiplier) {
+            if (fromAge < 0 || toAge <= fromAge) {
+                throw new ValidationException("Phase ages must be an ascending range from 0 or later", "fromAge");
+            }
+            if (multiplier < 0 || Double.isNaN(multiplier)) {
+                throw new ValidationException("Phase multiplier cannot be negative", "multiplier");
+            }
+            return new Phase(fromAge, toAge, multiplier);
+        }
+
+        /**
+         * Creates a phase that lasts from an age to the end of the run.
+         *
+         * @param fromAge the first age in the phase
+         * @param multiplier the spending multiplier
+         * @return a new Phase
+         * @throws ValidationException if fromAge or the multiplier is negative
+         */
+        public static Phase from(int fromAge, double multiplier) {
+            return of(fromAge, Integer.MAX_VALUE, multiplier);
+        }
+
+        /**
+         * Returns the first age in the phase.
+         *
+         * @return the starting age
+         */
+        public int getFromAge() {
+            return fromAge;
+        }
+
+        /**
+         * Returns the age at which the phase ends.
+         *
+         * @return the ending age, exclusive, or {@link Integer#MAX_VALUE} if open-ended
+         */
+        public int getToAge() {
+            return toAge;
+        }
+
+        /**
+         * Returns the spending multiplier.
+         *
+         * @return the multiplier
+         */
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        boolean contains(long ageInMonths) {
+            return ageInMonths >= (long) fromAge * MONTHS_PER_YEAR && ageInMonths < (long) toAge * MONTHS_PER_YEAR;
+        }
+
+        @Override
+        public ContentHash contentHash() {
+            return ContentHasher.create()
+                .putTag("SpendingCurvePhase")
+                .putInt(fromAge)
+                .putInt(toAge)
+                .putLong(Double.doubleToLongBits(multiplier))
+                .hash();
+        }
+
+        @Generated
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Phase that = (Phase) o;
+            return fromAge == that.fromAge
+                && toAge == that.toAge
+                && Double.compare(multiplier, that.multiplier) == 0;
+        }
+
+        @Generated
+        @Override
+        public int hashCode() {
+            return Objects.hash(fromAge, toAge, multiplier);
+        }
+
+        @Generated
+        @Override
+        public String toString() {
+            return "Phase{" +
+                "fromAge=" + fromAge +
+                ", toAge=" + toAge +
+                ", multiplier=" + multiplier +
+                '}';
+        }
+    }
+
+    /**
+     * Per-path state: the wrapped path plus a cursor into the shared
+     * multiplier table.
+     */
+    private static final class Path implements SpendingPath {
+        private final SpendingPath spending;
+        private final double[] multipliers;
+        private int month;
+
+        Path(SpendingPath spending, double[] multipliers) {
+            this.spending = spending;
+            this.multipliers = multipliers;
+        }
+
+        @Override
+        public void attach(AccountBalances accounts) {
+            spending.attach(accounts);
+        }
+
+        @Override
+        public void start(int startMonth, double balance) {
+            this.month = startMonth;
+            spending.start(startMonth, balance);
+        }
+
+        @Override
+        public double nextWithdrawal(double balance) {
+            double multiplier = multipliers[Math.min(month, multipliers.length - 1)];
+            month++;
+            return spending.nextWithdrawal(balance) * multiplier;
+        }
+
+        @Override
+        public double withdraw(double amount, AccountBalances accounts) {
+            return spending.withdraw(amount, accounts);
+        }
+
+        @Override
+        public void closeYear(double balance) {
+            spending.closeYear(balance);
+        }
+
+        @Override
+        public void closeYear(double balance, double inflationGrowth) {
+            spending.closeYear(balance, inflationGrowth);
+        }
+
+        @Override
+        public SpendingPath copy() {
+            Path copy = new Path(spending.copy(), multipliers);
+            copy.month = month;
+            return copy;
+        }
+    }
+
+    /**
+     * Builder for creating SpendingCurveStrategy instances.
+     */
+    public static final class Builder {
+        private static final double DEFAULT_WITHDRAWAL_RATE = 0.04;
+
+        private SpendingStrategy spendingStrategy =
+            StaticWithdrawalStrategy.of(WithdrawalStrategy.percentage(DEFAULT_WITHDRAWAL_RATE));
+        private final List<Phase> phases = new ArrayList<>();
+        private int smoothingMonths;
+
+        /**
+         * Sets the strategy whose withdrawals are scaled.
+         * Default is a 4% {@link StaticWithdrawalStrategy}.
+         *
+         * @param spendingStrategy the spending strategy
+         * @return this builder
+         */
+        public Builder spendingStrategy(SpendingStrategy spendingStrategy) {
+            this.spendingStrategy = spendingStrategy;
+            return this;
+        }
+
+        /**
+         * Adds a phase.
+         *
+         * @param phase the phase
+         * @return this builder
+         * @throws MissingRequiredFieldException if phase is null
+         */
+        public Builder addPhase(Phase phase) {
+            phases.add(MissingRequiredFieldException.requireNonNull(phase, "phase"));
+            return this;
+        }
+
+        /**
+         * Replaces the phases.
+         *
+         * @param phases the phases
+         * @return this builder
+         * @throws MissingRequiredFieldException if phases or any phase is null
+         */
+        public Builder phases(List<Phase> phases) {
+            MissingRequiredFieldException.requireNonNull(phases, "phases");
+            this.phases.clear();
+            phases.forEach(this::addPhase);
+            return this;
+        }
+
+        /**
+         * Sets the width of the window over which phase changes are blended.
+         * Default is 0, for step changes.
+         *
+         * @param months the smoothing window in months
+         * @return this builder
+         */
+        public Builder smoothingMonths(int months) {
+            this.smoothingMonths = months;
+            return this;
+        }
+
+        /**
+         * Builds the SpendingCurveStrategy.
+         *
+         * @return a new SpendingCurveStrategy
+         * @throws MissingRequiredFieldException if spendingStrategy is null
+         * @throws ValidationException if there are no phases, phases overlap,
+         *         or smoothingMonths is negative
+         */
+        public SpendingCurveStrategy build() {
+            MissingRequiredFieldException.requireNonNull(spendingStrategy, "spendingStrategy");
+            if (phases.isEmpty()) {
+                throw new ValidationException("A spending curve needs at least one phase", "phases");
+            }
+            if (smoothingMonths < 0) {
+                throw new ValidationException("Smoothing months cannot be negative", "smoothingMonths");
+            }
+            List<Phase> sorted = new ArrayList<>(phases);
+            sorted.sort(Comparator.comparingInt(Phase::getFromAge));
+            for (int i = 1; i < sorted.size(); i++) {
+                if (sorted.get(i).getFromAge() < sorted.get(i - 1).getToAge()) {
+                    throw new ValidationException("Spending curve phases cannot overlap", "phases");
+                }
+            }
+            return new SpendingCurveStrategy(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+/**
+ * Mutable withdrawal state of one simulated path.
+ *
+ * <p>The engine calls {@link #attach(AccountBalances)} and then
+ * {@link #start(int, double)} in the first month of retirement,
+ * {@link #nextWithdrawal(double)} and {@link #withdraw(double, AccountBalances)}
+ * once in every retired month, in order, and {@link #closeYear(double)} at
+ * every year end after that, or {@link #closeYear(double, double)} when the
+ * path has its own stochastic inflation. Calling {@code start} again reinitializes the
+ * state, so one instance serves every path of a run. Balances are passed in
+ * as primitives; implementations must not allocate in these methods.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public interface SpendingPath {
+
+    /**
+     * Binds this path to the accounts it draws on. Called before
+     * {@link #start(int, double)}, and again when a started path resumes on the
+     * accounts of a fork.
+     *
+     * <p>The default does nothing.
+     *
+     * @param accounts the path's accounts
+     */
+    default void attach(AccountBalances accounts) {
+        // no account-level state by default
+    }
+
+    /**
+     * Starts the distribution phase.
+     *
+     * @param month the month index, counted from the
+     *        {@link SpendingContext#getStartDate() start of the run}
+     * @param balance the total balance at retirement
+     */
+    void start(int month, double balance);
+
+    /**
+     * Returns the gross withdrawal for the current month.
+     *
+     * @param balance the total balance before the withdrawal
+     * @return the amount to withdraw
+     */
+    double nextWithdrawal(double balance);
+
+    /**
+     * Takes a month's withdrawal from the accounts.
+     *
+     * <p>The default {@link AccountBalances#distribute(double) distributes}
+     * it according to the run's distribution strategy.
+     *
+     * @param amount the amount returned by {@link #nextWithdrawal(double)}
+     * @param accounts the path's accounts
+     * @return the amount actually withdrawn
+     */
+    default double withdraw(double amount, AccountBalances accounts) {
+        return accounts.distribute(amount);
+    }
+
+    /**
+     * Applies the year-end adjustments, such as inflation.
+     *
+     * @param balance the total balance at the end of the year
+     */
+    void closeYear(double balance);
+
+    /**
+     * Applies the year-end adjustments with the inflation the path realized
+     * over the year, in place of the context's constant
+     * {@link SpendingContext#getAnnualInflation() annual inflation}.
+     *
+     * <p>The default ignores the realized inflation and calls
+     * {@link #closeYear(double)}.
+     *
+     * @param balance the total balance at the end of the year
+     * @param inflationGrowth the year's inflation growth factor, such as 1.03
+     */
+    default void closeYear(double balance, double inflationGrowth) {
+        closeYear(balance);
+    }
+
+    /**
+     * Copies this state, for checkpoints.
+     *
+     * @return an independent copy
+     */
+    SpendingPath copy();
+}
@@ -0,0 +1,29 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+
+/**
+ * Decides how much a retiree withdraws each month.
+ *
+ * <p>A strategy is an immutable configuration. The engine asks it for one
+ * {@link SpendingPath} per run and reuses that path for every simulated
+ * path, so the per-month work happens on primitive fields with no
+ * allocation.
+ *
+ * @see SpendingPath
+ */
+@SuppressWarnings("PMD.ImplicitFunctionalInterface")
+public interface SpendingStrategy extends ContentHashable {
+
+    /**
+     * Creates the mutable per-path state of this strategy.
+     *
+     * <p>Anything that depends on the portfolio's accounts or on dates, such
+     * as which account belongs to which bucket, is resolved here, once per
+     * run.
+     *
+     * @param context the portfolio, horizon, and inflation of the run
+     * @return a new, unstarted spending path
+     */
+    SpendingPath newPath(SpendingContext context);
+}
@@ -0,0 +1,139 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import java.util.Objects;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.WithdrawalType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+
+/**
+ * Withdraws a constant real amount: the 4% rule and its fixed-amount variant.
+ *
+ * <p>For a {@link WithdrawalType#PERCENTAGE percentage} strategy the first
+ * monthly withdrawal is the rate times the balance at retirement, divided by
+ * twelve; for a {@link WithdrawalType#FIXED fixed} strategy it is the
+ * configured monthly amount. Either way it grows with inflation at each year
+ * end and ignores later market moves.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class StaticWithdrawalStrategy implements SpendingStrategy {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final WithdrawalStrategy withdrawalStrategy;
+
+    private StaticWithdrawalStrategy(WithdrawalStrategy withdrawalStrategy) {
+        this.withdrawalStrategy = withdrawalStrategy;
+    }
+
+    /**
+     * Creates a static strategy from a withdrawal configuration.
+     *
+     * @param withdrawalStrategy the percentage or fixed withdrawal
+     * @return a new StaticWithdrawalStrategy
+     * @throws MissingRequiredFieldException if withdrawalStrategy is null
+     */
+    public static StaticWithdrawalStrategy of(WithdrawalStrategy withdrawalStrategy) {
+        return new StaticWithdrawalStrategy(
+            MissingRequiredFieldException.requireNonNull(withdrawalStrategy, "withdrawalStrategy"));
+    }
+
+    /**
+     * Returns the withdrawal configuration.
+     *
+     * @return the withdrawal strategy
+     */
+    public WithdrawalStrategy getWithdrawalStrategy() {
+        return withdrawalStrategy;
+    }
+
+    @Override
+    public SpendingPath newPath(SpendingContext context) {
+        return new Path(withdrawalStrategy.getWithdrawalType() == WithdrawalType.PERCENTAGE,
+            withdrawalStrategy.getWithdrawalRate().doubleValue(), 1.0 + context.getAnnualInflation());
+    }
+
+    /**
+     * Returns the content hash of the withdrawal configuration.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        return ContentHasher.create()
+            .putTag("StaticWithdrawalStrategy")
+            .put(withdrawalStrategy)
+            .hash();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StaticWithdrawalStrategy that = (StaticWithdrawalStrategy) o;
+        return withdrawalStrategy.equals(that.withdrawalStrategy);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(withdrawalStrategy);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "StaticWithdrawalStrategy{" +
+            "withdrawalStrategy=" + withdrawalStrategy +
+            '}';
+    }
+
+    private static final class Path implements SpendingPath {
+        private final boolean percentage;
+        private final double rate;
+        private final double growth;
+        private double withdrawal;
+
+        Path(boolean percentage, double rate, double growth) {
+            this.percentage = percentage;
+            this.rate = rate;
+            this.growth = growth;
+        }
+
+        @Override
+        public void start(int month, double balance) {
+            withdrawal = percentage ? balance * rate / MONTHS_PER_YEAR : rate;
+        }
+
+        @Override
+        public double nextWithdrawal(double balance) {
+            return withdrawal;
+        }
+
+        @Override
+        public void closeYear(double balance) {
+            withdrawal *= growth;
+        }
+
+        @Override
+        public void closeYear(double balance, double inflationGrowth) {
+            withdrawal *= inflationGrowth;
+        }
+
+        @Override
+        public SpendingPath copy() {
+            Path copy = new Path(percentage, rate, growth);
+            copy.withdrawal = withdrawal;
+            return copy;
+        }
+    }
+}
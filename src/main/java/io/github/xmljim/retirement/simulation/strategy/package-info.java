@@ -2,7 +2,12 @@
  * Distribution strategy implementations.
  *
  * <p>Contains the Strategy pattern implementations for different
- * retirement withdrawal approaches.
+ * retirement withdrawal approaches. Each {@code SpendingStrategy} is an
+ * immutable configuration that hands the engine a mutable
+ * {@code SpendingPath}, reused across the paths of a run, whose monthly
+ * evaluation works on primitive fields only. Anything that depends on the
+ * accounts or on dates is resolved from the {@code SpendingContext} when the
+ * path is created.
  *
  * <h2>Strategies</h2>
  * <ul>
@@ -11,5 +16,9 @@
  *   <li>{@code SpendingCurveStrategy} - Age-based spending adjustments</li>
  *   <li>{@code GuardrailsStrategy} - Dynamic withdrawal with guardrails</li>
  * </ul>
+ *
+ * <p>Which accounts a withdrawal comes from is decided by a
+ * {@code DistributionPlan}, compiled once per run from the scenario's
+ * {@code DistributionStrategy}.
  */
 package io.github.xmljim.retirement.simulation.strategy;
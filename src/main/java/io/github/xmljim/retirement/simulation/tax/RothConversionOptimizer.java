@@ -0,0 +1,342 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import java.util.stream.IntStream;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.DistributionStrategy;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Chooses how much to convert from pre-tax accounts to Roth in each year of
+ * a {@link RothConversionProblem}, the planning side of
+ * {@link DistributionStrategy#ROTH_CONVERSION_OPTIMIZER}.
+ *
+ * <p>The optimizer runs dynamic programming over (year, pre-tax balance). The
+ * balance is discretized onto an evenly spaced grid from 0 to the largest
+ * balance reachable with no conversions, and each year's action is a
+ * conversion of a whole number of grid steps. Working backward from the
+ * terminal tax on the remaining balance, each year's layer of states is
+ * solved from the next year's, interpolating linearly between grid points
+ * where growth moves a balance off the grid. States within a layer are
+ * independent, so a layer can be evaluated in parallel.
+ *
+ * <p>Conversion taxes are memoized: for each year the tax on a conversion of
+ * each grid multiple is computed once, as the extra tax over the year's other
+ * income, and shared by every state in the layer. A final forward pass
+ * starts from the exact starting balance rather than the nearest grid point,
+ * and the resulting schedule is scored with {@link #evaluate}.
+ *
+ * <p>Instances are immutable and can be shared across threads.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * RothConversionProblem problem = RothConversionProblem.builder()
+ *     .portfolio(portfolio)
+ *     .years(10)
+ *     .annualReturn(0.05)
+ *     .otherIncome(40_000)
+ *     .brackets(TaxBrackets.federal2025(FilingStatus.MARRIED_FILING_JOINTLY))
+ *     .terminalTaxRate(0.24)
+ *     .build();
+ * RothConversionPlan plan = RothConversionOptimizer.builder().build().optimize(problem);
+ * }</pre>
+ */
+public final class RothConversionOptimizer {
+
+    /**
+     * What the optimizer minimizes or maximizes.
+     */
+    public enum Objective {
+        /**
+         * Minimize conversion taxes plus the terminal tax on the remaining
+         * pre-tax balance, in nominal dollars.
+         */
+        MINIMIZE_LIFETIME_TAX,
+
+        /**
+         * Maximize after-tax wealth at the end of the horizon, counting each
+         * year's conversion tax at what it would have grown to by then.
+         */
+        MAXIMIZE_AFTER_TAX_WEALTH
+    }
+
+    private final Objective objective;
+    private final int gridPoints;
+    private final boolean parallel;
+
+    private RothConversionOptimizer(Builder builder) {
+        this.objective = builder.objective;
+        this.gridPoints = builder.gridPoints;
+        this.parallel = builder.parallel;
+    }
+
+    /**
+     * Returns the objective.
+     *
+     * @return the objective
+     */
+    public Objective getObjective() {
+        return objective;
+    }
+
+    /**
+     * Returns the number of points in the pre-tax balance grid.
+     *
+     * @return the grid size
+     */
+    public int getGridPoints() {
+        return gridPoints;
+    }
+
+    /**
+     * Returns whether each year's layer of states is evaluated in parallel.
+     *
+     * @return true if layers are evaluated in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Finds the conversion schedule that best meets the objective.
+     *
+     * @param problem the conversion problem
+     * @return the optimized plan
+     * @throws MissingRequiredFieldException if problem is null
+     */
+    public RothConversionPlan optimize(RothConversionProblem problem) {
+        MissingRequiredFieldException.requireNonNull(problem, "problem");
+        int years = problem.getYears();
+        double growth = 1.0 + problem.getAnnualReturn();
+        double start = problem.getPreTaxBalance();
+        double top = Math.max(start, start * Math.pow(growth, years));
+        if (top <= 0) {
+            return evaluate(problem, new double[years]);
+        }
+        double step = top / (gridPoints - 1);
+
+        double[][] values = new double[years + 1][gridPoints];
+        for (int i = 0; i < gridPoints; i++) {
+            values[years][i] = i * step * problem.getTerminalTaxRate();
+        }
+        double[][] taxCosts = new double[years][];
+        for (int y = years - 1; y >= 0; y--) {
+            double[] costs = conversionCosts(problem, y, step, growth);
+            double[] next = values[y + 1];
+            double[] layer = values[y];
+            taxCosts[y] = costs;
+            IntStream states = IntStream.range(0, gridPoints);
+            (parallel ? states.parallel() : states).forEach(i -> {
+                double best = Double.POSITIVE_INFINITY;
+                int maxSteps = Math.min(i, costs.length - 1);
+                for (int k = 0; k <= maxSteps; k++) {
+                    double value = costs[k] + interpolate(next, (i - k) * growth);
+                    if (value < best) {
+                        best = value;
+                    }
+                }
+                layer[i] = best;
+            });
+        }
+
+        double[] conversions = new double[years];
+        double balance = start;
+        for (int y = 0; y < years; y++) {
+            double[] costs = taxCosts[y];
+            int maxSteps = Math.min((int) Math.floor(balance / step), costs.length - 1);
+            double best = Double.POSITIVE_INFINITY;
+            double chosen = 0.0;
+            for (int k = 0; k <= maxSteps; k++) {
+                double value = costs[k] + interpolate(values[y + 1], (balance - k * step) * growth / step);
+                if (value < best) {
+                    best = value;
+                    chosen = k * step;
+                }
+            }
+            double all = Math.min(balance, problem.getMaxAnnualConversion());
+            double allValue = weight(problem, y, growth) * conversionTax(problem, y, all)
+                + interpolate(values[y + 1], (balance - all) * growth / step);
+            if (allValue < best) {
+                chosen = all;
+            }
+            conversions[y] = chosen;
+            balance = (balance - chosen) * growth;
+        }
+        return evaluate(problem, conversions);
+    }
+
+    /**
+     * Scores a conversion schedule. Each year converts the requested amount,
+     * or the whole pre-tax balance if that is smaller.
+     *
+     * @param problem the conversion problem
+     * @param conversions the amount to convert in each year of the horizon
+     * @return the plan for that schedule
+     * @throws MissingRequiredFieldException if problem or conversions is null
+     * @throws ValidationException if conversions does not cover the horizon
+     */
+    public RothConversionPlan evaluate(RothConversionProblem problem, double[] conversions) {
+        MissingRequiredFieldException.requireNonNull(problem, "problem");
+        MissingRequiredFieldException.requireNonNull(conversions, "conversions");
+        int years = problem.getYears();
+        if (conversions.length < years) {
+            throw new ValidationException("Conversions must cover every year of the horizon", "conversions");
+        }
+        double growth = 1.0 + problem.getAnnualReturn();
+        double[] converted = new double[years];
+        double[] taxes = new double[years];
+        double[] balances = new double[years];
+        double preTax = problem.getPreTaxBalance();
+        double roth = problem.getRothBalance();
+        double taxTotal = 0.0;
+        double taxGrown = 0.0;
+        for (int y = 0; y < years; y++) {
+            balances[y] = preTax;
+            double amount = Math.min(Math.max(conversions[y], 0.0), preTax);
+            converted[y] = amount;
+            taxes[y] = conversionTax(problem, y, amount);
+            taxTotal += taxes[y];
+            taxGrown += taxes[y] * Math.pow(growth, years - y);
+            preTax = (preTax - amount) * growth;
+            roth = (roth + amount) * growth;
+        }
+        double terminalTax = preTax * problem.getTerminalTaxRate();
+        return new RothConversionPlan(converted, taxes, balances, preTax, roth,
+            taxTotal + terminalTax, roth + preTax - terminalTax - taxGrown);
+    }
+
+    /**
+     * Returns the weighted extra tax of converting each whole number of grid
+     * steps in a year, up to the annual cap or the top of the grid.
+     */
+    private double[] conversionCosts(RothConversionProblem problem, int year, double step, double growth) {
+        int maxSteps = gridPoints - 1;
+        if (problem.getMaxAnnualConversion() < maxSteps * step) {
+            maxSteps = (int) Math.floor(problem.getMaxAnnualConversion() / step);
+        }
+        TaxBrackets brackets = problem.bracketsFor(year);
+        double income = problem.getOtherIncome(year);
+        double base = brackets.tax(income);
+        double weight = weight(problem, year, growth);
+        double[] costs = new double[maxSteps + 1];
+        for (int k = 1; k <= maxSteps; k++) {
+            costs[k] = weight * (brackets.tax(income + k * step) - base);
+        }
+        return costs;
+    }
+
+    /**
+     * Returns what a dollar of tax paid in a year is worth at the end of the
+     * horizon. A conversion happens at the start of its year, so the tax paid
+     * on it forgoes that year's growth too.
+     */
+    private double weight(RothConversionProblem problem, int year, double growth) {
+        return objective == Objective.MAXIMIZE_AFTER_TAX_WEALTH
+            ? Math.pow(growth, problem.getYears() - year)
+            : 1.0;
+    }
+
+    private static double conversionTax(RothConversionProblem problem, int year, double amount) {
+        if (amount <= 0) {
+            return 0.0;
+        }
+        TaxBrackets brackets = problem.bracketsFor(year);
+        double income = problem.getOtherIncome(year);
+        return brackets.tax(income + amount) - brackets.tax(income);
+    }
+
+    /**
+     * Interpolates a layer at a fractional grid position, extending the last
+     * segment linearly past the top of the grid.
+     */
+    private static double interpolate(double[] layer, double position) {
+        int last = layer.length - 1;
+        if (position >= last) {
+            return layer[last] + (position - last) * (layer[last] - layer[last - 1]);
+        }
+        int lower = (int) position;
+        double fraction = position - lower;
+        return layer[lower] + fraction * (layer[lower + 1] - layer[lower]);
+    }
+
+    /**
+     * Creates a new builder for RothConversionOptimizer.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "RothConversionOptimizer{" +
+            "objective=" + objective +
+            ", gridPoints=" + gridPoints +
+            ", parallel=" + parallel +
+            '}';
+    }
+
+    /**
+     * Builder for creating RothConversionOptimizer instances.
+     */
+    public static final class Builder {
+        private static final int DEFAULT_GRID_POINTS = 401;
+
+        private Objective objective = Objective.MINIMIZE_LIFETIME_TAX;
+        private int gridPoints = DEFAULT_GRID_POINTS;
+        private boolean parallel = true;
+
+        /**
+         * Sets the objective. Default is {@link Objective#MINIMIZE_LIFETIME_TAX}.
+         *
+         * @param objective the objective
+         * @return this builder
+         */
+        public Builder objective(Objective objective) {
+            this.objective = objective;
+            return this;
+        }
+
+        /**
+         * Sets the number of points in the pre-tax balance grid. More points
+         * give finer conversion amounts at quadratic cost. Default is 401.
+         *
+         * @param points the grid size
+         * @return this builder
+         */
+        public Builder gridPoints(int points) {
+            this.gridPoints = points;
+            return this;
+        }
+
+        /**
+         * Sets whether each year's layer of states is evaluated in parallel.
+         * Default is true.
+         *
+         * @param parallel true to evaluate layers in parallel
+         * @return this builder
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Builds the RothConversionOptimizer.
+         *
+         * @return a new RothConversionOptimizer
+         * @throws MissingRequiredFieldException if objective is null
+         * @throws ValidationException if the grid has fewer than 2 points
+         */
+        public RothConversionOptimizer build() {
+            MissingRequiredFieldException.requireNonNull(objective, "objective");
+            if (gridPoints < 2) {
+                throw new ValidationException("Grid must have at least 2 points", "gridPoints");
+            }
+            return new RothConversionOptimizer(this);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+
+/**
+ * A Roth conversion schedule and its outcome, produced by
+ * {@link RothConversionOptimizer}.
+ *
+ * <p>Per-year values are indexed from 0 for the first year of the
+ * {@link RothConversionProblem}. Terminal values are at the end of the last
+ * year, after that year's growth.
+ *
+ * <p>This is an immutable value object.
+ */
+public final class RothConversionPlan {
+
+    private final double[] conversions;
+    private final double[] conversionTaxes;
+    private final double[] preTaxBalances;
+    private final double terminalPreTaxBalance;
+    private final double terminalRothBalance;
+    private final double lifetimeTax;
+    private final double afterTaxWealth;
+
+    RothConversionPlan(double[] conversions, double[] conversionTaxes, double[] preTaxBalances,
+                       double terminalPreTaxBalance, double terminalRothBalance,
+                       double lifetimeTax, double afterTaxWealth) {
+        this.conversions = conversions;
+        this.conversionTaxes = conversionTaxes;
+        this.preTaxBalances = preTaxBalances;
+        this.terminalPreTaxBalance = terminalPreTaxBalance;
+        this.terminalRothBalance = terminalRothBalance;
+        this.lifetimeTax = lifetimeTax;
+        this.afterTaxWealth = afterTaxWealth;
+    }
+
+    /**
+     * Returns the amount converted in each year.
+     *
+     * @return a copy of the conversions
+     */
+    public double[] getConversions() {
+        return conversions.clone();
+    }
+
+    /**
+     * Returns the extra tax caused by each year's conversion.
+     *
+     * @return a copy of the conversion taxes
+     */
+    public double[] getConversionTaxes() {
+        return conversionTaxes.clone();
+    }
+
+    /**
+     * Returns the pre-tax balance at the start of each year, before that
+     * year's conversion.
+     *
+     * @return a copy of the pre-tax balances
+     */
+    public double[] getPreTaxBalances() {
+        return preTaxBalances.clone();
+    }
+
+    /**
+     * Returns the total amount converted.
+     *
+     * @return the sum of the conversions
+     */
+    public double getTotalConverted() {
+        return Arrays.stream(conversions).sum();
+    }
+
+    /**
+     * Returns the pre-tax balance left at the end of the horizon.
+     *
+     * @return the terminal pre-tax balance
+     */
+    public double getTerminalPreTaxBalance() {
+        return terminalPreTaxBalance;
+    }
+
+    /**
+     * Returns the Roth balance at the end of the horizon.
+     *
+     * @return the terminal Roth balance
+     */
+    public double getTerminalRothBalance() {
+        return terminalRothBalance;
+    }
+
+    /**
+     * Returns the conversion taxes plus the terminal tax on the remaining
+     * pre-tax balance, in nominal dollars.
+     *
+     * @return the lifetime tax
+     */
+    public double getLifetimeTax() {
+        return lifetimeTax;
+    }
+
+    /**
+     * Returns the terminal balances net of the terminal tax and of what the
+     * conversion taxes would have grown to.
+     *
+     * @return the after-tax wealth
+     */
+    public double getAfterTaxWealth() {
+        return afterTaxWealth;
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "RothConversionPlan{" +
+            "conversions=" + Arrays.toString(conversions) +
+            ", lifetimeTax=" + lifetimeTax +
+            ", afterTaxWealth=" + afterTaxWealth +
+            ", terminalPreTaxBalance=" + terminalPreTaxBalance +
+            ", terminalRothBalance=" + terminalRothBalance +
+            '}';
+    }
+}
@@ -0,0 +1,355 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+
+/**
+ * The inputs to a Roth conversion plan: pre-tax and Roth balances, the
+ * planning horizon, the return both balances earn, the taxpayer's other
+ * ordinary income in each year, and the brackets it is taxed under.
+ *
+ * <p>Conversions happen at the start of each year and the tax on them is
+ * paid from outside the converted accounts. Whatever is left in pre-tax
+ * accounts at the end of the horizon is taxed at the terminal rate, the
+ * rate the retiree or heirs are expected to pay when it is eventually
+ * withdrawn.
+ *
+ * <p>This is an immutable value object. Use the {@link Builder} to create instances.
+ *
+ * @see RothConversionOptimizer
+ */
+public final class RothConversionProblem {
+
+    private final double preTaxBalance;
+    private final double rothBalance;
+    private final int years;
+    private final double annualReturn;
+    private final double[] otherIncome;
+    private final TaxBrackets brackets;
+    private final double bracketGrowth;
+    private final double terminalTaxRate;
+    private final double maxAnnualConversion;
+
+    private RothConversionProblem(Builder builder, double[] otherIncome) {
+        this.preTaxBalance = builder.preTaxBalance;
+        this.rothBalance = builder.rothBalance;
+        this.years = builder.years;
+        this.annualReturn = builder.annualReturn;
+        this.otherIncome = otherIncome;
+        this.brackets = builder.brackets;
+        this.bracketGrowth = builder.bracketGrowth;
+        this.terminalTaxRate = builder.terminalTaxRate;
+        this.maxAnnualConversion = builder.maxAnnualConversion;
+    }
+
+    /**
+     * Returns the starting pre-tax balance.
+     *
+     * @return the pre-tax balance
+     */
+    public double getPreTaxBalance() {
+        return preTaxBalance;
+    }
+
+    /**
+     * Returns the starting Roth balance.
+     *
+     * @return the Roth balance
+     */
+    public double getRothBalance() {
+        return rothBalance;
+    }
+
+    /**
+     * Returns the number of years in which conversions can happen.
+     *
+     * @return the horizon in years
+     */
+    public int getYears() {
+        return years;
+    }
+
+    /**
+     * Returns the annual return earned by both balances.
+     *
+     * @return the annual return as a decimal
+     */
+    public double getAnnualReturn() {
+        return annualReturn;
+    }
+
+    /**
+     * Returns the other ordinary income in a year.
+     *
+     * @param year the year index, from 0
+     * @return the income taxed before any conversion
+     */
+    public double getOtherIncome(int year) {
+        return otherIncome[year];
+    }
+
+    /**
+     * Returns the brackets for the first year.
+     *
+     * @return the tax brackets
+     */
+    public TaxBrackets getBrackets() {
+        return brackets;
+    }
+
+    /**
+     * Returns the annual growth of the bracket thresholds.
+     *
+     * @return the bracket growth as a decimal
+     */
+    public double getBracketGrowth() {
+        return bracketGrowth;
+    }
+
+    /**
+     * Returns the rate at which the pre-tax balance left at the end of the
+     * horizon is taxed.
+     *
+     * @return the terminal tax rate as a decimal
+     */
+    public double getTerminalTaxRate() {
+        return terminalTaxRate;
+    }
+
+    /**
+     * Returns the largest conversion allowed in one year.
+     *
+     * @return the cap, or {@link Double#POSITIVE_INFINITY} for none
+     */
+    public double getMaxAnnualConversion() {
+        return maxAnnualConversion;
+    }
+
+    /**
+     * Returns the brackets for a year, with thresholds grown by the bracket
+     * growth rate.
+     *
+     * @param year the year index, from 0
+     * @return the tax brackets for that year
+     */
+    public TaxBrackets bracketsFor(int year) {
+        return bracketGrowth == 0 ? brackets : brackets.scaled(Math.pow(1.0 + bracketGrowth, year));
+    }
+
+    /**
+     * Creates a new builder for RothConversionProblem.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "RothConversionProblem{" +
+            "preTaxBalance=" + preTaxBalance +
+            ", rothBalance=" + rothBalance +
+            ", years=" + years +
+            ", annualReturn=" + annualReturn +
+            ", otherIncome=" + Arrays.toString(otherIncome) +
+            ", brackets=" + brackets +
+            ", bracketGrowth=" + bracketGrowth +
+            ", terminalTaxRate=" + terminalTaxRate +
+            ", maxAnnualConversion=" + maxAnnualConversion +
+            '}';
+    }
+
+    /**
+     * Builder for creating RothConversionProblem instances.
+     */
+    public static final class Builder {
+        private static final double DEFAULT_TERMINAL_TAX_RATE = 0.22;
+
+        private double preTaxBalance;
+        private double rothBalance;
+        private int years;
+        private double annualReturn;
+        private double constantOtherIncome;
+        private double[] otherIncome;
+        private TaxBrackets brackets;
+        private double bracketGrowth;
+        private double terminalTaxRate = DEFAULT_TERMINAL_TAX_RATE;
+        private double maxAnnualConversion = Double.POSITIVE_INFINITY;
+
+        /**
+         * Sets the pre-tax and Roth balances from a portfolio's
+         * {@link AccountType.TaxTreatment#PRE_TAX pre-tax} and
+         * {@link AccountType.TaxTreatment#ROTH Roth} accounts.
+         *
+         * @param portfolio the portfolio
+         * @return this builder
+         * @throws MissingRequiredFieldException if portfolio is null
+         */
+        public Builder portfolio(Portfolio portfolio) {
+            MissingRequiredFieldException.requireNonNull(portfolio, "portfolio");
+            this.preTaxBalance = portfolio.getBalanceByTaxTreatment(AccountType.TaxTreatment.PRE_TAX).doubleValue();
+            this.rothBalance = portfolio.getBalanceByTaxTreatment(AccountType.TaxTreatment.ROTH).doubleValue();
+            return this;
+        }
+
+        /**
+         * Sets the starting pre-tax balance.
+         *
+         * @param balance the pre-tax balance
+         * @return this builder
+         */
+        public Builder preTaxBalance(double balance) {
+            this.preTaxBalance = balance;
+            return this;
+        }
+
+        /**
+         * Sets the starting Roth balance.
+         *
+         * @param balance the Roth balance
+         * @return this builder
+         */
+        public Builder rothBalance(double balance) {
+            this.rothBalance = balance;
+            return this;
+        }
+
+        /**
+         * Sets the number of years in which conversions can happen.
+         *
+         * @param years the horizon in years
+         * @return this builder
+         */
+        public Builder years(int years) {
+            this.years = years;
+            return this;
+        }
+
+        /**
+         * Sets the annual return earned by both balances. Default is 0.
+         *
+         * @param rate the annual return as a decimal
+         * @return this builder
+         */
+        public Builder annualReturn(double rate) {
+            this.annualReturn = rate;
+            return this;
+        }
+
+        /**
+         * Sets the same other ordinary income for every year. Default is 0.
+         *
+         * @param income the annual income
+         * @return this builder
+         */
+        public Builder otherIncome(double income) {
+            this.constantOtherIncome = income;
+            this.otherIncome = null;
+            return this;
+        }
+
+        /**
+         * Sets the other ordinary income year by year.
+         *
+         * @param incomeByYear the income for each year of the horizon
+         * @return this builder
+         * @throws MissingRequiredFieldException if incomeByYear is null
+         */
+        public Builder otherIncome(double[] incomeByYear) {
+            this.otherIncome = MissingRequiredFieldException.requireNonNull(incomeByYear, "otherIncome").clone();
+            return this;
+        }
+
+        /**
+         * Sets the brackets for the first year.
+         *
+         * @param brackets the tax brackets
+         * @return this builder
+         */
+        public Builder brackets(TaxBrackets brackets) {
+            this.brackets = brackets;
+            return this;
+        }
+
+        /**
+         * Sets the annual growth of the bracket thresholds. Default is 0.
+         *
+         * @param rate the growth as a decimal
+         * @return this builder
+         */
+        public Builder bracketGrowth(double rate) {
+            this.bracketGrowth = rate;
+            return this;
+        }
+
+        /**
+         * Sets the rate at which the remaining pre-tax balance is taxed at
+         * the end of the horizon. Default is 22%.
+         *
+         * @param rate the terminal tax rate as a decimal
+         * @return this builder
+         */
+        public Builder terminalTaxRate(double rate) {
+            this.terminalTaxRate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the largest conversion allowed in one year. Default is no cap.
+         *
+         * @param amount the cap
+         * @return this builder
+         */
+        public Builder maxAnnualConversion(double amount) {
+            this.maxAnnualConversion = amount;
+            return this;
+        }
+
+        /**
+         * Builds the RothConversionProblem.
+         *
+         * @return a new RothConversionProblem
+         * @throws MissingRequiredFieldException if brackets is null
+         * @throws ValidationException if a balance, income, or rate is out of
+         *         range, or the yearly income does not cover the horizon
+         */
+        public RothConversionProblem build() {
+            MissingRequiredFieldException.requireNonNull(brackets, "brackets");
+            if (years < 1) {
+                throw new ValidationException("Years must be at least 1", "years");
+            }
+            if (!(preTaxBalance >= 0) || !(rothBalance >= 0)) {
+                throw new ValidationException("Balances cannot be negative", "preTaxBalance");
+            }
+            if (!(annualReturn > -1) || !(bracketGrowth > -1)) {
+                throw new ValidationException("Growth rates must be greater than -100%", "annualReturn");
+            }
+            if (!(terminalTaxRate >= 0 && terminalTaxRate <= 1)) {
+                throw new ValidationException("Terminal tax rate must be between 0 and 1", "terminalTaxRate");
+            }
+            if (!(maxAnnualConversion >= 0)) {
+                throw new ValidationException("Maximum annual conversion cannot be negative", "maxAnnualConversion");
+            }
+            double[] income = otherIncome;
+            if (income == null) {
+                income = new double[years];
+                Arrays.fill(income, constantOtherIncome);
+            } else if (income.length < years) {
+                throw new ValidationException("Other income must cover every year of the horizon", "otherIncome");
+            }
+            for (double value : income) {
+                if (!(value >= 0)) {
+                    throw new ValidationException("Other income cannot be negative", "otherIncome");
+                }
+            }
+            return new RothConversionProblem(this, income);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+
+/**
+ * Running taxable income for the current year of one simulated path.
+ *
+ * <p>The monthly loop adds each month's income as it happens: three additions
+ * to primitive fields, with no history kept. At year end
+ * {@link #closeYear(int)} evaluates the year's tax against a compiled
+ * {@link TaxTable} and starts the next year from zero, so the year-end cost
+ * is a few bracket lookups rather than a pass over the year's transactions.
+ *
+ * <p>Instances are mutable and not thread-safe; each path owns its own.
+ */
+public final class TaxAccumulator {
+
+    private final TaxTable table;
+    private double ordinaryIncome;
+    private double capitalGains;
+    private double socialSecurity;
+
+    private TaxAccumulator(TaxTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Creates an accumulator that evaluates taxes against a table.
+     *
+     * @param table the compiled tax table
+     * @return a new TaxAccumulator with no income
+     * @throws MissingRequiredFieldException if table is null
+     */
+    public static TaxAccumulator of(TaxTable table) {
+        return new TaxAccumulator(MissingRequiredFieldException.requireNonNull(table, "table"));
+    }
+
+    /**
+     * Returns the table taxes are evaluated against.
+     *
+     * @return the tax table
+     */
+    public TaxTable getTable() {
+        return table;
+    }
+
+    /**
+     * Adds ordinary income, such as wages or a pre-tax withdrawal.
+     *
+     * @param amount the income
+     */
+    public void addOrdinaryIncome(double amount) {
+        ordinaryIncome += amount;
+    }
+
+    /**
+     * Adds a realized long-term capital gain.
+     *
+     * @param amount the gain
+     */
+    public void addCapitalGains(double amount) {
+        capitalGains += amount;
+    }
+
+    /**
+     * Adds Social Security benefits received.
+     *
+     * @param amount the benefits
+     */
+    public void addSocialSecurity(double amount) {
+        socialSecurity += amount;
+    }
+
+    /**
+     * Returns the ordinary income so far this year.
+     *
+     * @return the ordinary income
+     */
+    public double getOrdinaryIncome() {
+        return ordinaryIncome;
+    }
+
+    /**
+     * Returns the capital gains so far this year.
+     *
+     * @return the capital gains
+     */
+    public double getCapitalGains() {
+        return capitalGains;
+    }
+
+    /**
+     * Returns the Social Security benefits so far this year.
+     *
+     * @return the benefits
+     */
+    public double getSocialSecurity() {
+        return socialSecurity;
+    }
+
+    /**
+     * Returns the tax on the income so far this year.
+     *
+     * @param year the year index in the tax table
+     * @return the tax owed
+     */
+    public double currentTax(int year) {
+        return table.tax(year, ordinaryIncome, capitalGains, socialSecurity);
+    }
+
+    /**
+     * Returns the year's tax and starts the next year with no income.
+     *
+     * @param year the year index in the tax table
+     * @return the tax owed for the year
+     */
+    public double closeYear(int year) {
+        double tax = currentTax(year);
+        reset();
+        return tax;
+    }
+
+    /**
+     * Sets the year-to-date income, such as when resuming from a checkpoint.
+     *
+     * @param ordinary the ordinary income
+     * @param gains the capital gains
+     * @param benefits the Social Security benefits
+     */
+    public void restore(double ordinary, double gains, double benefits) {
+        this.ordinaryIncome = ordinary;
+        this.capitalGains = gains;
+        this.socialSecurity = benefits;
+    }
+
+    /**
+     * Clears the year-to-date income.
+     */
+    public void reset() {
+        restore(0.0, 0.0, 0.0);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "TaxAccumulator{" +
+            "ordinaryIncome=" + ordinaryIncome +
+            ", capitalGains=" + capitalGains +
+            ", socialSecurity=" + socialSecurity +
+            '}';
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import java.util.Arrays;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.domain.value.ContentHashable;
+import io.github.xmljim.retirement.domain.value.ContentHasher;
+
+/**
+ * Progressive ordinary income tax brackets and a standard deduction, held as
+ * sorted primitive arrays.
+ *
+ * <p>Each bracket starts at a taxable-income threshold and taxes the income
+ * above it, up to the next threshold, at its rate. The first threshold is
+ * always 0. Tax is computed on gross ordinary income less the standard
+ * deduction.
+ *
+ * <p>This is an immutable value object.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TaxBrackets brackets = TaxBrackets.federal2025(FilingStatus.SINGLE);
+ * double tax = brackets.tax(85_000);
+ * double rate = brackets.marginalRate(85_000);
+ * }</pre>
+ */
+public final class TaxBrackets implements ContentHashable {
+
+    private static final double[] FEDERAL_2025_RATES = {0.10, 0.12, 0.22, 0.24, 0.32, 0.35, 0.37};
+    private static final double[] CAPITAL_GAINS_RATES = {0.0, 0.15, 0.20};
+
+    private final double[] thresholds;
+    private final double[] rates;
+    private final double standardDeduction;
+
+    /** Tax owed on all income below each threshold. */
+    private final double[] taxBelow;
+
+    private TaxBrackets(double[] thresholds, double[] rates, double standardDeduction) {
+        this.thresholds = thresholds;
+        this.rates = rates;
+        this.standardDeduction = standardDeduction;
+        this.taxBelow = new double[thresholds.length];
+        for (int i = 1; i < thresholds.length; i++) {
+            taxBelow[i] = taxBelow[i - 1] + (thresholds[i] - thresholds[i - 1]) * rates[i - 1];
+        }
+    }
+
+    /**
+     * Creates brackets from thresholds and rates.
+     *
+     * @param thresholds the taxable income at which each bracket starts; the
+     *        first must be 0 and the rest strictly ascending
+     * @param rates the rate of each bracket, as decimals between 0 and 1
+     * @param standardDeduction the deduction subtracted from gross income
+     * @return new TaxBrackets
+     * @throws MissingRequiredFieldException if thresholds or rates is null
+     * @throws ValidationException if the arrays are empty, differ in length,
+     *         or hold invalid values, or the deduction is negative
+     */
+    public static TaxBrackets of(double[] thresholds, double[] rates, double standardDeduction) {
+        MissingRequiredFieldException.requireNonNull(thresholds, "thresholds");
+        MissingRequiredFieldException.requireNonNull(rates, "rates");
+        if (thresholds.length == 0 || thresholds.length != rates.length) {
+            throw new ValidationException("Thresholds and rates must be non-empty and the same length", "rates");
+        }
+        if (thresholds[0] != 0) {
+            throw new ValidationException("The first threshold must be 0", "thresholds");
+        }
+        for (int i = 0; i < rates.length; i++) {
+            if (i > 0 && !(thresholds[i] > thresholds[i - 1])) {
+                throw new ValidationException("Thresholds must be strictly ascending", "thresholds");
+            }
+            if (!(rates[i] >= 0 && rates[i] <= 1)) {
+                throw new ValidationException("Rates must be between 0 and 1", "rates");
+            }
+        }
+        if (!(standardDeduction >= 0)) {
+            throw new ValidationException("Standard deduction cannot be negative", "standardDeduction");
+        }
+        return new TaxBrackets(thresholds.clone(), rates.clone(), standardDeduction);
+    }
+
+    /**
+     * Returns the 2025 federal ordinary income brackets and standard
+     * deduction for a filing status.
+     *
+     * @param status the filing status
+     * @return the 2025 federal brackets
+     * @throws MissingRequiredFieldException if status is null
+     */
+    public static TaxBrackets federal2025(FilingStatus status) {
+        MissingRequiredFieldException.requireNonNull(status, "status");
+        return switch (status) {
+            case SINGLE -> new TaxBrackets(
+                new double[] {0, 11_925, 48_475, 103_350, 197_300, 250_525, 626_350},
+                FEDERAL_2025_RATES.clone(), 15_750);
+            case MARRIED_FILING_JOINTLY -> new TaxBrackets(
+                new double[] {0, 23_850, 96_950, 206_700, 394_600, 501_050, 751_600},
+                FEDERAL_2025_RATES.clone(), 31_500);
+            case HEAD_OF_HOUSEHOLD -> new TaxBrackets(
+                new double[] {0, 17_000, 64_850, 103_350, 197_300, 250_500, 626_350},
+                FEDERAL_2025_RATES.clone(), 23_625);
+        };
+    }
+
+    /**
+     * Returns the 2025 federal long-term capital gains brackets for a filing
+     * status. Thresholds are in taxable income, and there is no deduction:
+     * gains are taxed on top of ordinary taxable income.
+     *
+     * @param status the filing status
+     * @return the 2025 capital gains brackets
+     * @throws MissingRequiredFieldException if status is null
+     */
+    public static TaxBrackets federal2025CapitalGains(FilingStatus status) {
+        MissingRequiredFieldException.requireNonNull(status, "status");
+        return switch (status) {
+            case SINGLE -> new TaxBrackets(new double[] {0, 48_350, 533_400}, CAPITAL_GAINS_RATES.clone(), 0);
+            case MARRIED_FILING_JOINTLY ->
+                new TaxBrackets(new double[] {0, 96_700, 600_050}, CAPITAL_GAINS_RATES.clone(), 0);
+            case HEAD_OF_HOUSEHOLD ->
+                new TaxBrackets(new double[] {0, 64_750, 566_700}, CAPITAL_GAINS_RATES.clone(), 0);
+        };
+    }
+
+    /**
+     * Returns these brackets with every threshold and the standard deduction
+     * scaled by a factor, such as cumulative inflation.
+     *
+     * @param factor the scale factor
+     * @return new TaxBrackets
+     * @throws ValidationException if factor is not positive
+     */
+    public TaxBrackets scaled(double factor) {
+        if (!(factor > 0)) {
+            throw new ValidationException("Scale factor must be positive", "factor");
+        }
+        double[] scaled = new double[thresholds.length];
+        for (int i = 0; i < scaled.length; i++) {
+            scaled[i] = thresholds[i] * factor;
+        }
+        return new TaxBrackets(scaled, rates, standardDeduction * factor);
+    }
+
+    /**
+     * Returns the tax on gross ordinary income.
+     *
+     * @param grossIncome the income before the standard deduction
+     * @return the tax owed
+     */
+    public double tax(double grossIncome) {
+        double taxable = grossIncome - standardDeduction;
+        if (taxable <= 0) {
+            return 0.0;
+        }
+        int bracket = bracketOf(taxable);
+        return taxBelow[bracket] + (taxable - thresholds[bracket]) * rates[bracket];
+    }
+
+    /**
+     * Returns the rate applied to the next dollar of gross ordinary income.
+     *
+     * @param grossIncome the income before the standard deduction
+     * @return the marginal rate, or 0 below the standard deduction
+     */
+    public double marginalRate(double grossIncome) {
+        double taxable = grossIncome - standardDeduction;
+        return taxable < 0 ? 0.0 : rates[bracketOf(taxable)];
+    }
+
+    /**
+     * Returns the standard deduction.
+     *
+     * @return the standard deduction
+     */
+    public double getStandardDeduction() {
+        return standardDeduction;
+    }
+
+    /**
+     * Returns the bracket thresholds.
+     *
+     * @return a copy of the thresholds, ascending from 0
+     */
+    public double[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Returns the bracket rates.
+     *
+     * @return a copy of the rates, one per threshold
+     */
+    public double[] getRates() {
+        return rates.clone();
+    }
+
+    /**
+     * Returns a hash of the thresholds, rates, and standard deduction.
+     *
+     * @return the content hash
+     */
+    @Override
+    public ContentHash contentHash() {
+        ContentHasher hasher = ContentHasher.create()
+            .putTag("TaxBrackets")
+            .putInt(thresholds.length);
+        for (int i = 0; i < thresholds.length; i++) {
+            hasher.putLong(Double.doubleToLongBits(thresholds[i]))
+                .putLong(Double.doubleToLongBits(rates[i]));
+        }
+        return hasher.putLong(Double.doubleToLongBits(standardDeduction)).hash();
+    }
+
+    private int bracketOf(double taxable) {
+        int index = Arrays.binarySearch(thresholds, taxable);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TaxBrackets that = (TaxBrackets) o;
+        return Double.compare(standardDeduction, that.standardDeduction) == 0
+            && Arrays.equals(thresholds, that.thresholds)
+            && Arrays.equals(rates, that.rates);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(thresholds) + Arrays.hashCode(rates)) + Double.hashCode(standardDeduction);
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "TaxBrackets{" +
+            "thresholds=" + Arrays.toString(thresholds) +
+            ", rates=" + Arrays.toString(rates) +
+            ", standardDeduction=" + standardDeduction +
+            '}';
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import io.github.xmljim.retirement.domain.annotation.Generated;
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+/**
+ * Federal income tax rules for one filing status, compiled for every year of
+ * a run.
+ *
+ * <p>The 2025 ordinary and long-term capital gains brackets are scaled by a
+ * table of cumulative inflation factors, one per year, into per-year
+ * {@link TaxBrackets}. Each holds its thresholds as a sorted primitive array
+ * with the tax below each threshold precomputed, so evaluating a year's tax
+ * is a binary search per bracket set.
+ *
+ * <p>Social Security benefits are taxed on provisional income (other income
+ * plus half the benefits): none below the first threshold, up to 50% of
+ * benefits between the thresholds, and up to 85% above the second. These
+ * thresholds are fixed by statute and are not inflated.
+ *
+ * <p>Years past the end of the table use its last year. This is an immutable
+ * value object and may be shared across threads.
+ *
+ * @see TaxAccumulator
+ */
+public final class TaxTable {
+
+    private static final double LOWER_SS_RATE = 0.50;
+    private static final double UPPER_SS_RATE = 0.85;
+
+    private final FilingStatus filingStatus;
+    private final TaxBrackets[] ordinary;
+    private final TaxBrackets[] capitalGains;
+    private final double[] socialSecurityThresholds;
+
+    private TaxTable(FilingStatus filingStatus, TaxBrackets[] ordinary, TaxBrackets[] capitalGains,
+                     double[] socialSecurityThresholds) {
+        this.filingStatus = filingStatus;
+        this.ordinary = ordinary;
+        this.capitalGains = capitalGains;
+        this.socialSecurityThresholds = socialSecurityThresholds;
+    }
+
+    /**
+     * Compiles the 2025 federal rules for a filing status, inflating the
+     * brackets at a constant annual rate.
+     *
+     * @param status the filing status
+     * @param annualInflation the annual growth of the bracket thresholds
+     * @param yearCount the number of years to compile
+     * @return a new TaxTable
+     * @throws MissingRequiredFieldException if status is null
+     * @throws ValidationException if yearCount is less than 1 or inflation is not above -100%
+     */
+    public static TaxTable compile(FilingStatus status, double annualInflation, int yearCount) {
+        if (yearCount < 1) {
+            throw new ValidationException("Year count must be at least 1", "yearCount");
+        }
+        if (!(annualInflation > -1)) {
+            throw new ValidationException("Inflation must be greater than -100%", "annualInflation");
+        }
+        double[] factors = new double[yearCount];
+        factors[0] = 1.0;
+        for (int y = 1; y < yearCount; y++) {
+            factors[y] = factors[y - 1] * (1.0 + annualInflation);
+        }
+        return compile(status, factors);
+    }
+
+    /**
+     * Compiles the 2025 federal rules for a filing status, scaling the
+     * brackets for each year by its cumulative inflation factor.
+     *
+     * @param status the filing status
+     * @param inflationFactors the factor for each year, relative to 2025 thresholds
+     * @return a new TaxTable
+     * @throws MissingRequiredFieldException if status or inflationFactors is null
+     * @throws ValidationException if there are no factors or a factor is not positive
+     */
+    public static TaxTable compile(FilingStatus status, double[] inflationFactors) {
+        MissingRequiredFieldException.requireNonNull(status, "status");
+        MissingRequiredFieldException.requireNonNull(inflationFactors, "inflationFactors");
+        if (inflationFactors.length == 0) {
+            throw new ValidationException("At least one inflation factor is required", "inflationFactors");
+        }
+        TaxBrackets baseOrdinary = TaxBrackets.federal2025(status);
+        TaxBrackets baseGains = TaxBrackets.federal2025CapitalGains(status);
+        TaxBrackets[] ordinary = new TaxBrackets[inflationFactors.length];
+        TaxBrackets[] gains = new TaxBrackets[inflationFactors.length];
+        for (int y = 0; y < inflationFactors.length; y++) {
+            ordinary[y] = baseOrdinary.scaled(inflationFactors[y]);
+            gains[y] = baseGains.scaled(inflationFactors[y]);
+        }
+        double[] socialSecurity = status == FilingStatus.MARRIED_FILING_JOINTLY
+            ? new double[] {32_000, 44_000}
+            : new double[] {25_000, 34_000};
+        return new TaxTable(status, ordinary, gains, socialSecurity);
+    }
+
+    /**
+     * Returns the filing status.
+     *
+     * @return the filing status
+     */
+    public FilingStatus getFilingStatus() {
+        return filingStatus;
+    }
+
+    /**
+     * Returns the number of compiled years.
+     *
+     * @return the year count
+     */
+    public int getYearCount() {
+        return ordinary.length;
+    }
+
+    /**
+     * Returns the ordinary income brackets for a year.
+     *
+     * @param year the year index, from 0
+     * @return the ordinary brackets
+     */
+    public TaxBrackets getOrdinaryBrackets(int year) {
+        return ordinary[clamp(year)];
+    }
+
+    /**
+     * Returns the long-term capital gains brackets for a year.
+     *
+     * @param year the year index, from 0
+     * @return the capital gains brackets
+     */
+    public TaxBrackets getCapitalGainsBrackets(int year) {
+        return capitalGains[clamp(year)];
+    }
+
+    /**
+     * Returns the portion of Social Security benefits that is taxable.
+     *
+     * @param otherIncome ordinary income and capital gains, excluding benefits
+     * @param benefits the Social Security benefits received
+     * @return the taxable benefits, at most 85% of benefits
+     */
+    public double taxableSocialSecurity(double otherIncome, double benefits) {
+        if (benefits <= 0) {
+            return 0.0;
+        }
+        double provisional = otherIncome + LOWER_SS_RATE * benefits;
+        double lower = socialSecurityThresholds[0];
+        double upper = socialSecurityThresholds[1];
+        if (provisional <= lower) {
+            return 0.0;
+        }
+        if (provisional <= upper) {
+            return Math.min(LOWER_SS_RATE * benefits, LOWER_SS_RATE * (provisional - lower));
+        }
+        double lowerTier = Math.min(LOWER_SS_RATE * benefits, LOWER_SS_RATE * (upper - lower));
+        return Math.min(UPPER_SS_RATE * benefits, UPPER_SS_RATE * (provisional - upper) + lowerTier);
+    }
+
+    /**
+     * Returns a year's federal income tax.
+     *
+     * <p>Ordinary income and the taxable part of Social Security are taxed
+     * through the ordinary brackets after the standard deduction. Any
+     * deduction they leave unused shelters capital gains, and the remaining
+     * gains are taxed through the capital gains brackets on top of ordinary
+     * taxable income.
+     *
+     * @param year the year index, from 0
+     * @param ordinaryIncome wages, pre-tax withdrawals, and other ordinary income
+     * @param capitalGains realized long-term capital gains
+     * @param socialSecurity Social Security benefits received
+     * @return the tax owed
+     */
+    public double tax(int year, double ordinaryIncome, double capitalGains, double socialSecurity) {
+        int index = clamp(year);
+        TaxBrackets brackets = ordinary[index];
+        double gross = ordinaryIncome + taxableSocialSecurity(ordinaryIncome + capitalGains, socialSecurity);
+        double tax = brackets.tax(gross);
+        if (capitalGains > 0) {
+            double ordinaryTaxable = Math.max(0.0, gross - brackets.getStandardDeduction());
+            double totalTaxable = Math.max(0.0, gross + capitalGains - brackets.getStandardDeduction());
+            TaxBrackets gains = this.capitalGains[index];
+            tax += gains.tax(totalTaxable) - gains.tax(ordinaryTaxable);
+        }
+        return tax;
+    }
+
+    private int clamp(int year) {
+        return Math.max(0, Math.min(year, ordinary.length - 1));
+    }
+
+    @Generated
+    @Override
+    public String toString() {
+        return "TaxTable{" +
+            "filingStatus=" + filingStatus +
+            ", years=" + ordinary.length +
+            '}';
+    }
+}
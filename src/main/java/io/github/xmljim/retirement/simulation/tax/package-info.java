@@ -0,0 +1,18 @@
+/**
+ * Income tax modeling.
+ *
+ * <p>Contains tax brackets held as sorted primitive arrays, the per-year
+ * tables the simulation engine evaluates annual tax against, and planning
+ * tools built on them.
+ *
+ * <h2>Key Classes</h2>
+ * <ul>
+ *   <li>{@code TaxBrackets} - Progressive ordinary income brackets and standard deduction</li>
+ *   <li>{@code TaxTable} - Per-year ordinary, capital gains, and Social Security rules for a run</li>
+ *   <li>{@code TaxAccumulator} - Year-to-date taxable income of one simulated path</li>
+ *   <li>{@code RothConversionOptimizer} - Dynamic-programming Roth conversion scheduling</li>
+ *   <li>{@code RothConversionProblem} - Balances, income, and horizon of a conversion plan</li>
+ *   <li>{@code RothConversionPlan} - An optimized conversion schedule and its outcome</li>
+ * </ul>
+ */
+package io.github.xmljim.retirement.simulation.tax;
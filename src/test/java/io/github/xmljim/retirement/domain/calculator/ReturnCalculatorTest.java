@@ -1,11 +1,13 @@
 package io.github.xmljim.retirement.domain.calculator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +15,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import io.github.xmljim.retirement.domain.calculator.impl.DefaultReturnCalculator;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Scenario;
 import io.github.xmljim.retirement.domain.value.AssetAllocation;
 
 @DisplayName("ReturnCalculator Tests")
@@ -112,6 +116,83 @@ class ReturnCalculatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("calculateBlendedReturn with Scenario")
+    class ScenarioBlendedReturnTests {
+
+        private final PersonProfile person = PersonProfile.builder()
+            .name("Test")
+            .dateOfBirth(LocalDate.of(1970, 1, 1))
+            .retirementDate(LocalDate.of(2035, 1, 1))
+            .lifeExpectancy(90)
+            .build();
+
+        private Scenario.Builder scenario() {
+            return Scenario.builder().name("Test").primaryPerson(person);
+        }
+
+        @Test
+        @DisplayName("Should blend the scenario default returns")
+        void usesScenarioDefaults() {
+            Scenario scenario = scenario()
+                .defaultStockReturn(new BigDecimal("0.08"))
+                .defaultBondReturn(new BigDecimal("0.04"))
+                .defaultCashReturn(new BigDecimal("0.02"))
+                .build();
+
+            BigDecimal result = calculator.calculateBlendedReturn(AssetAllocation.of(60, 30, 10), scenario);
+
+            // 0.60 * 0.08 + 0.30 * 0.04 + 0.10 * 0.02 = 0.062
+            assertEquals(0, new BigDecimal("0.062").compareTo(result));
+        }
+
+        @Test
+        @DisplayName("Should reuse the cached blend for equal allocations and returns")
+        void reusesCachedBlend() {
+            Scenario first = scenario().defaultStockReturn(new BigDecimal("0.070")).build();
+            Scenario second = scenario().defaultStockReturn(new BigDecimal("0.07")).build();
+
+            BigDecimal a = calculator.calculateBlendedReturn(AssetAllocation.of(70, 20, 10), first);
+            BigDecimal b = calculator.calculateBlendedReturn(AssetAllocation.of(70, 20, 10), second);
+
+            assertSame(a, b);
+        }
+
+        @Test
+        @DisplayName("Should distinguish scenarios with different returns")
+        void distinguishesDifferentReturns() {
+            AssetAllocation allocation = AssetAllocation.allStocks();
+
+            BigDecimal low = calculator.calculateBlendedReturn(allocation,
+                scenario().defaultStockReturn(new BigDecimal("0.05")).build());
+            BigDecimal high = calculator.calculateBlendedReturn(allocation,
+                scenario().defaultStockReturn(new BigDecimal("0.09")).build());
+
+            assertEquals(0, new BigDecimal("0.05").compareTo(low));
+            assertEquals(0, new BigDecimal("0.09").compareTo(high));
+        }
+
+        @Test
+        @DisplayName("Should stay correct after the cache fills up")
+        void staysCorrectPastCapacity() {
+            AssetAllocation allocation = AssetAllocation.allStocks();
+
+            for (int basisPoints = 0; basisPoints < 600; basisPoints++) {
+                BigDecimal stockReturn = BigDecimal.valueOf(basisPoints, 4);
+                BigDecimal result = calculator.calculateBlendedReturn(allocation,
+                    scenario().defaultStockReturn(stockReturn).build());
+                assertEquals(0, stockReturn.compareTo(result));
+            }
+        }
+
+        @Test
+        @DisplayName("Should throw for null scenario")
+        void nullScenario() {
+            assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateBlendedReturn(AssetAllocation.balanced(), (Scenario) null));
+        }
+    }
+
     @Nested
     @DisplayName("calculateAccountGrowth")
     class AccountGrowthTests {
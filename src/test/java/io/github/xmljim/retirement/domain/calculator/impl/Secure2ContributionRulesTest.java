@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -360,4 +363,96 @@ class Secure2ContributionRulesTest {
             assertEquals(0, BigDecimal.ZERO.compareTo(match));
         }
     }
+
+    @Nested
+    @DisplayName("Memoized Limit Table")
+    class LimitTableTests {
+
+        @Test
+        @DisplayName("Repeated lookups return the same limits")
+        void repeatedLookupsAreStable() {
+            BigDecimal first = rules.calculateAnnualContributionLimit(2025, 61, AccountType.TRADITIONAL_401K);
+            BigDecimal second = rules.calculateAnnualContributionLimit(2025, 61, AccountType.TRADITIONAL_401K);
+            assertEquals(0, new BigDecimal("34750").compareTo(first));
+            assertEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Years and ages outside the table are computed directly")
+        void outOfRangeLookupsAreComputed() {
+            assertEquals(0, new BigDecimal("30500").compareTo(
+                rules.calculateAnnualContributionLimit(1990, 55, null)));
+            assertEquals(0, new BigDecimal("31000").compareTo(
+                rules.calculateAnnualContributionLimit(2025, 130, null)));
+            assertEquals(0, BigDecimal.ZERO.compareTo(rules.calculateCatchUpLimit(2025, -1, null)));
+            assertTrue(rules.calculateAnnualContributionLimit(2200, 45, null)
+                .compareTo(new BigDecimal("24000")) > 0);
+        }
+
+        @Test
+        @DisplayName("Path lookups use the table for years the path does not affect")
+        void pathLookups() {
+            // configured and pre-run years ignore the path
+            assertEquals(0, new BigDecimal("34750").compareTo(
+                rules.calculateAnnualContributionLimit(2025, 61, null, 2025, y -> 2.0)));
+            assertEquals(rules.calculateAnnualContributionLimit(2027, 55, null),
+                rules.calculateAnnualContributionLimit(2027, 55, null, 2028, y -> 2.0));
+
+            // 2030 is run year 4 of a run starting in 2026: (24000 + 7500) * 1.10, each rounded to $500
+            assertEquals(0, new BigDecimal("35000").compareTo(
+                rules.calculateAnnualContributionLimit(2030, 55, null, 2026, y -> y == 4 ? 1.10 : 1.0)));
+            // the memoized default-rate projection is unchanged: 24000 and 7500 at 2% for four years
+            assertEquals(0, new BigDecimal("34000").compareTo(
+                rules.calculateAnnualContributionLimit(2030, 55, null)));
+        }
+
+        @Test
+        @DisplayName("Replacing limits rebuilds the table")
+        void rebuildsWhenLimitsReplaced() {
+            assertEquals(0, new BigDecimal("23500").compareTo(
+                rules.calculateAnnualContributionLimit(2025, 40, null)));
+
+            Map<Integer, IrsContributionLimits.YearLimits> updated = new HashMap<>(limits.getLimits());
+            updated.put(2025, new IrsContributionLimits.YearLimits(
+                new BigDecimal("25000"), new BigDecimal("8000"),
+                new BigDecimal("12000"), new BigDecimal("150000")));
+            limits.setLimits(updated);
+
+            assertEquals(0, new BigDecimal("25000").compareTo(
+                rules.calculateAnnualContributionLimit(2025, 40, null)));
+            assertEquals(0, new BigDecimal("37000").compareTo(
+                rules.calculateAnnualContributionLimit(2025, 61, null)));
+            assertFalse(rules.requiresRothCatchUp(2025, new BigDecimal("149000")));
+        }
+
+        @Test
+        @DisplayName("In-place edits take effect after markReconfigured")
+        void rebuildsAfterMarkReconfigured() {
+            assertEquals(0, new BigDecimal("24000").compareTo(
+                rules.calculateAnnualContributionLimit(2026, 40, null)));
+
+            limits.getLimits().put(2026, new IrsContributionLimits.YearLimits(
+                new BigDecimal("24500"), new BigDecimal("7500"),
+                new BigDecimal("11250"), new BigDecimal("145000")));
+            limits.markReconfigured();
+
+            assertEquals(0, new BigDecimal("24500").compareTo(
+                rules.calculateAnnualContributionLimit(2026, 40, null)));
+        }
+
+        @Test
+        @DisplayName("Concurrent lookups agree with sequential lookups")
+        void concurrentLookupsAgree() {
+            Secure2ContributionRules fresh = new Secure2ContributionRules(createTestLimits());
+            long mismatches = IntStream.range(0, 20_000).parallel()
+                .filter(i -> {
+                    int year = 2020 + i % 30;
+                    int age = 20 + i % 60;
+                    return rules.calculateAnnualContributionLimit(year, age, null)
+                        .compareTo(fresh.calculateAnnualContributionLimit(year, age, null)) != 0;
+                })
+                .count();
+            assertEquals(0, mismatches);
+        }
+    }
 }
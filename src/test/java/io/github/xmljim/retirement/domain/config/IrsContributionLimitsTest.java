@@ -1,7 +1,11 @@
 package io.github.xmljim.retirement.domain.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
@@ -16,6 +20,9 @@ import org.junit.jupiter.api.Test;
 import io.github.xmljim.retirement.domain.config.IrsContributionLimits.HsaLimits;
 import io.github.xmljim.retirement.domain.config.IrsContributionLimits.IraLimits;
 import io.github.xmljim.retirement.domain.config.IrsContributionLimits.YearLimits;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
 
 @DisplayName("IrsContributionLimits Tests")
 class IrsContributionLimitsTest {
@@ -121,6 +128,52 @@ class IrsContributionLimitsTest {
             assertEquals(0, new BigDecimal("155000").compareTo(result.rothCatchUpIncomeThreshold()));
         }
 
+        @Test
+        @DisplayName("Should extrapolate from the latest configured year along a price path")
+        void extrapolatesAlongPricePath() {
+            // the run starts in 2025, so 2026 is run year 1 and 2030 run year 5: 1.155 / 1.05 = 1.10
+            YearLimits result = limits.getLimitsForYear(2030, 2025, y -> y == 1 ? 1.05 : 1.155);
+
+            // Base limit: 24000 * 1.10 = 26,400 → rounds to $26,500
+            assertEquals(0, new BigDecimal("26500").compareTo(result.baseLimit()));
+            // Catch-up: 7500 * 1.10 = 8,250 → rounds half up to $8,500
+            assertEquals(0, new BigDecimal("8500").compareTo(result.catchUpLimit()));
+            // HSA individual: 4400 * 1.10 = 4,840 → rounds to $4,850
+            assertEquals(0, new BigDecimal("4850").compareTo(
+                limits.getHsaLimitsForYear(2030, 2025, y -> y == 1 ? 1.05 : 1.155).individualLimit()));
+            // Configured years ignore the path
+            assertEquals(0, new BigDecimal("23500").compareTo(
+                limits.getLimitsForYear(2025, 2025, y -> 2.0).baseLimit()));
+        }
+
+        @Test
+        @DisplayName("Should carry the latest configured year to a later run start at the default rate")
+        void extrapolatesToRunStart() {
+            // 2026 to 2028 at 2%, then 10% along the path: 1.0404 * 1.10 = 1.14444
+            YearLimits result = limits.getLimitsForYear(2030, 2028, y -> y == 2 ? 1.10 : 1.0);
+
+            // Base limit: 24000 * 1.14444 = 27,466.56 → rounds to $27,500
+            assertEquals(0, new BigDecimal("27500").compareTo(result.baseLimit()));
+            // Catch-up: 7500 * 1.14444 = 8,583.30 → rounds to $8,500
+            assertEquals(0, new BigDecimal("8500").compareTo(result.catchUpLimit()));
+            // Years before the run do not read the path
+            assertEquals(limits.getLimitsForYear(2027), limits.getLimitsForYear(2027, 2028, y -> {
+                throw new AssertionError("read run year " + y);
+            }));
+            assertTrue(limits.isProjectedYear(2027));
+            assertFalse(limits.isProjectedYear(2026));
+        }
+
+        @Test
+        @DisplayName("Should reject price levels that are not finite and positive")
+        void rejectsInvalidPriceLevels() {
+            assertThrows(ValidationException.class, () -> limits.getLimitsForYear(2030, 2028, y -> Double.NaN));
+            assertThrows(ValidationException.class,
+                () -> limits.getIraLimitsForYear(2030, 2028, y -> Double.POSITIVE_INFINITY));
+            assertThrows(ValidationException.class, () -> limits.getHsaLimitsForYear(2030, 2028, y -> 0.0));
+            assertThrows(MissingRequiredFieldException.class, () -> limits.getLimitsForYear(2030, 2028, null));
+        }
+
         @Test
         @DisplayName("Should return earliest year for past year not in config")
         void returnsEarliestYearForPastYear() {
@@ -271,4 +324,45 @@ class IrsContributionLimitsTest {
             assertEquals(0, new BigDecimal("0.03").compareTo(limits.getDefaultAnnualIncreaseRate()));
         }
     }
+
+    @Nested
+    @DisplayName("Content Hash")
+    class ContentHashTests {
+
+        @Test
+        @DisplayName("Should hash identical configurations equally")
+        void identicalConfigurationsHashEqually() {
+            IrsContributionLimits copy = new IrsContributionLimits();
+            copy.setLimits(new HashMap<>(limits.getLimits()));
+            copy.setIraLimits(new HashMap<>(limits.getIraLimits()));
+            copy.setHsaLimits(new HashMap<>(limits.getHsaLimits()));
+            copy.setDefaultAnnualIncreaseRate(limits.getDefaultAnnualIncreaseRate());
+
+            assertEquals(limits.contentHash(), copy.contentHash());
+            assertSame(limits.contentHash(), limits.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should rehash after reconfiguration")
+        void rehashesAfterReconfiguration() {
+            ContentHash before = limits.contentHash();
+
+            limits.setDefaultAnnualIncreaseRate(new BigDecimal("0.03"));
+
+            assertNotEquals(before, limits.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should pick up in-place edits after markReconfigured")
+        void picksUpInPlaceEdits() {
+            Map<Integer, YearLimits> yearLimits = new HashMap<>(limits.getLimits());
+            limits.setLimits(yearLimits);
+            ContentHash before = limits.contentHash();
+
+            yearLimits.remove(2024);
+            limits.markReconfigured();
+
+            assertNotEquals(before, limits.contentHash());
+        }
+    }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -239,6 +240,41 @@ class InvestmentAccountTest {
             BigDecimal expected = new BigDecimal("0.056");
             assertEquals(0, expected.compareTo(account.getPreRetirementReturnRate()));
         }
+
+        @Test
+        @DisplayName("Should resolve allocation-based returns once at build time")
+        void allocationBasedReturnIsCached() {
+            InvestmentAccount account = createDefaultAccount()
+                    .allocation(AssetAllocation.of(60, 30, 10))
+                    .useAllocationBasedReturn()
+                    .build();
+
+            assertSame(account.calculateAllocationBasedReturn(), account.getPreRetirementReturnRate());
+            assertSame(account.getPreRetirementReturnRate(), account.getPostRetirementReturnRate());
+        }
+
+        @Test
+        @DisplayName("Should prefer an explicit post-retirement rate over the allocation")
+        void allocationBasedWithExplicitPostRate() {
+            InvestmentAccount account = createDefaultAccount()
+                    .useAllocationBasedReturn()
+                    .postRetirementReturnRate(POST_RETIREMENT_RETURN)
+                    .build();
+
+            assertEquals(0, POST_RETIREMENT_RETURN.compareTo(account.getPostRetirementReturnRate()));
+        }
+
+        @Test
+        @DisplayName("Should expose monthly equivalents of the annual rates")
+        void monthlyReturnRates() {
+            InvestmentAccount account = createDefaultAccount()
+                    .preRetirementReturnRate(new BigDecimal("0.06"))
+                    .postRetirementReturnRate(new BigDecimal("0.048"))
+                    .build();
+
+            assertEquals(0, new BigDecimal("0.005").compareTo(account.getMonthlyPreRetirementReturnRate()));
+            assertEquals(0, new BigDecimal("0.004").compareTo(account.getMonthlyPostRetirementReturnRate()));
+        }
     }
 
     @Nested
@@ -139,6 +139,57 @@ class PortfolioTest {
             assertEquals(0, new BigDecimal("50000")
                     .compareTo(balances.get(AccountType.TaxTreatment.TAXABLE)));
         }
+
+        @Test
+        @DisplayName("Should sum accounts of the same type")
+        void balancesByTypeSumsSameType() {
+            InvestmentAccount second401k = account401k.toBuilder()
+                    .id("second-401k")
+                    .balance(new BigDecimal("25000"))
+                    .build();
+            Portfolio portfolio = createFullPortfolio().withAccount(second401k);
+            Map<AccountType, BigDecimal> balances = portfolio.getBalancesByType();
+
+            assertEquals(3, balances.size());
+            assertEquals(0, new BigDecimal("225000")
+                    .compareTo(balances.get(AccountType.TRADITIONAL_401K)));
+            assertEquals(0, new BigDecimal("375000").compareTo(portfolio.getTotalBalance()));
+        }
+
+        @Test
+        @DisplayName("Should return zero for types and treatments not held")
+        void absentKeysReturnZero() {
+            Portfolio portfolio = createFullPortfolio();
+
+            assertEquals(0, BigDecimal.ZERO.compareTo(portfolio.getBalanceByType(AccountType.HSA)));
+            assertEquals(0, BigDecimal.ZERO.compareTo(portfolio.getBalanceByType(null)));
+            assertEquals(0, BigDecimal.ZERO.compareTo(
+                    portfolio.getBalanceByTaxTreatment(AccountType.TaxTreatment.HSA)));
+            assertEquals(0, BigDecimal.ZERO.compareTo(portfolio.getBalanceByTaxTreatment(null)));
+            assertFalse(portfolio.getBalancesByType().containsKey(AccountType.HSA));
+        }
+
+        @Test
+        @DisplayName("Should expose unmodifiable balance maps")
+        void balanceMapsAreUnmodifiable() {
+            Portfolio portfolio = createFullPortfolio();
+
+            assertThrows(UnsupportedOperationException.class, () ->
+                    portfolio.getBalancesByType().put(AccountType.HSA, BigDecimal.ONE));
+            assertThrows(UnsupportedOperationException.class, () ->
+                    portfolio.getBalancesByTaxTreatment().clear());
+        }
+
+        @Test
+        @DisplayName("Should report zero aggregates for an empty portfolio")
+        void emptyPortfolioAggregates() {
+            Portfolio portfolio = Portfolio.builder().owner(owner).build();
+
+            assertEquals(0, BigDecimal.ZERO.compareTo(portfolio.getTotalBalance()));
+            assertTrue(portfolio.getBalancesByType().isEmpty());
+            assertEquals(AssetAllocation.of(0, 0, 100), portfolio.getOverallAllocation());
+            assertEquals(0, BigDecimal.ZERO.compareTo(portfolio.getBlendedPostRetirementReturnRate()));
+        }
     }
 
     @Nested
@@ -180,6 +231,16 @@ class PortfolioTest {
             assertFalse(portfolio.findAccountById("non-existent").isPresent());
         }
 
+        @Test
+        @DisplayName("Should not find accounts removed from the portfolio")
+        void findByIdAfterRemoval() {
+            Portfolio portfolio = createFullPortfolio().withoutAccount(rothIra.getId());
+
+            assertFalse(portfolio.findAccountById(rothIra.getId()).isPresent());
+            assertEquals(taxable, portfolio.findAccountById(taxable.getId()).orElseThrow());
+            assertFalse(portfolio.findAccountById(null).isPresent());
+        }
+
         @Test
         @DisplayName("Should filter accounts by type")
         void filterByType() {
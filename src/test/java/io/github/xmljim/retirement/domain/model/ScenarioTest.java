@@ -4,9 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,11 +16,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import io.github.xmljim.retirement.domain.enums.AccountType;
 import io.github.xmljim.retirement.domain.enums.DistributionStrategy;
 import io.github.xmljim.retirement.domain.enums.EndCondition;
 import io.github.xmljim.retirement.domain.enums.SimulationMode;
 import io.github.xmljim.retirement.domain.exception.InvalidDateRangeException;
 import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.value.AssetAllocation;
 import io.github.xmljim.retirement.domain.value.InflationAssumptions;
 
 @DisplayName("Scenario Tests")
@@ -254,6 +258,65 @@ class ScenarioTest {
         }
     }
 
+    @Nested
+    @DisplayName("Content Hash Tests")
+    class ContentHashTests {
+
+        @Test
+        @DisplayName("Should ignore ID and name")
+        void ignoresIdentity() {
+            Scenario original = createDefaultScenario().build();
+            Scenario renamed = original.toBuilder().id("other").name("Renamed").build();
+
+            assertEquals(original.contentHash(), renamed.contentHash());
+            assertSame(original.contentHash(), original.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should change when simulation inputs change")
+        void changesWithInputs() {
+            Scenario original = createDefaultScenario().build();
+
+            assertNotEquals(original.contentHash(),
+                original.toBuilder().startDate(original.getStartDate().plusMonths(1)).build().contentHash());
+            assertNotEquals(original.contentHash(),
+                original.toBuilder().defaultStockReturn(0.08).build().contentHash());
+            assertNotEquals(original.contentHash(),
+                original.toBuilder().secondaryPerson(secondaryPerson).build().contentHash());
+        }
+
+        @Test
+        @DisplayName("Should hash person content rather than identity")
+        void hashesPersonContent() {
+            PersonProfile copy = primaryPerson.toBuilder().id("copy").name("Someone Else").build();
+            PersonProfile older = primaryPerson.toBuilder().lifeExpectancy(95).build();
+
+            assertEquals(primaryPerson.contentHash(), copy.contentHash());
+            assertNotEquals(primaryPerson.contentHash(), older.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should hash accounts and portfolios by content")
+        void hashesPortfolios() {
+            InvestmentAccount account = InvestmentAccount.builder()
+                .name("401(k)")
+                .accountType(AccountType.TRADITIONAL_401K)
+                .balance(100000)
+                .allocation(AssetAllocation.of(60, 30, 10))
+                .useAllocationBasedReturn()
+                .build();
+            InvestmentAccount renamed = account.toBuilder().id("other").name("Old 401(k)").build();
+            Portfolio portfolio = Portfolio.builder().owner(primaryPerson).addAccount(account).build();
+            Portfolio copy = Portfolio.builder().owner(primaryPerson).addAccount(renamed).build();
+
+            assertEquals(account.contentHash(), renamed.contentHash());
+            assertNotEquals(account.contentHash(), account.withBalance(new BigDecimal("100001")).contentHash());
+            assertEquals(portfolio.contentHash(), copy.contentHash());
+            assertNotEquals(portfolio.contentHash(),
+                Portfolio.builder().owner(secondaryPerson).addAccount(account).build().contentHash());
+        }
+    }
+
     private Scenario.Builder createDefaultScenario() {
         return Scenario.builder()
             .name("Test Scenario")
@@ -2,6 +2,7 @@ package io.github.xmljim.retirement.domain.value;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -187,6 +188,37 @@ class AssetAllocationTest {
 
             assertEquals(0, blended.compareTo(new BigDecimal("0.05")));
         }
+
+        @Test
+        @DisplayName("Should reuse the last result for numerically equal returns")
+        void reusesLastResult() {
+            AssetAllocation allocation = AssetAllocation.of(60, 30, 10);
+
+            BigDecimal first = allocation.calculateBlendedReturn(
+                    new BigDecimal("0.07"), new BigDecimal("0.04"), new BigDecimal("0.02"));
+            BigDecimal second = allocation.calculateBlendedReturn(
+                    new BigDecimal("0.0700"), new BigDecimal("0.04"), new BigDecimal("0.020"));
+
+            assertSame(first, second);
+        }
+
+        @Test
+        @DisplayName("Should recalculate when the returns change")
+        void recalculatesForNewReturns() {
+            AssetAllocation allocation = AssetAllocation.of(60, 30, 10);
+            BigDecimal bond = new BigDecimal("0.04");
+            BigDecimal cash = new BigDecimal("0.02");
+
+            allocation.calculateBlendedReturn(new BigDecimal("0.07"), bond, cash);
+
+            assertEquals(0, new BigDecimal("0.062").compareTo(
+                    allocation.calculateBlendedReturn(new BigDecimal("0.08"), bond, cash)));
+            assertEquals(0, new BigDecimal("0.059").compareTo(
+                    allocation.calculateBlendedReturn(new BigDecimal("0.08"), new BigDecimal("0.03"), cash)));
+            assertEquals(0, new BigDecimal("0.060").compareTo(
+                    allocation.calculateBlendedReturn(new BigDecimal("0.08"), new BigDecimal("0.03"),
+                            new BigDecimal("0.03"))));
+        }
     }
 
     @Nested
@@ -0,0 +1,185 @@
+package io.github.xmljim.retirement.domain.value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.ContributionType;
+
+@DisplayName("ContentHasher Tests")
+class ContentHasherTest {
+
+    @Nested
+    @DisplayName("Canonical Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should ignore decimal scale")
+        void ignoresDecimalScale() {
+            assertEquals(
+                ContentHasher.create().putDecimal(new BigDecimal("0.07")).hash(),
+                ContentHasher.create().putDecimal(new BigDecimal("0.0700")).hash());
+            assertEquals(
+                ContentHasher.create().putDecimal(BigDecimal.ZERO).hash(),
+                ContentHasher.create().putDecimal(new BigDecimal("0.000")).hash());
+        }
+
+        @Test
+        @DisplayName("Should distinguish null from empty and zero")
+        void distinguishesNull() {
+            assertNotEquals(
+                ContentHasher.create().putString(null).hash(),
+                ContentHasher.create().putString("").hash());
+            assertNotEquals(
+                ContentHasher.create().putDecimal(null).hash(),
+                ContentHasher.create().putDecimal(BigDecimal.ZERO).hash());
+            assertNotEquals(
+                ContentHasher.create().putDate(null).hash(),
+                ContentHasher.create().putDate(LocalDate.EPOCH).hash());
+        }
+
+        @Test
+        @DisplayName("Should not collide when string boundaries move")
+        void lengthPrefixesStrings() {
+            assertNotEquals(
+                ContentHasher.create().putString("ab").putString("c").hash(),
+                ContentHasher.create().putString("a").putString("bc").hash());
+        }
+
+        @Test
+        @DisplayName("Should distinguish types with identical field values")
+        void tagsSeparateTypes() {
+            assertNotEquals(
+                ContentHasher.create().putTag("A").putInt(1).hash(),
+                ContentHasher.create().putTag("B").putInt(1).hash());
+        }
+
+        @Test
+        @DisplayName("Should be sensitive to collection order and nulls")
+        void hashesCollections() {
+            MatchTier first = MatchTier.of(0.03, 1.0);
+            MatchTier second = MatchTier.of(0.05, 0.5);
+
+            assertNotEquals(
+                ContentHasher.create().putAll(List.of(first, second)).hash(),
+                ContentHasher.create().putAll(List.of(second, first)).hash());
+            assertNotEquals(
+                ContentHasher.create().putAll(null).hash(),
+                ContentHasher.create().putAll(List.of()).hash());
+            assertNotEquals(
+                ContentHasher.create().put(null).hash(),
+                ContentHasher.create().put(first).hash());
+        }
+
+        @Test
+        @DisplayName("Should hash booleans, longs, and enums")
+        void hashesPrimitives() {
+            assertNotEquals(
+                ContentHasher.create().putBoolean(true).hash(),
+                ContentHasher.create().putBoolean(false).hash());
+            assertNotEquals(
+                ContentHasher.create().putLong(1L).hash(),
+                ContentHasher.create().putLong(2L).hash());
+            assertNotEquals(
+                ContentHasher.create().putEnum(Month.JANUARY).hash(),
+                ContentHasher.create().putEnum(null).hash());
+        }
+
+        @Test
+        @DisplayName("Should render as 32 hex characters")
+        void rendersHex() {
+            ContentHash hash = new ContentHash(0x0123456789abcdefL, -1L);
+
+            assertEquals("0123456789abcdefffffffffffffffff", hash.toHex());
+            assertEquals(hash.toHex(), hash.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Value Object Hash Tests")
+    class ValueHashTests {
+
+        @Test
+        @DisplayName("Should hash equal allocations equally and cache the result")
+        void allocationHash() {
+            AssetAllocation allocation = AssetAllocation.of(60, 30, 10);
+
+            assertEquals(AssetAllocation.of(60, 30, 10).contentHash(), allocation.contentHash());
+            assertNotEquals(AssetAllocation.of(70, 20, 10).contentHash(), allocation.contentHash());
+            assertSame(allocation.contentHash(), allocation.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should fold the matching policy into the contribution config hash")
+        void contributionConfigHash() {
+            ContributionConfig simple = employer(MatchingPolicy.simple(0.5, 0.06));
+            ContributionConfig same = employer(MatchingPolicy.simple(0.50, 0.060));
+            ContributionConfig tiered = employer(MatchingPolicy.tiered(List.of(
+                MatchTier.of(0.03, 1.0), MatchTier.of(0.05, 0.5))));
+
+            assertEquals(simple.contentHash(), same.contentHash());
+            assertNotEquals(simple.contentHash(), tiered.contentHash());
+            assertNotEquals(simple.contentHash(), employer(MatchingPolicy.none()).contentHash());
+            assertNotEquals(ContributionConfig.personal(0.10).contentHash(),
+                ContributionConfig.personal(0.11).contentHash());
+        }
+
+        private ContributionConfig employer(MatchingPolicy policy) {
+            return ContributionConfig.builder()
+                .contributionType(ContributionType.EMPLOYER)
+                .contributionRate(0.04)
+                .matchingPolicy(policy)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should ignore tier input order for tiered policies")
+        void tieredPolicyHash() {
+            MatchingPolicy ordered = MatchingPolicy.tiered(List.of(MatchTier.of(0.03, 1.0), MatchTier.of(0.05, 0.5)));
+            MatchingPolicy reversed = MatchingPolicy.tiered(List.of(MatchTier.of(0.05, 0.5), MatchTier.of(0.03, 1.0)));
+
+            assertEquals(ordered.contentHash(), reversed.contentHash());
+            assertSame(MatchingPolicy.none().contentHash(), MatchingPolicy.none().contentHash());
+        }
+
+        @Test
+        @DisplayName("Should hash income values but not income names")
+        void incomeHashes() {
+            LocalDate start = LocalDate.of(2035, 1, 1);
+            RetirementIncome pension = RetirementIncome.builder()
+                .name("Pension").monthlyAmount(2000).startDate(start).build();
+            RetirementIncome renamed = RetirementIncome.builder()
+                .name("Annuity").monthlyAmount(2000).startDate(start).build();
+
+            assertEquals(pension.contentHash(), renamed.contentHash());
+            assertNotEquals(
+                WorkingIncome.of(100000, 0.02).contentHash(),
+                WorkingIncome.of(100000, 0.03).contentHash());
+            assertNotEquals(
+                SocialSecurityIncome.builder().monthlyBenefit(2500).startDate(start).build().contentHash(),
+                SocialSecurityIncome.builder().monthlyBenefit(2500).startDate(start.plusYears(2)).build()
+                    .contentHash());
+        }
+
+        @Test
+        @DisplayName("Should hash inflation assumptions and withdrawal strategies")
+        void otherValueHashes() {
+            assertEquals(InflationAssumptions.defaults().contentHash(), InflationAssumptions.defaults().contentHash());
+            assertNotEquals(
+                WithdrawalStrategy.percentage(0.04).contentHash(),
+                WithdrawalStrategy.percentage(0.035).contentHash());
+            assertNotEquals(
+                WithdrawalStrategy.percentage(0.04).contentHash(),
+                WithdrawalStrategy.fixed(0.04).contentHash());
+        }
+    }
+}
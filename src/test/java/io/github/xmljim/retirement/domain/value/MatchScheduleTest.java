@@ -0,0 +1,144 @@
+package io.github.xmljim.retirement.domain.value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("MatchSchedule Tests")
+class MatchScheduleTest {
+
+    private static final double TOLERANCE = 1e-12;
+
+    @Nested
+    @DisplayName("Compiled Tiered Policy")
+    class TieredScheduleTests {
+
+        private final MatchingPolicy policy = MatchingPolicy.tiered(List.of(
+            MatchTier.of(0.03, 1.0),
+            MatchTier.of(0.05, 0.5)
+        ));
+
+        @Test
+        @DisplayName("Should compile one segment per tier plus the flat tail")
+        void compilesSegments() {
+            assertEquals(3, policy.compile().getSegmentCount());
+        }
+
+        @Test
+        @DisplayName("Should return the same schedule instance on every call")
+        void returnsCachedSchedule() {
+            assertSame(policy.compile(), policy.compile());
+        }
+
+        @Test
+        @DisplayName("Should evaluate match within, at, and beyond breakpoints")
+        void evaluatesAcrossBreakpoints() {
+            MatchSchedule schedule = policy.compile();
+
+            assertEquals(0, new BigDecimal("0.02").compareTo(
+                schedule.calculateEmployerMatch(new BigDecimal("0.02"))));
+            assertEquals(0, new BigDecimal("0.03").compareTo(
+                schedule.calculateEmployerMatch(new BigDecimal("0.03"))));
+            assertEquals(0, new BigDecimal("0.035").compareTo(
+                schedule.calculateEmployerMatch(new BigDecimal("0.04"))));
+            assertEquals(0, new BigDecimal("0.04").compareTo(
+                schedule.calculateEmployerMatch(new BigDecimal("0.10"))));
+        }
+
+        @Test
+        @DisplayName("Should report the maximum match at the last breakpoint")
+        void reportsMaximumMatch() {
+            assertEquals(0, new BigDecimal("0.04").compareTo(policy.compile().getMaximumMatch()));
+        }
+
+        @Test
+        @DisplayName("Primitive evaluation should agree with decimal evaluation")
+        void primitiveAgreesWithDecimal() {
+            MatchSchedule schedule = policy.compile();
+
+            for (int basisPoints = 0; basisPoints <= 1500; basisPoints += 5) {
+                BigDecimal rate = BigDecimal.valueOf(basisPoints, 4);
+                assertEquals(schedule.calculateEmployerMatch(rate).doubleValue(),
+                    schedule.calculateEmployerMatch(rate.doubleValue()), TOLERANCE);
+            }
+        }
+
+        @Test
+        @DisplayName("Should match a tier-by-tier walk for unsorted, three-tier input")
+        void matchesTierWalk() {
+            List<MatchTier> tiers = List.of(
+                MatchTier.of(0.06, 0.25),
+                MatchTier.of(0.02, 1.0),
+                MatchTier.of(0.04, 0.5)
+            );
+            MatchSchedule schedule = MatchingPolicy.tiered(tiers).compile();
+
+            for (int basisPoints = 1; basisPoints <= 1000; basisPoints++) {
+                BigDecimal rate = BigDecimal.valueOf(basisPoints, 4);
+                assertEquals(0, walkTiers(tiers, rate).compareTo(schedule.calculateEmployerMatch(rate)),
+                    "Mismatch at rate " + rate);
+            }
+        }
+
+        private BigDecimal walkTiers(List<MatchTier> tiers, BigDecimal rate) {
+            List<MatchTier> sorted = tiers.stream()
+                .sorted((a, b) -> a.contributionThreshold().compareTo(b.contributionThreshold()))
+                .toList();
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal previous = BigDecimal.ZERO;
+            for (MatchTier tier : sorted) {
+                BigDecimal inTier = rate.min(tier.contributionThreshold()).subtract(previous)
+                    .max(BigDecimal.ZERO);
+                total = total.add(inTier.multiply(tier.matchRate()));
+                previous = tier.contributionThreshold();
+            }
+            return total;
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiled Simple Policy")
+    class SimpleScheduleTests {
+
+        @Test
+        @DisplayName("Should apply the match rate up to the cap and stay flat after")
+        void appliesRateUpToCap() {
+            MatchSchedule schedule = MatchingPolicy.simple(0.50, 0.06).compile();
+
+            assertEquals(0.02, schedule.calculateEmployerMatch(0.04), TOLERANCE);
+            assertEquals(0.03, schedule.calculateEmployerMatch(0.06), TOLERANCE);
+            assertEquals(0.03, schedule.calculateEmployerMatch(0.15), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should return zero for non-positive rates")
+        void returnsZeroForNonPositiveRates() {
+            MatchSchedule schedule = MatchingPolicy.simple(0.50, 0.06).compile();
+
+            assertEquals(0.0, schedule.calculateEmployerMatch(0.0));
+            assertEquals(0.0, schedule.calculateEmployerMatch(-0.01));
+            assertEquals(0, BigDecimal.ZERO.compareTo(schedule.calculateEmployerMatch((BigDecimal) null)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiled No-Match Policy")
+    class NoMatchScheduleTests {
+
+        @Test
+        @DisplayName("Should always return zero")
+        void alwaysReturnsZero() {
+            MatchSchedule schedule = MatchingPolicy.none().compile();
+
+            assertEquals(0.0, schedule.calculateEmployerMatch(0.10));
+            assertEquals(0, BigDecimal.ZERO.compareTo(schedule.calculateEmployerMatch(new BigDecimal("0.10"))));
+            assertEquals(0, BigDecimal.ZERO.compareTo(schedule.getMaximumMatch()));
+        }
+    }
+}
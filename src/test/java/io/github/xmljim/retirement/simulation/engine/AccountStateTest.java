@@ -0,0 +1,153 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+
+@DisplayName("AccountState Tests")
+class AccountStateTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private InvestmentAccount account;
+    private AccountState state;
+
+    @BeforeEach
+    void setUp() {
+        account = InvestmentAccount.builder()
+            .name("Brokerage")
+            .accountType(AccountType.TAXABLE_BROKERAGE)
+            .balance(new BigDecimal("10000"))
+            .preRetirementReturnRate(new BigDecimal("0.12"))
+            .postRetirementReturnRate(new BigDecimal("0.06"))
+            .build();
+        state = AccountState.from(account);
+    }
+
+    @Nested
+    @DisplayName("Creation Tests")
+    class CreationTests {
+
+        @Test
+        @DisplayName("Should mirror the account balance and type")
+        void mirrorsAccount() {
+            assertEquals(account.getId(), state.getAccountId());
+            assertSame(account, state.getSourceAccount());
+            assertEquals(AccountType.TAXABLE_BROKERAGE, state.getAccountType());
+            assertEquals(AccountType.TaxTreatment.TAXABLE, state.getTaxTreatment());
+            assertEquals(10000.0, state.getBalance(), TOLERANCE);
+            assertEquals(10000.0, state.getCostBasis(), TOLERANCE);
+            assertEquals(0.0, state.getContributionsYtd(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should resolve monthly growth factors from the return rates")
+        void resolvesGrowthFactors() {
+            assertEquals(1.01, state.getGrowthFactor(false), TOLERANCE);
+            assertEquals(1.005, state.getGrowthFactor(true), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reject a null account")
+        void rejectsNull() {
+            assertThrows(MissingRequiredFieldException.class, () -> AccountState.from(null));
+            assertThrows(ValidationException.class, () -> AccountState.from(account, -1));
+        }
+
+        @Test
+        @DisplayName("Should carry the run-time handle")
+        void carriesHandle() {
+            assertEquals(0, state.getHandle());
+            assertEquals(7, AccountState.from(account, 7).getHandle());
+        }
+    }
+
+    @Nested
+    @DisplayName("Mutation Tests")
+    class MutationTests {
+
+        @Test
+        @DisplayName("Should track contributions in balance, YTD, and basis")
+        void contributes() {
+            state.contribute(500);
+            state.contribute(250);
+
+            assertEquals(10750.0, state.getBalance(), TOLERANCE);
+            assertEquals(750.0, state.getContributionsYtd(), TOLERANCE);
+            assertEquals(10750.0, state.getCostBasis(), TOLERANCE);
+
+            state.resetYearToDate();
+            assertEquals(0.0, state.getContributionsYtd(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reduce cost basis proportionally on withdrawal")
+        void withdrawsProportionalBasis() {
+            state.applyReturn(0.25);
+            assertEquals(2500.0, state.getUnrealizedGain(), TOLERANCE);
+
+            double withdrawn = state.withdraw(5000);
+
+            assertEquals(5000.0, withdrawn, TOLERANCE);
+            assertEquals(7500.0, state.getBalance(), TOLERANCE);
+            assertEquals(6000.0, state.getCostBasis(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should cap withdrawals at the balance")
+        void capsWithdrawal() {
+            assertEquals(10000.0, state.withdraw(25000), TOLERANCE);
+            assertEquals(0.0, state.getBalance(), TOLERANCE);
+            assertEquals(0.0, state.getCostBasis(), TOLERANCE);
+            assertEquals(0.0, state.withdraw(100), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should apply monthly growth for the phase")
+        void appliesMonthlyReturn() {
+            state.applyMonthlyReturn(false);
+            assertEquals(10100.0, state.getBalance(), TOLERANCE);
+
+            state.applyMonthlyReturn(true);
+            assertEquals(10150.5, state.getBalance(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reject negative amounts")
+        void rejectsNegativeAmounts() {
+            assertThrows(ValidationException.class, () -> state.contribute(-1));
+            assertThrows(ValidationException.class, () -> state.withdraw(-1));
+            assertThrows(ValidationException.class, () -> state.contribute(Double.NaN));
+        }
+    }
+
+    @Nested
+    @DisplayName("Materialization Tests")
+    class MaterializationTests {
+
+        @Test
+        @DisplayName("Should materialize the current balance into an immutable account")
+        void materializes() {
+            state.contribute(1234.567);
+
+            InvestmentAccount result = state.toAccount();
+
+            assertEquals(account.getId(), result.getId());
+            assertEquals(account.getName(), result.getName());
+            assertEquals(0, new BigDecimal("11234.57").compareTo(result.getBalance()));
+            assertEquals(0, new BigDecimal("10000").compareTo(account.getBalance()));
+        }
+    }
+}
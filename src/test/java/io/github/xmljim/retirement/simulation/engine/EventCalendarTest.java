@@ -0,0 +1,46 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EventCalendar Tests")
+class EventCalendarTest {
+
+    @Test
+    @DisplayName("Should sort events by month and then kind, dropping those past the end")
+    void sorts() {
+        EventCalendar calendar = new EventCalendar.Builder(24)
+            .add(12, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD, 500.0)
+            .add(12, EventCalendar.RETIREMENT, 0)
+            .add(3, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD, 250.0)
+            .add(24, EventCalendar.DEATH, 0)
+            .build();
+
+        assertEquals(3, calendar.size());
+        assertEquals(3, calendar.month(0));
+        assertEquals(250.0, calendar.amount(0));
+        assertEquals(EventCalendar.RETIREMENT, calendar.kind(1));
+        assertEquals(0, calendar.subject(1));
+        assertEquals(500.0, calendar.amount(2));
+    }
+
+    @Test
+    @DisplayName("Should find the cursor position for a resumed month")
+    void indexFrom() {
+        EventCalendar calendar = new EventCalendar.Builder(120)
+            .add(10, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD, 1.0)
+            .add(10, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD, 2.0)
+            .add(50, EventCalendar.ONE_TIME_EXPENSE, EventCalendar.HOUSEHOLD, 3.0)
+            .build();
+
+        assertEquals(0, calendar.indexFrom(0));
+        assertEquals(0, calendar.indexFrom(10));
+        assertEquals(2, calendar.indexFrom(11));
+        assertEquals(2, calendar.indexFrom(50));
+        assertEquals(3, calendar.indexFrom(51));
+        assertSame(EventCalendar.empty(), new EventCalendar.Builder(12).add(12, EventCalendar.DEATH, 0).build());
+    }
+}
@@ -0,0 +1,310 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.ContributionType;
+import io.github.xmljim.retirement.domain.exception.ConfigurationException;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+import io.github.xmljim.retirement.domain.value.SocialSecurityIncome;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+@DisplayName("HouseholdEngine Tests")
+class HouseholdEngineTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private HouseholdEngine engine;
+    private PersonProfile primary;
+    private PersonProfile spouse;
+    private Scenario scenario;
+
+    @BeforeEach
+    void setUp() {
+        engine = new HouseholdEngine();
+        primary = PersonProfile.builder()
+            .name("Primary")
+            .dateOfBirth(LocalDate.of(1975, 1, 1))
+            .retirementDate(LocalDate.of(2035, 1, 1))
+            .lifeExpectancy(80)
+            .build();
+        spouse = PersonProfile.builder()
+            .name("Spouse")
+            .dateOfBirth(LocalDate.of(1977, 1, 1))
+            .retirementDate(LocalDate.of(2037, 1, 1))
+            .lifeExpectancy(85)
+            .build();
+        scenario = Scenario.builder()
+            .name("Household")
+            .primaryPerson(primary)
+            .secondaryPerson(spouse)
+            .startDate(LocalDate.of(2025, 1, 1))
+            .inflationAssumptions(InflationAssumptions.uniform(0.0))
+            .build();
+    }
+
+    private static Portfolio portfolio(PersonProfile owner, double balance) {
+        InvestmentAccount account = InvestmentAccount.builder()
+            .name(owner.getName() + " 401(k)")
+            .accountType(AccountType.TRADITIONAL_401K)
+            .balance(balance)
+            .preRetirementReturnRate(0.0)
+            .postRetirementReturnRate(0.0)
+            .build();
+        return Portfolio.builder().owner(owner).addAccount(account).build();
+    }
+
+    /**
+     * Primary: 100k, 10% of 120k until month 120. Spouse: 50k, 10% of 60k
+     * until month 144. The household retires at month 144 with 342k.
+     */
+    private HouseholdRequest.Builder couple(SocialSecurityIncome primaryBenefit, SocialSecurityIncome spouseBenefit) {
+        return HouseholdRequest.builder()
+            .scenario(scenario)
+            .addMember(HouseholdMember.builder()
+                .portfolio(portfolio(primary, 100000))
+                .workingIncome(WorkingIncome.of(120000, 0.0))
+                .addContribution(ContributionConfig.personal(0.10))
+                .socialSecurity(primaryBenefit)
+                .build())
+            .addMember(HouseholdMember.builder()
+                .portfolio(portfolio(spouse, 50000))
+                .workingIncome(WorkingIncome.of(60000, 0.0))
+                .addContribution(ContributionConfig.personal(0.10))
+                .socialSecurity(spouseBenefit)
+                .build());
+    }
+
+    /**
+     * Adds an empty taxable account to the primary member, which keeps
+     * unspent benefits and RMDs in the household.
+     */
+    private static HouseholdRequest withBrokerage(HouseholdRequest request) {
+        HouseholdMember first = request.getMembers().get(0);
+        Portfolio withBrokerage = first.getPortfolio().toBuilder()
+            .addAccount(InvestmentAccount.builder()
+                .name("Brokerage")
+                .accountType(AccountType.TAXABLE_BROKERAGE)
+                .balance(0)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build())
+            .build();
+        return request.toBuilder()
+            .members(List.of(first.toBuilder().portfolio(withBrokerage).build(), request.getMembers().get(1)))
+            .build();
+    }
+
+    private static SocialSecurityIncome benefit(double monthly, LocalDate start) {
+        return SocialSecurityIncome.builder().monthlyBenefit(monthly).colaRate(0.0).startDate(start).build();
+    }
+
+    @Nested
+    @DisplayName("Lockstep Simulation Tests")
+    class LockstepTests {
+
+        @Test
+        @DisplayName("Should match the single-portfolio engine for a one-member household")
+        void matchesSingleEngine() {
+            SimulationRequest single = SimulationEngineTest.request(0.06, 0.04);
+            HouseholdRequest household = HouseholdRequest.builder()
+                .scenario(single.getScenario())
+                .addMember(HouseholdMember.builder()
+                    .portfolio(single.getPortfolio())
+                    .workingIncome(single.getWorkingIncome())
+                    .contributions(single.getContributions())
+                    .build())
+                .build();
+
+            SimulationRun expected = new SimulationEngine().run(single);
+            SimulationRun actual = engine.run(household);
+
+            assertEquals(expected.getYearCount(), actual.getYearCount());
+            for (int year = 0; year < expected.getYearCount(); year++) {
+                assertEquals(expected.getYearEndBalance(0, year), actual.getYearEndBalance(0, year), 1e-3);
+            }
+        }
+
+        @Test
+        @DisplayName("Should start the household withdrawal when the last member retires")
+        void withdrawsAfterLastRetirement() {
+            SimulationRun run = engine.run(couple(null, null).build());
+
+            assertEquals(444, run.getMonthCount());
+            assertEquals(220000.0 + 116000.0, run.getYearEndBalance(0, 10), TOLERANCE);
+            assertEquals(342000.0, run.getYearEndBalance(0, 11), TOLERANCE);
+            assertEquals(342000.0 - 342000.0 * 0.04, run.getYearEndBalance(0, 12), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should meet the spending need from Social Security first")
+        void offsetsWithBenefits() {
+            SimulationRun run = engine.run(couple(benefit(2000, LocalDate.of(2035, 1, 1)), null)
+                .withdrawalStrategy(WithdrawalStrategy.fixed(3000))
+                .build());
+
+            assertEquals(342000.0, run.getYearEndBalance(0, 11), TOLERANCE);
+            assertEquals(342000.0 - 12 * 1000.0, run.getYearEndBalance(0, 12), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should grow benefits and the withdrawal with the path's inflation")
+        void inflationModel() {
+            InflationModel flat = InflationModel.builder().meanRate(0.03).volatility(0.0).build();
+            SimulationRun run = engine.run(couple(benefit(2000, LocalDate.of(2035, 1, 1)), null)
+                .withdrawalStrategy(WithdrawalStrategy.fixed(3000))
+                .runConfiguration(RunConfiguration.deterministic().withInflationModel(flat))
+                .build());
+
+            // the benefit has had two COLAs by the household retirement; the withdrawal none yet
+            double year12 = 342000.0 - 12 * (3000.0 - 2000.0 * 1.03 * 1.03);
+            assertEquals(year12, run.getYearEndBalance(0, 12), TOLERANCE);
+            assertEquals(year12 - 12 * (3000.0 * 1.03 - 2000.0 * Math.pow(1.03, 3)),
+                run.getYearEndBalance(0, 13), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should step up the survivor's benefit")
+        void survivorBenefit() {
+            HouseholdRequest request = couple(
+                    benefit(2000, LocalDate.of(2035, 1, 1)),
+                    benefit(1000, LocalDate.of(2037, 1, 1)))
+                .withdrawalStrategy(WithdrawalStrategy.fixed(3000))
+                .build();
+            // the taxable account also keeps the unspent RMDs, which start in 2050
+            SimulationRun run = engine.run(withBrokerage(request));
+            // 24 months of the primary's benefit are reinvested before the household retires
+            double retired = 342000.0 + 24 * 2000.0;
+
+            assertEquals(retired, run.getYearEndBalance(0, 29), TOLERANCE);
+            assertEquals(retired - 12 * 1000.0, run.getYearEndBalance(0, 30), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reinvest benefits the household does not spend")
+        void reinvestsBenefits() {
+            HouseholdRequest request = withBrokerage(couple(benefit(2000, LocalDate.of(2035, 1, 1)), null)
+                .withdrawalStrategy(WithdrawalStrategy.fixed(3000))
+                .build());
+
+            SimulationRun run = engine.run(request);
+
+            assertEquals(220000.0 + 116000.0 + 12 * 2000.0, run.getYearEndBalance(0, 10), TOLERANCE);
+            assertEquals(342000.0 + 24 * 2000.0, run.getYearEndBalance(0, 11), TOLERANCE);
+            assertEquals(342000.0 + 24 * 2000.0 - 12 * 1000.0, run.getYearEndBalance(0, 12), TOLERANCE);
+
+            SimulationRun surplus = engine.run(request.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.fixed(1500))
+                .build());
+
+            assertEquals(342000.0 + 24 * 2000.0 + 12 * 500.0, surplus.getYearEndBalance(0, 12), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should record when pooled accounts cannot cover the need")
+        void recordsDepletion() {
+            SimulationRun run = engine.run(couple(null, null)
+                .withdrawalStrategy(WithdrawalStrategy.fixed(20000))
+                .build());
+
+            assertEquals(161, run.getDepletionMonth(0));
+            assertEquals(0.0, run.getSuccessRate());
+        }
+
+        @Test
+        @DisplayName("Should give identical results for a shared return path block")
+        void sharedBlock() {
+            HouseholdRequest request = couple(null, null)
+                .runConfiguration(RunConfiguration.monteCarlo(20, 3L))
+                .build();
+            ReturnPathBlock block = ReturnPathBlock.forRun(request.getRunConfiguration(), 444);
+
+            SimulationRun first = engine.run(request, block);
+            SimulationRun second = engine.run(request);
+
+            for (int path = 0; path < 20; path++) {
+                assertEquals(first.getEndingBalance(path), second.getEndingBalance(path), TOLERANCE);
+            }
+            assertThrows(ValidationException.class,
+                () -> engine.run(request, ReturnPathBlock.deterministic(444)));
+            assertThrows(MissingRequiredFieldException.class, () -> engine.run(request, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Request Tests")
+    class RequestTests {
+
+        @Test
+        @DisplayName("Should assign account handles in member order")
+        void handles() {
+            HouseholdRequest request = couple(null, null).build();
+
+            assertEquals(2, request.getHandles().getPersonCount());
+            assertEquals(2, request.getHandles().getAccountCount());
+            assertEquals(SimulationHandles.SECONDARY_PERSON, request.getHandles().getOwner(1));
+            assertEquals(request.contentHash(), request.toBuilder().build().contentHash());
+            assertNotEquals(request.contentHash(),
+                request.toBuilder().withdrawalStrategy(WithdrawalStrategy.fixed(1000)).build().contentHash());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid members")
+        void rejectsInvalidMembers() {
+            PersonProfile stranger = PersonProfile.builder()
+                .name("Stranger")
+                .dateOfBirth(LocalDate.of(1980, 1, 1))
+                .retirementDate(LocalDate.of(2045, 1, 1))
+                .build();
+            HouseholdMember duplicate = HouseholdMember.builder().portfolio(portfolio(primary, 1000)).build();
+
+            assertThrows(ValidationException.class,
+                () -> HouseholdRequest.builder().scenario(scenario).build());
+            assertThrows(ValidationException.class,
+                () -> couple(null, null).addMember(duplicate).build());
+            assertThrows(ConfigurationException.class, () -> HouseholdRequest.builder()
+                .scenario(scenario)
+                .addMember(HouseholdMember.builder().portfolio(portfolio(stranger, 1000)).build())
+                .build());
+            assertThrows(MissingRequiredFieldException.class, () -> HouseholdMember.builder().build());
+        }
+
+        @Test
+        @DisplayName("Should reject a contribution to an account type the member lacks")
+        void rejectsMissingContributionTarget() {
+            HouseholdRequest request = HouseholdRequest.builder()
+                .scenario(scenario)
+                .addMember(HouseholdMember.builder()
+                    .portfolio(portfolio(primary, 100000))
+                    .workingIncome(WorkingIncome.of(120000, 0.0))
+                    .addContribution(ContributionConfig.builder()
+                        .contributionType(ContributionType.PERSONAL)
+                        .contributionRate(0.05)
+                        .targetAccountType(AccountType.ROTH_401K)
+                        .build())
+                    .build())
+                .build();
+
+            assertThrows(ValidationException.class, () -> engine.run(request));
+        }
+    }
+}
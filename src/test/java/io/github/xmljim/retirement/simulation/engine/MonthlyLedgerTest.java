@@ -0,0 +1,58 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("MonthlyLedger Tests")
+class MonthlyLedgerTest {
+
+    @Test
+    @DisplayName("Should grow past its initial capacity")
+    void grows() {
+        MonthlyLedger ledger = MonthlyLedger.create();
+        for (int i = 0; i < 200; i++) {
+            ledger.append(i, 0, i * 10.0);
+        }
+
+        assertEquals(200, ledger.size());
+        assertEquals(199.0, ledger.getContribution(199));
+        assertEquals(1990.0, ledger.getBalance(199));
+    }
+
+    @Test
+    @DisplayName("Should share the prefix with its parent and leave the parent unchanged")
+    void branches() {
+        MonthlyLedger parent = MonthlyLedger.create();
+        parent.append(1, 0, 10);
+        parent.append(2, 0, 20);
+        parent.append(3, 0, 30);
+
+        MonthlyLedger branch = parent.branch(2);
+        branch.append(0, 5, 15);
+        parent.append(4, 0, 40);
+
+        assertEquals(3, branch.size());
+        assertEquals(20.0, branch.getBalance(1));
+        assertEquals(5.0, branch.getWithdrawal(2));
+        assertEquals(15.0, branch.getBalance(2));
+        assertEquals(4, parent.size());
+        assertEquals(30.0, parent.getBalance(2));
+        assertEquals(1.0, parent.branch(3).branch(1).getContribution(0));
+    }
+
+    @Test
+    @DisplayName("Should reject out-of-range indexes")
+    void rejectsOutOfRange() {
+        MonthlyLedger ledger = MonthlyLedger.create();
+        ledger.append(1, 0, 10);
+
+        assertThrows(ValidationException.class, () -> ledger.getBalance(1));
+        assertThrows(ValidationException.class, () -> ledger.getWithdrawal(-1));
+        assertThrows(ValidationException.class, () -> ledger.branch(2));
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+@DisplayName("PathSimulation Tests")
+class PathSimulationTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int RETIREMENT_MONTH = 120;
+
+    private SimulationEngine engine;
+    private SimulationRequest flatRequest;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SimulationEngine();
+        flatRequest = SimulationEngineTest.request(0.0, 0.0);
+    }
+
+    @Nested
+    @DisplayName("Stepping Tests")
+    class SteppingTests {
+
+        @Test
+        @DisplayName("Should match a batch run when stepped to the end")
+        void matchesBatchRun() {
+            SimulationRequest request = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(4, 11L))
+                .build();
+            ReturnPathBlock block = ReturnPathBlock.forRun(request.getRunConfiguration(), 360);
+            SimulationRun batch = engine.run(request, block);
+
+            for (int path = 0; path < 4; path++) {
+                SimulationRun single = engine.start(request, block, path).runToEnd();
+                for (int year = 0; year < batch.getYearCount(); year++) {
+                    assertEquals(batch.getYearEndBalance(path, year), single.getYearEndBalance(0, year), TOLERANCE);
+                }
+                assertEquals(batch.getDepletionMonth(path), single.getDepletionMonth(0));
+            }
+        }
+
+        @Test
+        @DisplayName("Should record every month in the ledger")
+        void recordsLedger() {
+            PathSimulation simulation = engine.start(flatRequest);
+
+            assertTrue(simulation.step());
+            assertEquals(1, simulation.getMonth());
+            simulation.advanceTo(RETIREMENT_MONTH + 1);
+
+            MonthlyLedger ledger = simulation.getLedger();
+            assertEquals(RETIREMENT_MONTH + 1, ledger.size());
+            assertEquals(1000.0, ledger.getContribution(0), TOLERANCE);
+            assertEquals(101000.0, ledger.getBalance(0), TOLERANCE);
+            assertEquals(0.0, ledger.getContribution(RETIREMENT_MONTH), TOLERANCE);
+            assertEquals(220000.0 * 0.04 / 12, ledger.getWithdrawal(RETIREMENT_MONTH), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should stop at the end of the run")
+        void stopsAtEnd() {
+            PathSimulation simulation = engine.start(flatRequest);
+            simulation.runToEnd();
+
+            assertTrue(simulation.isComplete());
+            assertFalse(simulation.step());
+            assertEquals(360, simulation.getMonthCount());
+            assertEquals(RETIREMENT_MONTH, simulation.getRetirementMonth());
+            assertThrows(ValidationException.class, () -> simulation.advanceTo(12));
+            assertThrows(ValidationException.class, () -> engine.start(flatRequest).advanceTo(361));
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkpoint and Fork Tests")
+    class ForkTests {
+
+        @Test
+        @DisplayName("Should reproduce the original path when forked without changes")
+        void forkWithoutChanges() {
+            PathSimulation base = engine.start(SimulationEngineTest.request(0.06, 0.04));
+            base.advanceTo(90);
+            SimulationCheckpoint checkpoint = base.checkpoint();
+
+            PathSimulation fork = engine.fork(checkpoint);
+            SimulationRun forked = fork.runToEnd();
+            SimulationRun original = base.runToEnd();
+
+            assertEquals(90, checkpoint.getMonth());
+            assertEquals(0, checkpoint.getPath());
+            assertEquals(original.getEndingBalance(0), forked.getEndingBalance(0), TOLERANCE);
+            assertEquals(original.getYearEndBalance(0, 3), forked.getYearEndBalance(0, 3), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should apply a market drop to the fork only")
+        void marketDrop() {
+            PathSimulation base = engine.start(flatRequest);
+            base.advanceTo(RETIREMENT_MONTH);
+            PathSimulation crash = engine.fork(base.checkpoint());
+            crash.scaleBalances(0.70);
+
+            assertEquals(220000.0 * 0.70, crash.getTotalBalance(), TOLERANCE);
+            assertEquals(220000.0, base.getTotalBalance(), TOLERANCE);
+            // the percentage withdrawal is set from the dropped balance
+            assertEquals(154000.0 - 154000.0 * 0.04, crash.runToEnd().getYearEndBalance(0, 10), TOLERANCE);
+            assertEquals(220000.0 - 8800.0, base.runToEnd().getYearEndBalance(0, 10), TOLERANCE);
+            assertThrows(ValidationException.class, () -> crash.scaleBalances(-1));
+        }
+
+        @Test
+        @DisplayName("Should continue a fork under a different request")
+        void forkWithRequest() {
+            PathSimulation base = engine.start(flatRequest);
+            base.advanceTo(60);
+            SimulationRequest noContributions = flatRequest.toBuilder().contributions(null).build();
+
+            SimulationRun stopped = engine.fork(base.checkpoint(), noContributions).runToEnd();
+            SimulationRun continued = base.runToEnd();
+
+            assertEquals(continued.getYearEndBalance(0, 4), stopped.getYearEndBalance(0, 4), TOLERANCE);
+            assertEquals(160000.0, stopped.getYearEndBalance(0, 9), TOLERANCE);
+            assertEquals(220000.0, continued.getYearEndBalance(0, 9), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should re-derive the withdrawal when the strategy changes")
+        void forkWithNewStrategy() {
+            PathSimulation base = engine.start(flatRequest);
+            base.advanceTo(RETIREMENT_MONTH + 12);
+            double balance = base.getTotalBalance();
+            SimulationRequest fixed = flatRequest.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.fixed(1000))
+                .build();
+
+            PathSimulation fork = engine.fork(base.checkpoint(), fixed);
+            fork.step();
+
+            assertEquals(balance - 1000.0, fork.getTotalBalance(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should share the ledger prefix with the original path")
+        void sharesLedger() {
+            PathSimulation base = engine.start(flatRequest);
+            base.advanceTo(24);
+            PathSimulation fork = engine.fork(base.checkpoint());
+            fork.scaleBalances(0.5);
+            fork.advanceTo(36);
+            base.advanceTo(48);
+
+            assertNotSame(base.getLedger(), fork.getLedger());
+            assertEquals(36, fork.getLedger().size());
+            assertEquals(48, base.getLedger().size());
+            assertEquals(base.getLedger().getBalance(23), fork.getLedger().getBalance(23), TOLERANCE);
+            assertTrue(fork.getLedger().getBalance(24) < base.getLedger().getBalance(24));
+        }
+
+        @Test
+        @DisplayName("Should reject incompatible fork requests")
+        void rejectsIncompatibleRequests() {
+            PathSimulation base = engine.start(flatRequest);
+            base.advanceTo(12);
+            SimulationCheckpoint checkpoint = base.checkpoint();
+            Scenario moved = flatRequest.getScenario().toBuilder().startDate(LocalDate.of(2026, 1, 1)).build();
+            InvestmentAccount second = InvestmentAccount.builder()
+                .name("Roth")
+                .accountType(AccountType.ROTH_IRA)
+                .balance(1000)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build();
+            Portfolio twoAccounts = flatRequest.getPortfolio().toBuilder().addAccount(second).build();
+
+            assertThrows(ValidationException.class,
+                () -> engine.fork(checkpoint, flatRequest.toBuilder().scenario(moved).build()));
+            assertThrows(ValidationException.class,
+                () -> engine.fork(checkpoint, flatRequest.toBuilder().portfolio(twoAccounts).build()));
+            assertThrows(MissingRequiredFieldException.class, () -> engine.fork(null));
+            assertThrows(MissingRequiredFieldException.class, () -> engine.fork(checkpoint, null));
+            assertThrows(ValidationException.class,
+                () -> engine.start(flatRequest, ReturnPathBlock.deterministic(360), 1));
+        }
+    }
+}
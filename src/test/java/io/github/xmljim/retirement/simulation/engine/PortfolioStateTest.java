@@ -0,0 +1,280 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.simulation.tax.TaxAccumulator;
+import io.github.xmljim.retirement.simulation.tax.TaxTable;
+
+@DisplayName("PortfolioState Tests")
+class PortfolioStateTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private InvestmentAccount traditional;
+    private InvestmentAccount roth;
+    private Portfolio portfolio;
+
+    @BeforeEach
+    void setUp() {
+        PersonProfile owner = PersonProfile.builder()
+            .name("John Doe")
+            .dateOfBirth(LocalDate.of(1970, 5, 15))
+            .retirementDate(LocalDate.of(2035, 1, 1))
+            .build();
+
+        traditional = InvestmentAccount.builder()
+            .name("401(k)")
+            .accountType(AccountType.TRADITIONAL_401K)
+            .balance(new BigDecimal("200000"))
+            .preRetirementReturnRate(new BigDecimal("0.06"))
+            .build();
+
+        roth = InvestmentAccount.builder()
+            .name("Roth IRA")
+            .accountType(AccountType.ROTH_IRA)
+            .balance(new BigDecimal("100000"))
+            .preRetirementReturnRate(new BigDecimal("0.12"))
+            .build();
+
+        portfolio = Portfolio.builder()
+            .owner(owner)
+            .addAccount(traditional)
+            .addAccount(roth)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Creation Tests")
+    class CreationTests {
+
+        @Test
+        @DisplayName("Should mirror accounts in portfolio order")
+        void mirrorsAccounts() {
+            PortfolioState state = PortfolioState.from(portfolio);
+
+            assertSame(portfolio, state.getSourcePortfolio());
+            assertEquals(2, state.getAccountCount());
+            assertEquals(traditional.getId(), state.getAccount(0).getAccountId());
+            assertEquals(roth.getId(), state.getAccount(1).getAccountId());
+            assertEquals(300000.0, state.getTotalBalance(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should find accounts by ID")
+        void findsAccounts() {
+            PortfolioState state = PortfolioState.from(portfolio);
+
+            assertSame(state.getAccount(1), state.findAccount(roth.getId()).orElseThrow());
+            assertFalse(state.findAccount("missing").isPresent());
+        }
+
+        @Test
+        @DisplayName("Should address accounts by handle")
+        void addressesByHandle() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            int rothHandle = state.getHandles().getAccountHandle(roth.getId());
+
+            assertEquals(1, rothHandle);
+            assertSame(state.getAccount(1), state.getAccountByHandle(rothHandle));
+            assertEquals(rothHandle, state.getAccountByHandle(rothHandle).getHandle());
+            assertThrows(ValidationException.class, () -> state.getAccountByHandle(2));
+            assertThrows(ValidationException.class, () -> state.getAccountByHandle(-1));
+        }
+
+        @Test
+        @DisplayName("Should use run-wide handles from a shared table")
+        void usesSharedHandles() {
+            InvestmentAccount other = traditional.toBuilder().id("other").build();
+            Portfolio first = Portfolio.builder().owner(portfolio.getOwner()).addAccount(other).build();
+            SimulationHandles handles = SimulationHandles.compile(
+                Scenario.builder().name("Test").primaryPerson(portfolio.getOwner()).build(),
+                List.of(first, portfolio));
+
+            PortfolioState state = PortfolioState.from(portfolio, handles);
+
+            assertEquals(1, state.getAccount(0).getHandle());
+            assertEquals(2, state.getAccount(1).getHandle());
+            assertThrows(ValidationException.class, () -> state.getAccountByHandle(0));
+            assertFalse(state.findAccount("other").isPresent());
+        }
+
+        @Test
+        @DisplayName("Should reject a null portfolio")
+        void rejectsNull() {
+            assertThrows(MissingRequiredFieldException.class, () -> PortfolioState.from(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should apply monthly returns to every account")
+        void appliesReturns() {
+            PortfolioState state = PortfolioState.from(portfolio);
+
+            state.applyMonthlyReturns(false);
+
+            assertEquals(201000.0, state.getAccount(0).getBalance(), TOLERANCE);
+            assertEquals(101000.0, state.getAccount(1).getBalance(), TOLERANCE);
+            assertEquals(302000.0, state.getTotalBalance(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should total balances by tax treatment")
+        void balanceByTaxTreatment() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            state.findAccount(roth.getId()).orElseThrow().contribute(500);
+
+            assertEquals(100500.0, state.getBalanceByTaxTreatment(AccountType.TaxTreatment.ROTH), TOLERANCE);
+            assertEquals(200000.0, state.getBalanceByTaxTreatment(AccountType.TaxTreatment.PRE_TAX), TOLERANCE);
+            assertEquals(0.0, state.getBalanceByTaxTreatment(AccountType.TaxTreatment.HSA), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should deposit outside money with a full cost basis and keep group balances current")
+        void deposits() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            state.assignGroups(new int[] {0, 1}, 2);
+
+            state.deposit(1, 2500);
+
+            assertEquals(102500.0, state.getBalance(1), TOLERANCE);
+            assertEquals(102500.0, state.getAccount(1).getCostBasis(), TOLERANCE);
+            assertEquals(102500.0, state.getGroupBalance(1), TOLERANCE);
+            assertEquals(0.0, state.getAccount(1).getContributionsYtd(), TOLERANCE);
+            assertThrows(ValidationException.class, () -> state.deposit(0, -1));
+        }
+
+        @Test
+        @DisplayName("Should tax transfers across tax treatments as withdrawals")
+        void taxesCrossTreatmentTransfers() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            TaxAccumulator taxes = TaxAccumulator.of(TaxTable.compile(FilingStatus.SINGLE, 0.0, 1));
+            state.setTaxAccumulator(taxes);
+            state.assignGroups(new int[] {0, 1}, 2);
+            double rothBasis = state.getAccount(1).getCostBasis();
+
+            state.transfer(0, 1, 10000);
+
+            assertEquals(10000.0, taxes.getOrdinaryIncome(), TOLERANCE);
+            assertEquals(rothBasis + 10000.0, state.getAccount(1).getCostBasis(), TOLERANCE);
+            assertEquals(190000.0, state.getGroupBalance(0), TOLERANCE);
+            assertEquals(110000.0, state.getGroupBalance(1), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reject transfers into pre-tax and HSA accounts from another treatment")
+        void rejectsTransfersIntoPreTax() {
+            PortfolioState state = PortfolioState.from(Portfolio.builder()
+                .owner(portfolio.getOwner())
+                .addAccount(traditional)
+                .addAccount(roth)
+                .addAccount(InvestmentAccount.builder()
+                    .name("Brokerage")
+                    .accountType(AccountType.TAXABLE_BROKERAGE)
+                    .balance(new BigDecimal("50000"))
+                    .preRetirementReturnRate(new BigDecimal("0.06"))
+                    .build())
+                .addAccount(InvestmentAccount.builder()
+                    .name("HSA")
+                    .accountType(AccountType.HSA)
+                    .balance(new BigDecimal("10000"))
+                    .preRetirementReturnRate(new BigDecimal("0.06"))
+                    .build())
+                .build());
+            TaxAccumulator taxes = TaxAccumulator.of(TaxTable.compile(FilingStatus.SINGLE, 0.0, 1));
+            state.setTaxAccumulator(taxes);
+
+            assertThrows(ValidationException.class, () -> state.transfer(2, 0, 5000));
+            assertThrows(ValidationException.class, () -> state.transfer(1, 0, 5000));
+            assertThrows(ValidationException.class, () -> state.transfer(2, 3, 5000));
+            assertThrows(ValidationException.class, () -> state.transfer(0, 3, 5000));
+            assertEquals(360000.0, state.getTotalBalance(), TOLERANCE);
+            assertEquals(0.0, taxes.getOrdinaryIncome(), TOLERANCE);
+            assertEquals(0.0, taxes.getCapitalGains(), TOLERANCE);
+
+            assertEquals(5000.0, state.transfer(3, 2, 5000), TOLERANCE);
+            assertEquals(55000.0, state.getBalance(2), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should not tax transfers within a tax treatment")
+        void sameTreatmentTransfers() {
+            PortfolioState state = PortfolioState.from(Portfolio.builder()
+                .owner(portfolio.getOwner())
+                .addAccount(traditional)
+                .addAccount(InvestmentAccount.builder()
+                    .name("IRA")
+                    .accountType(AccountType.TRADITIONAL_IRA)
+                    .balance(new BigDecimal("200000"))
+                    .preRetirementReturnRate(new BigDecimal("0.06"))
+                    .build())
+                .build());
+            TaxAccumulator taxes = TaxAccumulator.of(TaxTable.compile(FilingStatus.SINGLE, 0.0, 1));
+            state.setTaxAccumulator(taxes);
+
+            assertEquals(10000.0, state.transfer(0, 1, 10000), TOLERANCE);
+            assertEquals(0.0, taxes.getOrdinaryIncome(), TOLERANCE);
+            assertEquals(210000.0, state.getBalance(1), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reset YTD contributions on every account")
+        void resetsYearToDate() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            state.getAccount(0).contribute(1000);
+            state.getAccount(1).contribute(500);
+
+            state.resetYearToDate();
+
+            assertEquals(0.0, state.getAccount(0).getContributionsYtd(), TOLERANCE);
+            assertEquals(0.0, state.getAccount(1).getContributionsYtd(), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Materialization Tests")
+    class MaterializationTests {
+
+        @Test
+        @DisplayName("Should materialize a portfolio with current balances")
+        void materializes() {
+            PortfolioState state = PortfolioState.from(portfolio);
+            state.getAccount(0).withdraw(50000);
+            state.applyMonthlyReturns(false);
+
+            Portfolio result = state.toPortfolio();
+
+            assertEquals(portfolio.getId(), result.getId());
+            assertEquals(portfolio.getOwner(), result.getOwner());
+            assertEquals(0, new BigDecimal("150750").compareTo(
+                result.getBalanceByType(AccountType.TRADITIONAL_401K)));
+            assertEquals(0, new BigDecimal("251750").compareTo(result.getTotalBalance()));
+            assertTrue(result.findAccountById(roth.getId()).isPresent());
+            assertEquals(0, new BigDecimal("300000").compareTo(portfolio.getTotalBalance()));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+@DisplayName("RetirementDateOptimizer Tests")
+class RetirementDateOptimizerTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final List<LocalDate> yearly =
+        RetirementDateOptimizer.candidates(LocalDate.of(2026, 1, 1), LocalDate.of(2034, 1, 1), 12);
+
+    private SimulationRequest flatRequest;
+
+    @BeforeEach
+    void setUp() {
+        flatRequest = SimulationEngineTest.request(0.0, 0.0).toBuilder()
+            .withdrawalStrategy(WithdrawalStrategy.percentage(0.045))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Deterministic Tests")
+    class DeterministicTests {
+
+        @Test
+        @DisplayName("Should choose the earliest date whose balance lasts")
+        void earliestDate() {
+            // retiring k years in leaves 100k + 12k * k for 30 - k years at 4.5%: k = 8 is the first that lasts
+            RetirementDateChoice choice = RetirementDateOptimizer.builder()
+                .targetSuccessRate(1.0)
+                .build()
+                .optimize(flatRequest, yearly);
+
+            assertEquals(LocalDate.of(2033, 1, 1), choice.getRetirementDate().orElseThrow());
+            assertTrue(choice.isAbandoned(0));
+            assertTrue(Double.isNaN(choice.getSuccessRate(6)));
+            assertEquals(1.0, choice.getSuccessRate(7), TOLERANCE);
+            assertEquals(1.0, choice.getSuccessRate(8), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should report when no candidate meets the target")
+        void notFound() {
+            RetirementDateChoice choice = RetirementDateOptimizer.builder()
+                .build()
+                .optimize(flatRequest, List.of(LocalDate.of(2027, 1, 1), LocalDate.of(2026, 1, 1)));
+
+            assertTrue(choice.getRetirementDate().isEmpty());
+            assertEquals(List.of(LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1)), choice.getCandidates());
+        }
+    }
+
+    @Nested
+    @DisplayName("Monte Carlo Tests")
+    class MonteCarloTests {
+
+        @Test
+        @DisplayName("Should match full runs of each completed candidate")
+        void matchesFullRuns() {
+            SimulationRequest request = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.045))
+                .runConfiguration(RunConfiguration.monteCarlo(100, 5L))
+                .build();
+            List<LocalDate> candidates =
+                RetirementDateOptimizer.candidates(LocalDate.of(2030, 1, 1), LocalDate.of(2040, 1, 1), 24);
+            SimulationEngine engine = new SimulationEngine();
+
+            RetirementDateChoice choice = RetirementDateOptimizer.builder().build().optimize(request, candidates);
+
+            int completed = 0;
+            for (int c = 0; c < candidates.size(); c++) {
+                if (!choice.isAbandoned(c)) {
+                    SimulationRun run = engine.run(retiringOn(request, candidates.get(c)));
+                    assertEquals(run.getSuccessRate(), choice.getSuccessRate(c), TOLERANCE);
+                    assertEquals(100, choice.getPathsSimulated(c));
+                    completed++;
+                } else {
+                    assertTrue(choice.getPathsSimulated(c) < 100);
+                }
+            }
+            assertTrue(completed > 0);
+            LocalDate date = choice.getRetirementDate().orElseThrow();
+            assertEquals(LocalDate.of(2038, 1, 1), date);
+            assertTrue(choice.isAbandoned(0));
+            assertTrue(engine.run(retiringOn(request, date)).getSuccessRate() >= 0.90);
+            for (int c = 0; candidates.get(c).isBefore(date); c++) {
+                assertTrue(engine.run(retiringOn(request, candidates.get(c))).getSuccessRate() < 0.90);
+            }
+        }
+
+        @Test
+        @DisplayName("Should give the same choice sequentially and in parallel")
+        void parallelMatchesSequential() {
+            SimulationRequest request = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(50, 3L))
+                .build();
+
+            RetirementDateChoice parallel = RetirementDateOptimizer.builder().build().optimize(request, yearly);
+            RetirementDateChoice sequential =
+                RetirementDateOptimizer.builder().parallel(false).build().optimize(request, yearly);
+
+            assertEquals(parallel.getRetirementDate(), sequential.getRetirementDate());
+            for (int c = 0; c < yearly.size(); c++) {
+                assertEquals(parallel.getPathsSimulated(c), sequential.getPathsSimulated(c));
+            }
+        }
+
+        private SimulationRequest retiringOn(SimulationRequest request, LocalDate date) {
+            PersonProfile owner = request.getOwner().toBuilder().retirementDate(date).build();
+            return request.toBuilder()
+                .scenario(request.getScenario().toBuilder().primaryPerson(owner).build())
+                .portfolio(request.getPortfolio().toBuilder().owner(owner).build())
+                .build();
+        }
+    }
+
+    @Test
+    @DisplayName("Should build evenly spaced candidates and reject invalid input")
+    void validates() {
+        assertEquals(9, yearly.size());
+        assertEquals(LocalDate.of(2034, 1, 1), yearly.get(8));
+        assertThrows(ValidationException.class,
+            () -> RetirementDateOptimizer.candidates(LocalDate.of(2030, 1, 1), LocalDate.of(2029, 1, 1), 1));
+        assertThrows(ValidationException.class,
+            () -> RetirementDateOptimizer.candidates(LocalDate.of(2030, 1, 1), LocalDate.of(2031, 1, 1), 0));
+        assertThrows(ValidationException.class, () -> RetirementDateOptimizer.builder().targetSuccessRate(2).build());
+        RetirementDateOptimizer optimizer = RetirementDateOptimizer.builder().build();
+        assertThrows(ValidationException.class, () -> optimizer.optimize(flatRequest, List.of()));
+        assertThrows(MissingRequiredFieldException.class, () -> optimizer.optimize(flatRequest, null));
+        assertTrue(optimizer.isParallel());
+        assertEquals(0.90, optimizer.getTargetSuccessRate(), TOLERANCE);
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+
+@DisplayName("SafeWithdrawalRateSolver Tests")
+class SafeWithdrawalRateSolverTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private SimulationRequest flatRequest;
+    private SimulationRequest monteCarloRequest;
+
+    @BeforeEach
+    void setUp() {
+        flatRequest = SimulationEngineTest.request(0.0, 0.0);
+        monteCarloRequest = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+            .runConfiguration(RunConfiguration.monteCarlo(200, 7L))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Deterministic Tests")
+    class DeterministicTests {
+
+        @Test
+        @DisplayName("Should find the rate that exactly exhausts a flat balance")
+        void exhaustsBalance() {
+            // 220k at retirement, 20 years of withdrawals with no growth: 5% lasts exactly
+            SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder()
+                .targetSuccessRate(1.0)
+                .build()
+                .solve(flatRequest);
+
+            assertTrue(swr.isFound());
+            assertEquals(0.05, swr.getRate(), 1e-4);
+            assertTrue(swr.getFailingRate() - swr.getRate() <= 1e-4);
+            assertEquals(1.0, swr.getSuccessRate(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should report when no rate in the range meets the target")
+        void notFound() {
+            SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder()
+                .rateRange(0.06, 0.10)
+                .build()
+                .solve(flatRequest);
+
+            assertFalse(swr.isFound());
+            assertEquals(0.06, swr.getFailingRate(), TOLERANCE);
+            assertEquals(0.0, swr.getSuccessRate(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should stop at the top of the range when it meets the target")
+        void capped() {
+            SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder()
+                .rateRange(0.01, 0.03)
+                .gridPoints(3)
+                .build()
+                .solve(flatRequest);
+
+            assertEquals(0.03, swr.getRate(), TOLERANCE);
+            assertTrue(Double.isNaN(swr.getFailingRate()));
+            assertEquals(3, swr.getEvaluations());
+        }
+    }
+
+    @Nested
+    @DisplayName("Monte Carlo Tests")
+    class MonteCarloTests {
+
+        @Test
+        @DisplayName("Should bracket the target between the safe and failing rates")
+        void bracketsTarget() {
+            SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder().build().solve(monteCarloRequest);
+            SimulationEngine engine = new SimulationEngine();
+
+            SimulationRun atRate = engine.run(at(swr.getRate()));
+            SimulationRun atFailing = engine.run(at(swr.getFailingRate()));
+
+            assertTrue(swr.isFound());
+            assertEquals(atRate.getSuccessRate(), swr.getSuccessRate(), TOLERANCE);
+            assertTrue(atRate.getSuccessRate() >= 0.90);
+            assertTrue(atFailing.getSuccessRate() < 0.90);
+            assertTrue(swr.getFailingRate() - swr.getRate() <= 1e-4);
+        }
+
+        @Test
+        @DisplayName("Should resolve most refinement paths from earlier candidates")
+        void prunes() {
+            SafeWithdrawalRate swr = SafeWithdrawalRateSolver.builder().build().solve(monteCarloRequest);
+
+            assertTrue(swr.getEvaluations() > 10);
+            assertEquals((long) swr.getEvaluations() * 200, swr.getPathsSimulated() + swr.getPathsPruned());
+            assertTrue(swr.getPathsPruned() > swr.getPathsSimulated() - 10L * 200);
+        }
+
+        @Test
+        @DisplayName("Should give the same answer sequentially and in parallel")
+        void parallelMatchesSequential() {
+            SafeWithdrawalRate parallel = SafeWithdrawalRateSolver.builder().build().solve(monteCarloRequest);
+            SafeWithdrawalRate sequential = SafeWithdrawalRateSolver.builder()
+                .parallel(false)
+                .build()
+                .solve(monteCarloRequest);
+
+            assertEquals(parallel.getRate(), sequential.getRate());
+            assertEquals(parallel.getPathsSimulated(), sequential.getPathsSimulated());
+        }
+
+        private SimulationRequest at(double rate) {
+            return monteCarloRequest.toBuilder().withdrawalStrategy(WithdrawalStrategy.percentage(rate)).build();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings and a block smaller than the run")
+    void validates() {
+        assertThrows(ValidationException.class, () -> SafeWithdrawalRateSolver.builder().targetSuccessRate(0).build());
+        assertThrows(ValidationException.class, () -> SafeWithdrawalRateSolver.builder().rateRange(0.05, 0.05).build());
+        assertThrows(ValidationException.class, () -> SafeWithdrawalRateSolver.builder().gridPoints(1).build());
+        assertThrows(ValidationException.class, () -> SafeWithdrawalRateSolver.builder().rateTolerance(0).build());
+        SafeWithdrawalRateSolver solver = SafeWithdrawalRateSolver.builder().build();
+        assertThrows(ValidationException.class, () -> solver.solve(flatRequest, ReturnPathBlock.deterministic(12)));
+        assertThrows(MissingRequiredFieldException.class, () -> solver.solve(null));
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.engine.SensitivityAnalyzer.Parameter;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.strategy.GuardrailsStrategy;
+import io.github.xmljim.retirement.simulation.strategy.SpendingStrategy;
+
+@DisplayName("SensitivityAnalyzer Tests")
+class SensitivityAnalyzerTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Nested
+    @DisplayName("Perturbation Tests")
+    class PerturbationTests {
+
+        private final SimulationRequest request = SimulationEngineTest.request(0.06, 0.04);
+
+        @Test
+        @DisplayName("Should shift account return rates")
+        void returnRate() {
+            SimulationRequest up = SensitivityAnalyzer.perturb(request, Parameter.RETURN_RATE, 0.01);
+
+            assertEquals(0, new BigDecimal("0.07").compareTo(
+                up.getPortfolio().getAccounts().get(0).getPreRetirementReturnRate()));
+            assertEquals(0, new BigDecimal("0.05").compareTo(
+                up.getPortfolio().getAccounts().get(0).getPostRetirementReturnRate()));
+        }
+
+        @Test
+        @DisplayName("Should shift inflation, contribution rate, and retirement date")
+        void otherInputs() {
+            SimulationRequest inflation = SensitivityAnalyzer.perturb(request, Parameter.INFLATION, 0.01);
+            SimulationRequest contribution = SensitivityAnalyzer.perturb(request, Parameter.CONTRIBUTION_RATE, -0.15);
+            SimulationRequest retirement = SensitivityAnalyzer.perturb(request, Parameter.RETIREMENT_DATE, -12);
+
+            assertEquals(0, new BigDecimal("0.01").compareTo(
+                inflation.getScenario().getInflationAssumptions().getGeneralInflation()));
+            assertEquals(0, BigDecimal.ZERO.compareTo(contribution.getContributions().get(0).getContributionRate()));
+            assertEquals(LocalDate.of(2034, 1, 1), retirement.getOwner().getRetirementDate());
+            assertEquals(LocalDate.of(2034, 1, 1), retirement.getPortfolio().getOwner().getRetirementDate());
+        }
+
+        @Test
+        @DisplayName("Should shift percentage withdrawals and scale fixed ones")
+        void withdrawalRate() {
+            SimulationRequest fixed = request.toBuilder().withdrawalStrategy(WithdrawalStrategy.fixed(4000)).build();
+            SpendingStrategy custom = GuardrailsStrategy.builder().build();
+            SimulationRequest dynamic = request.toBuilder().spendingStrategy(custom).build();
+
+            assertEquals(0, new BigDecimal("0.045").compareTo(SensitivityAnalyzer
+                .perturb(request, Parameter.WITHDRAWAL_RATE, 0.005).getWithdrawalStrategy().getWithdrawalRate()));
+            assertEquals(0, new BigDecimal("3800").compareTo(SensitivityAnalyzer
+                .perturb(fixed, Parameter.WITHDRAWAL_RATE, -0.05).getWithdrawalStrategy().getWithdrawalRate()));
+            assertSame(dynamic, SensitivityAnalyzer.perturb(dynamic, Parameter.WITHDRAWAL_RATE, 0.005));
+        }
+    }
+
+    @Nested
+    @DisplayName("Analysis Tests")
+    class AnalysisTests {
+
+        @Test
+        @DisplayName("Should move the flat outcome in the expected direction")
+        void deterministic() {
+            TornadoChart chart = SensitivityAnalyzer.builder()
+                .parameters(Parameter.RETURN_RATE, Parameter.CONTRIBUTION_RATE, Parameter.WITHDRAWAL_RATE)
+                .build()
+                .analyze(SimulationEngineTest.request(0.0, 0.0));
+
+            assertEquals(3, chart.getBars().size());
+            assertEquals(new SimulationEngine().run(SimulationEngineTest.request(0.0, 0.0)).summarize(0.5)
+                .getEndingBalance(0.5), chart.getBaselineMedianEndingBalance(), TOLERANCE);
+            TornadoBar returns = chart.getBar(Parameter.RETURN_RATE);
+            TornadoBar contributions = chart.getBar(Parameter.CONTRIBUTION_RATE);
+            TornadoBar withdrawals = chart.getBar(Parameter.WITHDRAWAL_RATE);
+            assertTrue(returns.highMedianEndingBalance() > chart.getBaselineMedianEndingBalance());
+            assertTrue(returns.lowMedianEndingBalance() < chart.getBaselineMedianEndingBalance());
+            assertTrue(contributions.highMedianEndingBalance() > contributions.lowMedianEndingBalance());
+            assertTrue(withdrawals.highMedianEndingBalance() < withdrawals.lowMedianEndingBalance());
+            assertThrows(ValidationException.class, () -> chart.getBar(Parameter.INFLATION));
+        }
+
+        @Test
+        @DisplayName("Should match full runs of every perturbed request")
+        void matchesFullRuns() {
+            SimulationRequest request = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(100, 11L))
+                .build();
+            SimulationEngine engine = new SimulationEngine();
+
+            TornadoChart chart = SensitivityAnalyzer.builder().build().analyze(request);
+
+            assertEquals(Parameter.values().length, chart.getBars().size());
+            assertEquals(100, chart.getPathCount());
+            SimulationRun baseline = engine.run(request);
+            assertEquals(baseline.getSuccessRate(), chart.getBaselineSuccessRate(), TOLERANCE);
+            for (TornadoBar bar : chart.getBars()) {
+                SimulationRun low = engine.run(SensitivityAnalyzer.perturb(request, bar.parameter(), -bar.delta()));
+                SimulationRun high = engine.run(SensitivityAnalyzer.perturb(request, bar.parameter(), bar.delta()));
+                assertEquals(low.getSuccessRate(), bar.lowSuccessRate(), TOLERANCE, bar.parameter().name());
+                assertEquals(high.getSuccessRate(), bar.highSuccessRate(), TOLERANCE, bar.parameter().name());
+                assertEquals(low.summarize(0.5).getEndingBalance(0.5), bar.lowMedianEndingBalance(), 1e-6);
+                assertEquals(high.summarize(0.5).getEndingBalance(0.5), bar.highMedianEndingBalance(), 1e-6);
+            }
+            List<TornadoBar> bars = chart.getBars();
+            for (int i = 1; i < bars.size(); i++) {
+                assertTrue(bars.get(i - 1).successRateSwing() >= bars.get(i).successRateSwing());
+            }
+        }
+
+        @Test
+        @DisplayName("Should give the same chart sequentially and in parallel")
+        void parallelMatchesSequential() {
+            SimulationRequest request = SimulationEngineTest.request(0.06, 0.04).toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(150, 3L))
+                .build();
+
+            TornadoChart parallel = SensitivityAnalyzer.builder().build().analyze(request);
+            TornadoChart sequential = SensitivityAnalyzer.builder().parallel(false).build().analyze(request);
+
+            assertEquals(parallel.getBars(), sequential.getBars());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void validates() {
+        assertThrows(ValidationException.class,
+            () -> SensitivityAnalyzer.builder().perturbation(Parameter.INFLATION, 0).build());
+        assertThrows(ValidationException.class, () -> SensitivityAnalyzer.builder().parameters().build());
+        assertThrows(MissingRequiredFieldException.class,
+            () -> SensitivityAnalyzer.builder().perturbation(null, 0.01));
+        SensitivityAnalyzer analyzer = SensitivityAnalyzer.builder()
+            .parameters(Parameter.RETIREMENT_DATE)
+            .perturbation(Parameter.INFLATION, 0.01)
+            .build();
+        assertEquals(2, analyzer.getDeltas().size());
+        assertEquals(12, analyzer.getDeltas().get(Parameter.RETIREMENT_DATE), TOLERANCE);
+        assertThrows(MissingRequiredFieldException.class, () -> analyzer.analyze(null));
+        assertThrows(ValidationException.class, () -> analyzer.analyze(SimulationEngineTest.request(0.0, 0.0),
+            ReturnPathBlock.forRun(RunConfiguration.deterministic(), 12)));
+    }
+}
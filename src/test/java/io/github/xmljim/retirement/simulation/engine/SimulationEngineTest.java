@@ -0,0 +1,662 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.ContributionType;
+import io.github.xmljim.retirement.domain.enums.DistributionStrategy;
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+import io.github.xmljim.retirement.domain.value.ContributionConfig;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.domain.value.WorkingIncome;
+import io.github.xmljim.retirement.simulation.expense.ExpenseCategory;
+import io.github.xmljim.retirement.simulation.expense.OneTimeExpense;
+import io.github.xmljim.retirement.simulation.result.SimulationResultCache;
+import io.github.xmljim.retirement.simulation.result.SimulationRun;
+import io.github.xmljim.retirement.simulation.strategy.BucketStrategy;
+import io.github.xmljim.retirement.simulation.strategy.GuardrailsStrategy;
+import io.github.xmljim.retirement.simulation.strategy.SpendingCurveStrategy;
+import io.github.xmljim.retirement.simulation.tax.TaxBrackets;
+
+@DisplayName("SimulationEngine Tests")
+class SimulationEngineTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private SimulationResultCache<PhaseBoundarySnapshot> boundaryCache;
+    private SimulationEngine engine;
+    private SimulationRequest flatRequest;
+
+    @BeforeEach
+    void setUp() {
+        boundaryCache = SimulationResultCache.<PhaseBoundarySnapshot>builder()
+            .maximumWeight(SimulationEngine.DEFAULT_SNAPSHOT_CACHE_BYTES)
+            .weigher(PhaseBoundarySnapshot::sizeInBytes)
+            .build();
+        engine = new SimulationEngine(boundaryCache);
+        flatRequest = request(0.0, 0.0);
+    }
+
+    /**
+     * 100k starting balance, 10% of a 120k salary contributed, retirement after
+     * ten years, and a 30-year horizon, with no inflation.
+     */
+    static SimulationRequest request(double preReturn, double postReturn) {
+        PersonProfile owner = PersonProfile.builder()
+            .name("Owner")
+            .dateOfBirth(LocalDate.of(1975, 1, 1))
+            .retirementDate(LocalDate.of(2035, 1, 1))
+            .lifeExpectancy(80)
+            .build();
+        Scenario scenario = Scenario.builder()
+            .name("Engine")
+            .primaryPerson(owner)
+            .startDate(LocalDate.of(2025, 1, 1))
+            .inflationAssumptions(InflationAssumptions.uniform(0.0))
+            .build();
+        InvestmentAccount account = InvestmentAccount.builder()
+            .name("401(k)")
+            .accountType(AccountType.TRADITIONAL_401K)
+            .balance(100000)
+            .preRetirementReturnRate(preReturn)
+            .postRetirementReturnRate(postReturn)
+            .build();
+        return SimulationRequest.builder()
+            .scenario(scenario)
+            .portfolio(Portfolio.builder().owner(owner).addAccount(account).build())
+            .workingIncome(WorkingIncome.of(120000, 0.0))
+            .addContribution(ContributionConfig.personal(0.10))
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Deterministic Run Tests")
+    class DeterministicTests {
+
+        @Test
+        @DisplayName("Should deposit contributions before retirement")
+        void accumulates() {
+            SimulationRun run = engine.run(flatRequest);
+
+            assertEquals(1, run.getPathCount());
+            assertEquals(360, run.getMonthCount());
+            assertEquals(30, run.getYearCount());
+            assertEquals(112000.0, run.getYearEndBalance(0, 0), TOLERANCE);
+            assertEquals(220000.0, run.getYearEndBalance(0, 9), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should withdraw a percentage of the balance at retirement")
+        void withdrawsPercentage() {
+            SimulationRun run = engine.run(flatRequest);
+
+            // 4% of 220k per year, for one year
+            assertEquals(220000.0 - 8800.0, run.getYearEndBalance(0, 10), TOLERANCE);
+            assertEquals(SimulationRun.NOT_DEPLETED, run.getDepletionMonth(0));
+            assertEquals(1.0, run.getSuccessRate());
+        }
+
+        @Test
+        @DisplayName("Should compound at the expected monthly rate")
+        void compounds() {
+            SimulationRun run = engine.run(request(0.12, 0.0).toBuilder().contributions(null).build());
+
+            assertEquals(100000.0 * Math.pow(1.01, 12), run.getYearEndBalance(0, 0), 1e-3);
+        }
+
+        @Test
+        @DisplayName("Should record the first month a withdrawal cannot be covered")
+        void recordsDepletion() {
+            SimulationRun run = engine.run(flatRequest.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.fixed(10000))
+                .build());
+
+            // 220k covers 22 months of 10k from month 120
+            assertEquals(142, run.getDepletionMonth(0));
+            assertEquals(0.0, run.getEndingBalance(0), TOLERANCE);
+            assertEquals(0.0, run.getSuccessRate());
+        }
+
+        @Test
+        @DisplayName("Should let guardrails cut spending where a static withdrawal depletes")
+        void guardrails() {
+            GuardrailsStrategy guardrails = GuardrailsStrategy.builder()
+                .initialRate(0.06)
+                .upperGuardrail(0.05)
+                .lowerGuardrail(0.07)
+                .build();
+            SimulationRequest dynamic = flatRequest.toBuilder().spendingStrategy(guardrails).build();
+
+            SimulationRun fixedRate = engine.run(flatRequest.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.06))
+                .build());
+            SimulationRun guarded = engine.run(dynamic);
+
+            assertEquals(0.0, fixedRate.getSuccessRate());
+            assertEquals(1.0, guarded.getSuccessRate());
+            assertEquals(220000.0 - 13200.0, guarded.getYearEndBalance(0, 10), TOLERANCE);
+            assertNotEquals(flatRequest.contentHash(), dynamic.contentHash());
+            assertEquals(flatRequest.accumulationHash(), dynamic.accumulationHash());
+        }
+
+        @Test
+        @DisplayName("Should scale withdrawals by the owner's age on a spending curve")
+        void spendingCurve() {
+            SimulationRun run = engine.run(flatRequest.toBuilder()
+                .spendingStrategy(SpendingCurveStrategy.standard(flatRequest.getSpendingStrategy()))
+                .build());
+
+            // the owner turns 75 in 2050, the 26th year of the run
+            assertEquals(220000.0 - 15 * 8800.0, run.getYearEndBalance(0, 24), TOLERANCE);
+            assertEquals(220000.0 - 15 * 8800.0 - 8800.0 * 0.85, run.getYearEndBalance(0, 25), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should spend the same total through buckets as the wrapped strategy")
+        void buckets() {
+            SimulationRequest bucketed = flatRequest.toBuilder()
+                .spendingStrategy(BucketStrategy.builder()
+                    .spendingStrategy(flatRequest.getSpendingStrategy())
+                    .refillRule(BucketStrategy.RefillRule.MARKET_TRIGGERED)
+                    .build())
+                .build();
+
+            SimulationRun expected = engine.run(flatRequest);
+            SimulationRun actual = engine.run(bucketed);
+
+            for (int year = 0; year < expected.getYearCount(); year++) {
+                assertEquals(expected.getYearEndBalance(0, year), actual.getYearEndBalance(0, year), TOLERANCE);
+            }
+        }
+
+        @Test
+        @DisplayName("Should take required distributions and reinvest what is not spent")
+        void requiredDistributions() {
+            PersonProfile owner = PersonProfile.builder()
+                .name("Retiree")
+                .dateOfBirth(LocalDate.of(1953, 1, 1))
+                .retirementDate(LocalDate.of(2025, 1, 1))
+                .lifeExpectancy(80)
+                .build();
+            InvestmentAccount ira = InvestmentAccount.builder()
+                .name("IRA")
+                .accountType(AccountType.TRADITIONAL_IRA)
+                .balance(100000)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build();
+            InvestmentAccount brokerage = InvestmentAccount.builder()
+                .name("Brokerage")
+                .accountType(AccountType.TAXABLE_BROKERAGE)
+                .balance(0)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build();
+            SimulationRequest request = SimulationRequest.builder()
+                .scenario(Scenario.builder()
+                    .name("RMD")
+                    .primaryPerson(owner)
+                    .startDate(LocalDate.of(2025, 1, 1))
+                    .inflationAssumptions(InflationAssumptions.uniform(0.0))
+                    .build())
+                .portfolio(Portfolio.builder().owner(owner).addAccount(ira).addAccount(brokerage).build())
+                .withdrawalStrategy(WithdrawalStrategy.fixed(100))
+                .build();
+
+            PathSimulation simulation = engine.start(request);
+            simulation.advanceTo(24);
+            SimulationCheckpoint checkpoint = simulation.checkpoint();
+
+            // born 1953: no RMD at 72 in 2025; at 73 in 2026, 98,800 / 26.5 spread over the year
+            double required = 98800.0 / 26.5;
+            assertEquals(98800.0 - required, checkpoint.balance(0), TOLERANCE);
+            assertEquals(required - 1200.0, checkpoint.balance(1), TOLERANCE);
+            assertEquals(97600.0, checkpoint.getTotalBalance(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should compute each year's federal tax when a filing status is set")
+        void taxes() {
+            SimulationRequest taxed = flatRequest.toBuilder().filingStatus(FilingStatus.SINGLE).build();
+            TaxBrackets brackets = TaxBrackets.federal2025(FilingStatus.SINGLE);
+
+            SimulationRun run = engine.run(taxed);
+
+            assertTrue(run.hasTaxes());
+            assertFalse(engine.run(flatRequest).hasTaxes());
+            // wages less the 10% pre-tax contribution, then the 401(k) withdrawal in retirement
+            assertEquals(brackets.tax(108000.0), run.getYearTax(0, 0), TOLERANCE);
+            assertEquals(brackets.tax(8800.0), run.getYearTax(0, 10), TOLERANCE);
+            assertNotEquals(flatRequest.accumulationHash(), taxed.accumulationHash());
+        }
+
+        @Test
+        @DisplayName("Should pay one-time expenses in their month, once per path")
+        void oneTimeExpenses() {
+            OneTimeExpense roof = OneTimeExpense.of("Roof", ExpenseCategory.HOUSING, 10000, LocalDate.of(2030, 6, 1));
+            OneTimeExpense trip = OneTimeExpense.of("Trip", ExpenseCategory.TRAVEL, 5000, LocalDate.of(2040, 3, 1));
+            SimulationRequest withExpenses = flatRequest.toBuilder()
+                .addOneTimeExpense(roof)
+                .addOneTimeExpense(trip)
+                .build();
+
+            SimulationRun run = engine.run(withExpenses);
+
+            assertEquals(172000.0 - 10000.0, run.getYearEndBalance(0, 5), TOLERANCE);
+            assertEquals(210000.0, run.getYearEndBalance(0, 9), TOLERANCE);
+            // 4% of 210k per year, plus the trip in year 15
+            assertEquals(210000.0 - 8400.0 * 6 - 5000.0, run.getYearEndBalance(0, 15), TOLERANCE);
+
+            PathSimulation path = engine.start(withExpenses);
+            path.advanceTo(66);
+            SimulationRun forked = engine.fork(path.checkpoint()).runToEnd();
+            assertEquals(run.getYearEndBalance(0, 29), forked.getYearEndBalance(0, 29), TOLERANCE);
+
+            assertNotEquals(flatRequest.accumulationHash(), withExpenses.accumulationHash());
+            SimulationRequest tripOnly = flatRequest.toBuilder().addOneTimeExpense(trip).build();
+            assertEquals(flatRequest.accumulationHash(), tripOnly.accumulationHash());
+            assertNotEquals(flatRequest.contentHash(), tripOnly.contentHash());
+        }
+
+        @Test
+        @DisplayName("Should inflate one-time expenses at their category's rate")
+        void inflatesOneTimeExpenses() {
+            InflationAssumptions housingOnly = InflationAssumptions.builder()
+                .generalInflation(0.0)
+                .healthcareInflation(0.0)
+                .housingInflation(0.02)
+                .build();
+            SimulationRequest request = flatRequest.toBuilder()
+                .scenario(flatRequest.getScenario().toBuilder().inflationAssumptions(housingOnly).build())
+                .addOneTimeExpense(OneTimeExpense.of("Roof", ExpenseCategory.HOUSING, 10000, LocalDate.of(2030, 6, 1)))
+                .build();
+
+            SimulationRun run = engine.run(request);
+
+            assertEquals(172000.0 - 10000.0 * Math.pow(1.02, 5), run.getYearEndBalance(0, 5), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should reject a block smaller than the run")
+        void rejectsSmallBlock() {
+            assertThrows(ValidationException.class,
+                () -> engine.run(flatRequest, ReturnPathBlock.deterministic(12)));
+            assertThrows(MissingRequiredFieldException.class, () -> engine.run(flatRequest, null));
+            assertThrows(MissingRequiredFieldException.class, () -> engine.run(null));
+        }
+
+        @Test
+        @DisplayName("Should reject a block generated for another run configuration")
+        void rejectsForeignBlock() {
+            SimulationRequest request = flatRequest.toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(10, 1L))
+                .build();
+            engine.run(request, ReturnPathBlock.generate(20, 360, 1L));
+
+            assertThrows(ValidationException.class, () -> engine.run(request, ReturnPathBlock.generate(10, 360, 2L)));
+            assertThrows(ValidationException.class, () -> engine.run(request, ReturnPathBlock.generate(5, 360, 1L)));
+            assertThrows(ValidationException.class, () -> engine.run(request, ReturnPathBlock.deterministic(360)));
+            assertThrows(ValidationException.class, () -> engine.run(request,
+                ReturnPathBlock.generate(10, 360, 1L, InflationModel.builder().build())));
+            assertThrows(ValidationException.class,
+                () -> engine.run(flatRequest, ReturnPathBlock.generate(1, 360, 0L)));
+        }
+
+        @Test
+        @DisplayName("Should reject a contribution to an account type the portfolio lacks")
+        void rejectsMissingContributionTarget() {
+            SimulationRequest request = flatRequest.toBuilder()
+                .addContribution(ContributionConfig.builder()
+                    .contributionType(ContributionType.PERSONAL)
+                    .contributionRate(0.02)
+                    .targetAccountType(AccountType.ROTH_401K)
+                    .build())
+                .build();
+
+            assertThrows(ValidationException.class, () -> engine.run(request));
+        }
+    }
+
+    @Nested
+    @DisplayName("Result Cache Tests")
+    class ResultCacheTests {
+
+        private SimulationResultCache<SimulationRun> results;
+
+        @BeforeEach
+        void setUp() {
+            results = SimulationResultCache.<SimulationRun>builder()
+                .maximumWeight(16)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should answer a repeated request without simulating")
+        void hitSkipsSimulation() {
+            SimulationRun first = engine.runCached(flatRequest, results);
+            SimulationResultCache.Stats boundary = engine.getBoundaryCacheStats();
+
+            SimulationRun second = engine.runCached(flatRequest.toBuilder().build(), results);
+
+            assertSame(first, second);
+            assertEquals(1, results.stats().hitCount());
+            assertEquals(1, results.stats().missCount());
+            // a simulation would have looked up the phase-boundary snapshot
+            assertEquals(boundary, engine.getBoundaryCacheStats());
+        }
+
+        @Test
+        @DisplayName("Should simulate requests whose inputs differ")
+        void missSimulates() {
+            SimulationRun first = engine.runCached(flatRequest, results);
+            SimulationRun second = engine.runCached(flatRequest.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.05))
+                .build(), results);
+
+            assertNotSame(first, second);
+            assertEquals(0, results.stats().hitCount());
+            assertEquals(2, results.stats().missCount());
+        }
+
+        @Test
+        @DisplayName("Should reject a null cache")
+        void rejectsNullCache() {
+            assertThrows(MissingRequiredFieldException.class, () -> engine.runCached(flatRequest, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Phase Boundary Reuse Tests")
+    class BoundaryReuseTests {
+
+        @Test
+        @DisplayName("Should resume from the boundary when only distribution inputs change")
+        void resumesForDistributionChanges() {
+            SimulationRequest first = request(0.06, 0.04).toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(50, 7L))
+                .build();
+            SimulationRequest second = first.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.05))
+                .build();
+
+            SimulationRun initial = engine.run(first);
+            SimulationRun resumed = engine.run(second);
+            SimulationRun fresh = new SimulationEngine().run(second);
+
+            assertFalse(initial.isResumedFromBoundary());
+            assertTrue(resumed.isResumedFromBoundary());
+            assertFalse(fresh.isResumedFromBoundary());
+            for (int path = 0; path < 50; path++) {
+                for (int year = 0; year < fresh.getYearCount(); year++) {
+                    assertEquals(fresh.getYearEndBalance(path, year), resumed.getYearEndBalance(path, year),
+                        TOLERANCE);
+                }
+            }
+            assertEquals(1, boundaryCache.size());
+            assertEquals(1, engine.getBoundaryCacheStats().hitCount());
+        }
+
+        @Test
+        @DisplayName("Should share the accumulation hash only across distribution changes")
+        void accumulationHash() {
+            SimulationRequest other = flatRequest.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.03))
+                .build();
+
+            assertEquals(flatRequest.accumulationHash(), other.accumulationHash());
+            assertNotEquals(flatRequest.contentHash(), other.contentHash());
+            assertNotEquals(flatRequest.accumulationHash(),
+                flatRequest.toBuilder().addContribution(ContributionConfig.employer(0.04)).build()
+                    .accumulationHash());
+            assertNotEquals(flatRequest.accumulationHash(),
+                flatRequest.toBuilder().runConfiguration(RunConfiguration.monteCarlo(10, 1L)).build()
+                    .accumulationHash());
+        }
+
+        @Test
+        @DisplayName("Should not share a boundary across distribution strategies when expenses precede retirement")
+        void distributionStrategyWithEarlyExpenses() {
+            SimulationRequest base = request(0.06, 0.04);
+            InvestmentAccount roth = InvestmentAccount.builder()
+                .name("Roth IRA")
+                .accountType(AccountType.ROTH_IRA)
+                .balance(50000)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build();
+            SimulationRequest taxEfficient = base.toBuilder()
+                .portfolio(Portfolio.builder()
+                    .owner(base.getOwner())
+                    .addAccount(base.getPortfolio().getAccounts().get(0))
+                    .addAccount(roth)
+                    .build())
+                .addOneTimeExpense(OneTimeExpense.of("Roof", ExpenseCategory.HOUSING, 40000, LocalDate.of(2027, 1, 1)))
+                .build();
+            SimulationRequest proRata = taxEfficient.toBuilder()
+                .scenario(taxEfficient.getScenario().toBuilder()
+                    .distributionStrategy(DistributionStrategy.PRO_RATA)
+                    .build())
+                .build();
+
+            engine.run(taxEfficient);
+            SimulationRun reused = engine.run(proRata);
+            SimulationRun fresh = new SimulationEngine().run(proRata);
+
+            assertNotEquals(taxEfficient.accumulationHash(), proRata.accumulationHash());
+            assertFalse(reused.isResumedFromBoundary());
+            for (int year = 0; year < fresh.getYearCount(); year++) {
+                assertEquals(fresh.getYearEndBalance(0, year), reused.getYearEndBalance(0, year), TOLERANCE);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep a pre-retirement depletion when resuming from the boundary")
+        void resumesDepletion() {
+            OneTimeExpense house =
+                OneTimeExpense.of("House", ExpenseCategory.HOUSING, 300000, LocalDate.of(2026, 1, 1));
+            SimulationRequest depleted = flatRequest.toBuilder().addOneTimeExpense(house).build();
+
+            SimulationRun initial = engine.run(depleted);
+            SimulationRun resumed = engine.run(depleted.toBuilder()
+                .withdrawalStrategy(WithdrawalStrategy.percentage(0.03))
+                .build());
+
+            assertEquals(12, initial.getDepletionMonth(0));
+            assertTrue(resumed.isResumedFromBoundary());
+            assertEquals(12, resumed.getDepletionMonth(0));
+            assertEquals(0.0, resumed.getSuccessRate(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should not resume when accumulation inputs change")
+        void recomputesForAccumulationChanges() {
+            engine.run(flatRequest);
+
+            SimulationRun run = engine.run(flatRequest.toBuilder()
+                .workingIncome(WorkingIncome.of(150000, 0.0))
+                .build());
+
+            assertFalse(run.isResumedFromBoundary());
+            assertEquals(2, boundaryCache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Return Path Block Tests")
+    class ReturnPathBlockTests {
+
+        @Test
+        @DisplayName("Should generate reproducible shocks per path")
+        void reproducible() {
+            ReturnPathBlock block = ReturnPathBlock.generate(4, 24, 42L);
+            ReturnPathBlock longer = ReturnPathBlock.generate(8, 36, 42L);
+
+            assertEquals(block.shock(3, 23), longer.shock(3, 23));
+            assertEquals(block.shock(2, 5), block.shockAt(block.pathOffset(2) + 5));
+            assertNotEquals(block.shock(0, 0), ReturnPathBlock.generate(4, 24, 43L).shock(0, 0));
+            assertEquals(42L, block.getSeed());
+        }
+
+        @Test
+        @DisplayName("Should produce zero shocks for deterministic runs")
+        void deterministic() {
+            ReturnPathBlock block = ReturnPathBlock.forRun(RunConfiguration.deterministic(), 12);
+
+            assertEquals(1, block.getPathCount());
+            assertEquals(12, block.getMonthCount());
+            assertEquals(0.0, block.shock(0, 11));
+            assertEquals(3, ReturnPathBlock.forRun(RunConfiguration.monteCarlo(3, 1L), 12).getPathCount());
+        }
+
+        @Test
+        @DisplayName("Should apply shocks scaled by monthly volatility")
+        void appliesShocks() {
+            SimulationRequest stochastic = flatRequest.toBuilder()
+                .runConfiguration(RunConfiguration.monteCarlo(2, 9L))
+                .contributions(null)
+                .build();
+            ReturnPathBlock block = ReturnPathBlock.generate(2, 360, 9L);
+
+            SimulationRun run = engine.run(stochastic, block);
+
+            double expected = 100000.0 * (1.0 + stochastic.getMonthlyVolatility() * block.shock(1, 0));
+            for (int month = 1; month < 12; month++) {
+                expected *= 1.0 + stochastic.getMonthlyVolatility() * block.shock(1, month);
+            }
+            assertEquals(expected, run.getYearEndBalance(1, 0), 1e-6);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid dimensions")
+        void rejectsInvalidDimensions() {
+            assertThrows(ValidationException.class, () -> ReturnPathBlock.generate(0, 12, 1L));
+            assertThrows(ValidationException.class, () -> ReturnPathBlock.deterministic(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stochastic Inflation Tests")
+    class InflationTests {
+
+        private final InflationModel model = InflationModel.builder().meanRate(0.03).volatility(0.02).build();
+
+        @Test
+        @DisplayName("Should generate reproducible inflation without changing the shocks")
+        void reproducible() {
+            ReturnPathBlock plain = ReturnPathBlock.generate(4, 24, 42L);
+            ReturnPathBlock block = ReturnPathBlock.generate(4, 24, 42L, model);
+            ReturnPathBlock longer = ReturnPathBlock.generate(8, 36, 42L, model);
+
+            assertFalse(plain.hasInflation());
+            assertTrue(block.hasInflation());
+            assertEquals(plain.shock(3, 23), block.shock(3, 23));
+            assertEquals(1.0, block.inflationFactor(2, 0));
+            assertEquals(block.inflationFactor(3, 24), longer.inflationFactor(3, 24));
+            assertNotEquals(block.inflationFactor(0, 24), block.inflationFactor(1, 24));
+            assertThrows(IllegalStateException.class, () -> plain.inflationOffset(0));
+        }
+
+        @Test
+        @DisplayName("Should follow the mean path without volatility")
+        void meanPath() {
+            InflationModel flat = InflationModel.builder().meanRate(0.03).volatility(0.0).build();
+            ReturnPathBlock block = ReturnPathBlock.generate(2, 24, 7L, flat);
+            ReturnPathBlock deterministic = ReturnPathBlock.forRun(RunConfiguration.deterministic()
+                .withInflationModel(model), 24);
+
+            assertEquals(1.03, block.inflationFactor(1, 12), 1e-12);
+            assertEquals(1.03 * 1.03, block.inflationFactor(0, 24), 1e-12);
+            assertEquals(1.03, deterministic.inflationFactor(0, 12), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Should correlate inflation innovations with return shocks")
+        void correlated() {
+            InflationModel perfect = InflationModel.builder()
+                .meanRate(0.0)
+                .persistence(0.0)
+                .volatility(0.12)
+                .returnCorrelation(1.0)
+                .build();
+            ReturnPathBlock block = ReturnPathBlock.generate(1, 2, 5L, perfect);
+
+            assertEquals(1.0 + 0.01 * block.shock(0, 0), block.inflationFactor(0, 1), 1e-12);
+            assertThrows(ValidationException.class, () -> InflationModel.builder().persistence(1.0).build());
+            assertThrows(ValidationException.class, () -> InflationModel.builder().returnCorrelation(1.5).build());
+        }
+
+        @Test
+        @DisplayName("Should match constant inflation on the model's mean path")
+        void matchesConstant() {
+            InflationModel flat = InflationModel.builder().meanRate(0.03).volatility(0.0).build();
+            SimulationRequest constant = flatRequest.toBuilder()
+                .scenario(flatRequest.getScenario().toBuilder()
+                    .inflationAssumptions(InflationAssumptions.uniform(0.03))
+                    .build())
+                .build();
+            SimulationRequest modeled = flatRequest.toBuilder()
+                .runConfiguration(RunConfiguration.deterministic().withInflationModel(flat))
+                .build();
+
+            SimulationRun expected = engine.run(constant);
+            SimulationRun actual = engine.run(modeled);
+
+            assertNotEquals(flatRequest.contentHash(), modeled.contentHash());
+            assertEquals(flatRequest.accumulationHash(), modeled.accumulationHash());
+            for (int year = 0; year < expected.getYearCount(); year++) {
+                assertEquals(expected.getYearEndBalance(0, year), actual.getYearEndBalance(0, year), 1e-6);
+            }
+        }
+
+        @Test
+        @DisplayName("Should grow withdrawals and expenses with each path's inflation")
+        void pathInflation() {
+            OneTimeExpense trip = OneTimeExpense.of("Trip", ExpenseCategory.TRAVEL, 5000, LocalDate.of(2036, 3, 1));
+            RunConfiguration run = RunConfiguration.monteCarlo(2, 11L).withInflationModel(model);
+            SimulationRequest stochastic = flatRequest.toBuilder()
+                .runConfiguration(run)
+                .annualVolatility(0.0)
+                .addOneTimeExpense(trip)
+                .build();
+            ReturnPathBlock block = ReturnPathBlock.forRun(run, 360);
+
+            SimulationRun result = engine.run(stochastic);
+
+            for (int path = 0; path < 2; path++) {
+                double growth = block.inflationFactor(path, 132) / block.inflationFactor(path, 120);
+                double expected = 220000.0 - 8800.0 - 8800.0 * growth - 5000.0 * block.inflationFactor(path, 132);
+                assertEquals(expected, result.getYearEndBalance(path, 11), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should summarize a run")
+    void summarizes() {
+        SimulationRun run = engine.run(flatRequest);
+
+        assertArrayEquals(new double[] {112000.0}, run.summarize(0.5).getBand(0), TOLERANCE);
+        assertTrue(run.toString().contains("paths=1"));
+    }
+}
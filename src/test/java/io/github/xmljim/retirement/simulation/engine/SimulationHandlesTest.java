@@ -0,0 +1,149 @@
+package io.github.xmljim.retirement.simulation.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.ConfigurationException;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.model.Scenario;
+
+@DisplayName("SimulationHandles Tests")
+class SimulationHandlesTest {
+
+    private PersonProfile primary;
+    private PersonProfile secondary;
+    private Portfolio primaryPortfolio;
+    private Portfolio secondaryPortfolio;
+    private Scenario couple;
+
+    @BeforeEach
+    void setUp() {
+        primary = person("John Doe", 1970);
+        secondary = person("Jane Doe", 1972);
+        primaryPortfolio = Portfolio.builder()
+            .owner(primary)
+            .addAccount(account("401(k)", AccountType.TRADITIONAL_401K))
+            .addAccount(account("Roth IRA", AccountType.ROTH_IRA))
+            .build();
+        secondaryPortfolio = Portfolio.builder()
+            .owner(secondary)
+            .addAccount(account("403(b)", AccountType.TRADITIONAL_403B))
+            .build();
+        couple = Scenario.builder()
+            .name("Couple")
+            .primaryPerson(primary)
+            .secondaryPerson(secondary)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Compile Tests")
+    class CompileTests {
+
+        @Test
+        @DisplayName("Should assign dense handles in portfolio and account order")
+        void assignsDenseHandles() {
+            SimulationHandles handles = SimulationHandles.compile(couple,
+                List.of(primaryPortfolio, secondaryPortfolio));
+
+            assertEquals(2, handles.getPersonCount());
+            assertEquals(3, handles.getAccountCount());
+            assertEquals(SimulationHandles.PRIMARY_PERSON, handles.getPersonHandle(primary.getId()));
+            assertEquals(SimulationHandles.SECONDARY_PERSON, handles.getPersonHandle(secondary.getId()));
+            for (int handle = 0; handle < 2; handle++) {
+                String id = primaryPortfolio.getAccounts().get(handle).getId();
+                assertEquals(handle, handles.getAccountHandle(id));
+                assertEquals(id, handles.getAccountId(handle));
+                assertEquals(SimulationHandles.PRIMARY_PERSON, handles.getOwner(handle));
+            }
+            assertEquals(SimulationHandles.SECONDARY_PERSON, handles.getOwner(2));
+            assertEquals(secondary.getId(), handles.getPersonId(1));
+        }
+
+        @Test
+        @DisplayName("Should make a single portfolio's owner the primary person")
+        void compilesSinglePortfolio() {
+            SimulationHandles handles = SimulationHandles.compile(primaryPortfolio);
+
+            assertEquals(1, handles.getPersonCount());
+            assertEquals(2, handles.getAccountCount());
+            assertEquals(primary.getId(), handles.getPersonId(SimulationHandles.PRIMARY_PERSON));
+        }
+
+        @Test
+        @DisplayName("Should reject portfolios owned by someone outside the scenario")
+        void rejectsForeignOwner() {
+            Scenario single = Scenario.builder().name("Single").primaryPerson(primary).build();
+
+            assertThrows(ConfigurationException.class, () ->
+                SimulationHandles.compile(single, List.of(primaryPortfolio, secondaryPortfolio)));
+        }
+
+        @Test
+        @DisplayName("Should reject an account appearing in two portfolios")
+        void rejectsDuplicateAccounts() {
+            Portfolio duplicate = secondaryPortfolio.withAccount(primaryPortfolio.getAccounts().get(0));
+
+            assertThrows(ValidationException.class, () ->
+                SimulationHandles.compile(couple, List.of(primaryPortfolio, duplicate)));
+        }
+
+        @Test
+        @DisplayName("Should reject null inputs")
+        void rejectsNulls() {
+            assertThrows(MissingRequiredFieldException.class, () ->
+                SimulationHandles.compile(null, List.of()));
+            assertThrows(MissingRequiredFieldException.class, () ->
+                SimulationHandles.compile(couple, null));
+            assertThrows(MissingRequiredFieldException.class, () ->
+                SimulationHandles.compile(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should fail for IDs outside the run")
+        void unknownIds() {
+            SimulationHandles handles = SimulationHandles.compile(primaryPortfolio);
+
+            assertThrows(ValidationException.class, () -> handles.getAccountHandle("missing"));
+            assertThrows(ValidationException.class, () -> handles.getPersonHandle(secondary.getId()));
+            assertFalse(handles.findAccountHandle("missing").isPresent());
+        }
+    }
+
+    private static PersonProfile person(String name, int birthYear) {
+        return PersonProfile.builder()
+            .name(name)
+            .dateOfBirth(LocalDate.of(birthYear, 1, 1))
+            .retirementDate(LocalDate.of(birthYear + 65, 1, 1))
+            .build();
+    }
+
+    private static InvestmentAccount account(String name, AccountType type) {
+        return InvestmentAccount.builder()
+            .name(name)
+            .accountType(type)
+            .balance(new BigDecimal("100000"))
+            .preRetirementReturnRate(new BigDecimal("0.06"))
+            .build();
+    }
+}
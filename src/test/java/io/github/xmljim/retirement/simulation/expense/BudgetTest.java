@@ -0,0 +1,136 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+import io.github.xmljim.retirement.simulation.expense.Budget.Phase;
+
+@DisplayName("Budget Tests")
+class BudgetTest {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final LocalDate START = LocalDate.of(2025, 1, 15);
+
+    private final InflationAssumptions inflation = InflationAssumptions.builder()
+        .generalInflation(0.03)
+        .healthcareInflation(0.05)
+        .housingInflation(0.02)
+        .build();
+
+    @Nested
+    @DisplayName("Inflation Tests")
+    class InflationTests {
+
+        @Test
+        @DisplayName("Should inflate each category at its index once per year")
+        void inflatesByIndex() {
+            ExpenseSchedule schedule = Budget.builder()
+                .addExpense(Expense.of(ExpenseCategory.FOOD, 1000))
+                .addExpense(Expense.of(ExpenseCategory.HEALTHCARE, 500))
+                .addExpense(Expense.of(ExpenseCategory.HOUSING, 2000))
+                .build()
+                .compile(START, 120, inflation);
+
+            assertEquals(LocalDate.of(2025, 1, 1), schedule.getStartDate());
+            assertEquals(120, schedule.getMonthCount());
+            assertEquals(1000, schedule.getAmount(ExpenseCategory.FOOD, 11), TOLERANCE);
+            assertEquals(1030, schedule.getAmount(ExpenseCategory.FOOD, 12), TOLERANCE);
+            assertEquals(1000 * Math.pow(1.03, 9), schedule.getAmount(ExpenseCategory.FOOD, 119), 1e-6);
+            assertEquals(500 * Math.pow(1.05, 9), schedule.getAmount(ExpenseCategory.HEALTHCARE, 119), 1e-6);
+            assertEquals(2000 * Math.pow(1.02, 5), schedule.getAmount(ExpenseCategory.HOUSING, 60), 1e-6);
+            assertEquals(3500, schedule.getTotal(0), TOLERANCE);
+            assertEquals(1030 + 525 + 2040, schedule.getTotal(12), TOLERANCE);
+            assertEquals(schedule.getTotal(12), schedule.getTotalAtPriceLevel(12, 1.03), TOLERANCE);
+            assertEquals((1030 + 525 + 2040) / 1.03 * 1.05, schedule.getTotalAtPriceLevel(12, 1.05), 1e-6);
+        }
+
+        @Test
+        @DisplayName("Should keep debt payments fixed until payoff")
+        void debtPayoff() {
+            ExpenseSchedule schedule = Budget.builder()
+                .addExpense(Expense.debt("Mortgage", 2100, LocalDate.of(2030, 7, 1)))
+                .build()
+                .compile(START, 120, inflation);
+
+            assertEquals(2100, schedule.getAmount(ExpenseCategory.DEBT, 0), TOLERANCE);
+            assertEquals(2100, schedule.getAmount(ExpenseCategory.DEBT, 65), TOLERANCE);
+            assertEquals(0, schedule.getAmount(ExpenseCategory.DEBT, 66), TOLERANCE);
+            assertEquals(2100 * 66, schedule.getTotal(0, 120), TOLERANCE);
+            assertEquals(2100, schedule.getTotalAtPriceLevel(24, 1.5), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should state a later-starting expense in first-month dollars")
+        void laterStart() {
+            ExpenseSchedule schedule = Budget.builder()
+                .addExpense(Expense.builder()
+                    .category(ExpenseCategory.TRAVEL)
+                    .monthlyAmount(400)
+                    .startDate(LocalDate.of(2027, 3, 1))
+                    .endDate(LocalDate.of(2029, 1, 1))
+                    .build())
+                .build()
+                .compile(START, 60, inflation);
+
+            assertEquals(0, schedule.getAmount(ExpenseCategory.TRAVEL, 25), TOLERANCE);
+            assertEquals(400 * 1.03 * 1.03, schedule.getAmount(ExpenseCategory.TRAVEL, 26), 1e-6);
+            assertEquals(400 * Math.pow(1.03, 3), schedule.getAmount(ExpenseCategory.TRAVEL, 47), 1e-6);
+            assertEquals(0, schedule.getAmount(ExpenseCategory.TRAVEL, 48), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Phase Tests")
+    class PhaseTests {
+
+        @Test
+        @DisplayName("Should scale categories from each phase onward")
+        void phases() {
+            ExpenseSchedule schedule = Budget.builder()
+                .addExpense(Expense.of(ExpenseCategory.TRAVEL, 1000))
+                .addExpense(Expense.of(ExpenseCategory.OTHER, 100))
+                .addPhase(Phase.from(LocalDate.of(2027, 1, 1), ExpenseCategory.TRAVEL, 0.0))
+                .addPhase(Phase.from(LocalDate.of(2026, 1, 1), 0.5))
+                .build()
+                .compile(START, 36, InflationAssumptions.uniform(0.0));
+
+            assertEquals(1100, schedule.getTotal(11), TOLERANCE);
+            assertEquals(550, schedule.getTotal(12), TOLERANCE);
+            assertEquals(50, schedule.getTotal(24), TOLERANCE);
+            assertEquals(50, schedule.getAmount(ExpenseCategory.OTHER, 35), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should order phases by start date")
+        void ordersPhases() {
+            Budget budget = Budget.builder()
+                .addPhase(Phase.from(LocalDate.of(2040, 1, 1), 0.8))
+                .addPhase(Phase.from(LocalDate.of(2030, 1, 1), 0.9))
+                .build();
+
+            assertEquals(LocalDate.of(2030, 1, 1), budget.getPhases().get(0).getStartDate());
+            assertEquals(budget, budget.toBuilder().build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid input")
+    void validates() {
+        Budget budget = Budget.builder().build();
+        assertThrows(ValidationException.class, () -> budget.compile(START, 0, inflation));
+        assertThrows(MissingRequiredFieldException.class, () -> budget.compile(null, 12, inflation));
+        assertThrows(MissingRequiredFieldException.class, () -> budget.compile(START, 12, null));
+        assertThrows(ValidationException.class, () -> Phase.from(START, -0.5));
+        assertThrows(MissingRequiredFieldException.class, () -> Phase.from(START, null, 0.5));
+        assertThrows(IndexOutOfBoundsException.class, () -> budget.compile(START, 12, inflation).getTotal(0, 13));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.xmljim.retirement.simulation.expense;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.InflationAssumptions;
+
+@DisplayName("Expense Tests")
+class ExpenseTest {
+
+    @Test
+    @DisplayName("Should default the name to the category")
+    void defaults() {
+        Expense expense = Expense.of(ExpenseCategory.HEALTHCARE, 650);
+
+        assertEquals("Healthcare", expense.getName());
+        assertTrue(expense.getStartDate().isEmpty());
+        assertTrue(expense.getEndDate().isEmpty());
+        assertEquals(expense, expense.toBuilder().build());
+    }
+
+    @Test
+    @DisplayName("Should create a debt that ends at its payoff date")
+    void debt() {
+        Expense loan = Expense.debt("Car", 450, LocalDate.of(2028, 4, 1));
+
+        assertEquals(ExpenseCategory.DEBT, loan.getCategory());
+        assertEquals(InflationIndex.NONE, loan.getCategory().getInflationIndex());
+        assertEquals(LocalDate.of(2028, 4, 1), loan.getEndDate().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should map inflation indexes to assumption rates")
+    void inflationIndex() {
+        InflationAssumptions assumptions = InflationAssumptions.defaults();
+
+        assertEquals(0.05, InflationIndex.HEALTHCARE.annualRate(assumptions), 1e-12);
+        assertEquals(0.025, ExpenseCategory.HOUSING.getInflationIndex().annualRate(assumptions), 1e-12);
+        assertEquals(0.0, InflationIndex.NONE.annualRate(assumptions), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid input")
+    void validates() {
+        assertThrows(MissingRequiredFieldException.class, () -> Expense.builder().monthlyAmount(10).build());
+        assertThrows(ValidationException.class, () -> Expense.of(ExpenseCategory.FOOD, -1));
+        assertThrows(MissingRequiredFieldException.class, () -> Expense.debt("Loan", 100, null));
+        assertThrows(ValidationException.class, () -> Expense.builder()
+            .category(ExpenseCategory.TRAVEL)
+            .startDate(LocalDate.of(2030, 1, 1))
+            .endDate(LocalDate.of(2030, 1, 1))
+            .build());
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.PrecisionMode;
+import io.github.xmljim.retirement.domain.enums.SimulationMode;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.AssetAllocation;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.simulation.engine.RunConfiguration;
+
+@DisplayName("SimulationResultCache Tests")
+class SimulationResultCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private AtomicLong nanos;
+    private SimulationResultCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong();
+        cache = SimulationResultCache.<String>builder()
+            .maximumWeight(10)
+            .weigher(String::length)
+            .expireAfterWrite(TTL)
+            .ticker(nanos::get)
+            .build();
+    }
+
+    private static SimulationCacheKey key(long id) {
+        return new SimulationCacheKey(new ContentHash(0L, id), PrecisionMode.DOUBLE,
+            RunConfiguration.deterministic());
+    }
+
+    @Nested
+    @DisplayName("Key Tests")
+    class KeyTests {
+
+        @Test
+        @DisplayName("Should key on content, precision, and run configuration")
+        void keysOnAllComponents() {
+            SimulationCacheKey key = SimulationCacheKey.of(AssetAllocation.of(60, 30, 10),
+                PrecisionMode.DOUBLE, RunConfiguration.monteCarlo(1000, 42L));
+
+            assertEquals(key, SimulationCacheKey.of(AssetAllocation.of(60, 30, 10),
+                PrecisionMode.DOUBLE, RunConfiguration.monteCarlo(1000, 42L)));
+            assertNotEquals(key, SimulationCacheKey.of(AssetAllocation.of(60, 30, 10),
+                PrecisionMode.DECIMAL, RunConfiguration.monteCarlo(1000, 42L)));
+            assertNotEquals(key, SimulationCacheKey.of(AssetAllocation.of(60, 30, 10),
+                PrecisionMode.DOUBLE, RunConfiguration.monteCarlo(1000, 43L)));
+            assertThrows(MissingRequiredFieldException.class,
+                () -> SimulationCacheKey.of(null, PrecisionMode.DOUBLE, RunConfiguration.deterministic()));
+        }
+
+        @Test
+        @DisplayName("Should validate run configurations")
+        void validatesRunConfiguration() {
+            assertEquals(new RunConfiguration(SimulationMode.DETERMINISTIC, 1, 99L),
+                RunConfiguration.deterministic());
+            assertThrows(ValidationException.class, () -> RunConfiguration.monteCarlo(0, 1L));
+            assertThrows(ValidationException.class,
+                () -> new RunConfiguration(SimulationMode.DETERMINISTIC, 2, 0L));
+            assertThrows(MissingRequiredFieldException.class, () -> new RunConfiguration(null, 1, 0L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should skip the loader on a hit")
+        void skipsLoaderOnHit() {
+            AtomicInteger runs = new AtomicInteger();
+
+            Supplier<String> loader = () -> {
+                runs.incrementAndGet();
+                return "abc";
+            };
+
+            assertEquals("abc", cache.getOrCompute(key(1), loader));
+            assertEquals("abc", cache.getOrCompute(key(1), loader));
+
+            assertEquals(1, runs.get());
+            assertEquals(new SimulationResultCache.Stats(1, 1, 0), cache.stats());
+            assertEquals(0.5, cache.stats().hitRate());
+        }
+
+        @Test
+        @DisplayName("Should not cache failures or null results")
+        void doesNotCacheFailures() {
+            assertThrows(IllegalStateException.class, () -> cache.getOrCompute(key(1), () -> {
+                throw new IllegalStateException("boom");
+            }));
+            assertThrows(MissingRequiredFieldException.class, () -> cache.getOrCompute(key(1), () -> null));
+
+            assertEquals("ok", cache.getOrCompute(key(1), () -> "ok"));
+        }
+
+        @Test
+        @DisplayName("Should invalidate entries")
+        void invalidates() {
+            cache.put(key(1), "a");
+            cache.put(key(2), "b");
+
+            cache.invalidate(key(1));
+            assertFalse(cache.getIfPresent(key(1)).isPresent());
+            assertEquals(1, cache.weightedSize());
+
+            cache.invalidateAll();
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.weightedSize());
+        }
+
+        @Test
+        @DisplayName("Should report a full hit rate before any request")
+        void emptyStats() {
+            assertEquals(0, cache.stats().requestCount());
+            assertEquals(1.0, cache.stats().hitRate());
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict least recently used entries by weight")
+        void evictsByWeight() {
+            cache.put(key(1), "aaaa");
+            cache.put(key(2), "bbbb");
+            cache.getIfPresent(key(1));
+
+            cache.put(key(3), "cccc");
+
+            assertTrue(cache.getIfPresent(key(1)).isPresent());
+            assertFalse(cache.getIfPresent(key(2)).isPresent());
+            assertTrue(cache.getIfPresent(key(3)).isPresent());
+            assertEquals(8, cache.weightedSize());
+            assertEquals(1, cache.stats().evictionCount());
+        }
+
+        @Test
+        @DisplayName("Should not store results heavier than the maximum")
+        void skipsOversizedResults() {
+            cache.put(key(1), "a");
+            cache.put(key(1), "x".repeat(11));
+
+            assertFalse(cache.getIfPresent(key(1)).isPresent());
+            assertEquals(0, cache.weightedSize());
+        }
+
+        @Test
+        @DisplayName("Should replace an existing result's weight")
+        void replacesWeight() {
+            cache.put(key(1), "aaaa");
+            cache.put(key(1), "bb");
+
+            assertEquals(2, cache.weightedSize());
+            assertEquals(1, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should expire entries after the time to live")
+        void expires() {
+            cache.put(key(1), "a");
+            cache.put(key(2), "b");
+            nanos.addAndGet(TTL.toNanos() - 1);
+            assertTrue(cache.getIfPresent(key(1)).isPresent());
+
+            nanos.incrementAndGet();
+            assertFalse(cache.getIfPresent(key(1)).isPresent());
+            cache.cleanUp();
+
+            assertEquals(0, cache.size());
+            assertEquals(2, cache.stats().evictionCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should run the loader once for concurrent requests")
+        void loadsOnce() throws Exception {
+            int callers = 8;
+            AtomicInteger runs = new AtomicInteger();
+            CountDownLatch ready = new CountDownLatch(callers);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+            try {
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    results.add(executor.submit(() -> {
+                        ready.countDown();
+                        return cache.getOrCompute(key(1), () -> {
+                            runs.incrementAndGet();
+                            awaitQuietly(release);
+                            return "ok";
+                        });
+                    }));
+                }
+                assertTrue(ready.await(10, TimeUnit.SECONDS));
+                release.countDown();
+                for (Future<String> result : results) {
+                    assertEquals("ok", result.get(10, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(1, runs.get());
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Builder Tests")
+    class BuilderTests {
+
+        @Test
+        @DisplayName("Should reject invalid settings")
+        void rejectsInvalidSettings() {
+            assertThrows(ValidationException.class, () -> SimulationResultCache.<String>builder().build());
+            assertThrows(ValidationException.class, () -> SimulationResultCache.<String>builder()
+                .maximumWeight(1).expireAfterWrite(Duration.ZERO).build());
+            assertThrows(MissingRequiredFieldException.class, () -> SimulationResultCache.<String>builder()
+                .maximumWeight(1).weigher(null).build());
+            assertEquals(1, SimulationResultCache.<String>builder().maximumWeight(1).build().getMaximumWeight());
+        }
+
+        @Test
+        @DisplayName("Should reject negative weights")
+        void rejectsNegativeWeights() {
+            SimulationResultCache<String> negative = SimulationResultCache.<String>builder()
+                .maximumWeight(1).weigher(value -> -1L).build();
+
+            assertThrows(ValidationException.class, () -> negative.put(key(1), "a"));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
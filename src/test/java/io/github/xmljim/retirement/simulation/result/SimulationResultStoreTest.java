@@ -0,0 +1,176 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.xmljim.retirement.domain.enums.PrecisionMode;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.ContentHash;
+import io.github.xmljim.retirement.simulation.engine.RunConfiguration;
+
+@DisplayName("SimulationResultStore Tests")
+class SimulationResultStoreTest {
+
+    private static final long CAPACITY = 1L << 20;
+
+    @TempDir
+    Path directory;
+
+    private SimulationSummary summary;
+
+    @BeforeEach
+    void setUp() {
+        summary = SimulationSummary.summarize(new double[][] {
+            {100, 200, 300},
+            {100, 50, 0},
+            {100, 150, 250}
+        }, 0.1, 0.5, 0.9);
+    }
+
+    private static SimulationCacheKey key(long id) {
+        return new SimulationCacheKey(new ContentHash(7L, id), PrecisionMode.DOUBLE,
+            RunConfiguration.monteCarlo(1000, 42L));
+    }
+
+    @Nested
+    @DisplayName("Read and Write Tests")
+    class ReadWriteTests {
+
+        @Test
+        @DisplayName("Should round-trip a summary")
+        void roundTrips() {
+            SimulationResultStore store = SimulationResultStore.open(directory, CAPACITY);
+
+            store.put(key(1), summary);
+
+            assertEquals(summary, store.get(key(1)).orElseThrow());
+            assertFalse(store.get(key(2)).isPresent());
+            assertEquals(1, store.size());
+            assertTrue(Files.exists(directory.resolve(SimulationResultStore.fileName(key(1)))));
+        }
+
+        @Test
+        @DisplayName("Should serve prior results after a restart")
+        void servesAfterRestart() {
+            SimulationResultStore.open(directory, CAPACITY).put(key(1), summary);
+            AtomicInteger runs = new AtomicInteger();
+
+            SimulationResultStore reopened = SimulationResultStore.open(directory, CAPACITY);
+            SimulationSummary result = reopened.getOrCompute(key(1), () -> {
+                runs.incrementAndGet();
+                return summary;
+            });
+
+            assertEquals(summary, result);
+            assertEquals(0, runs.get());
+            assertEquals(reopened.totalBytes(), sizeOf(key(1)));
+        }
+
+        @Test
+        @DisplayName("Should compute and store a missing result")
+        void computesMissing() {
+            SimulationResultStore store = SimulationResultStore.open(directory, CAPACITY);
+
+            assertEquals(summary, store.getOrCompute(key(1), () -> summary));
+            assertTrue(store.get(key(1)).isPresent());
+            assertThrows(MissingRequiredFieldException.class, () -> store.getOrCompute(key(2), () -> null));
+        }
+
+        @Test
+        @DisplayName("Should replace and remove results")
+        void replacesAndRemoves() {
+            SimulationResultStore store = SimulationResultStore.open(directory, CAPACITY);
+            SimulationSummary other = SimulationSummary.summarize(new double[][] {{1}}, 0.5);
+
+            store.put(key(1), summary);
+            store.put(key(1), other);
+            assertEquals(other, store.get(key(1)).orElseThrow());
+            assertEquals(sizeOf(key(1)), store.totalBytes());
+
+            store.remove(key(1));
+            assertEquals(0, store.size());
+            assertEquals(0, store.totalBytes());
+            assertFalse(Files.exists(directory.resolve(SimulationResultStore.fileName(key(1)))));
+        }
+
+        @Test
+        @DisplayName("Should discard corrupt files and leftover temporary files")
+        void discardsCorruptFiles() throws IOException {
+            SimulationResultStore.open(directory, CAPACITY).put(key(1), summary);
+            Path file = directory.resolve(SimulationResultStore.fileName(key(1)));
+            Files.write(file, new byte[] {1, 2, 3});
+            Path leftover = Files.createFile(directory.resolve("partial.sim123.tmp"));
+
+            SimulationResultStore reopened = SimulationResultStore.open(directory, CAPACITY);
+
+            assertFalse(Files.exists(leftover));
+            assertFalse(reopened.get(key(1)).isPresent());
+            assertFalse(Files.exists(file));
+            assertEquals(0, reopened.totalBytes());
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict least recently used files over the size cap")
+        void evictsLeastRecentlyUsed() {
+            SimulationResultStore probe = SimulationResultStore.open(directory.resolve("probe"), CAPACITY);
+            probe.put(key(0), summary);
+            long fileSize = probe.totalBytes();
+
+            SimulationResultStore store = SimulationResultStore.open(directory.resolve("capped"), fileSize * 2);
+            store.put(key(1), summary);
+            store.put(key(2), summary);
+            store.get(key(1));
+            store.put(key(3), summary);
+
+            assertTrue(store.get(key(1)).isPresent());
+            assertFalse(store.get(key(2)).isPresent());
+            assertTrue(store.get(key(3)).isPresent());
+            assertEquals(fileSize * 2, store.totalBytes());
+        }
+
+        @Test
+        @DisplayName("Should not store results larger than the cap")
+        void skipsOversized() {
+            SimulationResultStore store = SimulationResultStore.open(directory, 16);
+
+            store.put(key(1), summary);
+
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid configuration")
+        void rejectsInvalidConfiguration() {
+            assertThrows(ValidationException.class, () -> SimulationResultStore.open(directory, 0));
+            assertThrows(MissingRequiredFieldException.class, () -> SimulationResultStore.open(null, CAPACITY));
+            assertEquals(directory, SimulationResultStore.open(directory, CAPACITY).getDirectory());
+        }
+    }
+
+    private long sizeOf(SimulationCacheKey key) {
+        try {
+            return Files.size(directory.resolve(SimulationResultStore.fileName(key)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.xmljim.retirement.simulation.result;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("SimulationSummary Tests")
+class SimulationSummaryTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private static final double[][] PATHS = {
+        {100, 200, 300},
+        {100, 50, 0},
+        {100, 150, 100},
+        {100, 120, 500},
+        {100, 90, 200}
+    };
+
+    @Nested
+    @DisplayName("Summarize Tests")
+    class SummarizeTests {
+
+        @Test
+        @DisplayName("Should count paths that stay solvent")
+        void countsSuccesses() {
+            SimulationSummary summary = SimulationSummary.summarize(PATHS, 0.5);
+
+            assertEquals(5, summary.getPathCount());
+            assertEquals(4, summary.getSuccessfulPaths());
+            assertEquals(0.8, summary.getSuccessRate(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should compute interpolated percentile bands per year")
+        void computesBands() {
+            SimulationSummary summary = SimulationSummary.summarize(PATHS, 0.0, 0.5, 0.9);
+
+            assertEquals(3, summary.getYearCount());
+            assertArrayEquals(new double[] {0.0, 0.5, 0.9}, summary.getPercentileLevels());
+            assertArrayEquals(new double[] {100, 100, 100}, summary.getBand(0), TOLERANCE);
+            // Year 2 sorted: 50, 90, 120, 150, 200
+            assertArrayEquals(new double[] {50, 120, 180}, summary.getBand(1), TOLERANCE);
+            assertThrows(ValidationException.class, () -> summary.getBand(3));
+            assertThrows(ValidationException.class, () -> summary.getBand(-1));
+        }
+
+        @Test
+        @DisplayName("Should interpolate ending balances from the sketch")
+        void interpolatesEndingBalances() {
+            SimulationSummary summary = SimulationSummary.summarize(PATHS, 0.5);
+
+            // Final year sorted: 0, 100, 200, 300, 500
+            assertEquals(0.0, summary.getEndingBalance(0.0), TOLERANCE);
+            assertEquals(200.0, summary.getEndingBalance(0.5), TOLERANCE);
+            assertEquals(150.0, summary.getEndingBalance(0.375), TOLERANCE);
+            assertEquals(500.0, summary.getEndingBalance(1.0), TOLERANCE);
+            assertThrows(ValidationException.class, () -> summary.getEndingBalance(1.5));
+        }
+
+        @Test
+        @DisplayName("Should not expose internal arrays")
+        void defensiveCopies() {
+            SimulationSummary summary = SimulationSummary.summarize(PATHS, 0.5);
+
+            summary.getBand(0)[0] = -1;
+            summary.getPercentileLevels()[0] = -1;
+
+            assertEquals(100.0, summary.getBand(0)[0], TOLERANCE);
+            assertEquals(0.5, summary.getPercentileLevels()[0], TOLERANCE);
+            assertEquals(SimulationSummary.summarize(PATHS, 0.5), summary);
+            assertEquals(SimulationSummary.summarize(PATHS, 0.5).hashCode(), summary.hashCode());
+            assertNotEquals(SimulationSummary.summarize(PATHS, 0.25), summary);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject missing or malformed input")
+        void rejectsInvalidInput() {
+            assertThrows(MissingRequiredFieldException.class, () -> SimulationSummary.summarize(null, 0.5));
+            assertThrows(ValidationException.class, () -> SimulationSummary.summarize(new double[0][], 0.5));
+            assertThrows(ValidationException.class,
+                () -> SimulationSummary.summarize(new double[][] {{1, 2}, {1}}, 0.5));
+            assertThrows(ValidationException.class, () -> SimulationSummary.summarize(PATHS, -0.1));
+        }
+    }
+}
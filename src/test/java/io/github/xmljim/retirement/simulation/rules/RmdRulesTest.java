@@ -0,0 +1,61 @@
+package io.github.xmljim.retirement.simulation.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("RmdRules Tests")
+class RmdRulesTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    @DisplayName("Should start at 72, 73, or 75 depending on birth year")
+    void startAges() {
+        assertEquals(72, RmdRules.startAge(1950));
+        assertEquals(73, RmdRules.startAge(1951));
+        assertEquals(73, RmdRules.startAge(1959));
+        assertEquals(75, RmdRules.startAge(1960));
+    }
+
+    @Test
+    @DisplayName("Should look up Uniform Lifetime divisors by age")
+    void divisors() {
+        assertEquals(0.0, RmdRules.divisor(71), TOLERANCE);
+        assertEquals(27.4, RmdRules.divisor(72), TOLERANCE);
+        assertEquals(24.6, RmdRules.divisor(75), TOLERANCE);
+        assertEquals(6.4, RmdRules.divisor(100), TOLERANCE);
+        assertEquals(2.0, RmdRules.divisor(120), TOLERANCE);
+        assertEquals(2.0, RmdRules.divisor(125), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should require nothing before the start age")
+    void requiredDistribution() {
+        assertEquals(0.0, RmdRules.requiredDistribution(500_000, 74, 1960), TOLERANCE);
+        assertEquals(500_000 / 24.6, RmdRules.requiredDistribution(500_000, 75, 1960), TOLERANCE);
+        assertEquals(500_000 / 26.5, RmdRules.requiredDistribution(500_000, 73, 1955), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should compile a fraction for each year of a run")
+    void compilesFractions() {
+        double[] fractions = RmdRules.compileFractions(LocalDate.of(1951, 6, 15), LocalDate.of(2023, 1, 1), 4);
+
+        assertEquals(0.0, fractions[0], TOLERANCE);
+        assertEquals(1 / 26.5, fractions[1], TOLERANCE);
+        assertEquals(1 / 25.5, fractions[2], TOLERANCE);
+        assertEquals(1 / 24.6, fractions[3], TOLERANCE);
+        assertThrows(ValidationException.class,
+            () -> RmdRules.compileFractions(LocalDate.of(1951, 6, 15), LocalDate.of(2023, 1, 1), -1));
+        assertThrows(MissingRequiredFieldException.class,
+            () -> RmdRules.compileFractions(null, LocalDate.of(2023, 1, 1), 4));
+    }
+}
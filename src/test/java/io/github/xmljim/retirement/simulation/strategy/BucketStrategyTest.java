@@ -0,0 +1,223 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.value.AssetAllocation;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.engine.PortfolioState;
+
+@DisplayName("BucketStrategy Tests")
+class BucketStrategyTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int SHORT = BucketStrategy.Bucket.SHORT.ordinal();
+    private static final int MEDIUM = BucketStrategy.Bucket.MEDIUM.ordinal();
+    private static final int LONG = BucketStrategy.Bucket.LONG.ordinal();
+
+    private Portfolio portfolio;
+    private InvestmentAccount cash;
+    private PortfolioState state;
+
+    @BeforeEach
+    void setUp() {
+        PersonProfile owner = PersonProfile.builder()
+            .name("Owner")
+            .dateOfBirth(LocalDate.of(1960, 1, 1))
+            .retirementDate(LocalDate.of(2025, 1, 1))
+            .build();
+        cash = account("Cash", 0, AssetAllocation.of(0, 0, 100));
+        portfolio = Portfolio.builder()
+            .owner(owner)
+            .addAccount(account("Stocks", 800_000, AssetAllocation.of(90, 10, 0)))
+            .addAccount(cash)
+            .addAccount(account("Bonds", 200_000, AssetAllocation.of(20, 80, 0)))
+            .build();
+        state = PortfolioState.from(portfolio);
+    }
+
+    private static InvestmentAccount account(String name, double balance, AssetAllocation allocation) {
+        return InvestmentAccount.builder()
+            .name(name)
+            .accountType(AccountType.TAXABLE_BROKERAGE)
+            .balance(balance)
+            .allocation(allocation)
+            .preRetirementReturnRate(0.0)
+            .postRetirementReturnRate(0.0)
+            .build();
+    }
+
+    /**
+     * Spends 4,000 a month: the short bucket targets 96,000 and the medium
+     * bucket 288,000.
+     */
+    private SpendingPath started(BucketStrategy.RefillRule rule) {
+        BucketStrategy strategy = BucketStrategy.builder()
+            .spendingStrategy(StaticWithdrawalStrategy.of(WithdrawalStrategy.fixed(4_000)))
+            .refillRule(rule)
+            .build();
+        SpendingPath path = strategy.newPath(SpendingContext.of(portfolio, LocalDate.of(2025, 1, 1), 360, 0.0));
+        path.attach(state);
+        path.start(0, state.getTotalBalance());
+        return path;
+    }
+
+    private void spend(SpendingPath path, int months) {
+        for (int i = 0; i < months; i++) {
+            path.withdraw(path.nextWithdrawal(state.getTotalBalance()), state);
+        }
+    }
+
+    private void assertBuckets(double shortBalance, double mediumBalance, double longBalance) {
+        assertEquals(shortBalance, state.getGroupBalance(SHORT), TOLERANCE);
+        assertEquals(mediumBalance, state.getGroupBalance(MEDIUM), TOLERANCE);
+        assertEquals(longBalance, state.getGroupBalance(LONG), TOLERANCE);
+        assertEquals(shortBalance + mediumBalance + longBalance, state.getTotalBalance(), TOLERANCE);
+    }
+
+    @Nested
+    @DisplayName("Mapping Tests")
+    class MappingTests {
+
+        @Test
+        @DisplayName("Should map accounts by allocation unless assigned")
+        void mapsAccounts() {
+            assertEquals(BucketStrategy.Bucket.SHORT, BucketStrategy.bucketFor(AssetAllocation.of(0, 40, 60)));
+            assertEquals(BucketStrategy.Bucket.MEDIUM, BucketStrategy.bucketFor(AssetAllocation.of(40, 40, 20)));
+            assertEquals(BucketStrategy.Bucket.LONG, BucketStrategy.bucketFor(AssetAllocation.of(60, 40, 0)));
+
+            BucketStrategy assigned = BucketStrategy.builder()
+                .assign(cash.getId(), BucketStrategy.Bucket.MEDIUM)
+                .build();
+            assertEquals(BucketStrategy.Bucket.MEDIUM, assigned.bucketOf(cash));
+            assertEquals(BucketStrategy.Bucket.SHORT, BucketStrategy.builder().build().bucketOf(cash));
+        }
+    }
+
+    @Nested
+    @DisplayName("Refill Tests")
+    class RefillTests {
+
+        @Test
+        @DisplayName("Should fill the buckets at retirement and spend from the short bucket")
+        void initialFill() {
+            SpendingPath path = started(BucketStrategy.RefillRule.TIME_BASED);
+            spend(path, 1);
+
+            assertBuckets(92_000, 288_000, 616_000);
+        }
+
+        @Test
+        @DisplayName("Should refill on schedule under the time-based rule")
+        void timeBased() {
+            SpendingPath path = started(BucketStrategy.RefillRule.TIME_BASED);
+            spend(path, 12);
+            assertBuckets(48_000, 288_000, 616_000);
+
+            spend(path, 1);
+            assertBuckets(92_000, 240_000 + 48_000, 616_000 - 48_000);
+        }
+
+        @Test
+        @DisplayName("Should not sell the long bucket below its high-water mark")
+        void marketTriggered() {
+            SpendingPath path = started(BucketStrategy.RefillRule.MARKET_TRIGGERED);
+            spend(path, 1);
+            state.applyMonthlyReturns(true, -0.10);
+            assertBuckets(82_800, 259_200, 554_400);
+
+            spend(path, 1);
+            assertBuckets(92_000, 246_000, 554_400);
+        }
+
+        @Test
+        @DisplayName("Should keep bucket state independent in a copy")
+        void copies() {
+            SpendingPath path = started(BucketStrategy.RefillRule.TIME_BASED);
+            spend(path, 11);
+            SpendingPath copy = path.copy();
+            spend(path, 2);
+            assertBuckets(92_000, 288_000, 568_000);
+
+            // the copy is still one month short of its refill
+            copy.withdraw(copy.nextWithdrawal(state.getTotalBalance()), state);
+            assertBuckets(88_000, 288_000, 568_000);
+        }
+
+        @Test
+        @DisplayName("Should refill around pre-tax accounts in the receiving bucket")
+        void skipsPreTaxTargets() {
+            InvestmentAccount traditional = InvestmentAccount.builder()
+                .name("401(k)")
+                .accountType(AccountType.TRADITIONAL_401K)
+                .balance(0)
+                .allocation(AssetAllocation.of(0, 0, 100))
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build();
+            portfolio = Portfolio.builder()
+                .owner(portfolio.getOwner())
+                .addAccount(traditional)
+                .addAccount(cash)
+                .addAccount(account("Stocks", 1_000_000, AssetAllocation.of(90, 10, 0)))
+                .build();
+            state = PortfolioState.from(portfolio);
+            spend(started(BucketStrategy.RefillRule.TIME_BASED), 1);
+
+            assertEquals(0.0, state.getBalance(0), TOLERANCE);
+            assertEquals(92_000.0, state.getBalance(1), TOLERANCE);
+            assertEquals(904_000.0, state.getBalance(2), TOLERANCE);
+
+            portfolio = Portfolio.builder()
+                .owner(portfolio.getOwner())
+                .addAccount(traditional)
+                .addAccount(account("Stocks", 1_000_000, AssetAllocation.of(90, 10, 0)))
+                .build();
+            state = PortfolioState.from(portfolio);
+            spend(started(BucketStrategy.RefillRule.TIME_BASED), 1);
+
+            assertEquals(0.0, state.getBalance(0), TOLERANCE);
+            assertEquals(996_000.0, state.getBalance(1), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should reject invalid parameters")
+        void rejectsInvalid() {
+            assertThrows(ValidationException.class, () -> BucketStrategy.builder().shortTermMonths(0).build());
+            assertThrows(ValidationException.class, () -> BucketStrategy.builder().mediumTermMonths(-1).build());
+            assertThrows(ValidationException.class, () -> BucketStrategy.builder().refillIntervalMonths(0).build());
+            assertThrows(ValidationException.class, () -> state.assignGroups(new int[] {0, 1}, 3));
+        }
+
+        @Test
+        @DisplayName("Should compare and hash by parameters")
+        void equality() {
+            BucketStrategy strategy = BucketStrategy.builder().assign("a", BucketStrategy.Bucket.LONG).build();
+
+            assertEquals(strategy, strategy.toBuilder().build());
+            assertEquals(strategy.hashCode(), strategy.toBuilder().build().hashCode());
+            assertEquals(strategy.contentHash(), strategy.toBuilder().build().contentHash());
+            assertNotEquals(strategy, strategy.toBuilder().shortTermMonths(12).build());
+            assertNotEquals(strategy.contentHash(),
+                strategy.toBuilder().assign("a", BucketStrategy.Bucket.SHORT).build().contentHash());
+        }
+    }
+}
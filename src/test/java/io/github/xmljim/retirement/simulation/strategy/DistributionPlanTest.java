@@ -0,0 +1,119 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.enums.DistributionStrategy;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.simulation.engine.PortfolioState;
+
+@DisplayName("DistributionPlan Tests")
+class DistributionPlanTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private Portfolio portfolio;
+    private PortfolioState state;
+
+    @BeforeEach
+    void setUp() {
+        PersonProfile owner = PersonProfile.builder()
+            .name("Owner")
+            .dateOfBirth(LocalDate.of(1960, 1, 1))
+            .retirementDate(LocalDate.of(2025, 1, 1))
+            .build();
+        portfolio = Portfolio.builder()
+            .owner(owner)
+            .addAccount(account("HSA", AccountType.HSA, 10_000))
+            .addAccount(account("Roth", AccountType.ROTH_IRA, 30_000))
+            .addAccount(account("401(k)", AccountType.TRADITIONAL_401K, 40_000))
+            .addAccount(account("Brokerage", AccountType.TAXABLE_BROKERAGE, 15_000))
+            .addAccount(account("IRA", AccountType.TRADITIONAL_IRA, 5_000))
+            .build();
+        state = PortfolioState.from(portfolio);
+    }
+
+    private static InvestmentAccount account(String name, AccountType type, double balance) {
+        return InvestmentAccount.builder()
+            .name(name)
+            .accountType(type)
+            .balance(balance)
+            .preRetirementReturnRate(0.0)
+            .postRetirementReturnRate(0.0)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Tax-Efficient Tests")
+    class TaxEfficientTests {
+
+        @Test
+        @DisplayName("Should order taxable, pre-tax, Roth, then HSA")
+        void orders() {
+            DistributionPlan plan = DistributionPlan.compile(portfolio, DistributionStrategy.TAX_EFFICIENT);
+
+            assertArrayEquals(new int[] {3, 2, 4, 1, 0}, plan.getOrder());
+        }
+
+        @Test
+        @DisplayName("Should exhaust each account before the next")
+        void withdrawsInOrder() {
+            state.setDistributionPlan(DistributionPlan.compile(portfolio, DistributionStrategy.TAX_EFFICIENT));
+
+            assertEquals(20_000.0, state.distribute(20_000), TOLERANCE);
+            assertEquals(0.0, state.getBalance(3), TOLERANCE);
+            assertEquals(35_000.0, state.getBalance(2), TOLERANCE);
+            assertEquals(30_000.0, state.getBalance(1), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pro-Rata Tests")
+    class ProRataTests {
+
+        @Test
+        @DisplayName("Should split a withdrawal by balance")
+        void splits() {
+            state.setDistributionPlan(DistributionPlan.compile(portfolio, DistributionStrategy.PRO_RATA));
+
+            assertEquals(10_000.0, state.distribute(10_000), TOLERANCE);
+            assertEquals(9_000.0, state.getBalance(0), TOLERANCE);
+            assertEquals(27_000.0, state.getBalance(1), TOLERANCE);
+            assertEquals(36_000.0, state.getBalance(2), TOLERANCE);
+            assertEquals(13_500.0, state.getBalance(3), TOLERANCE);
+            assertEquals(4_500.0, state.getBalance(4), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should withdraw no more than the total balance")
+        void capsAtBalance() {
+            state.setDistributionPlan(DistributionPlan.compile(portfolio, DistributionStrategy.PRO_RATA));
+
+            assertEquals(100_000.0, state.distribute(150_000), TOLERANCE);
+            assertEquals(0.0, state.getTotalBalance(), TOLERANCE);
+            assertEquals(0.0, state.distribute(1_000), TOLERANCE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should withdraw in portfolio order by default and for unimplemented strategies")
+    void portfolioOrder() {
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4},
+            DistributionPlan.compile(portfolio, DistributionStrategy.CUSTOM).getOrder());
+        assertEquals(DistributionStrategy.CUSTOM, state.getDistributionPlan().getStrategy());
+
+        assertEquals(15_000.0, state.distribute(15_000), TOLERANCE);
+        assertEquals(0.0, state.getBalance(0), TOLERANCE);
+        assertEquals(25_000.0, state.getBalance(1), TOLERANCE);
+    }
+}
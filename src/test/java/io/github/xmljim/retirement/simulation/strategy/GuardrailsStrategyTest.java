@@ -0,0 +1,204 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.AccountType;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.model.InvestmentAccount;
+import io.github.xmljim.retirement.domain.model.PersonProfile;
+import io.github.xmljim.retirement.domain.model.Portfolio;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+
+@DisplayName("GuardrailsStrategy Tests")
+class GuardrailsStrategyTest {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final double MONTHLY_AT_5_PERCENT = 1_000_000.0 * 0.05 / 12;
+
+    static SpendingContext context(double inflation) {
+        PersonProfile owner = PersonProfile.builder()
+            .name("Owner")
+            .dateOfBirth(LocalDate.of(1960, 1, 1))
+            .retirementDate(LocalDate.of(2025, 1, 1))
+            .build();
+        Portfolio portfolio = Portfolio.builder()
+            .owner(owner)
+            .addAccount(InvestmentAccount.builder()
+                .name("IRA")
+                .accountType(AccountType.TRADITIONAL_IRA)
+                .balance(1_000_000)
+                .preRetirementReturnRate(0.0)
+                .postRetirementReturnRate(0.0)
+                .build())
+            .build();
+        return SpendingContext.of(portfolio, LocalDate.of(2025, 1, 1), 360, inflation);
+    }
+
+    private static SpendingPath started(GuardrailsStrategy strategy, double inflation) {
+        SpendingPath path = strategy.newPath(context(inflation));
+        path.start(0, 1_000_000);
+        return path;
+    }
+
+    private static void advance(SpendingPath path, int months, double balance) {
+        for (int i = 0; i < months; i++) {
+            path.nextWithdrawal(balance);
+        }
+    }
+
+    @Nested
+    @DisplayName("Guardrail Tests")
+    class GuardrailTests {
+
+        @Test
+        @DisplayName("Should start at the initial rate")
+        void initialWithdrawal() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.0);
+
+            assertEquals(MONTHLY_AT_5_PERCENT, path.nextWithdrawal(1_000_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should cut spending when the rate crosses the lower guardrail")
+        void cutsSpending() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.0);
+
+            // rests for the first twelve months even though the rate is 8.3%
+            advance(path, 12, 600_000);
+            assertEquals(MONTHLY_AT_5_PERCENT * 0.9, path.nextWithdrawal(600_000), TOLERANCE);
+            advance(path, 10, 600_000);
+            assertEquals(MONTHLY_AT_5_PERCENT * 0.9, path.nextWithdrawal(600_000), TOLERANCE);
+            // twelve months after the first cut
+            assertEquals(MONTHLY_AT_5_PERCENT * 0.81, path.nextWithdrawal(600_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should raise spending when the rate crosses the upper guardrail")
+        void raisesSpending() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.0);
+
+            advance(path, 12, 1_000_000);
+            assertEquals(MONTHLY_AT_5_PERCENT, path.nextWithdrawal(1_000_000), TOLERANCE);
+            assertEquals(MONTHLY_AT_5_PERCENT * 1.1, path.nextWithdrawal(2_000_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should keep spending between the floor and ceiling")
+        void floorAndCeiling() {
+            GuardrailsStrategy strategy = GuardrailsStrategy.builder().floor(48_000).ceiling(52_000).build();
+            SpendingPath path = started(strategy, 0.0);
+
+            advance(path, 12, 100_000);
+            assertEquals(4_000.0, path.nextWithdrawal(100_000), TOLERANCE);
+
+            SpendingPath rich = started(strategy, 0.0);
+            advance(rich, 12, 10_000_000);
+            assertEquals(52_000.0 / 12, rich.nextWithdrawal(10_000_000), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Inflation Tests")
+    class InflationTests {
+
+        @Test
+        @DisplayName("Should grow spending with inflation after a gaining year")
+        void growsWithInflation() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.03);
+            path.closeYear(1_050_000);
+
+            assertEquals(MONTHLY_AT_5_PERCENT * 1.03, path.nextWithdrawal(1_050_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should skip the raise after a losing year above the initial rate")
+        void skipsAfterLoss() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.03);
+            path.closeYear(900_000);
+
+            assertEquals(MONTHLY_AT_5_PERCENT, path.nextWithdrawal(900_000), TOLERANCE);
+
+            SpendingPath always = started(GuardrailsStrategy.builder().skipInflationAfterLoss(false).build(), 0.03);
+            always.closeYear(900_000);
+            assertEquals(MONTHLY_AT_5_PERCENT * 1.03, always.nextWithdrawal(900_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should copy the path state independently")
+        void copies() {
+            SpendingPath path = started(GuardrailsStrategy.builder().build(), 0.03);
+            SpendingPath copy = path.copy();
+            path.closeYear(1_050_000);
+
+            assertEquals(MONTHLY_AT_5_PERCENT, copy.nextWithdrawal(1_000_000), TOLERANCE);
+            assertEquals(MONTHLY_AT_5_PERCENT * 1.03, path.nextWithdrawal(1_000_000), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should reject invalid parameters")
+        void rejectsInvalid() {
+            assertThrows(ValidationException.class, () -> GuardrailsStrategy.builder().initialRate(0).build());
+            assertThrows(ValidationException.class, () -> GuardrailsStrategy.builder().upperGuardrail(0.05).build());
+            assertThrows(ValidationException.class, () -> GuardrailsStrategy.builder().lowerGuardrail(0.05).build());
+            assertThrows(ValidationException.class, () -> GuardrailsStrategy.builder().increasePercent(-1).build());
+            assertThrows(ValidationException.class, () -> GuardrailsStrategy.builder().decreasePercent(1).build());
+            assertThrows(ValidationException.class,
+                () -> GuardrailsStrategy.builder().floor(60_000).ceiling(50_000).build());
+        }
+
+        @Test
+        @DisplayName("Should compare and hash by parameters")
+        void equality() {
+            GuardrailsStrategy strategy = GuardrailsStrategy.builder().build();
+
+            assertEquals(strategy, strategy.toBuilder().build());
+            assertEquals(strategy.hashCode(), strategy.toBuilder().build().hashCode());
+            assertEquals(strategy.contentHash(), strategy.toBuilder().build().contentHash());
+            assertNotEquals(strategy, strategy.toBuilder().decreasePercent(0.2).build());
+            assertNotEquals(strategy.contentHash(), strategy.toBuilder().floor(1).build().contentHash());
+        }
+    }
+
+    @Nested
+    @DisplayName("StaticWithdrawalStrategy Tests")
+    class StaticTests {
+
+        @Test
+        @DisplayName("Should hold a percentage of the starting balance in real terms")
+        void percentage() {
+            SpendingPath path = StaticWithdrawalStrategy.of(WithdrawalStrategy.percentage(0.04)).newPath(context(0.02));
+            path.start(0, 600_000);
+
+            assertEquals(2_000.0, path.nextWithdrawal(100), TOLERANCE);
+            path.closeYear(100);
+            assertEquals(2_040.0, path.nextWithdrawal(100), TOLERANCE);
+            assertEquals(2_040.0, path.copy().nextWithdrawal(0), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should withdraw a fixed monthly amount")
+        void fixed() {
+            StaticWithdrawalStrategy strategy = StaticWithdrawalStrategy.of(WithdrawalStrategy.fixed(3_000));
+            SpendingPath path = strategy.newPath(context(0.0));
+            path.start(0, 1_000_000);
+
+            assertEquals(3_000.0, path.nextWithdrawal(1_000_000), TOLERANCE);
+            assertEquals(strategy, StaticWithdrawalStrategy.of(WithdrawalStrategy.fixed(3_000)));
+            assertNotEquals(strategy.contentHash(),
+                StaticWithdrawalStrategy.of(WithdrawalStrategy.fixed(2_000)).contentHash());
+        }
+    }
+}
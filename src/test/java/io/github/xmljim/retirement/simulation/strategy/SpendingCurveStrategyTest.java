@@ -0,0 +1,119 @@
+package io.github.xmljim.retirement.simulation.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+import io.github.xmljim.retirement.domain.value.WithdrawalStrategy;
+import io.github.xmljim.retirement.simulation.strategy.SpendingCurveStrategy.Phase;
+
+@DisplayName("SpendingCurveStrategy Tests")
+class SpendingCurveStrategyTest {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final SpendingStrategy FIXED = StaticWithdrawalStrategy.of(WithdrawalStrategy.fixed(1_000));
+
+    /** The owner is 65 at month 0, 75 at month 120, and 85 at month 240. */
+    private static final SpendingContext CONTEXT = GuardrailsStrategyTest.context(0.0);
+
+    @Nested
+    @DisplayName("Multiplier Table Tests")
+    class TableTests {
+
+        @Test
+        @DisplayName("Should step between phases at the owner's birthdays")
+        void steps() {
+            double[] table = SpendingCurveStrategy.standard(FIXED).compileMultipliers(CONTEXT);
+
+            assertEquals(360, table.length);
+            assertEquals(1.0, table[0], TOLERANCE);
+            assertEquals(1.0, table[119], TOLERANCE);
+            assertEquals(0.85, table[120], TOLERANCE);
+            assertEquals(0.85, table[239], TOLERANCE);
+            assertEquals(0.75, table[240], TOLERANCE);
+            assertEquals(0.75, table[359], TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should blend phase changes over the smoothing window")
+        void smooths() {
+            double[] table = SpendingCurveStrategy.standard(FIXED).toBuilder()
+                .smoothingMonths(12)
+                .build()
+                .compileMultipliers(CONTEXT);
+
+            assertEquals(1.0, table[100], TOLERANCE);
+            assertEquals((6 * 1.0 + 6 * 0.85) / 12, table[120], TOLERANCE);
+            assertEquals(0.85, table[140], TOLERANCE);
+            assertEquals(0.75, table[359], TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should leave ages outside every phase unscaled")
+        void gaps() {
+            double[] table = SpendingCurveStrategy.builder()
+                .addPhase(Phase.of(70, 72, 1.2))
+                .build()
+                .compileMultipliers(CONTEXT);
+
+            assertEquals(1.0, table[59], TOLERANCE);
+            assertEquals(1.2, table[60], TOLERANCE);
+            assertEquals(1.0, table[84], TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Path Tests")
+    class PathTests {
+
+        @Test
+        @DisplayName("Should scale the wrapped withdrawal from the starting month")
+        void scales() {
+            SpendingPath path = SpendingCurveStrategy.standard(FIXED).newPath(CONTEXT);
+            path.start(118, 1_000_000);
+
+            assertEquals(1_000.0, path.nextWithdrawal(1_000_000), TOLERANCE);
+            SpendingPath copy = path.copy();
+            assertEquals(1_000.0, path.nextWithdrawal(1_000_000), TOLERANCE);
+            assertEquals(850.0, path.nextWithdrawal(1_000_000), TOLERANCE);
+            assertEquals(1_000.0, copy.nextWithdrawal(1_000_000), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuration Tests")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should reject invalid phases")
+        void rejectsInvalid() {
+            assertThrows(ValidationException.class, () -> Phase.of(80, 75, 1.0));
+            assertThrows(ValidationException.class, () -> Phase.from(75, -0.1));
+            assertThrows(ValidationException.class, () -> SpendingCurveStrategy.builder().build());
+            assertThrows(ValidationException.class, () -> SpendingCurveStrategy.builder()
+                .addPhase(Phase.of(70, 80, 0.9))
+                .addPhase(Phase.from(75, 0.8))
+                .build());
+            assertThrows(ValidationException.class,
+                () -> SpendingCurveStrategy.standard(FIXED).toBuilder().smoothingMonths(-1).build());
+        }
+
+        @Test
+        @DisplayName("Should compare and hash by parameters")
+        void equality() {
+            SpendingCurveStrategy curve = SpendingCurveStrategy.standard(FIXED);
+
+            assertEquals(curve, curve.toBuilder().build());
+            assertEquals(curve.hashCode(), curve.toBuilder().build().hashCode());
+            assertEquals(curve.contentHash(), curve.toBuilder().build().contentHash());
+            assertNotEquals(curve, curve.toBuilder().smoothingMonths(6).build());
+            assertNotEquals(curve.contentHash(),
+                curve.toBuilder().addPhase(Phase.of(65, 70, 1.1)).build().contentHash());
+        }
+    }
+}
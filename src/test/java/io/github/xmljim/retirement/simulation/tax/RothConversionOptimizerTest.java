@@ -0,0 +1,165 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("RothConversionOptimizer Tests")
+class RothConversionOptimizerTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static RothConversionProblem.Builder problem() {
+        return RothConversionProblem.builder()
+            .preTaxBalance(1_000_000)
+            .years(10)
+            .brackets(TaxBrackets.federal2025(FilingStatus.SINGLE))
+            .terminalTaxRate(0.37);
+    }
+
+    private static double[] constant(double amount) {
+        double[] schedule = new double[10];
+        Arrays.fill(schedule, amount);
+        return schedule;
+    }
+
+    @Nested
+    @DisplayName("Lifetime Tax Tests")
+    class LifetimeTaxTests {
+
+        private final RothConversionOptimizer optimizer = RothConversionOptimizer.builder().build();
+
+        @Test
+        @DisplayName("Should spread conversions evenly when balances do not grow")
+        void spreadsEvenly() {
+            RothConversionProblem flat = problem().build();
+
+            RothConversionPlan plan = optimizer.optimize(flat);
+
+            assertEquals(10 * 13_449.0, plan.getLifetimeTax(), 1.0);
+            assertEquals(1_000_000.0, plan.getTotalConverted(), 1.0);
+            assertEquals(optimizer.evaluate(flat, constant(100_000)).getLifetimeTax(), plan.getLifetimeTax(), 1.0);
+        }
+
+        @Test
+        @DisplayName("Should beat converting nothing or everything at once")
+        void beatsExtremes() {
+            RothConversionProblem growing = problem().annualReturn(0.05).otherIncome(30_000).build();
+            double[] everything = new double[10];
+            everything[0] = 1_000_000;
+
+            double optimized = optimizer.optimize(growing).getLifetimeTax();
+
+            assertTrue(optimized < optimizer.evaluate(growing, new double[10]).getLifetimeTax());
+            assertTrue(optimized < optimizer.evaluate(growing, everything).getLifetimeTax());
+            assertTrue(optimized <= optimizer.evaluate(growing, constant(120_000)).getLifetimeTax());
+        }
+
+        @Test
+        @DisplayName("Should not convert when the terminal rate is zero")
+        void noTerminalTax() {
+            RothConversionPlan plan = optimizer.optimize(problem().terminalTaxRate(0.0).build());
+
+            assertEquals(0.0, plan.getTotalConverted(), TOLERANCE);
+            assertEquals(0.0, plan.getLifetimeTax(), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should respect the annual conversion cap")
+        void capsConversions() {
+            RothConversionPlan plan = optimizer.optimize(problem().maxAnnualConversion(50_000).build());
+
+            for (double conversion : plan.getConversions()) {
+                assertTrue(conversion <= 50_000 + TOLERANCE);
+            }
+            assertEquals(500_000.0, plan.getTotalConverted(), 1.0);
+            assertEquals(500_000.0, plan.getTerminalPreTaxBalance(), 1.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should maximize after-tax wealth against other schedules")
+    void maximizesWealth() {
+        RothConversionProblem growing = problem()
+            .annualReturn(0.06)
+            .otherIncome(40_000)
+            .bracketGrowth(0.02)
+            .terminalTaxRate(0.24)
+            .build();
+        RothConversionOptimizer optimizer = RothConversionOptimizer.builder()
+            .objective(RothConversionOptimizer.Objective.MAXIMIZE_AFTER_TAX_WEALTH)
+            .build();
+
+        double wealth = optimizer.optimize(growing).getAfterTaxWealth();
+
+        assertTrue(wealth > optimizer.evaluate(growing, new double[10]).getAfterTaxWealth());
+        assertTrue(wealth >= optimizer.evaluate(growing, constant(100_000)).getAfterTaxWealth());
+    }
+
+    @Test
+    @DisplayName("Should grow a conversion's tax over every remaining year of the horizon")
+    void growsConversionTax() {
+        RothConversionProblem twoYears = problem()
+            .preTaxBalance(100_000)
+            .years(2)
+            .annualReturn(0.10)
+            .terminalTaxRate(0.24)
+            .build();
+        double tax = twoYears.getBrackets().tax(50_000);
+
+        RothConversionPlan plan = RothConversionOptimizer.builder().build()
+            .evaluate(twoYears, new double[] {50_000, 0});
+
+        // both balances grow twice: 55,000 pre-tax and 55,000 Roth after year one, 60,500 each at the end
+        assertEquals(60_500.0, plan.getTerminalPreTaxBalance(), TOLERANCE);
+        assertEquals(60_500.0, plan.getTerminalRothBalance(), TOLERANCE);
+        assertEquals(121_000.0 - 14_520.0 - tax * 1.21, plan.getAfterTaxWealth(), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should give the same schedule in parallel and sequentially")
+    void parallelMatchesSequential() {
+        RothConversionProblem growing = problem().annualReturn(0.05).otherIncome(25_000).build();
+
+        RothConversionPlan parallel = RothConversionOptimizer.builder().parallel(true).build().optimize(growing);
+        RothConversionPlan sequential = RothConversionOptimizer.builder().parallel(false).build().optimize(growing);
+
+        assertArrayEquals(sequential.getConversions(), parallel.getConversions(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Should track balances through an evaluated schedule")
+    void evaluatesSchedule() {
+        RothConversionProblem flat = problem().rothBalance(50_000).build();
+
+        RothConversionPlan plan = RothConversionOptimizer.builder().build().evaluate(flat, constant(150_000));
+
+        assertEquals(1_000_000.0, plan.getTotalConverted(), TOLERANCE);
+        assertEquals(1_050_000.0, plan.getTerminalRothBalance(), TOLERANCE);
+        assertEquals(100_000.0, plan.getPreTaxBalances()[6], TOLERANCE);
+        assertEquals(flat.getBrackets().tax(100_000), plan.getConversionTaxes()[6], TOLERANCE);
+        assertEquals(0.0, plan.getConversions()[7], TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should validate problem and optimizer settings")
+    void validates() {
+        assertThrows(MissingRequiredFieldException.class,
+            () -> RothConversionProblem.builder().years(10).build());
+        assertThrows(ValidationException.class, () -> problem().years(0).build());
+        assertThrows(ValidationException.class, () -> problem().otherIncome(new double[] {1, 2}).build());
+        assertThrows(ValidationException.class, () -> problem().terminalTaxRate(1.5).build());
+        assertThrows(ValidationException.class, () -> RothConversionOptimizer.builder().gridPoints(1).build());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.MissingRequiredFieldException;
+
+@DisplayName("TaxAccumulator Tests")
+class TaxAccumulatorTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final TaxTable table = TaxTable.compile(FilingStatus.SINGLE, 0.0, 2);
+
+    @Test
+    @DisplayName("Should evaluate a year's accumulated income and start the next year from zero")
+    void closesYear() {
+        TaxAccumulator taxes = TaxAccumulator.of(table);
+        for (int month = 0; month < 12; month++) {
+            taxes.addOrdinaryIncome(8_000);
+            taxes.addCapitalGains(500);
+            taxes.addSocialSecurity(1_000);
+        }
+
+        double expected = table.tax(0, 96_000, 6_000, 12_000);
+
+        assertEquals(expected, taxes.currentTax(0), TOLERANCE);
+        assertEquals(expected, taxes.closeYear(0), TOLERANCE);
+        assertEquals(0.0, taxes.getOrdinaryIncome(), TOLERANCE);
+        assertEquals(0.0, taxes.closeYear(1), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should resume from restored year-to-date income")
+    void restores() {
+        TaxAccumulator taxes = TaxAccumulator.of(table);
+        taxes.restore(50_000, 1_000, 0);
+        taxes.addOrdinaryIncome(50_000);
+
+        assertEquals(table.tax(0, 100_000, 1_000, 0), taxes.closeYear(0), TOLERANCE);
+        assertThrows(MissingRequiredFieldException.class, () -> TaxAccumulator.of(null));
+    }
+}
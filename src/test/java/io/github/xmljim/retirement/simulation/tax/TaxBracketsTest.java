@@ -0,0 +1,54 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("TaxBrackets Tests")
+class TaxBracketsTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final TaxBrackets single = TaxBrackets.federal2025(FilingStatus.SINGLE);
+
+    @Test
+    @DisplayName("Should tax income above the standard deduction progressively")
+    void taxesProgressively() {
+        assertEquals(13_449.0, single.tax(100_000), TOLERANCE);
+        assertEquals(0.22, single.marginalRate(100_000), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should not tax income within the standard deduction")
+    void deduction() {
+        assertEquals(0.0, single.tax(15_750), TOLERANCE);
+        assertEquals(0.0, single.marginalRate(10_000), TOLERANCE);
+        assertEquals(0.10, single.marginalRate(15_750), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should scale thresholds and deduction together")
+    void scales() {
+        TaxBrackets doubled = single.scaled(2.0);
+
+        assertEquals(31_500.0, doubled.getStandardDeduction(), TOLERANCE);
+        assertEquals(2 * single.tax(100_000), doubled.tax(200_000), TOLERANCE);
+        assertEquals(single, TaxBrackets.of(single.getThresholds(), single.getRates(), 15_750));
+    }
+
+    @Test
+    @DisplayName("Should reject thresholds that do not start at 0 or ascend")
+    void validates() {
+        assertThrows(ValidationException.class,
+            () -> TaxBrackets.of(new double[] {100, 200}, new double[] {0.1, 0.2}, 0));
+        assertThrows(ValidationException.class,
+            () -> TaxBrackets.of(new double[] {0, 200, 200}, new double[] {0.1, 0.2, 0.3}, 0));
+        assertThrows(ValidationException.class,
+            () -> TaxBrackets.of(new double[] {0, 200}, new double[] {0.1}, 0));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.xmljim.retirement.simulation.tax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import io.github.xmljim.retirement.domain.enums.FilingStatus;
+import io.github.xmljim.retirement.domain.exception.ValidationException;
+
+@DisplayName("TaxTable Tests")
+class TaxTableTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final TaxTable single = TaxTable.compile(FilingStatus.SINGLE, 0.0, 1);
+
+    @Nested
+    @DisplayName("Capital Gains Tests")
+    class CapitalGainsTests {
+
+        @Test
+        @DisplayName("Should tax gains within the 0% bracket at nothing")
+        void zeroBracket() {
+            // 40k ordinary leaves 24,250 taxable, so 20k of gains stay under 48,350
+            assertEquals(single.tax(0, 40_000, 0, 0), single.tax(0, 40_000, 20_000, 0), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should stack gains on top of ordinary taxable income")
+        void stacks() {
+            // 100k ordinary is 84,250 taxable, already past 48,350
+            double ordinary = single.tax(0, 100_000, 0, 0);
+
+            assertEquals(ordinary + 0.15 * 10_000, single.tax(0, 100_000, 10_000, 0), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should shelter gains with an unused standard deduction")
+        void unusedDeduction() {
+            assertEquals(0.0, single.tax(0, 5_000, 10_000, 0), TOLERANCE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Social Security Tests")
+    class SocialSecurityTests {
+
+        @Test
+        @DisplayName("Should tax no benefits below the first threshold")
+        void untaxed() {
+            assertEquals(0.0, single.taxableSocialSecurity(10_000, 24_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should tax up to half of benefits between the thresholds")
+        void halfTaxed() {
+            // provisional 30k: half of the 5k over 25k
+            assertEquals(2_500.0, single.taxableSocialSecurity(20_000, 20_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should tax up to 85% of benefits above the second threshold")
+        void mostlyTaxed() {
+            // provisional 45k: 85% of the 11k over 34k plus the 4.5k lower tier
+            assertEquals(13_850.0, single.taxableSocialSecurity(35_000, 20_000), TOLERANCE);
+            assertEquals(0.85 * 30_000, single.taxableSocialSecurity(200_000, 30_000), TOLERANCE);
+        }
+
+        @Test
+        @DisplayName("Should use joint thresholds for married couples")
+        void joint() {
+            TaxTable joint = TaxTable.compile(FilingStatus.MARRIED_FILING_JOINTLY, 0.0, 1);
+
+            assertEquals(0.0, joint.taxableSocialSecurity(20_000, 20_000), TOLERANCE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should inflate brackets each year and reuse the last year beyond the table")
+    void inflates() {
+        TaxTable table = TaxTable.compile(FilingStatus.SINGLE, 0.03, 3);
+        TaxBrackets base = TaxBrackets.federal2025(FilingStatus.SINGLE);
+
+        assertEquals(base, table.getOrdinaryBrackets(0));
+        assertEquals(base.getStandardDeduction() * 1.03 * 1.03,
+            table.getOrdinaryBrackets(2).getStandardDeduction(), TOLERANCE);
+        assertEquals(table.getOrdinaryBrackets(2), table.getOrdinaryBrackets(10));
+        assertEquals(base.tax(100_000) * 1.03, table.tax(1, 100_000 * 1.03, 0, 0), TOLERANCE);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or invalid factor table")
+    void validates() {
+        assertThrows(ValidationException.class, () -> TaxTable.compile(FilingStatus.SINGLE, new double[0]));
+        assertThrows(ValidationException.class, () -> TaxTable.compile(FilingStatus.SINGLE, 0.02, 0));
+        assertThrows(ValidationException.class, () -> TaxTable.compile(FilingStatus.SINGLE, new double[] {1, 0}));
+    }
+}